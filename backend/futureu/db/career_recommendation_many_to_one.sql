@@ -0,0 +1,17 @@
+-- career_recommendation.career_id used to be mapped @OneToOne, so Hibernate gave it a unique key and each career
+-- could be recommended to only one assessment result. It is @ManyToOne now, but ddl-auto=update never drops
+-- constraints, so run this once on every MySQL database created before that change.
+-- Running it again does nothing once the unique key is gone.
+
+SET @unique_key = (SELECT INDEX_NAME FROM information_schema.STATISTICS
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'career_recommendation'
+        AND COLUMN_NAME = 'career_id' AND NON_UNIQUE = 0 LIMIT 1);
+
+-- The foreign key on career_id needs an index, so a plain one replaces the unique key in the same statement
+SET @ddl = IF(@unique_key IS NULL, 'DO 0',
+        CONCAT('ALTER TABLE career_recommendation ADD INDEX idx_career_recommendation_career (career_id), ',
+               'DROP INDEX `', @unique_key, '`'));
+
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
@@ -2,8 +2,10 @@ package edu.cit.futureu;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class FutureuApplication {
 
 	public static void main(String[] args) {
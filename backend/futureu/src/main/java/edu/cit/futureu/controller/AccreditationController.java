@@ -1,6 +1,7 @@
 package edu.cit.futureu.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -16,11 +17,10 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import edu.cit.futureu.dto.SchoolProgramSelection;
 import edu.cit.futureu.entity.AccreditationEntity;
 import edu.cit.futureu.entity.SchoolEntity;
-import edu.cit.futureu.entity.SchoolProgramEntity;
 import edu.cit.futureu.service.AccreditationService;
-import edu.cit.futureu.service.SchoolProgramService;
 import edu.cit.futureu.service.SchoolService;
 
 @RestController
@@ -33,9 +33,6 @@ public class AccreditationController {
     @Autowired
     private SchoolService schoolService;
     
-    @Autowired
-    private SchoolProgramService schoolProgramService;
-    
     @GetMapping("/test")
     public String test() {
         return "Accreditation API is working!";
@@ -120,40 +117,19 @@ public class AccreditationController {
             @RequestParam(required = false) Integer programId) {
         
         try {
-            // Get the accreditation
-            AccreditationEntity accreditation = accreditationService.getAccreditationById(accredId)
-                    .orElseThrow(() -> new Exception("Accreditation not found with ID: " + accredId));
-            
             // Get the school
-            SchoolEntity school = schoolService.getSchoolById(schoolId)
+            schoolService.getSchoolById(schoolId)
                     .orElseThrow(() -> new Exception("School not found with ID: " + schoolId));
             
-            // Get the school programs
-            List<SchoolProgramEntity> programs;
-            
-            if (programId != null) {
-                // Only get a specific program
-                SchoolProgramEntity specific = schoolProgramService.getSchoolProgramById(programId)
-                        .orElse(null);
-                
-                if (specific != null && specific.getSchool().getSchoolId() == schoolId) {
-                    programs = List.of(specific);
-                } else {
-                    return ResponseEntity.badRequest().body("Invalid program ID or program doesn't belong to the specified school");
-                }
-            } else {
-                // Get all programs for this school
-                programs = schoolProgramService.getSchoolProgramsBySchool(school);
-            }
+            // A single school program when programId is given, otherwise all of the school's programs
+            SchoolProgramSelection selection = new SchoolProgramSelection(schoolId, null,
+                    programId != null ? List.of(programId) : null);
+            int updatedCount = accreditationService.assignToSchoolPrograms(accredId, selection)
+                    .orElseThrow(() -> new Exception("Accreditation not found with ID: " + accredId));
             
-            // Update each program with the accreditation
-            int updatedCount = 0;
-            for (SchoolProgramEntity program : programs) {
-                program.setAccreditation(accreditation);
-                schoolProgramService.updateSchoolProgram(program);
-                updatedCount++;
+            if (programId != null && updatedCount == 0) {
+                return ResponseEntity.badRequest().body("Invalid program ID or program doesn't belong to the specified school");
             }
-            
             return ResponseEntity.ok("Successfully assigned accreditation to " + updatedCount + " program(s)");
             
         } catch (Exception e) {
@@ -161,4 +137,28 @@ public class AccreditationController {
                     .body("Error assigning accreditation: " + e.getMessage());
         }
     }
+    
+    // Bulk assign: one UPDATE over the school programs matching schoolId / programId / schoolProgramIds
+    @PostMapping("/{accredId}/assign")
+    public ResponseEntity<?> bulkAssign(@PathVariable int accredId, @RequestBody SchoolProgramSelection selection) {
+        try {
+            return accreditationService.assignToSchoolPrograms(accredId, selection)
+                    .<ResponseEntity<?>>map(updated -> ResponseEntity.ok(Map.of("accredId", accredId, "updated", updated)))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
+        }
+    }
+    
+    // Bulk detach: clears this accreditation from the matching school programs that hold it
+    @PostMapping("/{accredId}/detach")
+    public ResponseEntity<?> bulkDetach(@PathVariable int accredId, @RequestBody SchoolProgramSelection selection) {
+        try {
+            return accreditationService.detachFromSchoolPrograms(accredId, selection)
+                    .<ResponseEntity<?>>map(detached -> ResponseEntity.ok(Map.of("accredId", accredId, "detached", detached)))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
+        }
+    }
 }
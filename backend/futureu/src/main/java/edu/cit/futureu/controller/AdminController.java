@@ -0,0 +1,217 @@
+package edu.cit.futureu.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.cit.futureu.service.AdminStatsService;
+import edu.cit.futureu.service.BulkImportService;
+import edu.cit.futureu.service.CohortAnalyticsService;
+import edu.cit.futureu.service.ItemStatsService;
+import edu.cit.futureu.service.ResultExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    @Autowired
+    private AdminStatsService adminStatsService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private ResultExportService resultExportService;
+
+    @Autowired
+    private ItemStatsService itemStatsService;
+
+    @Autowired
+    private CohortAnalyticsService cohortAnalyticsService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Table counts and attempt aggregates for the admin dashboard, served from a short-lived snapshot
+     */
+    @GetMapping("/stats")
+    public Map<String, Object> getStats() {
+        return adminStatsService.getStats();
+    }
+
+    /**
+     * Running item statistics for one question: exposures, p-value, point-biserial discrimination
+     * and how often each option was picked
+     */
+    @GetMapping("/items/{questionId}/stats")
+    public ResponseEntity<Map<String, Object>> getItemStats(@PathVariable int questionId) {
+        return itemStatsService.getItemStats(questionId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Questions most in need of review: sort=discrimination (default), easy or hard
+     */
+    @GetMapping("/items/worst")
+    public ResponseEntity<?> getWorstItems(@RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer minExposures, @RequestParam(required = false) Integer limit) {
+        try {
+            List<Map<String, Object>> items = itemStatsService.getWorstItems(sort, minExposures, limit);
+            return ResponseEntity.ok(items);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
+        }
+    }
+
+    /**
+     * Count, mean, standard deviation and range of every score dimension across all results
+     */
+    @GetMapping("/analytics/summary")
+    public Map<String, Object> getAnalyticsSummary() {
+        return cohortAnalyticsService.getSummary();
+    }
+
+    /**
+     * Pearson correlations between score dimensions, over the attempts that took both sections
+     */
+    @GetMapping("/analytics/correlations")
+    public Map<String, Map<String, Double>> getAnalyticsCorrelations() {
+        return cohortAnalyticsService.getCorrelations();
+    }
+
+    /**
+     * Histogram of one score dimension, e.g. dimension=stemScore&buckets=20
+     */
+    @GetMapping("/analytics/distribution")
+    public ResponseEntity<?> getAnalyticsDistribution(@RequestParam String dimension,
+            @RequestParam(required = false) Integer buckets) {
+        try {
+            return ResponseEntity.ok(cohortAnalyticsService.getDistribution(dimension, buckets));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
+        }
+    }
+
+    /**
+     * Average scores grouped by each attempt's strongest track: track=academic (default) or other
+     */
+    @GetMapping("/analytics/by-track")
+    public ResponseEntity<?> getAnalyticsByTrack(@RequestParam(required = false) String track) {
+        try {
+            return ResponseEntity.ok(cohortAnalyticsService.getAveragesByTrack(track));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
+        }
+    }
+
+    /**
+     * Stream questions, careers or schools from an NDJSON or CSV request body into the database.
+     * The response is NDJSON written as the import runs: a "progress" event after each committed batch,
+     * an "error" event per rejected row (line number and reason), and a final "done" event with the totals.
+     */
+    @PostMapping("/import/{type}")
+    public void importRows(@PathVariable String type, @RequestParam(required = false) String format,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String resolved = BulkImportService.formatOf(format, request.getContentType());
+        if (!BulkImportService.isSupportedType(type) || !BulkImportService.isSupportedFormat(resolved)) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Map.of(
+                    "error", "Import type must be questions, careers or schools and format ndjson or csv",
+                    "code", "BAD_REQUEST"));
+            return;
+        }
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        BulkImportService.Report report = bulkImportService.importRows(type, resolved, request.getInputStream(),
+                new BulkImportService.Listener() {
+                    @Override
+                    public void onProgress(BulkImportService.Report progress) {
+                        writeEvent(out, "progress", progress.toMap(false), true);
+                    }
+
+                    @Override
+                    public void onError(long line, String message) {
+                        Map<String, Object> error = new LinkedHashMap<>();
+                        error.put("line", line);
+                        error.put("error", message);
+                        writeEvent(out, "error", error, false);
+                    }
+                });
+        writeEvent(out, "done", report.toMap(false), true);
+    }
+
+    /**
+     * Stream every assessment attempt with its result scores and section results, one record per attempt.
+     * from / to filter on the date taken (both inclusive); gzip=true compresses the body with Content-Encoding gzip.
+     */
+    @GetMapping("/export/results")
+    public ResponseEntity<?> exportResults(
+            @RequestParam(defaultValue = ResultExportService.FORMAT_CSV) String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        if (!ResultExportService.isSupportedFormat(format)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "format must be csv or ndjson", "code", "BAD_REQUEST"));
+        }
+        boolean csv = ResultExportService.FORMAT_CSV.equals(format);
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 1 << 16) : out;
+            resultExportService.exportResults(target, format, status,
+                    from == null ? null : from.atStartOfDay(),
+                    to == null ? null : to.plusDays(1).atStartOfDay());
+            if (target instanceof GZIPOutputStream gz) {
+                gz.finish();
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"results." + format + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private void writeEvent(OutputStream out, String event, Map<String, Object> body, boolean flush) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("event", event);
+        line.putAll(body);
+        try {
+            out.write(objectMapper.writeValueAsBytes(line));
+            out.write('\n');
+            if (flush) {
+                out.flush();
+            }
+        } catch (IOException e) {
+            // The client went away; the import itself carries on to the end of the body it already sent
+        }
+    }
+}
@@ -11,6 +11,8 @@ import edu.cit.futureu.entity.UserAssessmentSectionResultEntity;
 import edu.cit.futureu.service.UserAssessmentService;
 import edu.cit.futureu.service.AssessmentResultService;
 import edu.cit.futureu.service.GeminiAIService;
+import edu.cit.futureu.service.NormsService;
+import edu.cit.futureu.service.SimilarStudentsService;
 
 import java.util.*;
 
@@ -26,6 +28,12 @@ public class AssessmentResultController {
     
     @Autowired
     private GeminiAIService geminiAIService;
+    
+    @Autowired
+    private NormsService normsService;
+    
+    @Autowired
+    private SimilarStudentsService similarStudentsService;
 
     /**
      * Get results for a specific user assessment
@@ -76,6 +84,10 @@ public class AssessmentResultController {
             response.put("assessmentResult", resultOpt.get());
             response.put("sectionResults", sectionResults);
             
+            // Where each score stands among all results, by result field name
+            List<String> sectionIds = sectionResults.stream().map(UserAssessmentSectionResultEntity::getSectionId).toList();
+            response.put("percentiles", normsService.getPercentileRanks(resultOpt.get(), sectionIds));
+            
             return new ResponseEntity<>(response, HttpStatus.OK);
             
         } catch (Exception e) {
@@ -148,4 +160,62 @@ public class AssessmentResultController {
             );
         }
     }
+
+    /**
+     * Careers and programs recommended to the k past students whose scores are most like this attempt's
+     */
+    @GetMapping("/similar/{userAssessmentId}")
+    public ResponseEntity<?> getStudentsLikeYou(@PathVariable int userAssessmentId,
+            @RequestParam(required = false) Integer k) {
+        try {
+            // Get the user assessment
+            Optional<UserAssessmentEntity> userAssessmentOpt = userAssessmentService.getUserAssessmentById(userAssessmentId);
+            
+            if (!userAssessmentOpt.isPresent()) {
+                return new ResponseEntity<>(
+                    Map.of("error", "User assessment not found", 
+                           "code", "NOT_FOUND"),
+                    HttpStatus.NOT_FOUND
+                );
+            }
+            
+            UserAssessmentEntity userAssessment = userAssessmentOpt.get();
+            
+            // Check if the assessment is completed
+            if (!"COMPLETED".equals(userAssessment.getStatus())) {
+                return new ResponseEntity<>(
+                    Map.of("error", "Assessment is not yet completed", 
+                           "code", "BAD_REQUEST"),
+                    HttpStatus.BAD_REQUEST
+                );
+            }
+            
+            // Get the main assessment result
+            Optional<AssessmentResultEntity> resultOpt = assessmentResultService.getAssessmentResultByUserAssessment(userAssessment);
+            
+            if (!resultOpt.isPresent()) {
+                return new ResponseEntity<>(
+                    Map.of("error", "Assessment result not found", 
+                           "code", "NOT_FOUND"),
+                    HttpStatus.NOT_FOUND
+                );
+            }
+            
+            // Only the sections this attempt took are compared
+            List<String> sectionIds = userAssessmentService.getSectionResultsForAssessment(userAssessment).stream()
+                .map(UserAssessmentSectionResultEntity::getSectionId)
+                .toList();
+            
+            return new ResponseEntity<>(similarStudentsService.getStudentsLikeYou(resultOpt.get(), sectionIds, k), HttpStatus.OK);
+            
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new ResponseEntity<>(
+                Map.of("error", "Failed to find similar students", 
+                       "message", e.getMessage(),
+                       "code", "SERVER_ERROR"),
+                HttpStatus.INTERNAL_SERVER_ERROR
+            );
+        }
+    }
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package edu.cit.futureu.controller;
 
+import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,7 +20,10 @@ import org.springframework.web.bind.annotation.RestController;
 
 import edu.cit.futureu.entity.CareerEntity;
 import edu.cit.futureu.entity.ProgramEntity;
+import edu.cit.futureu.service.CareerFacetService;
 import edu.cit.futureu.service.CareerProgramService;
+import edu.cit.futureu.service.CareerSalaryService;
+import edu.cit.futureu.service.CatalogGraphService;
 import edu.cit.futureu.service.CareerService;
 import edu.cit.futureu.service.ProgramService;
 
@@ -33,6 +40,15 @@ public class CareerController {
     @Autowired
     private CareerProgramService careerProgramService;
     
+    @Autowired
+    private CatalogGraphService catalogGraphService;
+    
+    @Autowired
+    private CareerFacetService careerFacetService;
+    
+    @Autowired
+    private CareerSalaryService careerSalaryService;
+    
     @GetMapping("/test")
     public String test() {
         return "Career API is working!";
@@ -99,12 +115,39 @@ public class CareerController {
         return List.of(); // Return empty list if program not found
     }
     
+    // Schools offering programs that lead to this career, answered from the in-memory catalog graph
+    @GetMapping("/{careerId}/schools")
+    public ResponseEntity<?> getSchoolsForCareer(@PathVariable int careerId) {
+        return catalogGraphService.getSchoolsForCareer(careerId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     // Search careers by title
     @GetMapping("/searchCareers")
     public List<CareerEntity> searchCareers(@RequestParam String title) {
         return careerService.searchCareersByTitle(title);
     }
     
+    // Combined filter: values within a facet are ORed, facets are ANDed; returns facet counts with the page
+    @GetMapping("/filter")
+    public ResponseEntity<?> filterCareers(
+            @RequestParam(required = false) List<String> industry,
+            @RequestParam(required = false) List<String> jobTrend,
+            @RequestParam(required = false) List<String> programId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        Map<String, List<String>> selections = new HashMap<>();
+        selections.put(CareerFacetService.FACET_INDUSTRY, industry);
+        selections.put(CareerFacetService.FACET_JOB_TREND, jobTrend);
+        selections.put(CareerFacetService.FACET_PROGRAM, programId);
+        try {
+            return ResponseEntity.ok(careerFacetService.filter(selections, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
+        }
+    }
+    
     // Filter careers by industry
     @GetMapping("/filterByIndustry")
     public List<CareerEntity> filterByIndustry(@RequestParam String industry) {
@@ -123,6 +166,22 @@ public class CareerController {
         return careerService.filterCareersBySalary(salary);
     }
     
+    // Careers whose parsed monthly salary range overlaps [min, max], by id or sorted by salary ("salary" / "-salary")
+    @GetMapping("/salaryRange")
+    public ResponseEntity<?> getCareersBySalaryRange(
+            @RequestParam(required = false) BigDecimal min,
+            @RequestParam(required = false) BigDecimal max,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(careerSalaryService.getCareersBySalaryRange(min, max, currency, sort, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
+        }
+    }
+    
     // New endpoint to filter by career description
     @GetMapping("/filterByDescription")
     public List<CareerEntity> filterByDescription(@RequestParam String description) {
@@ -131,7 +190,13 @@ public class CareerController {
     
     // UPDATE
     @PutMapping("/putCareerDetails")
-    public CareerEntity putCareerDetails(@RequestParam int careerId, @RequestBody CareerDTO careerDTO) {
+    public ResponseEntity<?> putCareerDetails(@RequestParam int careerId, @RequestBody CareerDTO careerDTO) {
+        // Reject an unknown program before anything is changed
+        Integer programId = careerDTO.getProgramId();
+        if (programId != null && programService.getProgramById(programId).isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unknown program ids: [" + programId + "]", "code", "BAD_REQUEST"));
+        }
+        
         // Set the career ID from path parameter
         careerDTO.getCareer().setCareerId(careerId);
         
@@ -140,22 +205,35 @@ public class CareerController {
         
         if (updatedCareer != null) {
             // Handle program association update
-            if (careerDTO.getProgramId() != null) {
-                // Remove existing associations first (to avoid duplicates)
-                List<ProgramEntity> existingPrograms = careerProgramService.getProgramsByCareer(careerId);
-                for (ProgramEntity existingProgram : existingPrograms) {
-                    careerProgramService.deleteAssociation(careerId, existingProgram.getProgramId());
+            if (programId != null) {
+                // Replace existing associations with the single given program
+                try {
+                    careerProgramService.replaceProgramsForCareer(careerId, List.of(programId));
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
                 }
-                
-                // Create new association
-                careerProgramService.associateCareerWithProgram(careerId, careerDTO.getProgramId());
             }
             
             // Return updated career with refreshed data
-            return careerService.getCareerById(careerId).orElse(updatedCareer);
+            return ResponseEntity.ok(careerService.getCareerById(careerId).orElse(updatedCareer));
         }
         
-        return null;
+        return ResponseEntity.ok().build();
+    }
+    
+    // Set the career's programs to exactly the given ids; returns the final ids with added / removed counts
+    @PutMapping("/{careerId}/programs")
+    public ResponseEntity<?> putCareerPrograms(@PathVariable int careerId, @RequestBody List<Integer> programIds) {
+        if (programIds == null || programIds.contains(null)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "programIds must be a list of ids", "code", "BAD_REQUEST"));
+        }
+        try {
+            return careerProgramService.replaceProgramsForCareer(careerId, programIds)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
+        }
     }
     
     // DELETE
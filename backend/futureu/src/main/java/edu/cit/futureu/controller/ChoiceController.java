@@ -1,8 +1,10 @@
 package edu.cit.futureu.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import edu.cit.futureu.dto.ChoiceSummary;
+import edu.cit.futureu.dto.CursorPage;
 import edu.cit.futureu.entity.ChoiceEntity;
 import edu.cit.futureu.entity.QuestionEntity;
 import edu.cit.futureu.service.ChoiceService;
@@ -46,6 +50,20 @@ public class ChoiceController {
         return choiceService.getAllChoices();
     }
     
+    // Keyset-paginated summaries of choices
+    @GetMapping("/getChoicesPage")
+    public ResponseEntity<?> getChoicesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = CursorPage.SORT_ID_ASC) String sort) {
+        try {
+            CursorPage<ChoiceSummary> page = choiceService.getChoicePage(cursor, limit, sort);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
+        }
+    }
+    
     @GetMapping("/getChoice/{choiceId}")
     public ChoiceEntity getChoiceById(@PathVariable int choiceId) {
         return choiceService.getChoiceById(choiceId)
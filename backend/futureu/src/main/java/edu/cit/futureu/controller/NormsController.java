@@ -0,0 +1,32 @@
+package edu.cit.futureu.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import edu.cit.futureu.service.NormsService;
+
+@RestController
+@RequestMapping("/api/norms")
+public class NormsController {
+
+    @Autowired
+    private NormsService normsService;
+
+    // Score distribution per result dimension: count, range, quartiles and histogram buckets
+    @GetMapping
+    public ResponseEntity<?> getNorms(
+            @RequestParam(required = false) String dimension,
+            @RequestParam(required = false) Integer buckets) {
+        try {
+            return ResponseEntity.ok(normsService.getNorms(dimension, buckets));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
+        }
+    }
+}
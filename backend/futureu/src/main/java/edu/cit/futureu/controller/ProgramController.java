@@ -4,6 +4,7 @@ import java.util.List;
 
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import edu.cit.futureu.entity.ProgramEntity;
+import edu.cit.futureu.service.CatalogGraphService;
 import edu.cit.futureu.service.ProgramService;
 
 @RestController
@@ -25,6 +27,9 @@ public class ProgramController {
     @Autowired
     private ProgramService programService;
     
+    @Autowired
+    private CatalogGraphService catalogGraphService;
+    
     @GetMapping("/test")
     public String test() {
         return "Program API is working!";
@@ -49,6 +54,14 @@ public class ProgramController {
                 .orElse(null);
     }
     
+    // Careers this program leads to, answered from the in-memory catalog graph
+    @GetMapping("/{programId}/careers")
+    public ResponseEntity<?> getCareersForProgram(@PathVariable int programId) {
+        return catalogGraphService.getCareersForProgram(programId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     // Search programs by name
     @GetMapping("/searchPrograms")
     public List<ProgramEntity> searchPrograms(@RequestParam String name) {
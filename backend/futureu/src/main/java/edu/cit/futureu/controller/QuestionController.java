@@ -1,10 +1,14 @@
 package edu.cit.futureu.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import edu.cit.futureu.dto.CursorPage;
+import edu.cit.futureu.dto.QuestionSummary;
 import edu.cit.futureu.entity.QuestionEntity;
 import edu.cit.futureu.entity.AssessmentCategoryEntity;
 import edu.cit.futureu.service.QuestionService;
@@ -30,6 +34,20 @@ public class QuestionController {
         return questionService.getAllQuestions();
     }
 
+    // Keyset-paginated summaries with category names flattened in
+    @GetMapping("/getQuestionsPage")
+    public ResponseEntity<?> getQuestionsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = CursorPage.SORT_ID_ASC) String sort) {
+        try {
+            CursorPage<QuestionSummary> page = questionService.getQuestionPage(cursor, limit, sort);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
+        }
+    }
+
     @GetMapping("/getQuestion/{questionId}")
     public QuestionEntity getQuestionById(@PathVariable int questionId) {
         return questionService.getQuestionById(questionId).orElse(null);
@@ -1,8 +1,10 @@
 package edu.cit.futureu.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,7 +16,11 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import edu.cit.futureu.dto.SchoolDetail;
+import edu.cit.futureu.dto.SchoolListItem;
 import edu.cit.futureu.entity.SchoolEntity;
+import edu.cit.futureu.service.SchoolDetailService;
+import edu.cit.futureu.service.SchoolGeoService;
 import edu.cit.futureu.service.SchoolService;
 
 @RestController
@@ -24,6 +30,12 @@ public class SchoolController {
     @Autowired
     private SchoolService schoolService;
     
+    @Autowired
+    private SchoolDetailService schoolDetailService;
+    
+    @Autowired
+    private SchoolGeoService schoolGeoService;
+    
     @GetMapping("/test")
     public String test() {
         return "School API is working!";
@@ -35,10 +47,10 @@ public class SchoolController {
         return schoolService.createSchool(school);
     }
     
-    // READ
+    // READ - lean list items; use getSchool or {schoolId}/detail for the full record
     @GetMapping("/getAllSchools")
-    public List<SchoolEntity> getAllSchools() {
-        return schoolService.getAllSchools();
+    public List<SchoolListItem> getAllSchools() {
+        return schoolService.getAllSchoolListItems();
     }
     
     // Get school by ID
@@ -48,22 +60,49 @@ public class SchoolController {
                 .orElse(null);
     }
     
+    // School with its programs, accreditations, tours and rating in one response
+    @GetMapping("/{schoolId}/detail")
+    public ResponseEntity<SchoolDetail> getSchoolDetail(@PathVariable int schoolId) {
+        return schoolDetailService.getSchoolDetail(schoolId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // k nearest schools to a point, optionally within radiusKm and offering programId
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbySchools(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Integer k,
+            @RequestParam(required = false) Integer programId) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            return ResponseEntity.badRequest().body(Map.of("error", "lat must be in [-90, 90] and lon in [-180, 180]", "code", "BAD_REQUEST"));
+        }
+        if (radiusKm != null && !(radiusKm > 0)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "radiusKm must be positive", "code", "BAD_REQUEST"));
+        }
+        return schoolGeoService.findNearby(lat, lon, radiusKm, k, programId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     // Search schools by name
     @GetMapping("/searchSchools")
-    public List<SchoolEntity> searchSchools(@RequestParam String name) {
-        return schoolService.searchSchoolsByName(name);
+    public List<SchoolListItem> searchSchools(@RequestParam String name) {
+        return schoolService.searchSchoolListItemsByName(name);
     }
     
     // Filter schools by location
     @GetMapping("/filterByLocation")
-    public List<SchoolEntity> filterByLocation(@RequestParam String location) {
-        return schoolService.filterSchoolsByLocation(location);
+    public List<SchoolListItem> filterByLocation(@RequestParam String location) {
+        return schoolService.filterSchoolListItemsByLocation(location);
     }
     
     // Filter schools by type
     @GetMapping("/filterByType")
-    public List<SchoolEntity> filterByType(@RequestParam String type) {
-        return schoolService.filterSchoolsByType(type);
+    public List<SchoolListItem> filterByType(@RequestParam String type) {
+        return schoolService.filterSchoolListItemsByType(type);
     }
     
     // UPDATE
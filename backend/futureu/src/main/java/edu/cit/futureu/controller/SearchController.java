@@ -0,0 +1,61 @@
+package edu.cit.futureu.controller;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import edu.cit.futureu.service.SearchIndexService;
+import edu.cit.futureu.service.TypeaheadService;
+
+@RestController
+@RequestMapping(method=RequestMethod.GET, path="/api")
+public class SearchController {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    // Ranked hits across careers, schools, programs and accreditations; type narrows to one of them
+    @GetMapping("/search")
+    public ResponseEntity<?> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "q must not be blank", "code", "BAD_REQUEST"));
+        }
+        try {
+            List<Map<String, Object>> hits = searchIndexService.search(q, type, limit);
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("query", q);
+            response.put("type", type);
+            response.put("hits", hits);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
+        }
+    }
+
+    // Name completions for search boxes; type narrows to career, school or program
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(
+            @RequestParam String prefix,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(typeaheadService.suggest(prefix, type, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
+        }
+    }
+}
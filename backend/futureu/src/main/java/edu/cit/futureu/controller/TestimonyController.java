@@ -1,7 +1,7 @@
 package edu.cit.futureu.controller;
 
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -24,14 +24,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import edu.cit.futureu.dto.CursorPage;
+import edu.cit.futureu.dto.SchoolRatingView;
+import edu.cit.futureu.dto.TestimonyView;
 import edu.cit.futureu.entity.Role;
-import edu.cit.futureu.entity.SchoolEntity;
 import edu.cit.futureu.entity.TestimonyEntity;
 import edu.cit.futureu.entity.UserEntity;
 import edu.cit.futureu.repository.UserRepository;
-import edu.cit.futureu.service.SchoolService;
+import edu.cit.futureu.service.SchoolRatingService;
 import edu.cit.futureu.service.TestimonyService;
-import edu.cit.futureu.service.UserService;
 
 @RestController
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -42,10 +43,7 @@ public class TestimonyController {
     private TestimonyService testimonyService;
     
     @Autowired
-    private SchoolService schoolService;
-    
-    @Autowired
-    private UserService userService;
+    private SchoolRatingService schoolRatingService;
     
     @Autowired
     private UserRepository userRepository;
@@ -104,9 +102,9 @@ public class TestimonyController {
     }
     
     /**
-     * Helper method to convert a TestimonyEntity to a Map with the needed fields
+     * Helper method to convert a TestimonyView to a Map with the needed fields
      */
-    private Map<String, Object> convertToMap(TestimonyEntity testimony) {
+    private Map<String, Object> convertToMap(TestimonyView testimony) {
         Map<String, Object> map = new HashMap<>();
         
         // Add testimony data
@@ -115,18 +113,14 @@ public class TestimonyController {
         map.put("rating", testimony.getRating());
         
         // Add school data
-        if (testimony.getSchool() != null) {
-            map.put("schoolId", testimony.getSchool().getSchoolId());
-            map.put("schoolName", testimony.getSchool().getName());
-        }
+        map.put("schoolId", testimony.getSchoolId());
+        map.put("schoolName", testimony.getSchoolName());
         
         // Add student data
-        if (testimony.getStudent() != null) {
-            map.put("studentId", testimony.getStudent().getUserId());
-            map.put("studentFirstName", testimony.getStudent().getFirstName());
-            map.put("studentLastName", testimony.getStudent().getLastname());
-            map.put("userId", testimony.getStudent().getUserId()); // Add userId for ownership check on client side
-        }
+        map.put("studentId", testimony.getStudentId());
+        map.put("studentFirstName", testimony.getStudentFirstName());
+        map.put("studentLastName", testimony.getStudentLastName());
+        map.put("userId", testimony.getStudentId()); // Add userId for ownership check on client side
         
         return map;
     }
@@ -145,8 +139,7 @@ public class TestimonyController {
     // READ - Updated to return mapped data
     @GetMapping("/getAllTestimonies")
     public List<Map<String, Object>> getAllTestimonies() {
-        List<TestimonyEntity> testimonies = testimonyService.getAllTestimonies();
-        return testimonies.stream()
+        return testimonyService.getAllTestimonyViews().stream()
                 .map(this::convertToMap)
                 .collect(Collectors.toList());
     }
@@ -154,40 +147,64 @@ public class TestimonyController {
     // Get testimony by ID - Updated to return mapped data
     @GetMapping("/getTestimony/{testimonyId}")
     public ResponseEntity<?> getTestimonyById(@PathVariable int testimonyId) {
-        return testimonyService.getTestimonyById(testimonyId)
+        return testimonyService.getTestimonyViewById(testimonyId)
                 .map(this::convertToMap)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
     
-    // Get testimonies by school ID - Updated to return mapped data
+    // Get testimonies by school ID - an unknown school simply has no testimonies
     @GetMapping("/getTestimoniesBySchool/{schoolId}")
     public ResponseEntity<?> getTestimoniesBySchool(@PathVariable int schoolId) {
-        SchoolEntity school = schoolService.getSchoolById(schoolId).orElse(null);
-        if (school != null) {
-            List<TestimonyEntity> testimonies = testimonyService.getTestimoniesBySchool(school);
-            List<Map<String, Object>> responseList = testimonies.stream()
-                    .map(this::convertToMap)
-                    .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(responseList);
-        }
-        return ResponseEntity.ok(Collections.emptyList());
+        List<Map<String, Object>> responseList = testimonyService.getTestimonyViewsBySchool(schoolId).stream()
+                .map(this::convertToMap)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(responseList);
     }
     
-    // Get testimonies by student ID - Updated to return mapped data
+    // Get testimonies by student ID - an unknown user simply has no testimonies
     @GetMapping("/getTestimoniesByStudent/{userId}")
     public ResponseEntity<?> getTestimoniesByStudent(@PathVariable int userId) {
-        UserEntity user = userService.getUserById(userId).orElse(null);
-        if (user != null) {
-            List<TestimonyEntity> testimonies = testimonyService.getTestimoniesByStudent(user);
-            List<Map<String, Object>> responseList = testimonies.stream()
+        List<Map<String, Object>> responseList = testimonyService.getTestimonyViewsByStudent(userId).stream()
+                .map(this::convertToMap)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(responseList);
+    }
+    
+    /**
+     * Keyset-paginated testimony feed for a school, with its rating summary so the first screen needs one request
+     * @param sort "-id" (newest, default), "id" (oldest), "-rating" (highest rated) or "rating" (lowest rated)
+     */
+    @GetMapping("/getTestimonyFeedBySchool/{schoolId}")
+    public ResponseEntity<?> getTestimonyFeedBySchool(@PathVariable int schoolId,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer limit,
+                                                      @RequestParam(defaultValue = CursorPage.SORT_ID_DESC) String sort,
+                                                      @RequestParam(required = false) Integer minRating,
+                                                      @RequestParam(required = false) Integer maxRating) {
+        Optional<SchoolRatingView> rating = schoolRatingService.getSchoolRating(schoolId);
+        if (!rating.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body("School with ID " + schoolId + " not found");
+        }
+        try {
+            CursorPage<TestimonyView> page = testimonyService.getSchoolTestimonyPage(
+                    schoolId, cursor, limit, sort, minRating, maxRating);
+            List<Map<String, Object>> items = page.getItems().stream()
                     .map(this::convertToMap)
                     .collect(Collectors.toList());
             
-            return ResponseEntity.ok(responseList);
+            Map<String, Object> ratingSummary = convertRatingToMap(rating.get());
+            ratingSummary.put("schoolName", rating.get().getSchoolName());
+            
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("schoolId", schoolId);
+            response.put("ratingSummary", ratingSummary);
+            response.put("page", new CursorPage<>(items, page.getNextCursor(), page.isHasMore(), page.getLimit(), page.getSort()));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
         }
-        return ResponseEntity.ok(Collections.emptyList());
     }
     
     // UPDATE - Added admin check
@@ -222,6 +239,24 @@ public class TestimonyController {
         }
     }
 
+    /**
+     * Build the rating fields shared by the rating endpoints from the summary read model
+     */
+    private Map<String, Object> convertRatingToMap(SchoolRatingView view) {
+        Map<String, Object> histogram = new LinkedHashMap<>();
+        histogram.put("1", view.getOneStarCount());
+        histogram.put("2", view.getTwoStarCount());
+        histogram.put("3", view.getThreeStarCount());
+        histogram.put("4", view.getFourStarCount());
+        histogram.put("5", view.getFiveStarCount());
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("averageRating", view.getAverageRating());
+        map.put("ratingCount", view.getRatingCount());
+        map.put("ratingHistogram", histogram);
+        return map;
+    }
+
     /**
      * Get average rating by school
      * @param schoolId The ID of the school
@@ -230,35 +265,14 @@ public class TestimonyController {
     @GetMapping("/getAverageRatingBySchool/{schoolId}")
     public ResponseEntity<?> getAverageRatingBySchool(@PathVariable int schoolId) {
         try {
-            // Get the school entity
-            Optional<SchoolEntity> schoolOptional = schoolService.getSchoolById(schoolId);
-            if (!schoolOptional.isPresent()) {
+            Optional<SchoolRatingView> rating = schoolRatingService.getSchoolRating(schoolId);
+            if (!rating.isPresent()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("School with ID " + schoolId + " not found");
             }
             
-            SchoolEntity school = schoolOptional.get();
-            List<TestimonyEntity> testimonies = testimonyService.getTestimoniesBySchool(school);
-            
-            // Calculate average rating if there are any testimonies with ratings
-            double averageRating = 0.0;
-            long ratingCount = 0;
-            
-            for (TestimonyEntity testimony : testimonies) {
-                if (testimony.getRating() != null) {
-                    averageRating += testimony.getRating();
-                    ratingCount++;
-                }
-            }
-            
-            if (ratingCount > 0) {
-                averageRating = averageRating / ratingCount;
-            }
-            
-            Map<String, Object> response = new HashMap<>();
+            Map<String, Object> response = convertRatingToMap(rating.get());
             response.put("schoolId", schoolId);
-            response.put("averageRating", averageRating);
-            response.put("ratingCount", ratingCount);
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -274,33 +288,12 @@ public class TestimonyController {
     @GetMapping("/getAllSchoolRatings")
     public ResponseEntity<?> getAllSchoolRatings() {
         try {
-            List<SchoolEntity> schools = schoolService.getAllSchools();
             Map<Integer, Map<String, Object>> schoolRatings = new HashMap<>();
             
-            for (SchoolEntity school : schools) {
-                int schoolId = school.getSchoolId();
-                List<TestimonyEntity> testimonies = testimonyService.getTestimoniesBySchool(school);
-                
-                double averageRating = 0.0;
-                long ratingCount = 0;
-                
-                for (TestimonyEntity testimony : testimonies) {
-                    if (testimony.getRating() != null) {
-                        averageRating += testimony.getRating();
-                        ratingCount++;
-                    }
-                }
-                
-                if (ratingCount > 0) {
-                    averageRating = averageRating / ratingCount;
-                }
-                
-                Map<String, Object> ratingInfo = new HashMap<>();
-                ratingInfo.put("averageRating", averageRating);
-                ratingInfo.put("ratingCount", ratingCount);
-                ratingInfo.put("schoolName", school.getName());
-                
-                schoolRatings.put(schoolId, ratingInfo);
+            for (SchoolRatingView view : schoolRatingService.getAllSchoolRatings()) {
+                Map<String, Object> ratingInfo = convertRatingToMap(view);
+                ratingInfo.put("schoolName", view.getSchoolName());
+                schoolRatings.put(view.getSchoolId(), ratingInfo);
             }
             
             return ResponseEntity.ok(schoolRatings);
@@ -313,33 +306,12 @@ public class TestimonyController {
     // Get average rating for a school
     @GetMapping("/getSchoolAverageRating/{schoolId}")
     public ResponseEntity<?> getSchoolAverageRating(@PathVariable int schoolId) {
-        SchoolEntity school = schoolService.getSchoolById(schoolId).orElse(null);
-        if (school != null) {
-            List<TestimonyEntity> testimonies = testimonyService.getTestimoniesBySchool(school);
-            
-            // Calculate average rating
-            double averageRating = 0.0;
-            int ratingCount = 0;
-            
-            for (TestimonyEntity testimony : testimonies) {
-                if (testimony.getRating() != null && testimony.getRating() > 0) {
-                    averageRating += testimony.getRating();
-                    ratingCount++;
-                }
-            }
-            
-            if (ratingCount > 0) {
-                averageRating = averageRating / ratingCount;
-            }
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("schoolId", schoolId);
-            response.put("averageRating", averageRating);
-            response.put("ratingCount", ratingCount);
-            
-            return ResponseEntity.ok(response);
-        }
-        
-        return ResponseEntity.notFound().build();
+        return schoolRatingService.getSchoolRating(schoolId)
+                .map(view -> {
+                    Map<String, Object> response = convertRatingToMap(view);
+                    response.put("schoolId", schoolId);
+                    return ResponseEntity.ok(response);
+                })
+                .orElse(ResponseEntity.notFound().build());
     }
 }
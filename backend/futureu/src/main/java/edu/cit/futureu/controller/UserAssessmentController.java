@@ -19,6 +19,8 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import edu.cit.futureu.dto.CursorPage;
+import edu.cit.futureu.dto.UserAssessmentSummary;
 import edu.cit.futureu.entity.UserAssessmentEntity;
 import edu.cit.futureu.entity.UserEntity;
 import edu.cit.futureu.entity.AssessmentEntity;
@@ -61,6 +63,20 @@ public class UserAssessmentController {
         return userAssessmentService.getAllUserAssessments();
     }
 
+    // Keyset-paginated summaries (without saved answers/sections) for admin screens
+    @GetMapping("/getUserAssessmentsPage")
+    public ResponseEntity<?> getUserAssessmentsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = CursorPage.SORT_ID_ASC) String sort) {
+        try {
+            CursorPage<UserAssessmentSummary> page = userAssessmentService.getUserAssessmentPage(cursor, limit, sort);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
+        }
+    }
+
     @GetMapping("/getUserAssessment/{id}")
     public UserAssessmentEntity getUserAssessmentById(@PathVariable int id) {
         return userAssessmentService.getUserAssessmentById(id).orElse(null);
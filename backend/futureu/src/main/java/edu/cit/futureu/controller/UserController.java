@@ -1,8 +1,10 @@
 package edu.cit.futureu.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import edu.cit.futureu.dto.CursorPage;
+import edu.cit.futureu.dto.UserSummary;
 import edu.cit.futureu.entity.UserEntity;
 import edu.cit.futureu.service.UserService;
 
@@ -41,6 +45,20 @@ public class UserController {
         return userService.getAllUsers();
     }
     
+    // Keyset-paginated summaries of users (no password hashes)
+    @GetMapping("/getUsersPage")
+    public ResponseEntity<?> getUsersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = CursorPage.SORT_ID_ASC) String sort) {
+        try {
+            CursorPage<UserSummary> page = userService.getUserPage(cursor, limit, sort);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "code", "BAD_REQUEST"));
+        }
+    }
+    
     // Get user by ID
     @GetMapping("/getUser/{userId}")
     public UserEntity getUserById(@PathVariable int userId) {
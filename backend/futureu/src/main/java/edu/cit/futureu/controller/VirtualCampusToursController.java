@@ -3,11 +3,13 @@ package edu.cit.futureu.controller;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import edu.cit.futureu.entity.VirtualCampusToursEntity;
 import edu.cit.futureu.entity.SchoolEntity;
 import edu.cit.futureu.service.VirtualCampusToursService;
 import edu.cit.futureu.service.SchoolService;
+import edu.cit.futureu.service.TrendingToursService;
 
 @RestController
 @RequestMapping("/api/virtualcampustours")
@@ -29,6 +31,12 @@ public class VirtualCampusToursController {
         return virtualCampusTourService.getAllTours();
     }
 
+    // Tours ranked by recent views, where older views count for less
+    @GetMapping("/trending")
+    public List<VirtualCampusToursEntity> getTrendingTours(@RequestParam(required = false) Integer k) {
+        return virtualCampusTourService.getTrendingTours(TrendingToursService.clampK(k));
+    }
+
     @GetMapping("/{id}")
     public VirtualCampusToursEntity getTourById(@PathVariable int id) {
         return virtualCampusTourService.getTourById(id).orElse(null);
@@ -51,9 +59,11 @@ public class VirtualCampusToursController {
         virtualCampusTourService.deleteTour(id);
     }
 
+    // Counted in memory and flushed in batches, so this never waits on the database
     @PutMapping("/{id}/view")
-    public VirtualCampusToursEntity incrementViews(@PathVariable int id) {
-        return virtualCampusTourService.incrementViews(id).orElse(null);
+    public ResponseEntity<Void> incrementViews(@PathVariable int id) {
+        virtualCampusTourService.recordView(id);
+        return ResponseEntity.accepted().build();
     }
 
     @PutMapping("/{id}/feature")
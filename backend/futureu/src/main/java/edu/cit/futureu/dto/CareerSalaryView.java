@@ -0,0 +1,18 @@
+package edu.cit.futureu.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * A career row for the salary range listing: the raw salary text and its parsed monthly range.
+ */
+public interface CareerSalaryView {
+    int getCareerId();
+    String getCareerTitle();
+    String getIndustry();
+    String getJobTrend();
+    String getSalary();
+    BigDecimal getSalaryMin();
+    BigDecimal getSalaryMax();
+    String getSalaryCurrency();
+    String getSalaryPeriod();
+}
@@ -0,0 +1,11 @@
+package edu.cit.futureu.dto;
+
+/**
+ * Lightweight projection of a choice carrying only its question id.
+ */
+public interface ChoiceSummary {
+    int getChoiceId();
+    int getQuestionId();
+    String getChoiceText();
+    boolean getIsCorrect();
+}
@@ -0,0 +1,120 @@
+package edu.cit.futureu.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) paginated listing.
+ * Pass {@code nextCursor} back as the {@code cursor} request parameter to get the following page.
+ */
+public class CursorPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    // Sort keys shared by the id-ordered listings
+    public static final String SORT_ID_ASC = "id";
+    public static final String SORT_ID_DESC = "-id";
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int limit;
+    private String sort;
+
+    public CursorPage(List<T> items, String nextCursor, boolean hasMore, int limit, String sort) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.limit = limit;
+        this.sort = sort;
+    }
+
+    /**
+     * Clamp a requested page size to [1, MAX_LIMIT], falling back to DEFAULT_LIMIT
+     */
+    public static int clampLimit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    /**
+     * Whether the sort key asks for newest (highest id) first; anything other than "id" / "-id" is rejected
+     */
+    public static boolean isDescending(String sort) {
+        if (sort == null || sort.isEmpty() || SORT_ID_ASC.equals(sort)) {
+            return false;
+        }
+        if (SORT_ID_DESC.equals(sort)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unsupported sort key: " + sort);
+    }
+
+    /**
+     * Decode an id cursor, starting from the first row for the given direction when no cursor is sent
+     */
+    public static int decodeIdCursor(String cursor, boolean descending) {
+        if (cursor == null || cursor.isEmpty()) {
+            return descending ? Integer.MAX_VALUE : 0;
+        }
+        try {
+            return Integer.parseInt(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Build a page from rows fetched with limit + 1, so the extra row only tells us whether more exist
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, String sort, Function<T, String> cursorOf) {
+        boolean hasMore = fetched.size() > limit;
+        List<T> items = hasMore ? fetched.subList(0, limit) : fetched;
+        String nextCursor = hasMore ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor, hasMore, limit, sort);
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+}
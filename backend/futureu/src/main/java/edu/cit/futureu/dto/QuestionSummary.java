@@ -0,0 +1,19 @@
+package edu.cit.futureu.dto;
+
+/**
+ * Lightweight projection of a question with the names of its categories flattened in.
+ */
+public interface QuestionSummary {
+    int getQuestionId();
+    String getQuestionText();
+    String getQuestionType();
+    String getDifficultyLevel();
+    String getCategory();
+    String getCorrectAnswer();
+    Integer getAssessmentCategoryId();
+    String getCategoryName();
+    Integer getAssessmentSubCategoryId();
+    String getSubCategoryName();
+    Integer getQuizSubCategoryCategoryId();
+    String getQuizSubCategoryCategoryName();
+}
@@ -0,0 +1,174 @@
+package edu.cit.futureu.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the school detail screens show, assembled from a few batched queries.
+ */
+public class SchoolDetail {
+
+    // Program offered by the school, with the accreditation of that offering if any
+    public interface ProgramOffering {
+        int getSchoolProgramId();
+        int getProgramId();
+        String getProgramName();
+        String getProgramDescription();
+        Integer getAccredId();
+        String getAccreditationTitle();
+        String getAccreditationLevel();
+        String getRecognitionStatus();
+        String getAccreditingBody();
+    }
+
+    // Accreditation held by the school itself
+    public interface Accreditation {
+        int getAccredId();
+        String getTitle();
+        String getDescription();
+        String getRecognitionStatus();
+        String getAccreditingBody();
+        String getAccreditationLevel();
+    }
+
+    public interface Tour {
+        int getVirtualCampusTourId();
+        String getVirtualCampusTourUrl();
+        String getCaption();
+        boolean getFeatured();
+        int getViews();
+    }
+
+    private int schoolId;
+    private String name;
+    private String location;
+    private String type;
+    private String schoolWebsiteUrl;
+    private String description;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+
+    private double averageRating;
+    private long ratingCount;
+    private Map<String, Long> ratingHistogram;
+
+    private List<ProgramOffering> programs;
+    private List<Accreditation> accreditations;
+    private List<Tour> tours;
+
+    public SchoolDetail() {}
+
+    // Getters and Setters
+    public int getSchoolId() {
+        return schoolId;
+    }
+
+    public void setSchoolId(int schoolId) {
+        this.schoolId = schoolId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getSchoolWebsiteUrl() {
+        return schoolWebsiteUrl;
+    }
+
+    public void setSchoolWebsiteUrl(String schoolWebsiteUrl) {
+        this.schoolWebsiteUrl = schoolWebsiteUrl;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public BigDecimal getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(BigDecimal latitude) {
+        this.latitude = latitude;
+    }
+
+    public BigDecimal getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(BigDecimal longitude) {
+        this.longitude = longitude;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public long getRatingCount() {
+        return ratingCount;
+    }
+
+    public void setRatingCount(long ratingCount) {
+        this.ratingCount = ratingCount;
+    }
+
+    public Map<String, Long> getRatingHistogram() {
+        return ratingHistogram;
+    }
+
+    public void setRatingHistogram(Map<String, Long> ratingHistogram) {
+        this.ratingHistogram = ratingHistogram;
+    }
+
+    public List<ProgramOffering> getPrograms() {
+        return programs;
+    }
+
+    public void setPrograms(List<ProgramOffering> programs) {
+        this.programs = programs;
+    }
+
+    public List<Accreditation> getAccreditations() {
+        return accreditations;
+    }
+
+    public void setAccreditations(List<Accreditation> accreditations) {
+        this.accreditations = accreditations;
+    }
+
+    public List<Tour> getTours() {
+        return tours;
+    }
+
+    public void setTours(List<Tour> tours) {
+        this.tours = tours;
+    }
+}
@@ -0,0 +1,24 @@
+package edu.cit.futureu.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * A school row for the listing endpoints: the school's own columns plus its rating summary,
+ * without the testimony or program graph.
+ */
+public interface SchoolListItem {
+    int getSchoolId();
+    String getName();
+    String getLocation();
+    String getType();
+    String getSchoolWebsiteUrl();
+    String getDescription();
+    BigDecimal getLatitude();
+    BigDecimal getLongitude();
+    long getRatingSum();
+    long getRatingCount();
+
+    default double getAverageRating() {
+        return getRatingCount() > 0 ? (double) getRatingSum() / getRatingCount() : 0.0;
+    }
+}
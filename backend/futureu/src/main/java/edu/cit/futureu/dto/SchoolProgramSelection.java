@@ -0,0 +1,52 @@
+package edu.cit.futureu.dto;
+
+import java.util.List;
+
+/**
+ * Which school programs a bulk accreditation change applies to. Every field given narrows the selection:
+ * a school, a program offered across schools, and/or explicit school program ids.
+ */
+public class SchoolProgramSelection {
+    private Integer schoolId;
+    private Integer programId;
+    private List<Integer> schoolProgramIds;
+
+    public SchoolProgramSelection() {
+    }
+
+    public SchoolProgramSelection(Integer schoolId, Integer programId, List<Integer> schoolProgramIds) {
+        this.schoolId = schoolId;
+        this.programId = programId;
+        this.schoolProgramIds = schoolProgramIds;
+    }
+
+    // True when nothing narrows the selection, which would touch every school program
+    public boolean isEmpty() {
+        return schoolId == null && programId == null && (schoolProgramIds == null || schoolProgramIds.isEmpty());
+    }
+
+    // Getters and Setters
+    public Integer getSchoolId() {
+        return schoolId;
+    }
+
+    public void setSchoolId(Integer schoolId) {
+        this.schoolId = schoolId;
+    }
+
+    public Integer getProgramId() {
+        return programId;
+    }
+
+    public void setProgramId(Integer programId) {
+        this.programId = programId;
+    }
+
+    public List<Integer> getSchoolProgramIds() {
+        return schoolProgramIds;
+    }
+
+    public void setSchoolProgramIds(List<Integer> schoolProgramIds) {
+        this.schoolProgramIds = schoolProgramIds;
+    }
+}
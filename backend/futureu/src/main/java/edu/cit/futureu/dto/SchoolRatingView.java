@@ -0,0 +1,20 @@
+package edu.cit.futureu.dto;
+
+/**
+ * A school joined with its rating summary; schools without ratings come back with zero counts.
+ */
+public interface SchoolRatingView {
+    int getSchoolId();
+    String getSchoolName();
+    long getRatingSum();
+    long getRatingCount();
+    long getOneStarCount();
+    long getTwoStarCount();
+    long getThreeStarCount();
+    long getFourStarCount();
+    long getFiveStarCount();
+
+    default double getAverageRating() {
+        return getRatingCount() > 0 ? (double) getRatingSum() / getRatingCount() : 0.0;
+    }
+}
@@ -0,0 +1,15 @@
+package edu.cit.futureu.dto;
+
+/**
+ * Testimony with the school and student fields the testimony listings show, read in one joined query.
+ */
+public interface TestimonyView {
+    int getTestimonyId();
+    String getDescription();
+    Integer getRating();
+    int getSchoolId();
+    String getSchoolName();
+    int getStudentId();
+    String getStudentFirstName();
+    String getStudentLastName();
+}
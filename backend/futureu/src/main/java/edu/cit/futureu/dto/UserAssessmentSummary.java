@@ -0,0 +1,22 @@
+package edu.cit.futureu.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of a user assessment for admin listings.
+ * Leaves out the savedAnswers / savedSections text columns.
+ */
+public interface UserAssessmentSummary {
+    int getUserQuizAssessment();
+    int getUserId();
+    int getAssessmentId();
+    int getAttemptNo();
+    double getScore();
+    String getStatus();
+    LocalDateTime getDateTaken();
+    LocalDateTime getDateCompleted();
+    LocalDateTime getLastSavedTime();
+    Integer getCurrentSectionIndex();
+    Double getProgressPercentage();
+    Integer getTimeSpentSeconds();
+}
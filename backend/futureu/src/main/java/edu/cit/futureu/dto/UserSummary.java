@@ -0,0 +1,18 @@
+package edu.cit.futureu.dto;
+
+import edu.cit.futureu.entity.Role;
+
+/**
+ * Lightweight projection of a user for admin listings (no password hash, no testimonies).
+ */
+public interface UserSummary {
+    int getUserId();
+    String getFirstName();
+    String getMiddleName();
+    String getLastname();
+    String getEmail();
+    int getAge();
+    String getAddress();
+    String getContactNumber();
+    Role getRole();
+}
@@ -1,9 +1,19 @@
 package edu.cit.futureu.entity;
 
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "answer")
+@Table(name = "answer", indexes = {
+        // Per-question aggregation (p-values, response counts) reads only this index
+        @Index(name = "idx_answer_question", columnList = "questionId, isCorrect"),
+        // Date-bounded analytics and incremental jobs scan by submission time
+        @Index(name = "idx_answer_answered_at", columnList = "answeredAt, questionId"),
+        @Index(name = "idx_answer_attempt", columnList = "userAssessmentId")
+})
 public class AnswerEntity {
 
     @Id
@@ -20,8 +30,15 @@ public class AnswerEntity {
     @JoinColumn(name = "questionId", nullable = false)
     private QuestionEntity question;
 
+    // Attempt the response was submitted with; null for answers posted on their own
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "userAssessmentId")
+    private UserAssessmentEntity userAssessment;
+
     private String selectedOption;
     private boolean isCorrect;
+    private LocalDateTime answeredAt;
 
     public AnswerEntity() {}
 
@@ -49,6 +66,14 @@ public class AnswerEntity {
         this.question = question;
     }
 
+    public UserAssessmentEntity getUserAssessment() {
+        return userAssessment;
+    }
+
+    public void setUserAssessment(UserAssessmentEntity userAssessment) {
+        this.userAssessment = userAssessment;
+    }
+
     public String getSelectedOption() {
         return selectedOption;
     }
@@ -64,4 +89,12 @@ public class AnswerEntity {
     public void setCorrect(boolean correct) {
         isCorrect = correct;
     }
+
+    public LocalDateTime getAnsweredAt() {
+        return answeredAt;
+    }
+
+    public void setAnsweredAt(LocalDateTime answeredAt) {
+        this.answeredAt = answeredAt;
+    }
 }
@@ -1,22 +1,24 @@
 package edu.cit.futureu.entity;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
-import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 
 @Entity
-@Table(name = "career")
+@Table(name = "career", indexes = @Index(name = "idx_career_salary_range", columnList = "salaryCurrency, salaryMin, careerId"))
 public class CareerEntity {
     
     @Id
@@ -29,14 +31,27 @@ public class CareerEntity {
     private String jobTrend;
     private String industry;
     
+    // Parsed from salary by SalaryParser, normalized to a monthly amount; salaryPeriod is the period it was written in
+    @Column(precision = 14, scale = 2)
+    private BigDecimal salaryMin;
+    
+    @Column(precision = 14, scale = 2)
+    private BigDecimal salaryMax;
+    
+    @Column(length = 3)
+    private String salaryCurrency;
+    
+    @Column(length = 5)
+    private String salaryPeriod;
+    
     // Use JsonManagedReference to prevent circular references
     @JsonManagedReference
     @OneToMany(mappedBy = "career", cascade = CascadeType.ALL)
     private List<CareerProgramEntity> careerPrograms;
 
     @JsonIgnore
-    @OneToOne(mappedBy = "careerPath")
-    private CareerRecommendationEntity recommendation;
+    @OneToMany(mappedBy = "careerPath")
+    private List<CareerRecommendationEntity> recommendations;
 
     public CareerEntity() {
     }
@@ -88,6 +103,38 @@ public class CareerEntity {
     public void setIndustry(String industry) {
         this.industry = industry;
     }
+
+    public BigDecimal getSalaryMin() {
+        return salaryMin;
+    }
+
+    public void setSalaryMin(BigDecimal salaryMin) {
+        this.salaryMin = salaryMin;
+    }
+
+    public BigDecimal getSalaryMax() {
+        return salaryMax;
+    }
+
+    public void setSalaryMax(BigDecimal salaryMax) {
+        this.salaryMax = salaryMax;
+    }
+
+    public String getSalaryCurrency() {
+        return salaryCurrency;
+    }
+
+    public void setSalaryCurrency(String salaryCurrency) {
+        this.salaryCurrency = salaryCurrency;
+    }
+
+    public String getSalaryPeriod() {
+        return salaryPeriod;
+    }
+
+    public void setSalaryPeriod(String salaryPeriod) {
+        this.salaryPeriod = salaryPeriod;
+    }
     
     public List<CareerProgramEntity> getCareerPrograms() {
         return careerPrograms;
@@ -97,12 +144,12 @@ public class CareerEntity {
         this.careerPrograms = careerPrograms;
     }
 
-    public CareerRecommendationEntity getRecommendation() {
-        return recommendation;
+    public List<CareerRecommendationEntity> getRecommendations() {
+        return recommendations;
     }
 
-    public void setRecommendation(CareerRecommendationEntity recommendation) {
-        this.recommendation = recommendation;
+    public void setRecommendations(List<CareerRecommendationEntity> recommendations) {
+        this.recommendations = recommendations;
     }
     
     // For backward compatibility - returns the first associated program
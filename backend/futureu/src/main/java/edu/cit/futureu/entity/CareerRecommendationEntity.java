@@ -18,8 +18,8 @@ public class CareerRecommendationEntity {
     @JoinColumn(name = "resultId", nullable = false)
     private AssessmentResultEntity assessmentResult;
 
-    // One-to-one relationship with Career (optional, can be null)
-    @OneToOne
+    // Many-to-one relationship with Career (optional, can be null); many students are recommended the same career
+    @ManyToOne
     @JoinColumn(name = "careerId")
     private CareerEntity careerPath;
 
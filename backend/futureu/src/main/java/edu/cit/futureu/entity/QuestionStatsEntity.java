@@ -0,0 +1,118 @@
+package edu.cit.futureu.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Snapshot of a question's running item statistics, so they survive restarts.
+ * The fields are the online accumulator state: response count, means of correctness (0/1) and of the
+ * section score, their sums of squared deviations, and the co-moment between the two.
+ */
+@Entity
+@Table(name = "question_stats")
+public class QuestionStatsEntity {
+
+    // Same id as the question; not generated
+    @Id
+    private int questionId;
+
+    private long exposures;
+
+    private double meanCorrect;
+
+    private double meanScore;
+
+    private double m2Correct;
+
+    private double m2Score;
+
+    private double coMoment;
+
+    // Selection counts keyed by the submitted option, as a JSON object
+    @Column(columnDefinition = "TEXT")
+    private String choiceCounts;
+
+    private LocalDateTime updatedAt;
+
+    public QuestionStatsEntity() {}
+
+    public QuestionStatsEntity(int questionId) {
+        this.questionId = questionId;
+    }
+
+    public int getQuestionId() {
+        return questionId;
+    }
+
+    public void setQuestionId(int questionId) {
+        this.questionId = questionId;
+    }
+
+    public long getExposures() {
+        return exposures;
+    }
+
+    public void setExposures(long exposures) {
+        this.exposures = exposures;
+    }
+
+    public double getMeanCorrect() {
+        return meanCorrect;
+    }
+
+    public void setMeanCorrect(double meanCorrect) {
+        this.meanCorrect = meanCorrect;
+    }
+
+    public double getMeanScore() {
+        return meanScore;
+    }
+
+    public void setMeanScore(double meanScore) {
+        this.meanScore = meanScore;
+    }
+
+    public double getM2Correct() {
+        return m2Correct;
+    }
+
+    public void setM2Correct(double m2Correct) {
+        this.m2Correct = m2Correct;
+    }
+
+    public double getM2Score() {
+        return m2Score;
+    }
+
+    public void setM2Score(double m2Score) {
+        this.m2Score = m2Score;
+    }
+
+    public double getCoMoment() {
+        return coMoment;
+    }
+
+    public void setCoMoment(double coMoment) {
+        this.coMoment = coMoment;
+    }
+
+    public String getChoiceCounts() {
+        return choiceCounts;
+    }
+
+    public void setChoiceCounts(String choiceCounts) {
+        this.choiceCounts = choiceCounts;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,98 @@
+package edu.cit.futureu.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Read model holding the running rating totals for one school.
+ * Maintained by SchoolRatingService in the same transaction as testimony writes.
+ */
+@Entity
+@Table(name = "school_rating_summary")
+public class SchoolRatingSummaryEntity {
+
+    // Same id as the school; not generated
+    @Id
+    private int schoolId;
+
+    private long ratingSum;
+    private long ratingCount;
+
+    // Histogram of star ratings
+    private long oneStarCount;
+    private long twoStarCount;
+    private long threeStarCount;
+    private long fourStarCount;
+    private long fiveStarCount;
+
+    public SchoolRatingSummaryEntity() {}
+
+    public SchoolRatingSummaryEntity(int schoolId) {
+        this.schoolId = schoolId;
+    }
+
+    public int getSchoolId() {
+        return schoolId;
+    }
+
+    public void setSchoolId(int schoolId) {
+        this.schoolId = schoolId;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    public long getRatingCount() {
+        return ratingCount;
+    }
+
+    public void setRatingCount(long ratingCount) {
+        this.ratingCount = ratingCount;
+    }
+
+    public long getOneStarCount() {
+        return oneStarCount;
+    }
+
+    public void setOneStarCount(long oneStarCount) {
+        this.oneStarCount = oneStarCount;
+    }
+
+    public long getTwoStarCount() {
+        return twoStarCount;
+    }
+
+    public void setTwoStarCount(long twoStarCount) {
+        this.twoStarCount = twoStarCount;
+    }
+
+    public long getThreeStarCount() {
+        return threeStarCount;
+    }
+
+    public void setThreeStarCount(long threeStarCount) {
+        this.threeStarCount = threeStarCount;
+    }
+
+    public long getFourStarCount() {
+        return fourStarCount;
+    }
+
+    public void setFourStarCount(long fourStarCount) {
+        this.fourStarCount = fourStarCount;
+    }
+
+    public long getFiveStarCount() {
+        return fiveStarCount;
+    }
+
+    public void setFiveStarCount(long fiveStarCount) {
+        this.fiveStarCount = fiveStarCount;
+    }
+}
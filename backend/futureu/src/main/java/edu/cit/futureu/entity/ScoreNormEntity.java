@@ -0,0 +1,66 @@
+package edu.cit.futureu.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Snapshot of the score distribution for one result dimension (e.g. gsaScore), so norms survive restarts.
+ * The digest is a serialized quantile sketch in base64.
+ */
+@Entity
+@Table(name = "score_norm")
+public class ScoreNormEntity {
+
+    // Result field name, e.g. mathematicalAbilityScore
+    @Id
+    private String dimension;
+
+    private long sampleCount;
+
+    @Column(columnDefinition = "TEXT")
+    private String digest;
+
+    private LocalDateTime updatedAt;
+
+    public ScoreNormEntity() {}
+
+    public ScoreNormEntity(String dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(String dimension) {
+        this.dimension = dimension;
+    }
+
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(long sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+
+    public void setDigest(String digest) {
+        this.digest = digest;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
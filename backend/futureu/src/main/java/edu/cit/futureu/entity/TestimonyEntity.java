@@ -6,12 +6,16 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "testimony")
+// Backs the per-school feed: filter and order by rating, with the id as tie-breaker and recency key
+@Table(name = "testimony", indexes = {
+    @Index(name = "idx_testimony_school_rating_id", columnList = "schoolId, rating, testimonyId")
+})
 public class TestimonyEntity {
     
     @Id
@@ -0,0 +1,54 @@
+package edu.cit.futureu.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Snapshot of a tour's decayed trending score, so the ranking survives restarts.
+ * The score is the value at scoredAt; it keeps decaying from there when loaded.
+ */
+@Entity
+@Table(name = "tour_trending_score")
+public class TourTrendingScoreEntity {
+
+    // Same id as the tour; not generated
+    @Id
+    private int virtualCampusTourId;
+
+    private double score;
+
+    private LocalDateTime scoredAt;
+
+    public TourTrendingScoreEntity() {}
+
+    public TourTrendingScoreEntity(int virtualCampusTourId) {
+        this.virtualCampusTourId = virtualCampusTourId;
+    }
+
+    public int getVirtualCampusTourId() {
+        return virtualCampusTourId;
+    }
+
+    public void setVirtualCampusTourId(int virtualCampusTourId) {
+        this.virtualCampusTourId = virtualCampusTourId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public LocalDateTime getScoredAt() {
+        return scoredAt;
+    }
+
+    public void setScoredAt(LocalDateTime scoredAt) {
+        this.scoredAt = scoredAt;
+    }
+}
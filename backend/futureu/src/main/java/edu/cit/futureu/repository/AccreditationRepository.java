@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import edu.cit.futureu.dto.SchoolDetail;
 import edu.cit.futureu.entity.AccreditationEntity;
 import edu.cit.futureu.entity.SchoolEntity;
 
@@ -32,4 +33,16 @@ public interface AccreditationRepository extends JpaRepository<AccreditationEnti
     
     // Find accreditations by accreditation level
     List<AccreditationEntity> findByAccreditationLevel(String accreditationLevel);
-}
\ No newline at end of file
+    
+    // Accreditations held by a school, for the school detail view
+    @Query("SELECT a.accredId AS accredId, a.title AS title, a.description AS description, "
+            + "a.recognitionStatus AS recognitionStatus, a.accreditingBody AS accreditingBody, "
+            + "a.accreditationLevel AS accreditationLevel "
+            + "FROM AccreditationEntity a WHERE a.school.schoolId = :schoolId ORDER BY a.accredId")
+    List<SchoolDetail.Accreditation> findDetailViewsBySchoolId(@Param("schoolId") int schoolId);
+    
+    // Search documents: accredId, title, accreditingBody, description, accreditationLevel, recognitionStatus, schoolId
+    @Query("SELECT a.accredId, a.title, a.accreditingBody, a.description, a.accreditationLevel, a.recognitionStatus, "
+            + "s.schoolId FROM AccreditationEntity a LEFT JOIN a.school s")
+    List<Object[]> findSearchDocuments();
+}
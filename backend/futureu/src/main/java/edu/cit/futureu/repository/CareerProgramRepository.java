@@ -1,9 +1,13 @@
 package edu.cit.futureu.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import edu.cit.futureu.entity.CareerEntity;
@@ -15,4 +19,17 @@ public interface CareerProgramRepository extends JpaRepository<CareerProgramEnti
     List<CareerProgramEntity> findByCareer(CareerEntity career);
     List<CareerProgramEntity> findByProgram(ProgramEntity program);
     Optional<CareerProgramEntity> findByCareerAndProgram(CareerEntity career, ProgramEntity program);
+    
+    // Every (careerId, programId) pair, for the in-memory catalog graph
+    @Query("SELECT cp.career.careerId, cp.program.programId FROM CareerProgramEntity cp")
+    List<Object[]> findAllEdges();
+    
+    // Program ids currently linked to a career
+    @Query("SELECT cp.program.programId FROM CareerProgramEntity cp WHERE cp.career.careerId = :careerId")
+    List<Integer> findProgramIdsByCareerId(@Param("careerId") int careerId);
+    
+    // Drop several of a career's links in one statement; returns the number removed
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM CareerProgramEntity cp WHERE cp.career.careerId = :careerId AND cp.program.programId IN :programIds")
+    int deleteByCareerIdAndProgramIds(@Param("careerId") int careerId, @Param("programIds") Collection<Integer> programIds);
 }
@@ -1,7 +1,10 @@
 package edu.cit.futureu.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 import edu.cit.futureu.entity.CareerRecommendationEntity;
@@ -11,4 +14,11 @@ import edu.cit.futureu.entity.AssessmentResultEntity;
 public interface CareerRecommendationRepository extends JpaRepository<CareerRecommendationEntity, Integer> {
     CareerRecommendationEntity findByAssessmentResult(AssessmentResultEntity assessmentResult);
     List<CareerRecommendationEntity> findAllByAssessmentResult(AssessmentResultEntity assessmentResult);
+
+    // Careers recommended to any of the attempts, most shared first: careerId, careerTitle, attempts, average confidence
+    @Query("SELECT c.careerId, c.careerTitle, COUNT(DISTINCT ua.userQuizAssessment), AVG(r.confidenceScore) "
+            + "FROM CareerRecommendationEntity r JOIN r.careerPath c JOIN r.assessmentResult ar JOIN ar.userAssessment ua "
+            + "WHERE ua.userQuizAssessment IN :attemptIds "
+            + "GROUP BY c.careerId, c.careerTitle ORDER BY COUNT(DISTINCT ua.userQuizAssessment) DESC, c.careerId")
+    List<Object[]> countCareersByAttempts(@Param("attemptIds") Collection<Integer> attemptIds);
 }
\ No newline at end of file
@@ -1,10 +1,15 @@
 package edu.cit.futureu.repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import edu.cit.futureu.dto.CareerSalaryView;
 import edu.cit.futureu.entity.CareerEntity;
 
 @Repository
@@ -26,4 +31,48 @@ public interface CareerRepository extends JpaRepository<CareerEntity, Integer> {
     
     // Removed the findByProgram method that's causing the error
     // This functionality is now handled via the CareerProgramService
+    
+    // Career nodes for the in-memory catalog graph: careerId, careerTitle, industry
+    @Query("SELECT c.careerId, c.careerTitle, c.industry FROM CareerEntity c ORDER BY c.careerId")
+    List<Object[]> findGraphNodes();
+    
+    // Search documents: careerId, careerTitle, industry, careerDescription, jobTrend
+    @Query("SELECT c.careerId, c.careerTitle, c.industry, c.careerDescription, c.jobTrend FROM CareerEntity c")
+    List<Object[]> findSearchDocuments();
+    
+    // Career rows for the in-memory facet index: careerId, careerTitle, industry, jobTrend, salary
+    @Query("SELECT c.careerId, c.careerTitle, c.industry, c.jobTrend, c.salary FROM CareerEntity c ORDER BY c.careerId")
+    List<Object[]> findFacetRows();
+    
+    String SALARY_SELECT = "SELECT c.careerId AS careerId, c.careerTitle AS careerTitle, c.industry AS industry, "
+            + "c.jobTrend AS jobTrend, c.salary AS salary, c.salaryMin AS salaryMin, c.salaryMax AS salaryMax, "
+            + "c.salaryCurrency AS salaryCurrency, c.salaryPeriod AS salaryPeriod "
+            + "FROM CareerEntity c ";
+    
+    // Parsed ranges overlapping [min, max]; an open-ended range (no max) overlaps anything above its min
+    String SALARY_FILTER = "WHERE c.salaryCurrency = :currency AND c.salaryMin <= :max "
+            + "AND (c.salaryMax IS NULL OR c.salaryMax >= :min) ";
+    
+    @Query(SALARY_SELECT + SALARY_FILTER + "AND c.careerId > :afterId ORDER BY c.careerId ASC")
+    List<CareerSalaryView> findSalaryRangeById(@Param("currency") String currency, @Param("min") BigDecimal min,
+            @Param("max") BigDecimal max, @Param("afterId") int afterId, Pageable pageable);
+    
+    @Query(SALARY_SELECT + SALARY_FILTER
+            + "AND (c.salaryMin > :salary OR (c.salaryMin = :salary AND c.careerId > :afterId)) "
+            + "ORDER BY c.salaryMin ASC, c.careerId ASC")
+    List<CareerSalaryView> findSalaryRangeBySalaryAsc(@Param("currency") String currency, @Param("min") BigDecimal min,
+            @Param("max") BigDecimal max, @Param("salary") BigDecimal salary, @Param("afterId") int afterId,
+            Pageable pageable);
+    
+    @Query(SALARY_SELECT + SALARY_FILTER
+            + "AND (c.salaryMin < :salary OR (c.salaryMin = :salary AND c.careerId < :afterId)) "
+            + "ORDER BY c.salaryMin DESC, c.careerId DESC")
+    List<CareerSalaryView> findSalaryRangeBySalaryDesc(@Param("currency") String currency, @Param("min") BigDecimal min,
+            @Param("max") BigDecimal max, @Param("salary") BigDecimal salary, @Param("afterId") int afterId,
+            Pageable pageable);
+    
+    // Salary strings not parsed yet, for the backfill: careerId, salary
+    @Query("SELECT c.careerId, c.salary FROM CareerEntity c "
+            + "WHERE c.salary IS NOT NULL AND c.salaryCurrency IS NULL AND c.careerId > :afterId ORDER BY c.careerId")
+    List<Object[]> findUnparsedSalaries(@Param("afterId") int afterId, Pageable pageable);
 }
@@ -1,9 +1,13 @@
 package edu.cit.futureu.repository;
 
+import edu.cit.futureu.dto.ChoiceSummary;
 import edu.cit.futureu.entity.ChoiceEntity;
 import edu.cit.futureu.entity.QuestionEntity;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,4 +23,15 @@ public interface ChoiceRepository extends JpaRepository<ChoiceEntity, Integer> {
     
     // Find by choice text containing
     List<ChoiceEntity> findByChoiceTextContainingIgnoreCase(String text);
+
+    // Keyset pages of summaries carrying only the question id
+    String SUMMARY_SELECT = "SELECT c.choiceId AS choiceId, c.question.questionId AS questionId, "
+            + "c.choiceText AS choiceText, c.isCorrect AS isCorrect "
+            + "FROM ChoiceEntity c ";
+
+    @Query(SUMMARY_SELECT + "WHERE c.choiceId > :after ORDER BY c.choiceId ASC")
+    List<ChoiceSummary> findSummariesAfter(@Param("after") int after, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.choiceId < :before ORDER BY c.choiceId DESC")
+    List<ChoiceSummary> findSummariesBefore(@Param("before") int before, Pageable pageable);
 }
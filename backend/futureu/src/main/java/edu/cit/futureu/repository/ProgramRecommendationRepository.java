@@ -4,12 +4,22 @@ import edu.cit.futureu.entity.ProgramRecommendationEntity;
 import edu.cit.futureu.entity.AssessmentResultEntity;
 import edu.cit.futureu.entity.ProgramEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProgramRecommendationRepository extends JpaRepository<ProgramRecommendationEntity, Integer> {
     List<ProgramRecommendationEntity> findByAssessmentResult(AssessmentResultEntity assessmentResult);
     List<ProgramRecommendationEntity> findByProgram(ProgramEntity program);
+
+    // Programs recommended to any of the attempts, most shared first: programId, programName, attempts, average confidence
+    @Query("SELECT p.programId, p.programName, COUNT(DISTINCT ua.userQuizAssessment), AVG(r.confidenceScore) "
+            + "FROM ProgramRecommendationEntity r JOIN r.program p JOIN r.assessmentResult ar JOIN ar.userAssessment ua "
+            + "WHERE ua.userQuizAssessment IN :attemptIds "
+            + "GROUP BY p.programId, p.programName ORDER BY COUNT(DISTINCT ua.userQuizAssessment) DESC, p.programId")
+    List<Object[]> countProgramsByAttempts(@Param("attemptIds") Collection<Integer> attemptIds);
 }
@@ -1,8 +1,11 @@
 package edu.cit.futureu.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import edu.cit.futureu.entity.ProgramEntity;
@@ -11,4 +14,16 @@ import edu.cit.futureu.entity.ProgramEntity;
 public interface ProgramRepository extends JpaRepository<ProgramEntity, Integer> {
     // Search programs by name
     List<ProgramEntity> findByProgramNameContainingIgnoreCase(String programName);
-}
\ No newline at end of file
+    
+    // Program nodes for the in-memory catalog graph: programId, programName
+    @Query("SELECT p.programId, p.programName FROM ProgramEntity p ORDER BY p.programId")
+    List<Object[]> findGraphNodes();
+    
+    // Search documents: programId, programName, description
+    @Query("SELECT p.programId, p.programName, p.description FROM ProgramEntity p")
+    List<Object[]> findSearchDocuments();
+    
+    // Which of the given ids exist, to validate bulk association requests
+    @Query("SELECT p.programId FROM ProgramEntity p WHERE p.programId IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+}
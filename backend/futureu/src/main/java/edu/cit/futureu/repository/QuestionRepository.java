@@ -1,12 +1,35 @@
 package edu.cit.futureu.repository;
 
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import edu.cit.futureu.dto.QuestionSummary;
 import edu.cit.futureu.entity.QuestionEntity;
 import edu.cit.futureu.entity.AssessmentCategoryEntity;
 
 @Repository
 public interface QuestionRepository extends JpaRepository<QuestionEntity, Integer> {
     List<QuestionEntity> findByAssessmentCategory(AssessmentCategoryEntity assessmentCategory);
+
+    // Keyset pages of summaries with category names joined in, instead of three lazy loads per row
+    String SUMMARY_SELECT = "SELECT q.questionId AS questionId, q.questionText AS questionText, "
+            + "q.questionType AS questionType, q.difficultyLevel AS difficultyLevel, q.category AS category, "
+            + "q.correctAnswer AS correctAnswer, "
+            + "ac.assessmentCategoryId AS assessmentCategoryId, ac.categoryName AS categoryName, "
+            + "sub.assessmentSubCategoryId AS assessmentSubCategoryId, sub.subCategoryName AS subCategoryName, "
+            + "qsc.quizSubCategoryCategoryId AS quizSubCategoryCategoryId, "
+            + "qsc.quizSubCategoryCategoryName AS quizSubCategoryCategoryName "
+            + "FROM QuestionEntity q "
+            + "LEFT JOIN q.assessmentCategory ac "
+            + "LEFT JOIN q.assessmentSubCategory sub "
+            + "LEFT JOIN q.quizSubCategoryCategory qsc ";
+
+    @Query(SUMMARY_SELECT + "WHERE q.questionId > :after ORDER BY q.questionId ASC")
+    List<QuestionSummary> findSummariesAfter(@Param("after") int after, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE q.questionId < :before ORDER BY q.questionId DESC")
+    List<QuestionSummary> findSummariesBefore(@Param("before") int before, Pageable pageable);
 }
@@ -0,0 +1,10 @@
+package edu.cit.futureu.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import edu.cit.futureu.entity.QuestionStatsEntity;
+
+@Repository
+public interface QuestionStatsRepository extends JpaRepository<QuestionStatsEntity, Integer> {
+}
@@ -4,8 +4,12 @@ package edu.cit.futureu.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import edu.cit.futureu.dto.SchoolDetail;
 import edu.cit.futureu.entity.AccreditationEntity;
 import edu.cit.futureu.entity.ProgramEntity;
 import edu.cit.futureu.entity.SchoolEntity;
@@ -27,4 +31,48 @@ public interface SchoolProgramRepository extends JpaRepository<SchoolProgramEnti
     
     // Find school programs by accreditation ID
     List<SchoolProgramEntity> findByAccreditation_AccredId(Integer accredId);
-}
\ No newline at end of file
+    
+    // Programs offered by a school with their accreditation, for the school detail view
+    @Query("SELECT sp.schoolProgramId AS schoolProgramId, p.programId AS programId, p.programName AS programName, "
+            + "p.description AS programDescription, a.accredId AS accredId, a.title AS accreditationTitle, "
+            + "a.accreditationLevel AS accreditationLevel, a.recognitionStatus AS recognitionStatus, "
+            + "a.accreditingBody AS accreditingBody "
+            + "FROM SchoolProgramEntity sp JOIN sp.program p LEFT JOIN sp.accreditation a "
+            + "WHERE sp.school.schoolId = :schoolId ORDER BY p.programName")
+    List<SchoolDetail.ProgramOffering> findOfferingsBySchoolId(@Param("schoolId") int schoolId);
+    
+    // Every (schoolId, programId) pair, for the in-memory catalog graph
+    @Query("SELECT sp.school.schoolId, sp.program.programId FROM SchoolProgramEntity sp")
+    List<Object[]> findAllEdges();
+    
+    // Optional school / program narrowing shared by the bulk accreditation updates; null leaves it open
+    String SELECTION_FILTER = "(:schoolId IS NULL OR sp.school.schoolId = :schoolId) "
+            + "AND (:programId IS NULL OR sp.program.programId = :programId) ";
+    
+    // Set-based accreditation assignment; returns the number of school programs updated
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SchoolProgramEntity sp SET sp.accreditation = :accreditation WHERE " + SELECTION_FILTER)
+    int assignAccreditation(@Param("accreditation") AccreditationEntity accreditation,
+                            @Param("schoolId") Integer schoolId, @Param("programId") Integer programId);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SchoolProgramEntity sp SET sp.accreditation = :accreditation WHERE " + SELECTION_FILTER
+            + "AND sp.schoolProgramId IN :ids")
+    int assignAccreditationByIds(@Param("accreditation") AccreditationEntity accreditation,
+                                 @Param("schoolId") Integer schoolId, @Param("programId") Integer programId,
+                                 @Param("ids") List<Integer> ids);
+    
+    // Set-based detach of one accreditation; returns the number of school programs that held it
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SchoolProgramEntity sp SET sp.accreditation = NULL "
+            + "WHERE sp.accreditation.accredId = :accredId AND " + SELECTION_FILTER)
+    int detachAccreditation(@Param("accredId") int accredId,
+                            @Param("schoolId") Integer schoolId, @Param("programId") Integer programId);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SchoolProgramEntity sp SET sp.accreditation = NULL "
+            + "WHERE sp.accreditation.accredId = :accredId AND " + SELECTION_FILTER + "AND sp.schoolProgramId IN :ids")
+    int detachAccreditationByIds(@Param("accredId") int accredId,
+                                 @Param("schoolId") Integer schoolId, @Param("programId") Integer programId,
+                                 @Param("ids") List<Integer> ids);
+}
@@ -0,0 +1,54 @@
+package edu.cit.futureu.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import edu.cit.futureu.dto.SchoolRatingView;
+import edu.cit.futureu.entity.SchoolRatingSummaryEntity;
+
+@Repository
+public interface SchoolRatingSummaryRepository extends JpaRepository<SchoolRatingSummaryEntity, Integer> {
+
+    String VIEW_SELECT = "SELECT s.schoolId AS schoolId, s.name AS schoolName, "
+            + "COALESCE(r.ratingSum, 0) AS ratingSum, COALESCE(r.ratingCount, 0) AS ratingCount, "
+            + "COALESCE(r.oneStarCount, 0) AS oneStarCount, COALESCE(r.twoStarCount, 0) AS twoStarCount, "
+            + "COALESCE(r.threeStarCount, 0) AS threeStarCount, COALESCE(r.fourStarCount, 0) AS fourStarCount, "
+            + "COALESCE(r.fiveStarCount, 0) AS fiveStarCount "
+            + "FROM SchoolEntity s LEFT JOIN SchoolRatingSummaryEntity r ON r.schoolId = s.schoolId ";
+
+    // Every school with its rating summary in one query
+    @Query(VIEW_SELECT + "ORDER BY s.schoolId")
+    List<SchoolRatingView> findAllViews();
+
+    // One school with its rating summary; empty if the school does not exist
+    @Query(VIEW_SELECT + "WHERE s.schoolId = :schoolId")
+    Optional<SchoolRatingView> findViewBySchoolId(@Param("schoolId") int schoolId);
+
+    // Create an empty summary row unless one exists; concurrent first ratings of a school both succeed
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO school_rating_summary (school_id, rating_sum, rating_count, one_star_count, "
+            + "two_star_count, three_star_count, four_star_count, five_star_count) "
+            + "VALUES (:schoolId, 0, 0, 0, 0, 0, 0, 0) "
+            + "ON DUPLICATE KEY UPDATE school_id = school_id", nativeQuery = true)
+    int insertIfAbsent(@Param("schoolId") int schoolId);
+
+    // Atomically add (countDelta = 1) or remove (countDelta = -1) one rating
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SchoolRatingSummaryEntity r SET "
+            + "r.ratingSum = r.ratingSum + :sumDelta, "
+            + "r.ratingCount = r.ratingCount + :countDelta, "
+            + "r.oneStarCount = r.oneStarCount + CASE WHEN :rating = 1 THEN :countDelta ELSE 0 END, "
+            + "r.twoStarCount = r.twoStarCount + CASE WHEN :rating = 2 THEN :countDelta ELSE 0 END, "
+            + "r.threeStarCount = r.threeStarCount + CASE WHEN :rating = 3 THEN :countDelta ELSE 0 END, "
+            + "r.fourStarCount = r.fourStarCount + CASE WHEN :rating = 4 THEN :countDelta ELSE 0 END, "
+            + "r.fiveStarCount = r.fiveStarCount + CASE WHEN :rating = 5 THEN :countDelta ELSE 0 END "
+            + "WHERE r.schoolId = :schoolId")
+    int applyDelta(@Param("schoolId") int schoolId, @Param("rating") int rating,
+                   @Param("countDelta") long countDelta, @Param("sumDelta") long sumDelta);
+}
@@ -3,8 +3,11 @@ package edu.cit.futureu.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import edu.cit.futureu.dto.SchoolListItem;
 import edu.cit.futureu.entity.SchoolEntity;
 
 @Repository
@@ -17,4 +20,36 @@ public interface SchoolRepository extends JpaRepository<SchoolEntity, Integer> {
     
     // Filter schools by type (public, private, etc.)
     List<SchoolEntity> findByType(String type);
-}
\ No newline at end of file
+    
+    // Listing projections: school columns joined with the rating summary, one statement per listing
+    String LIST_SELECT = "SELECT s.schoolId AS schoolId, s.name AS name, s.location AS location, s.type AS type, "
+            + "s.schoolWebsiteUrl AS schoolWebsiteUrl, s.description AS description, "
+            + "s.latitude AS latitude, s.longitude AS longitude, "
+            + "COALESCE(r.ratingSum, 0) AS ratingSum, COALESCE(r.ratingCount, 0) AS ratingCount "
+            + "FROM SchoolEntity s LEFT JOIN SchoolRatingSummaryEntity r ON r.schoolId = s.schoolId ";
+    
+    @Query(LIST_SELECT + "ORDER BY s.schoolId")
+    List<SchoolListItem> findAllListItems();
+    
+    @Query(LIST_SELECT + "WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY s.schoolId")
+    List<SchoolListItem> findListItemsByName(@Param("name") String name);
+    
+    @Query(LIST_SELECT + "WHERE LOWER(s.location) LIKE LOWER(CONCAT('%', :location, '%')) ORDER BY s.schoolId")
+    List<SchoolListItem> findListItemsByLocation(@Param("location") String location);
+    
+    @Query(LIST_SELECT + "WHERE s.type = :type ORDER BY s.schoolId")
+    List<SchoolListItem> findListItemsByType(@Param("type") String type);
+    
+    // School nodes for the in-memory catalog graph: schoolId, name, location, type
+    @Query("SELECT s.schoolId, s.name, s.location, s.type FROM SchoolEntity s ORDER BY s.schoolId")
+    List<Object[]> findGraphNodes();
+    
+    // Schools with coordinates, for the in-memory nearby index: schoolId, name, location, type, latitude, longitude
+    @Query("SELECT s.schoolId, s.name, s.location, s.type, s.latitude, s.longitude FROM SchoolEntity s "
+            + "WHERE s.latitude IS NOT NULL AND s.longitude IS NOT NULL ORDER BY s.schoolId")
+    List<Object[]> findGeoPoints();
+    
+    // Search documents: schoolId, name, location, type, description
+    @Query("SELECT s.schoolId, s.name, s.location, s.type, s.description FROM SchoolEntity s")
+    List<Object[]> findSearchDocuments();
+}
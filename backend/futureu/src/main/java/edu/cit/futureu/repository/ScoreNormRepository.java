@@ -0,0 +1,10 @@
+package edu.cit.futureu.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import edu.cit.futureu.entity.ScoreNormEntity;
+
+@Repository
+public interface ScoreNormRepository extends JpaRepository<ScoreNormEntity, String> {
+}
@@ -1,10 +1,16 @@
 package edu.cit.futureu.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import edu.cit.futureu.dto.TestimonyView;
 import edu.cit.futureu.entity.SchoolEntity;
 import edu.cit.futureu.entity.TestimonyEntity;
 import edu.cit.futureu.entity.UserEntity;
@@ -16,4 +22,89 @@ public interface TestimonyRepository extends JpaRepository<TestimonyEntity, Inte
     
     // Find testimonies by student
     List<TestimonyEntity> findByStudent(UserEntity student);
-}
\ No newline at end of file
+    
+    // Entity fetches that load school and student in the same statement
+    @EntityGraph(attributePaths = {"school", "student"})
+    @Query("SELECT t FROM TestimonyEntity t")
+    List<TestimonyEntity> findAllWithSchoolAndStudent();
+    
+    @EntityGraph(attributePaths = {"school", "student"})
+    @Query("SELECT t FROM TestimonyEntity t WHERE t.testimonyId = :testimonyId")
+    Optional<TestimonyEntity> findWithSchoolAndStudentById(@Param("testimonyId") int testimonyId);
+    
+    @EntityGraph(attributePaths = {"school", "student"})
+    @Query("SELECT t FROM TestimonyEntity t WHERE t.school = :school")
+    List<TestimonyEntity> findWithSchoolAndStudentBySchool(@Param("school") SchoolEntity school);
+    
+    @EntityGraph(attributePaths = {"school", "student"})
+    @Query("SELECT t FROM TestimonyEntity t WHERE t.student = :student")
+    List<TestimonyEntity> findWithSchoolAndStudentByStudent(@Param("student") UserEntity student);
+    
+    // Projections used by the testimony listings
+    String VIEW_SELECT = "SELECT t.testimonyId AS testimonyId, t.description AS description, t.rating AS rating, "
+            + "s.schoolId AS schoolId, s.name AS schoolName, "
+            + "u.userId AS studentId, u.firstName AS studentFirstName, u.lastname AS studentLastName "
+            + "FROM TestimonyEntity t JOIN t.school s JOIN t.student u ";
+    
+    @Query(VIEW_SELECT + "ORDER BY t.testimonyId")
+    List<TestimonyView> findAllViews();
+    
+    @Query(VIEW_SELECT + "WHERE t.testimonyId = :testimonyId")
+    Optional<TestimonyView> findViewById(@Param("testimonyId") int testimonyId);
+    
+    @Query(VIEW_SELECT + "WHERE s.schoolId = :schoolId ORDER BY t.testimonyId")
+    List<TestimonyView> findViewsBySchoolId(@Param("schoolId") int schoolId);
+    
+    @Query(VIEW_SELECT + "WHERE u.userId = :userId ORDER BY t.testimonyId")
+    List<TestimonyView> findViewsByStudentId(@Param("userId") int userId);
+    
+    // Keyset-paginated feed of one school's testimonies, optionally limited to a rating range
+    String FEED_FILTER = "WHERE s.schoolId = :schoolId "
+            + "AND (:minRating IS NULL OR t.rating >= :minRating) "
+            + "AND (:maxRating IS NULL OR t.rating <= :maxRating) ";
+    
+    @Query(VIEW_SELECT + FEED_FILTER + "AND t.testimonyId < :beforeId ORDER BY t.testimonyId DESC")
+    List<TestimonyView> findSchoolFeedNewest(@Param("schoolId") int schoolId,
+                                             @Param("minRating") Integer minRating,
+                                             @Param("maxRating") Integer maxRating,
+                                             @Param("beforeId") int beforeId, Pageable pageable);
+    
+    @Query(VIEW_SELECT + FEED_FILTER + "AND t.testimonyId > :afterId ORDER BY t.testimonyId ASC")
+    List<TestimonyView> findSchoolFeedOldest(@Param("schoolId") int schoolId,
+                                             @Param("minRating") Integer minRating,
+                                             @Param("maxRating") Integer maxRating,
+                                             @Param("afterId") int afterId, Pageable pageable);
+    
+    // Rating orders skip unrated testimonies; ties on rating are broken newest first / oldest first
+    @Query(VIEW_SELECT + FEED_FILTER + "AND t.rating IS NOT NULL "
+            + "AND (t.rating < :rating OR (t.rating = :rating AND t.testimonyId < :id)) "
+            + "ORDER BY t.rating DESC, t.testimonyId DESC")
+    List<TestimonyView> findSchoolFeedHighestRated(@Param("schoolId") int schoolId,
+                                                   @Param("minRating") Integer minRating,
+                                                   @Param("maxRating") Integer maxRating,
+                                                   @Param("rating") int rating,
+                                                   @Param("id") int id, Pageable pageable);
+    
+    @Query(VIEW_SELECT + FEED_FILTER + "AND t.rating IS NOT NULL "
+            + "AND (t.rating > :rating OR (t.rating = :rating AND t.testimonyId > :id)) "
+            + "ORDER BY t.rating ASC, t.testimonyId ASC")
+    List<TestimonyView> findSchoolFeedLowestRated(@Param("schoolId") int schoolId,
+                                                  @Param("minRating") Integer minRating,
+                                                  @Param("maxRating") Integer maxRating,
+                                                  @Param("rating") int rating,
+                                                  @Param("id") int id, Pageable pageable);
+    
+    // Per-school rating totals used to (re)build school_rating_summary:
+    // schoolId, sum, count, then the 1..5 star histogram
+    @Query("SELECT t.school.schoolId, SUM(t.rating), COUNT(t), "
+            + "SUM(CASE WHEN t.rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN t.rating = 2 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN t.rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN t.rating = 4 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN t.rating = 5 THEN 1 ELSE 0 END) "
+            + "FROM TestimonyEntity t WHERE t.rating BETWEEN 1 AND 5 GROUP BY t.school.schoolId")
+    List<Object[]> aggregateRatingsBySchool();
+    
+    // (schoolId, rating) for every rated testimony written by a student
+    @Query("SELECT t.school.schoolId, t.rating FROM TestimonyEntity t "
+            + "WHERE t.student.userId = :userId AND t.rating BETWEEN 1 AND 5")
+    List<Object[]> findSchoolRatingsByStudent(@Param("userId") int userId);
+}
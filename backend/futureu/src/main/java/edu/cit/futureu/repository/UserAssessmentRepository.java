@@ -1,10 +1,15 @@
 package edu.cit.futureu.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import edu.cit.futureu.dto.UserAssessmentSummary;
 import edu.cit.futureu.entity.UserAssessmentEntity;
 import edu.cit.futureu.entity.UserEntity;
 import edu.cit.futureu.entity.AssessmentEntity;
@@ -20,4 +25,22 @@ public interface UserAssessmentRepository extends JpaRepository<UserAssessmentEn
     
     // New method to count completed attempts
     long countByUserAndAssessmentAndStatus(UserEntity user, AssessmentEntity assessment, String status);
+
+    // Aggregate counts for the admin dashboard
+    long countByStatus(String status);
+    long countByStatusAndDateCompletedGreaterThanEqual(String status, LocalDateTime since);
+
+    // Keyset pages of summaries (no saved answers/sections) for admin listings
+    String SUMMARY_SELECT = "SELECT ua.userQuizAssessment AS userQuizAssessment, ua.user.userId AS userId, "
+            + "ua.assessment.assessmentId AS assessmentId, ua.attemptNo AS attemptNo, ua.score AS score, "
+            + "ua.status AS status, ua.dateTaken AS dateTaken, ua.dateCompleted AS dateCompleted, "
+            + "ua.lastSavedTime AS lastSavedTime, ua.currentSectionIndex AS currentSectionIndex, "
+            + "ua.progressPercentage AS progressPercentage, ua.timeSpentSeconds AS timeSpentSeconds "
+            + "FROM UserAssessmentEntity ua ";
+
+    @Query(SUMMARY_SELECT + "WHERE ua.userQuizAssessment > :after ORDER BY ua.userQuizAssessment ASC")
+    List<UserAssessmentSummary> findSummariesAfter(@Param("after") int after, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE ua.userQuizAssessment < :before ORDER BY ua.userQuizAssessment DESC")
+    List<UserAssessmentSummary> findSummariesBefore(@Param("before") int before, Pageable pageable);
 }
@@ -1,12 +1,30 @@
 package edu.cit.futureu.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import edu.cit.futureu.dto.UserSummary;
 import edu.cit.futureu.entity.UserEntity;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, Integer> {
     // Find user by email (useful for authentication)
     UserEntity findByEmail(String email);
+
+    // Keyset pages of summaries (no password, no testimonies) for admin listings
+    String SUMMARY_SELECT = "SELECT u.userId AS userId, u.firstName AS firstName, u.middleName AS middleName, "
+            + "u.lastname AS lastname, u.email AS email, u.age AS age, u.address AS address, "
+            + "u.contactNumber AS contactNumber, u.role AS role "
+            + "FROM UserEntity u ";
+
+    @Query(SUMMARY_SELECT + "WHERE u.userId > :after ORDER BY u.userId ASC")
+    List<UserSummary> findSummariesAfter(@Param("after") int after, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE u.userId < :before ORDER BY u.userId DESC")
+    List<UserSummary> findSummariesBefore(@Param("before") int before, Pageable pageable);
 }
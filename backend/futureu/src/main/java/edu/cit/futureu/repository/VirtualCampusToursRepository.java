@@ -2,11 +2,20 @@ package edu.cit.futureu.repository;
 
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import edu.cit.futureu.dto.SchoolDetail;
 import edu.cit.futureu.entity.VirtualCampusToursEntity;
 import edu.cit.futureu.entity.SchoolEntity;
 
 @Repository
 public interface VirtualCampusToursRepository extends JpaRepository<VirtualCampusToursEntity, Integer> {
     List<VirtualCampusToursEntity> findBySchool(SchoolEntity school);
-}
\ No newline at end of file
+    
+    // Tours of a school, for the school detail view
+    @Query("SELECT t.virtualCampusTourId AS virtualCampusTourId, t.virtualCampusTourUrl AS virtualCampusTourUrl, "
+            + "t.caption AS caption, t.featured AS featured, t.views AS views "
+            + "FROM VirtualCampusToursEntity t WHERE t.school.schoolId = :schoolId ORDER BY t.virtualCampusTourId")
+    List<SchoolDetail.Tour> findDetailViewsBySchoolId(@Param("schoolId") int schoolId);
+}
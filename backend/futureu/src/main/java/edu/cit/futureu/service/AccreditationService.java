@@ -6,14 +6,17 @@ import java.util.Optional;
 import java.util.Collections;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import edu.cit.futureu.dto.SchoolProgramSelection;
 import edu.cit.futureu.entity.AccreditationEntity;
 import edu.cit.futureu.entity.SchoolEntity;
 import edu.cit.futureu.entity.SchoolProgramEntity;
 import edu.cit.futureu.repository.AccreditationRepository;
 import edu.cit.futureu.repository.SchoolProgramRepository;
+import edu.cit.futureu.service.CatalogChangedEvent.Kind;
 
 @Service
 public class AccreditationService {
@@ -24,9 +27,18 @@ public class AccreditationService {
     @Autowired
     private SchoolProgramRepository schoolProgramRepository;
     
+    @Autowired
+    private SchoolDetailService schoolDetailService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // Create operations
     public AccreditationEntity createAccreditation(AccreditationEntity accreditation) {
-        return accreditationRepository.save(accreditation);
+        AccreditationEntity saved = accreditationRepository.save(accreditation);
+        schoolDetailService.evictAll();
+        eventPublisher.publishEvent(CatalogChangedEvent.saved(Kind.ACCREDITATION, saved.getAccredId(), saved));
+        return saved;
     }
     
     // Read operations
@@ -70,29 +82,81 @@ public class AccreditationService {
     // Update operations
     public AccreditationEntity updateAccreditation(AccreditationEntity accreditation) {
         if (accreditationRepository.existsById(accreditation.getAccredId())) {
-            return accreditationRepository.save(accreditation);
+            AccreditationEntity saved = accreditationRepository.save(accreditation);
+            schoolDetailService.evictAll();
+            eventPublisher.publishEvent(CatalogChangedEvent.saved(Kind.ACCREDITATION, saved.getAccredId(), saved));
+            return saved;
         }
         return null; // Accreditation not found
     }
     
+    // Bulk operations
+    /**
+     * Point every selected school program at the accreditation in one UPDATE
+     * @return number of school programs updated, or empty when the accreditation does not exist
+     */
+    @Transactional
+    public Optional<Integer> assignToSchoolPrograms(int accredId, SchoolProgramSelection selection) {
+        if (selection == null || selection.isEmpty()) {
+            throw new IllegalArgumentException("Select school programs by schoolId, programId or schoolProgramIds");
+        }
+        if (!accreditationRepository.existsById(accredId)) {
+            return Optional.empty();
+        }
+        AccreditationEntity accreditation = accreditationRepository.getReferenceById(accredId);
+        List<Integer> ids = selection.getSchoolProgramIds();
+        int updated = ids == null || ids.isEmpty()
+                ? schoolProgramRepository.assignAccreditation(accreditation, selection.getSchoolId(), selection.getProgramId())
+                : schoolProgramRepository.assignAccreditationByIds(accreditation, selection.getSchoolId(),
+                        selection.getProgramId(), ids);
+        evictSchoolDetails(selection, updated);
+        return Optional.of(updated);
+    }
+    
+    /**
+     * Clear the accreditation from the selected school programs that currently hold it, in one UPDATE
+     * @return number of school programs detached, or empty when the accreditation does not exist
+     */
+    @Transactional
+    public Optional<Integer> detachFromSchoolPrograms(int accredId, SchoolProgramSelection selection) {
+        if (selection == null || selection.isEmpty()) {
+            throw new IllegalArgumentException("Select school programs by schoolId, programId or schoolProgramIds");
+        }
+        if (!accreditationRepository.existsById(accredId)) {
+            return Optional.empty();
+        }
+        List<Integer> ids = selection.getSchoolProgramIds();
+        int detached = ids == null || ids.isEmpty()
+                ? schoolProgramRepository.detachAccreditation(accredId, selection.getSchoolId(), selection.getProgramId())
+                : schoolProgramRepository.detachAccreditationByIds(accredId, selection.getSchoolId(),
+                        selection.getProgramId(), ids);
+        evictSchoolDetails(selection, detached);
+        return Optional.of(detached);
+    }
+    
+    // A selection scoped to one school only invalidates that school's detail view
+    private void evictSchoolDetails(SchoolProgramSelection selection, int affected) {
+        if (affected == 0) {
+            return;
+        }
+        if (selection.getSchoolId() != null) {
+            schoolDetailService.evict(selection.getSchoolId());
+        } else {
+            schoolDetailService.evictAll();
+        }
+    }
+    
     // Delete operations
     @Transactional
     public boolean deleteAccreditation(int id) {
         if (accreditationRepository.existsById(id)) {
-            // First, find all SchoolPrograms that reference this accreditation
-            List<SchoolProgramEntity> programsWithAccreditation = 
-                schoolProgramRepository.findByAccreditation_AccredId(id);
-            
-            // Remove the accreditation reference from all these programs
-            for (SchoolProgramEntity program : programsWithAccreditation) {
-                program.setAccreditation(null);
-                schoolProgramRepository.save(program);
-            }
-            
-            // Now it's safe to delete the accreditation
+            // Clear the reference from every school program holding it, then it is safe to delete
+            schoolProgramRepository.detachAccreditation(id, null, null);
             accreditationRepository.deleteById(id);
+            schoolDetailService.evictAll();
+            eventPublisher.publishEvent(CatalogChangedEvent.removed(Kind.ACCREDITATION, id));
             return true;
         }
         return false; // Accreditation not found
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,124 @@
+package edu.cit.futureu.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import edu.cit.futureu.repository.AccreditationRepository;
+import edu.cit.futureu.repository.AssessmentCategoryRepository;
+import edu.cit.futureu.repository.AssessmentRepository;
+import edu.cit.futureu.repository.AssessmentSubCategoryRepository;
+import edu.cit.futureu.repository.CareerRepository;
+import edu.cit.futureu.repository.ChoiceRepository;
+import edu.cit.futureu.repository.ProgramRepository;
+import edu.cit.futureu.repository.QuestionRepository;
+import edu.cit.futureu.repository.QuizSubCategoryCategoryRepository;
+import edu.cit.futureu.repository.SchoolProgramRepository;
+import edu.cit.futureu.repository.SchoolRepository;
+import edu.cit.futureu.repository.UserAssessmentRepository;
+import edu.cit.futureu.repository.UserRepository;
+
+/**
+ * Serves the admin dashboard counts from a snapshot of COUNT(*) queries.
+ * The snapshot is refreshed in the background so dashboard loads never touch the tables directly.
+ */
+@Service
+public class AdminStatsService {
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private SchoolProgramRepository schoolProgramRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private AccreditationRepository accreditationRepository;
+
+    @Autowired
+    private CareerRepository careerRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ChoiceRepository choiceRepository;
+
+    @Autowired
+    private AssessmentCategoryRepository assessmentCategoryRepository;
+
+    @Autowired
+    private AssessmentSubCategoryRepository assessmentSubCategoryRepository;
+
+    @Autowired
+    private QuizSubCategoryCategoryRepository quizSubCategoryCategoryRepository;
+
+    @Autowired
+    private UserAssessmentRepository userAssessmentRepository;
+
+    @Value("${futureu.admin.statsTtlMs:30000}")
+    private long statsTtlMs;
+
+    private volatile Map<String, Object> snapshot;
+    private volatile long snapshotTakenAt;
+
+    /**
+     * Get the latest stats snapshot, computing it inline only if the background refresh has fallen behind
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> current = snapshot;
+        if (current == null || System.currentTimeMillis() - snapshotTakenAt > statsTtlMs * 2) {
+            current = refreshStats();
+        }
+        return current;
+    }
+
+    /**
+     * Recompute every count and swap in the new snapshot
+     */
+    @Scheduled(fixedDelayString = "${futureu.admin.statsTtlMs:30000}")
+    public synchronized Map<String, Object> refreshStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("schools", schoolRepository.count());
+        stats.put("programs", programRepository.count());
+        stats.put("schoolPrograms", schoolProgramRepository.count());
+        stats.put("users", userRepository.count());
+        stats.put("assessments", assessmentRepository.count());
+        stats.put("accreditations", accreditationRepository.count());
+        stats.put("careers", careerRepository.count());
+        stats.put("questions", questionRepository.count());
+        stats.put("choices", choiceRepository.count());
+        stats.put("assessmentCategories", assessmentCategoryRepository.count());
+        stats.put("assessmentSubCategories", assessmentSubCategoryRepository.count());
+        stats.put("quizSubCategories", quizSubCategoryCategoryRepository.count());
+
+        // Attempt aggregates
+        stats.put("completedAttempts", userAssessmentRepository.countByStatus("COMPLETED"));
+        stats.put("inProgressAttempts", userAssessmentRepository.countByStatus("IN_PROGRESS"));
+        LocalDateTime startOfToday = LocalDate.now().atStartOfDay();
+        stats.put("completedToday",
+            userAssessmentRepository.countByStatusAndDateCompletedGreaterThanEqual("COMPLETED", startOfToday));
+
+        long now = System.currentTimeMillis();
+        stats.put("generatedAt", now);
+
+        snapshot = Collections.unmodifiableMap(stats);
+        snapshotTakenAt = now;
+        return snapshot;
+    }
+}
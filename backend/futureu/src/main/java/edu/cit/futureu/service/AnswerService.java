@@ -1,12 +1,18 @@
 package edu.cit.futureu.service;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import edu.cit.futureu.entity.AnswerEntity;
+import edu.cit.futureu.entity.UserAssessmentEntity;
 import edu.cit.futureu.entity.UserEntity;
 import edu.cit.futureu.entity.QuestionEntity;
 import edu.cit.futureu.repository.AnswerRepository;
@@ -17,6 +23,52 @@ public class AnswerService {
     @Autowired
     private AnswerRepository answerRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Rows whose question no longer exists are skipped by the SELECT instead of failing the batch
+    private static final String INSERT_RESPONSE = "INSERT INTO answer "
+            + "(user_id, question_id, user_assessment_id, selected_option, is_correct, answered_at) "
+            + "SELECT ?, q.question_id, ?, ?, ?, ? FROM question q WHERE q.question_id = ?";
+
+    private static final int MAX_OPTION_LENGTH = 255;
+
+    /**
+     * One scored response from a submission; correct is whether the response earned its point
+     */
+    public record Response(int questionId, String sectionId, String selectedOption, boolean correct) {}
+
+    /**
+     * Replace the stored responses of an attempt with the given ones in one JDBC batch
+     * @return number of rows written
+     */
+    @Transactional
+    public int recordResponses(UserAssessmentEntity attempt, List<Response> responses) {
+        int attemptId = attempt.getUserQuizAssessment();
+        // Resubmitting the same attempt must not double count its answers
+        jdbcTemplate.update("DELETE FROM answer WHERE user_assessment_id = ?", attemptId);
+        if (responses.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime answeredAt = attempt.getDateCompleted() != null ? attempt.getDateCompleted() : LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(answeredAt);
+        int userId = attempt.getUser().getUserId();
+        List<Object[]> rows = new ArrayList<>(responses.size());
+        for (Response response : responses) {
+            String option = response.selectedOption();
+            if (option != null && option.length() > MAX_OPTION_LENGTH) {
+                option = option.substring(0, MAX_OPTION_LENGTH);
+            }
+            rows.add(new Object[] { userId, attemptId, option, response.correct(), timestamp, response.questionId() });
+        }
+        int written = 0;
+        for (int count : jdbcTemplate.batchUpdate(INSERT_RESPONSE, rows)) {
+            // Drivers may report SUCCESS_NO_INFO (-2) for batched statements
+            written += count < 0 ? 1 : count;
+        }
+        return written;
+    }
+
     public AnswerEntity createAnswer(AnswerEntity answer) {
         return answerRepository.save(answer);
     }
@@ -0,0 +1,734 @@
+package edu.cit.futureu.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import edu.cit.futureu.service.CatalogChangedEvent.Kind;
+
+/**
+ * Streaming NDJSON / CSV import for questions (with their choices), careers and schools.
+ *
+ * The body is read one record at a time and rows are written with JDBC batches, each batch committed in its
+ * own transaction, so memory stays at one batch however large the file is. Questions are checked against the
+ * assessment category, sub-category and quiz sub-category ids loaded once up front. Invalid rows are reported
+ * by line and skipped; a batch the database rejects is retried row by row so only the bad rows fail.
+ */
+@Service
+public class BulkImportService {
+
+    public static final String TYPE_QUESTIONS = "questions";
+    public static final String TYPE_CAREERS = "careers";
+    public static final String TYPE_SCHOOLS = "schools";
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+
+    // Row errors kept for the report; later ones are only counted
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    // The longest line, or quoted CSV field spanning lines, that is buffered as one record
+    static final int MAX_RECORD_CHARS = 1 << 20;
+
+    // CSV choices column: choice texts separated by '|'
+    static final String CHOICE_SEPARATOR = "\\|";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${futureu.import.batchSize:1000}")
+    private int batchSize;
+
+    /**
+     * Receives progress after every committed batch and each row error as it is found
+     */
+    public interface Listener {
+        void onProgress(Report report);
+
+        void onError(long line, String message);
+    }
+
+    /**
+     * Running totals of one import
+     */
+    public static final class Report {
+        private final String type;
+        private final long startedAt = System.nanoTime();
+        private long lines;
+        private long imported;
+        private long failed;
+        private long choices;
+        private int batches;
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+
+        Report(String type) {
+            this.type = type;
+        }
+
+        void fail(long line, String message, Listener listener) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("line", line);
+                error.put("error", message);
+                errors.add(error);
+            }
+            listener.onError(line, message);
+        }
+
+        public long getImported() {
+            return imported;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getChoices() {
+            return choices;
+        }
+
+        public List<Map<String, Object>> getErrors() {
+            return errors;
+        }
+
+        public Map<String, Object> toMap(boolean withErrors) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("type", type);
+            map.put("lines", lines);
+            map.put("imported", imported);
+            map.put("failed", failed);
+            if (TYPE_QUESTIONS.equals(type)) {
+                map.put("choices", choices);
+            }
+            map.put("batches", batches);
+            map.put("elapsedMs", (System.nanoTime() - startedAt) / 1_000_000);
+            if (withErrors) {
+                map.put("errors", errors);
+                map.put("errorsTruncated", failed > errors.size());
+            }
+            return map;
+        }
+    }
+
+    public static boolean isSupportedType(String type) {
+        return TYPE_QUESTIONS.equals(type) || TYPE_CAREERS.equals(type) || TYPE_SCHOOLS.equals(type);
+    }
+
+    public static boolean isSupportedFormat(String format) {
+        return FORMAT_NDJSON.equals(format) || FORMAT_CSV.equals(format);
+    }
+
+    /**
+     * The format parameter when given, otherwise guessed from the request content type
+     */
+    public static String formatOf(String format, String contentType) {
+        if (format != null && !format.isBlank()) {
+            return format.trim().toLowerCase(Locale.ROOT);
+        }
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv") ? FORMAT_CSV : FORMAT_NDJSON;
+    }
+
+    // One record as read: its first line, and either the fields or why it could not be read
+    private record Record(long line, JsonNode fields, String error) {}
+
+    // A validated row ready to be written, tagged with its line for error reporting
+    private record Pending(long line, Object row) {}
+
+    private record ChoiceRow(String text, boolean correct) {}
+
+    private record QuestionRow(int categoryId, int subCategoryId, Integer quizSubCategoryId, String text,
+            String category, String difficultyLevel, String correctAnswer, String questionType,
+            List<ChoiceRow> choices) {}
+
+    private record CareerRow(String title, String salary, String description, String jobTrend, String industry,
+            SalaryParser.Salary parsed) {}
+
+    private record SchoolRow(String name, String location, String type, String websiteUrl, String description,
+            BigDecimal latitude, BigDecimal longitude) {}
+
+    /**
+     * Import every record of the stream; the stream is read to the end but not closed
+     */
+    public Report importRows(String type, String format, InputStream in, Listener listener) throws IOException {
+        if (!isSupportedType(type)) {
+            throw new IllegalArgumentException("Unsupported import type: " + type);
+        }
+        if (!isSupportedFormat(format)) {
+            throw new IllegalArgumentException("Unsupported import format: " + format);
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        RecordSource source = FORMAT_CSV.equals(format) ? new CsvSource(reader) : new NdjsonSource(reader);
+        QuestionValidator validator = TYPE_QUESTIONS.equals(type) ? new QuestionValidator() : null;
+
+        Report report = new Report(type);
+        List<Pending> batch = new ArrayList<>(batchSize);
+        Record record;
+        while ((record = source.next()) != null) {
+            report.lines = record.line();
+            if (record.error() != null) {
+                report.fail(record.line(), record.error(), listener);
+                continue;
+            }
+            try {
+                Object row = switch (type) {
+                    case TYPE_QUESTIONS -> validator.question(record.fields());
+                    case TYPE_CAREERS -> career(record.fields());
+                    default -> school(record.fields());
+                };
+                batch.add(new Pending(record.line(), row));
+            } catch (IllegalArgumentException e) {
+                report.fail(record.line(), e.getMessage(), listener);
+            }
+            if (batch.size() >= batchSize) {
+                flush(type, batch, report, listener);
+            }
+        }
+        flush(type, batch, report, listener);
+
+        // Questions are not part of the catalog the indexes are built from
+        if (report.imported > 0 && !TYPE_QUESTIONS.equals(type)) {
+            eventPublisher.publishEvent(CatalogChangedEvent.changed(
+                    TYPE_CAREERS.equals(type) ? Kind.CAREER : Kind.SCHOOL));
+        }
+        return report;
+    }
+
+    // Write and commit one batch; if the database rejects it, retry its rows one at a time
+    private void flush(String type, List<Pending> batch, Report report, Listener listener) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            report.choices += write(type, batch);
+            report.imported += batch.size();
+        } catch (DataAccessException e) {
+            for (Pending pending : batch) {
+                try {
+                    report.choices += write(type, List.of(pending));
+                    report.imported++;
+                } catch (DataAccessException rowError) {
+                    report.fail(pending.line(), rowError.getMostSpecificCause().getMessage(), listener);
+                }
+            }
+        }
+        report.batches++;
+        batch.clear();
+        listener.onProgress(report);
+    }
+
+    // Runs in a new transaction so every batch is committed as it completes; returns choices written
+    private long write(String type, List<Pending> rows) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Long choices = tx.execute(status -> jdbcTemplate.execute((ConnectionCallback<Long>) con -> switch (type) {
+            case TYPE_QUESTIONS -> writeQuestions(con, rows);
+            case TYPE_CAREERS -> writeCareers(con, rows);
+            default -> writeSchools(con, rows);
+        }));
+        return choices == null ? 0 : choices;
+    }
+
+    private long writeQuestions(Connection con, List<Pending> rows) throws SQLException {
+        int[] ids = new int[rows.size()];
+        try (PreparedStatement ps = con.prepareStatement("INSERT INTO question (assessment_category_id, "
+                + "assessment_sub_category_id, quiz_sub_category_category_id, question_text, category, "
+                + "difficulty_level, correct_answer, question_type) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (Pending pending : rows) {
+                QuestionRow q = (QuestionRow) pending.row();
+                ps.setInt(1, q.categoryId());
+                ps.setInt(2, q.subCategoryId());
+                if (q.quizSubCategoryId() == null) {
+                    ps.setNull(3, Types.INTEGER);
+                } else {
+                    ps.setInt(3, q.quizSubCategoryId());
+                }
+                ps.setString(4, q.text());
+                ps.setString(5, q.category());
+                ps.setString(6, q.difficultyLevel());
+                ps.setString(7, q.correctAnswer());
+                ps.setString(8, q.questionType());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                for (int i = 0; i < ids.length; i++) {
+                    if (!keys.next()) {
+                        throw new SQLException("Missing generated key for question " + i + " of the batch");
+                    }
+                    ids[i] = keys.getInt(1);
+                }
+            }
+        }
+
+        long choices = 0;
+        try (PreparedStatement ps = con.prepareStatement(
+                "INSERT INTO choice (question_id, choice_text, is_correct) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < ids.length; i++) {
+                for (ChoiceRow choice : ((QuestionRow) rows.get(i).row()).choices()) {
+                    ps.setInt(1, ids[i]);
+                    ps.setString(2, choice.text());
+                    ps.setBoolean(3, choice.correct());
+                    ps.addBatch();
+                    choices++;
+                }
+            }
+            if (choices > 0) {
+                ps.executeBatch();
+            }
+        }
+        return choices;
+    }
+
+    private long writeCareers(Connection con, List<Pending> rows) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement("INSERT INTO career (career_title, salary, "
+                + "career_description, job_trend, industry, salary_min, salary_max, salary_currency, salary_period) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (Pending pending : rows) {
+                CareerRow c = (CareerRow) pending.row();
+                ps.setString(1, c.title());
+                ps.setString(2, c.salary());
+                ps.setString(3, c.description());
+                ps.setString(4, c.jobTrend());
+                ps.setString(5, c.industry());
+                ps.setBigDecimal(6, c.parsed() == null ? null : c.parsed().getMin());
+                ps.setBigDecimal(7, c.parsed() == null ? null : c.parsed().getMax());
+                ps.setString(8, c.parsed() == null ? null : c.parsed().getCurrency());
+                ps.setString(9, c.parsed() == null ? null : c.parsed().getPeriod());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        return 0;
+    }
+
+    private long writeSchools(Connection con, List<Pending> rows) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement("INSERT INTO school (name, location, type, "
+                + "school_website_url, description, latitude, longitude) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (Pending pending : rows) {
+                SchoolRow s = (SchoolRow) pending.row();
+                ps.setString(1, s.name());
+                ps.setString(2, s.location());
+                ps.setString(3, s.type());
+                ps.setString(4, s.websiteUrl());
+                ps.setString(5, s.description());
+                ps.setBigDecimal(6, s.latitude());
+                ps.setBigDecimal(7, s.longitude());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        return 0;
+    }
+
+    // Row mapping and validation
+
+    private static String text(JsonNode fields, String name) {
+        JsonNode value = fields.get(name);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        String s = value.asText().trim();
+        return s.isEmpty() ? null : s;
+    }
+
+    private static String required(JsonNode fields, String name) {
+        String value = text(fields, name);
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    private static Integer integer(JsonNode fields, String name) {
+        String value = text(fields, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not an integer: " + value);
+        }
+    }
+
+    private static BigDecimal decimal(JsonNode fields, String name, int bound) {
+        String value = text(fields, name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            BigDecimal d = new BigDecimal(value);
+            if (d.abs().compareTo(BigDecimal.valueOf(bound)) > 0) {
+                throw new IllegalArgumentException(name + " must be between -" + bound + " and " + bound);
+            }
+            return d;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a number: " + value);
+        }
+    }
+
+    private CareerRow career(JsonNode f) {
+        String salary = text(f, "salary");
+        return new CareerRow(required(f, "careerTitle"), salary, text(f, "careerDescription"), text(f, "jobTrend"),
+                text(f, "industry"), SalaryParser.parse(salary));
+    }
+
+    private SchoolRow school(JsonNode f) {
+        BigDecimal latitude = decimal(f, "latitude", 90);
+        BigDecimal longitude = decimal(f, "longitude", 180);
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("latitude and longitude must be given together");
+        }
+        return new SchoolRow(required(f, "name"), text(f, "location"), text(f, "type"), text(f, "schoolWebsiteUrl"),
+                text(f, "description"), latitude, longitude);
+    }
+
+    // Checks question rows against the category tree as it was when the import started
+    private final class QuestionValidator {
+        final Map<Integer, Integer> subCategoryParent = new HashMap<>();
+        final Map<Integer, Integer> quizSubCategoryParent = new HashMap<>();
+        final Set<Integer> categories = new HashSet<>();
+
+        QuestionValidator() {
+            jdbcTemplate.query("SELECT assessment_category_id FROM assessment_category",
+                    rs -> { categories.add(rs.getInt(1)); });
+            jdbcTemplate.query("SELECT assessment_sub_category_id, assessment_category_id FROM assessment_sub_category",
+                    rs -> { subCategoryParent.put(rs.getInt(1), rs.getInt(2)); });
+            jdbcTemplate.query("SELECT quiz_sub_category_category_id, assessment_sub_category_id "
+                    + "FROM quiz_sub_category_category",
+                    rs -> { quizSubCategoryParent.put(rs.getInt(1), rs.getInt(2)); });
+        }
+
+        QuestionRow question(JsonNode f) {
+            String questionText = required(f, "questionText");
+            Integer subCategoryId = integer(f, "assessmentSubCategoryId");
+            if (subCategoryId == null) {
+                throw new IllegalArgumentException("assessmentSubCategoryId is required");
+            }
+            Integer parent = subCategoryParent.get(subCategoryId);
+            if (parent == null) {
+                throw new IllegalArgumentException("Unknown assessmentSubCategoryId: " + subCategoryId);
+            }
+            Integer categoryId = integer(f, "assessmentCategoryId");
+            if (categoryId == null) {
+                categoryId = parent;
+            } else if (!categories.contains(categoryId)) {
+                throw new IllegalArgumentException("Unknown assessmentCategoryId: " + categoryId);
+            } else if (!categoryId.equals(parent)) {
+                throw new IllegalArgumentException("assessmentSubCategoryId " + subCategoryId
+                        + " does not belong to assessmentCategoryId " + categoryId);
+            }
+            Integer quizSubCategoryId = integer(f, "quizSubCategoryCategoryId");
+            if (quizSubCategoryId != null) {
+                Integer quizParent = quizSubCategoryParent.get(quizSubCategoryId);
+                if (quizParent == null) {
+                    throw new IllegalArgumentException("Unknown quizSubCategoryCategoryId: " + quizSubCategoryId);
+                }
+                if (!quizParent.equals(subCategoryId)) {
+                    throw new IllegalArgumentException("quizSubCategoryCategoryId " + quizSubCategoryId
+                            + " does not belong to assessmentSubCategoryId " + subCategoryId);
+                }
+            }
+
+            String correctAnswer = text(f, "correctAnswer");
+            List<ChoiceRow> choices = new ArrayList<>();
+            JsonNode choiceNodes = f.get("choices");
+            if (choiceNodes != null && choiceNodes.isArray()) {
+                for (JsonNode choice : choiceNodes) {
+                    String choiceText = choice.isObject() ? text(choice, "choiceText") : choice.asText().trim();
+                    if (choiceText == null || choiceText.isEmpty()) {
+                        throw new IllegalArgumentException("choices must not contain empty choice texts");
+                    }
+                    // Without an explicit flag a choice is correct when it matches correctAnswer
+                    JsonNode flag = choice.isObject() ? choice.get("isCorrect") : null;
+                    boolean correct = flag != null && !flag.isNull() ? flag.asBoolean()
+                            : correctAnswer != null && correctAnswer.equalsIgnoreCase(choiceText);
+                    choices.add(new ChoiceRow(choiceText, correct));
+                }
+            }
+            return new QuestionRow(categoryId, subCategoryId, quizSubCategoryId, questionText, text(f, "category"),
+                    text(f, "difficultyLevel"), correctAnswer, text(f, "questionType"), choices);
+        }
+    }
+
+    // Record readers
+
+    private interface RecordSource {
+        Record next() throws IOException;
+    }
+
+    private static final class LineTooLongException extends IOException {
+        LineTooLongException() {
+            super("Line longer than " + MAX_RECORD_CHARS + " characters");
+        }
+    }
+
+    /**
+     * The next line without its terminator, or null at end of input, as BufferedReader.readLine but never
+     * buffering more than MAX_RECORD_CHARS: a longer line is read through to its end and reported by throwing
+     * LineTooLongException, so the following line can still be read.
+     */
+    private static String readLine(BufferedReader reader) throws IOException {
+        StringBuilder text = new StringBuilder();
+        boolean tooLong = false;
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        while (c >= 0 && c != '\n' && c != '\r') {
+            if (text.length() < MAX_RECORD_CHARS) {
+                text.append((char) c);
+            } else {
+                tooLong = true;
+            }
+            c = reader.read();
+        }
+        if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+                reader.reset();
+            }
+        }
+        if (tooLong) {
+            throw new LineTooLongException();
+        }
+        return text.toString();
+    }
+
+    // One JSON object per line; blank lines are skipped
+    private final class NdjsonSource implements RecordSource {
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Record next() throws IOException {
+            while (true) {
+                String text;
+                try {
+                    text = readLine(reader);
+                } catch (LineTooLongException e) {
+                    line++;
+                    return new Record(line, null, e.getMessage());
+                }
+                if (text == null) {
+                    return null;
+                }
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    JsonNode node = objectMapper.readTree(text);
+                    if (node == null || !node.isObject()) {
+                        return new Record(line, null, "Expected a JSON object");
+                    }
+                    return new Record(line, node, null);
+                } catch (JsonProcessingException e) {
+                    return new Record(line, null, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    // RFC 4180 CSV with a header row; a "choices" column holds '|'-separated choice texts
+    private final class CsvSource implements RecordSource {
+        private final BufferedReader reader;
+        private long line;
+        private List<String> header;
+        private boolean headerFailed;
+
+        CsvSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Record next() throws IOException {
+            if (headerFailed) {
+                return null;
+            }
+            if (header == null) {
+                List<String> names;
+                try {
+                    names = readFields();
+                } catch (IllegalStateException e) {
+                    // Without column names no data row can be read, so the malformed header ends the import
+                    headerFailed = true;
+                    return new Record(1, null, "Invalid header: " + e.getMessage());
+                }
+                if (names == null) {
+                    return null;
+                }
+                header = new ArrayList<>();
+                for (String name : names) {
+                    // Tolerate a byte order mark on the first column name
+                    header.add(name.replace("\uFEFF", "").trim());
+                }
+            }
+            while (true) {
+                long start = line + 1;
+                List<String> values;
+                try {
+                    values = readFields();
+                } catch (IllegalStateException e) {
+                    return new Record(start, null, e.getMessage());
+                }
+                if (values == null) {
+                    return null;
+                }
+                if (values.size() == 1 && values.get(0).isBlank()) {
+                    continue;
+                }
+                if (values.size() != header.size()) {
+                    return new Record(start, null,
+                            "Expected " + header.size() + " columns but found " + values.size());
+                }
+                ObjectNode node = objectMapper.createObjectNode();
+                for (int i = 0; i < header.size(); i++) {
+                    String name = header.get(i);
+                    String value = values.get(i);
+                    if ("choices".equals(name)) {
+                        var choices = node.putArray(name);
+                        if (!value.isBlank()) {
+                            for (String choice : value.split(CHOICE_SEPARATOR)) {
+                                choices.add(choice.trim());
+                            }
+                        }
+                    } else {
+                        node.put(name, value);
+                    }
+                }
+                return new Record(start, node, null);
+            }
+        }
+
+        // Fields of the next record, or null at end of input
+        private List<String> readFields() throws IOException {
+            String text = nextLine();
+            if (text == null) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int chars = 0;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    // A quoted field continues on the next line
+                    String more = nextLine();
+                    if (more == null) {
+                        throw new IllegalStateException("Unterminated quoted field");
+                    }
+                    chars += text.length();
+                    if (chars > MAX_RECORD_CHARS) {
+                        skipToRecordEnd();
+                        throw new IllegalStateException("Record longer than " + MAX_RECORD_CHARS + " characters");
+                    }
+                    field.append('\n');
+                    text = more;
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < text.length() && text.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        // The next physical line, counted; an oversized one is a row error
+        private String nextLine() throws IOException {
+            try {
+                String text = readLine(reader);
+                if (text != null) {
+                    line++;
+                }
+                return text;
+            } catch (LineTooLongException e) {
+                line++;
+                throw new IllegalStateException(e.getMessage());
+            }
+        }
+
+        // After an oversized record, drop lines up to one that closes the open quote
+        private void skipToRecordEnd() throws IOException {
+            while (true) {
+                String text;
+                try {
+                    text = nextLine();
+                } catch (IllegalStateException e) {
+                    continue;
+                }
+                if (text == null || text.chars().filter(ch -> ch == '"').count() % 2 == 1) {
+                    return;
+                }
+            }
+        }
+    }
+}
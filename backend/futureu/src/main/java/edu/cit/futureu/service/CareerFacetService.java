@@ -0,0 +1,249 @@
+package edu.cit.futureu.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import edu.cit.futureu.dto.CursorPage;
+import edu.cit.futureu.repository.CareerProgramRepository;
+import edu.cit.futureu.repository.CareerRepository;
+import edu.cit.futureu.repository.ProgramRepository;
+import edu.cit.futureu.service.CatalogChangedEvent.Kind;
+
+/**
+ * Combined career filters over an in-memory career array.
+ *
+ * Every facet value (an industry, a job trend, a program) has a BitSet of the career indexes carrying it.
+ * Values selected within one facet are ORed, facets are ANDed, and each facet's counts are taken under the
+ * other facets' selections, so the client can show how many careers each additional choice would leave.
+ * Committed career, program and career-program changes (CatalogChangedEvent) bump the generation and the
+ * next request rebuilds the bitsets.
+ */
+@Service
+public class CareerFacetService {
+
+    public static final String FACET_INDUSTRY = "industry";
+    public static final String FACET_JOB_TREND = "jobTrend";
+    public static final String FACET_PROGRAM = "programId";
+
+    @Autowired
+    private CareerRepository careerRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private CareerProgramRepository careerProgramRepository;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Index index;
+
+    // One facet: value key -> bitset of careers, with a display label per value
+    static final class Facet {
+        final String name;
+        final Map<String, Integer> valueIndexes = new HashMap<>();
+        final List<String> values = new ArrayList<>();
+        final List<String> labels = new ArrayList<>();
+        final List<BitSet> bits = new ArrayList<>();
+
+        Facet(String name) {
+            this.name = name;
+        }
+
+        void add(String value, String label, int career) {
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            String key = value.trim().toLowerCase(Locale.ROOT);
+            Integer v = valueIndexes.get(key);
+            if (v == null) {
+                v = values.size();
+                valueIndexes.put(key, v);
+                values.add(value.trim());
+                labels.add(label);
+                bits.add(new BitSet());
+            }
+            bits.get(v).set(career);
+        }
+
+        // Union of the selected values, or null when nothing is selected (no constraint)
+        BitSet select(List<String> selected) {
+            if (selected == null || selected.isEmpty()) {
+                return null;
+            }
+            BitSet union = new BitSet();
+            for (String value : selected) {
+                Integer v = value == null ? null : valueIndexes.get(value.trim().toLowerCase(Locale.ROOT));
+                if (v != null) {
+                    union.or(bits.get(v));
+                }
+            }
+            return union;
+        }
+    }
+
+    static final class Index {
+        final long generation;
+        final int[] careerIds;
+        final String[] titles;
+        final String[] industries;
+        final String[] jobTrends;
+        final String[] salaries;
+        final Facet[] facets;
+
+        Index(long generation, List<Object[]> careers, List<Object[]> programs, List<Object[]> careerPrograms) {
+            this.generation = generation;
+            int n = careers.size();
+            careerIds = new int[n];
+            titles = new String[n];
+            industries = new String[n];
+            jobTrends = new String[n];
+            salaries = new String[n];
+
+            Facet industry = new Facet(FACET_INDUSTRY);
+            Facet jobTrend = new Facet(FACET_JOB_TREND);
+            Facet program = new Facet(FACET_PROGRAM);
+            for (int i = 0; i < n; i++) {
+                Object[] row = careers.get(i);
+                careerIds[i] = (Integer) row[0];
+                titles[i] = (String) row[1];
+                industries[i] = (String) row[2];
+                jobTrends[i] = (String) row[3];
+                salaries[i] = (String) row[4];
+                industry.add(industries[i], null, i);
+                jobTrend.add(jobTrends[i], null, i);
+            }
+
+            Map<Integer, String> programNames = new HashMap<>();
+            for (Object[] row : programs) {
+                programNames.put((Integer) row[0], (String) row[1]);
+            }
+            for (Object[] edge : careerPrograms) {
+                int career = Arrays.binarySearch(careerIds, (Integer) edge[0]);
+                Integer programId = (Integer) edge[1];
+                if (career >= 0) {
+                    program.add(String.valueOf(programId), programNames.get(programId), career);
+                }
+            }
+            facets = new Facet[] { industry, jobTrend, program };
+        }
+    }
+
+    private Index currentIndex() {
+        Index current = index;
+        long wanted = generation.get();
+        if (current != null && current.generation == wanted) {
+            return current;
+        }
+        synchronized (this) {
+            current = index;
+            wanted = generation.get();
+            if (current == null || current.generation != wanted) {
+                current = new Index(wanted,
+                        careerRepository.findFacetRows(),
+                        programRepository.findGraphNodes(),
+                        careerProgramRepository.findAllEdges());
+                index = current;
+            }
+            return current;
+        }
+    }
+
+    // Mark the bitsets stale; the next read rebuilds from the committed rows
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.isAny(Kind.CAREER, Kind.PROGRAM, Kind.CAREER_PROGRAM)) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Careers matching every facet selection, in id order, with per-value counts for each facet
+     * @param selections facet name -> selected values; a missing or empty list leaves the facet unconstrained
+     */
+    public Map<String, Object> filter(Map<String, List<String>> selections, String cursor, Integer limit) {
+        Index idx = currentIndex();
+        int pageSize = CursorPage.clampLimit(limit);
+        int after = CursorPage.decodeIdCursor(cursor, false);
+        int n = idx.careerIds.length;
+
+        BitSet[] selected = new BitSet[idx.facets.length];
+        for (int f = 0; f < idx.facets.length; f++) {
+            selected[f] = idx.facets[f].select(selections.get(idx.facets[f].name));
+        }
+
+        BitSet matches = new BitSet(n);
+        matches.set(0, n);
+        for (BitSet s : selected) {
+            if (s != null) {
+                matches.and(s);
+            }
+        }
+
+        // Each facet is counted under the other facets' selections only
+        Map<String, Object> facetCounts = new LinkedHashMap<>();
+        for (int f = 0; f < idx.facets.length; f++) {
+            BitSet base = new BitSet(n);
+            base.set(0, n);
+            for (int g = 0; g < selected.length; g++) {
+                if (g != f && selected[g] != null) {
+                    base.and(selected[g]);
+                }
+            }
+            Facet facet = idx.facets[f];
+            List<Map<String, Object>> counts = new ArrayList<>();
+            for (int v = 0; v < facet.values.size(); v++) {
+                BitSet bits = (BitSet) facet.bits.get(v).clone();
+                bits.and(base);
+                int count = bits.cardinality();
+                if (count > 0) {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("value", facet.values.get(v));
+                    if (facet.labels.get(v) != null) {
+                        entry.put("label", facet.labels.get(v));
+                    }
+                    entry.put("count", count);
+                    counts.add(entry);
+                }
+            }
+            counts.sort((a, b) -> Integer.compare((Integer) b.get("count"), (Integer) a.get("count")));
+            facetCounts.put(facet.name, counts);
+        }
+
+        // Careers are stored in id order, so the cursor maps to a starting bit
+        int start = Arrays.binarySearch(idx.careerIds, after);
+        start = start >= 0 ? start + 1 : -start - 1;
+        List<Map<String, Object>> fetched = new ArrayList<>();
+        for (int i = matches.nextSetBit(start); i >= 0 && fetched.size() <= pageSize; i = matches.nextSetBit(i + 1)) {
+            Map<String, Object> career = new LinkedHashMap<>();
+            career.put("careerId", idx.careerIds[i]);
+            career.put("careerTitle", idx.titles[i]);
+            career.put("industry", idx.industries[i]);
+            career.put("jobTrend", idx.jobTrends[i]);
+            career.put("salary", idx.salaries[i]);
+            fetched.add(career);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", matches.cardinality());
+        result.put("facets", facetCounts);
+        result.put("page", CursorPage.of(fetched, pageSize, CursorPage.SORT_ID_ASC,
+                c -> String.valueOf(c.get("careerId"))));
+        return result;
+    }
+}
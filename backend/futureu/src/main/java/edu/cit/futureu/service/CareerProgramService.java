@@ -1,16 +1,28 @@
 package edu.cit.futureu.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import edu.cit.futureu.entity.CareerEntity;
 import edu.cit.futureu.entity.CareerProgramEntity;
 import edu.cit.futureu.entity.ProgramEntity;
 import edu.cit.futureu.repository.CareerProgramRepository;
+import edu.cit.futureu.repository.ProgramRepository;
+import edu.cit.futureu.service.CatalogChangedEvent.Kind;
 
 @Service
 public class CareerProgramService {
@@ -24,6 +36,15 @@ public class CareerProgramService {
     @Autowired
     private ProgramService programService;
     
+    @Autowired
+    private ProgramRepository programRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // Create a new association between career and program
     public CareerProgramEntity associateCareerWithProgram(int careerId, int programId) {
         Optional<CareerEntity> career = careerService.getCareerById(careerId);
@@ -42,7 +63,9 @@ public class CareerProgramService {
             CareerProgramEntity careerProgram = new CareerProgramEntity();
             careerProgram.setCareer(career.get());
             careerProgram.setProgram(program.get());
-            return careerProgramRepository.save(careerProgram);
+            CareerProgramEntity saved = careerProgramRepository.save(careerProgram);
+            eventPublisher.publishEvent(CatalogChangedEvent.changed(Kind.CAREER_PROGRAM));
+            return saved;
         }
         
         return null;
@@ -88,10 +111,57 @@ public class CareerProgramService {
             
             if (association.isPresent()) {
                 careerProgramRepository.delete(association.get());
+                eventPublisher.publishEvent(CatalogChangedEvent.changed(Kind.CAREER_PROGRAM));
                 return true;
             }
         }
         
         return false;
     }
+    
+    /**
+     * Make the career's programs exactly the given set: links no longer wanted are removed with one DELETE and
+     * missing ones added with one JDBC batch insert, in a single transaction. Caches are invalidated once, and
+     * only when something changed.
+     * @return careerId, programIds, added and removed counts; empty when the career does not exist
+     */
+    @Transactional
+    public Optional<Map<String, Object>> replaceProgramsForCareer(int careerId, Collection<Integer> programIds) {
+        if (careerService.getCareerById(careerId).isEmpty()) {
+            return Optional.empty();
+        }
+        Set<Integer> wanted = new TreeSet<>(programIds);
+        if (!wanted.isEmpty()) {
+            Set<Integer> unknown = new TreeSet<>(wanted);
+            programRepository.findExistingIds(wanted).forEach(unknown::remove);
+            if (!unknown.isEmpty()) {
+                throw new IllegalArgumentException("Unknown program ids: " + unknown);
+            }
+        }
+        
+        Set<Integer> current = new HashSet<>(careerProgramRepository.findProgramIdsByCareerId(careerId));
+        Set<Integer> toRemove = new TreeSet<>(current);
+        toRemove.removeAll(wanted);
+        List<Object[]> toAdd = new ArrayList<>();
+        for (Integer programId : wanted) {
+            if (!current.contains(programId)) {
+                toAdd.add(new Object[] { careerId, programId });
+            }
+        }
+        
+        int removed = toRemove.isEmpty() ? 0 : careerProgramRepository.deleteByCareerIdAndProgramIds(careerId, toRemove);
+        if (!toAdd.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO career_program (career_id, program_id) VALUES (?, ?)", toAdd);
+        }
+        if (removed > 0 || !toAdd.isEmpty()) {
+            eventPublisher.publishEvent(CatalogChangedEvent.changed(Kind.CAREER_PROGRAM));
+        }
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("careerId", careerId);
+        result.put("programIds", wanted);
+        result.put("added", toAdd.size());
+        result.put("removed", removed);
+        return Optional.of(result);
+    }
 }
@@ -0,0 +1,139 @@
+package edu.cit.futureu.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import edu.cit.futureu.dto.CareerSalaryView;
+import edu.cit.futureu.dto.CursorPage;
+import edu.cit.futureu.entity.CareerEntity;
+import edu.cit.futureu.repository.CareerRepository;
+
+/**
+ * Numeric salary ranges for careers.
+ *
+ * The salary text is parsed into salaryMin / salaryMax (monthly), currency and period whenever a career is
+ * written; rows saved before those columns existed are filled in by a batched backfill at startup. Range
+ * queries return careers whose parsed range overlaps the requested one, by id or by salaryMin.
+ */
+@Service
+public class CareerSalaryService {
+
+    public static final String SORT_SALARY_ASC = "salary";
+    public static final String SORT_SALARY_DESC = "-salary";
+
+    // Upper bound used when the caller leaves max open
+    private static final BigDecimal NO_MAX = new BigDecimal("999999999999.99");
+
+    @Autowired
+    private CareerRepository careerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${futureu.career.salaryBackfillBatch:500}")
+    private int backfillBatch;
+
+    /**
+     * Copy the parsed salary onto the entity; the numeric columns are cleared when the text holds no amount
+     */
+    public static void applyParsedSalary(CareerEntity career) {
+        SalaryParser.Salary parsed = SalaryParser.parse(career.getSalary());
+        career.setSalaryMin(parsed == null ? null : parsed.getMin());
+        career.setSalaryMax(parsed == null ? null : parsed.getMax());
+        career.setSalaryCurrency(parsed == null ? null : parsed.getCurrency());
+        career.setSalaryPeriod(parsed == null ? null : parsed.getPeriod());
+    }
+
+    /**
+     * Parse salary strings of rows that have none of the numeric columns yet, one JDBC batch per page of ids
+     * @return number of rows updated
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int backfill() {
+        int updated = 0;
+        int afterId = 0;
+        while (true) {
+            List<Object[]> rows = careerRepository.findUnparsedSalaries(afterId, PageRequest.of(0, backfillBatch));
+            if (rows.isEmpty()) {
+                return updated;
+            }
+            List<Object[]> batch = new ArrayList<>();
+            for (Object[] row : rows) {
+                afterId = (Integer) row[0];
+                SalaryParser.Salary parsed = SalaryParser.parse((String) row[1]);
+                if (parsed != null) {
+                    batch.add(new Object[] { parsed.getMin(), parsed.getMax(), parsed.getCurrency(),
+                            parsed.getPeriod(), afterId });
+                }
+            }
+            if (!batch.isEmpty()) {
+                for (int count : jdbcTemplate.batchUpdate("UPDATE career SET salary_min = ?, salary_max = ?, "
+                        + "salary_currency = ?, salary_period = ? WHERE career_id = ?", batch)) {
+                    updated += Math.max(count, 0);
+                }
+            }
+            if (rows.size() < backfillBatch) {
+                return updated;
+            }
+        }
+    }
+
+    /**
+     * Careers whose monthly salary range overlaps [min, max] in the given currency
+     * @param sort "id" (default), "salary" (lowest minimum first) or "-salary"
+     * @param cursor nextCursor of the previous page: a career id, or "salaryMin:careerId" for the salary sorts
+     */
+    public CursorPage<CareerSalaryView> getCareersBySalaryRange(BigDecimal min, BigDecimal max, String currency,
+            String sort, String cursor, Integer limit) {
+        BigDecimal low = min == null ? BigDecimal.ZERO : min;
+        BigDecimal high = max == null ? NO_MAX : max;
+        if (low.signum() < 0 || low.compareTo(high) > 0) {
+            throw new IllegalArgumentException("min must be between 0 and max");
+        }
+        String cur = currency == null || currency.isBlank() ? SalaryParser.DEFAULT_CURRENCY
+                : currency.trim().toUpperCase(Locale.ROOT);
+        int pageSize = CursorPage.clampLimit(limit);
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        if (sort == null || sort.isEmpty() || CursorPage.SORT_ID_ASC.equals(sort)) {
+            List<CareerSalaryView> fetched = careerRepository.findSalaryRangeById(cur, low, high,
+                    CursorPage.decodeIdCursor(cursor, false), page);
+            return CursorPage.of(fetched, pageSize, CursorPage.SORT_ID_ASC, c -> String.valueOf(c.getCareerId()));
+        }
+        boolean descending;
+        if (SORT_SALARY_ASC.equals(sort)) {
+            descending = false;
+        } else if (SORT_SALARY_DESC.equals(sort)) {
+            descending = true;
+        } else {
+            throw new IllegalArgumentException("Unsupported sort key: " + sort);
+        }
+
+        BigDecimal salary = descending ? NO_MAX.add(BigDecimal.ONE) : BigDecimal.ONE.negate();
+        int afterId = descending ? Integer.MAX_VALUE : 0;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = cursor.split(":");
+            try {
+                salary = new BigDecimal(parts[0]);
+                afterId = Integer.parseInt(parts[1]);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+        List<CareerSalaryView> fetched = descending
+                ? careerRepository.findSalaryRangeBySalaryDesc(cur, low, high, salary, afterId, page)
+                : careerRepository.findSalaryRangeBySalaryAsc(cur, low, high, salary, afterId, page);
+        return CursorPage.of(fetched, pageSize, sort,
+                c -> c.getSalaryMin().toPlainString() + ":" + c.getCareerId());
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import edu.cit.futureu.entity.CareerEntity;
@@ -12,6 +13,7 @@ import edu.cit.futureu.entity.CareerProgramEntity;
 import edu.cit.futureu.entity.ProgramEntity;
 import edu.cit.futureu.repository.CareerProgramRepository;
 import edu.cit.futureu.repository.CareerRepository;
+import edu.cit.futureu.service.CatalogChangedEvent.Kind;
 
 @Service
 public class CareerService {
@@ -22,9 +24,15 @@ public class CareerService {
     @Autowired
     private CareerProgramRepository careerProgramRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // Create operations
     public CareerEntity createCareer(CareerEntity career) {
-        return careerRepository.save(career);
+        CareerSalaryService.applyParsedSalary(career);
+        CareerEntity saved = careerRepository.save(career);
+        eventPublisher.publishEvent(CatalogChangedEvent.saved(Kind.CAREER, saved.getCareerId(), saved));
+        return saved;
     }
     
     // Read operations
@@ -67,7 +75,10 @@ public class CareerService {
     // Update operations
     public CareerEntity updateCareer(CareerEntity career) {
         if (careerRepository.existsById(career.getCareerId())) {
-            return careerRepository.save(career);
+            CareerSalaryService.applyParsedSalary(career);
+            CareerEntity saved = careerRepository.save(career);
+            eventPublisher.publishEvent(CatalogChangedEvent.saved(Kind.CAREER, saved.getCareerId(), saved));
+            return saved;
         }
         return null; // Career not found
     }
@@ -76,6 +87,7 @@ public class CareerService {
     public boolean deleteCareer(int id) {
         if (careerRepository.existsById(id)) {
             careerRepository.deleteById(id);
+            eventPublisher.publishEvent(CatalogChangedEvent.removed(Kind.CAREER, id));
             return true;
         }
         return false; // Career not found
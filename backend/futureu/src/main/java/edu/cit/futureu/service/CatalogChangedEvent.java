@@ -0,0 +1,41 @@
+package edu.cit.futureu.service;
+
+/**
+ * Published by the catalog services when careers, schools, programs, accreditations or the links between
+ * them change. The in-memory indexes (catalog graph, career facets, school geo, typeahead and search) each
+ * pick the kinds they are built from and refresh once the change commits, or straight away when it was made
+ * outside a transaction; a rolled back change never reaches them.
+ *
+ * entity is the saved row and id the id of the changed one; both are null when many rows of the kind
+ * changed at once, as after a bulk import.
+ */
+public record CatalogChangedEvent(Kind kind, Integer id, Object entity) {
+
+    public enum Kind {
+        CAREER, SCHOOL, PROGRAM, ACCREDITATION, CAREER_PROGRAM, SCHOOL_PROGRAM
+    }
+
+    public static CatalogChangedEvent saved(Kind kind, int id, Object entity) {
+        return new CatalogChangedEvent(kind, id, entity);
+    }
+
+    public static CatalogChangedEvent removed(Kind kind, int id) {
+        return new CatalogChangedEvent(kind, id, null);
+    }
+
+    /**
+     * Links, or many rows, of the kind changed; there is no single row to update
+     */
+    public static CatalogChangedEvent changed(Kind kind) {
+        return new CatalogChangedEvent(kind, null, null);
+    }
+
+    public boolean isAny(Kind... kinds) {
+        for (Kind k : kinds) {
+            if (k == kind) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,277 @@
+package edu.cit.futureu.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import edu.cit.futureu.repository.CareerProgramRepository;
+import edu.cit.futureu.repository.CareerRepository;
+import edu.cit.futureu.repository.ProgramRepository;
+import edu.cit.futureu.repository.SchoolProgramRepository;
+import edu.cit.futureu.repository.SchoolRepository;
+import edu.cit.futureu.service.CatalogChangedEvent.Kind;
+
+/**
+ * In-memory career - program - school graph built from career_program and school_program.
+ *
+ * Each snapshot is immutable: node ids are kept in sorted int[] arrays (binary search maps id to index)
+ * and each edge direction is a CSR adjacency (offsets[n + 1] into a targets[] array).
+ * Each committed CatalogChangedEvent for careers, programs, schools or their links bumps the generation and
+ * the next read rebuilds the snapshot.
+ */
+@Service
+public class CatalogGraphService {
+
+    @Autowired
+    private CareerRepository careerRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private CareerProgramRepository careerProgramRepository;
+
+    @Autowired
+    private SchoolProgramRepository schoolProgramRepository;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Graph graph;
+
+    // Compressed sparse row adjacency: the neighbours of node i are targets[offsets[i] .. offsets[i + 1])
+    static final class Adjacency {
+        final int[] offsets;
+        final int[] targets;
+
+        Adjacency(int nodes, int[] from, int[] to, int edges) {
+            offsets = new int[nodes + 1];
+            for (int e = 0; e < edges; e++) {
+                offsets[from[e] + 1]++;
+            }
+            for (int i = 0; i < nodes; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            targets = new int[edges];
+            int[] next = Arrays.copyOf(offsets, nodes);
+            for (int e = 0; e < edges; e++) {
+                targets[next[from[e]]++] = to[e];
+            }
+        }
+    }
+
+    static final class Graph {
+        final long generation;
+
+        final int[] careerIds;
+        final String[] careerTitles;
+        final String[] careerIndustries;
+
+        final int[] programIds;
+        final String[] programNames;
+
+        final int[] schoolIds;
+        final String[] schoolNames;
+        final String[] schoolLocations;
+        final String[] schoolTypes;
+
+        final Adjacency careerToPrograms;
+        final Adjacency programToCareers;
+        final Adjacency programToSchools;
+        final Adjacency schoolToPrograms;
+
+        Graph(long generation, List<Object[]> careers, List<Object[]> programs, List<Object[]> schools,
+              List<Object[]> careerPrograms, List<Object[]> schoolPrograms) {
+            this.generation = generation;
+
+            careerIds = new int[careers.size()];
+            careerTitles = new String[careers.size()];
+            careerIndustries = new String[careers.size()];
+            for (int i = 0; i < careers.size(); i++) {
+                Object[] row = careers.get(i);
+                careerIds[i] = (Integer) row[0];
+                careerTitles[i] = (String) row[1];
+                careerIndustries[i] = (String) row[2];
+            }
+
+            programIds = new int[programs.size()];
+            programNames = new String[programs.size()];
+            for (int i = 0; i < programs.size(); i++) {
+                Object[] row = programs.get(i);
+                programIds[i] = (Integer) row[0];
+                programNames[i] = (String) row[1];
+            }
+
+            schoolIds = new int[schools.size()];
+            schoolNames = new String[schools.size()];
+            schoolLocations = new String[schools.size()];
+            schoolTypes = new String[schools.size()];
+            for (int i = 0; i < schools.size(); i++) {
+                Object[] row = schools.get(i);
+                schoolIds[i] = (Integer) row[0];
+                schoolNames[i] = (String) row[1];
+                schoolLocations[i] = (String) row[2];
+                schoolTypes[i] = (String) row[3];
+            }
+
+            int[][] cp = toIndexPairs(careerPrograms, careerIds, programIds);
+            careerToPrograms = new Adjacency(careerIds.length, cp[0], cp[1], cp[0].length);
+            programToCareers = new Adjacency(programIds.length, cp[1], cp[0], cp[0].length);
+
+            int[][] sp = toIndexPairs(schoolPrograms, schoolIds, programIds);
+            schoolToPrograms = new Adjacency(schoolIds.length, sp[0], sp[1], sp[0].length);
+            programToSchools = new Adjacency(programIds.length, sp[1], sp[0], sp[0].length);
+        }
+
+        // Translate (id, id) rows to (index, index) pairs, skipping rows whose ends are unknown
+        private static int[][] toIndexPairs(List<Object[]> rows, int[] leftIds, int[] rightIds) {
+            int[] left = new int[rows.size()];
+            int[] right = new int[rows.size()];
+            int edges = 0;
+            for (Object[] row : rows) {
+                int l = Arrays.binarySearch(leftIds, (Integer) row[0]);
+                int r = Arrays.binarySearch(rightIds, (Integer) row[1]);
+                if (l >= 0 && r >= 0) {
+                    left[edges] = l;
+                    right[edges] = r;
+                    edges++;
+                }
+            }
+            return new int[][] { Arrays.copyOf(left, edges), Arrays.copyOf(right, edges) };
+        }
+    }
+
+    private Graph currentGraph() {
+        Graph current = graph;
+        long wanted = generation.get();
+        if (current != null && current.generation == wanted) {
+            return current;
+        }
+        synchronized (this) {
+            current = graph;
+            wanted = generation.get();
+            if (current == null || current.generation != wanted) {
+                current = new Graph(wanted,
+                        careerRepository.findGraphNodes(),
+                        programRepository.findGraphNodes(),
+                        schoolRepository.findGraphNodes(),
+                        careerProgramRepository.findAllEdges(),
+                        schoolProgramRepository.findAllEdges());
+                graph = current;
+            }
+            return current;
+        }
+    }
+
+    // Mark the graph stale; the next read rebuilds from the committed rows
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.isAny(Kind.CAREER, Kind.SCHOOL, Kind.PROGRAM, Kind.CAREER_PROGRAM, Kind.SCHOOL_PROGRAM)) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Schools offering at least one program that leads to the career, each with the programs that connect them
+     * @return empty if the career does not exist
+     */
+    public Optional<List<Map<String, Object>>> getSchoolsForCareer(int careerId) {
+        Graph g = currentGraph();
+        int career = Arrays.binarySearch(g.careerIds, careerId);
+        if (career < 0) {
+            return Optional.empty();
+        }
+
+        // School index -> indexes of the connecting programs, in first-seen order
+        Map<Integer, List<Integer>> schoolPrograms = new LinkedHashMap<>();
+        Adjacency cp = g.careerToPrograms;
+        Adjacency ps = g.programToSchools;
+        for (int e = cp.offsets[career]; e < cp.offsets[career + 1]; e++) {
+            int program = cp.targets[e];
+            for (int f = ps.offsets[program]; f < ps.offsets[program + 1]; f++) {
+                List<Integer> programs = schoolPrograms.computeIfAbsent(ps.targets[f], k -> new ArrayList<>());
+                if (!programs.contains(program)) {
+                    programs.add(program);
+                }
+            }
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map.Entry<Integer, List<Integer>> entry : schoolPrograms.entrySet()) {
+            int school = entry.getKey();
+            List<Map<String, Object>> programs = new ArrayList<>();
+            for (int program : entry.getValue()) {
+                Map<String, Object> p = new LinkedHashMap<>();
+                p.put("programId", g.programIds[program]);
+                p.put("programName", g.programNames[program]);
+                programs.add(p);
+            }
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("schoolId", g.schoolIds[school]);
+            s.put("name", g.schoolNames[school]);
+            s.put("location", g.schoolLocations[school]);
+            s.put("type", g.schoolTypes[school]);
+            s.put("programs", programs);
+            result.add(s);
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Careers a program leads to
+     * @return empty if the program does not exist
+     */
+    public Optional<List<Map<String, Object>>> getCareersForProgram(int programId) {
+        Graph g = currentGraph();
+        int program = Arrays.binarySearch(g.programIds, programId);
+        if (program < 0) {
+            return Optional.empty();
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        Adjacency pc = g.programToCareers;
+        for (int e = pc.offsets[program]; e < pc.offsets[program + 1]; e++) {
+            int career = pc.targets[e];
+            Map<String, Object> c = new LinkedHashMap<>();
+            c.put("careerId", g.careerIds[career]);
+            c.put("careerTitle", g.careerTitles[career]);
+            c.put("industry", g.careerIndustries[career]);
+            result.add(c);
+        }
+        return Optional.of(result);
+    }
+
+    /**
+     * Sorted ids of the schools offering a program
+     * @return empty if the program does not exist
+     */
+    public Optional<int[]> getSchoolIdsForProgram(int programId) {
+        Graph g = currentGraph();
+        int program = Arrays.binarySearch(g.programIds, programId);
+        if (program < 0) {
+            return Optional.empty();
+        }
+
+        Adjacency ps = g.programToSchools;
+        int[] schoolIds = new int[ps.offsets[program + 1] - ps.offsets[program]];
+        for (int e = ps.offsets[program]; e < ps.offsets[program + 1]; e++) {
+            schoolIds[e - ps.offsets[program]] = g.schoolIds[ps.targets[e]];
+        }
+        Arrays.sort(schoolIds);
+        return Optional.of(schoolIds);
+    }
+}
@@ -1,10 +1,13 @@
 package edu.cit.futureu.service;
 
+import edu.cit.futureu.dto.ChoiceSummary;
+import edu.cit.futureu.dto.CursorPage;
 import edu.cit.futureu.entity.ChoiceEntity;
 import edu.cit.futureu.entity.QuestionEntity;
 import edu.cit.futureu.repository.ChoiceRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -26,6 +29,19 @@ public class ChoiceService {
         return choiceRepository.findAll();
     }
     
+    // Keyset page of choice summaries, ordered by id ("id") or newest first ("-id")
+    public CursorPage<ChoiceSummary> getChoicePage(String cursor, Integer limit, String sort) {
+        int pageSize = CursorPage.clampLimit(limit);
+        boolean descending = CursorPage.isDescending(sort);
+        int key = CursorPage.decodeIdCursor(cursor, descending);
+        PageRequest firstRows = PageRequest.of(0, pageSize + 1);
+        List<ChoiceSummary> rows = descending
+                ? choiceRepository.findSummariesBefore(key, firstRows)
+                : choiceRepository.findSummariesAfter(key, firstRows);
+        return CursorPage.of(rows, pageSize, descending ? CursorPage.SORT_ID_DESC : CursorPage.SORT_ID_ASC,
+                row -> String.valueOf(row.getChoiceId()));
+    }
+    
     public Optional<ChoiceEntity> getChoiceById(int choiceId) {
         return choiceRepository.findById(choiceId);
     }
@@ -0,0 +1,299 @@
+package edu.cit.futureu.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Cohort analytics over the ScoreMatrix: per-dimension summaries, correlations, distributions and averages
+ * by strongest track. Each works on one snapshot, column by column, with independent columns or column
+ * pairs processed in parallel.
+ */
+@Service
+public class CohortAnalyticsService {
+
+    public static final String TRACK_ACADEMIC = "academic";
+    public static final String TRACK_OTHER = "other";
+
+    public static final int DEFAULT_BUCKETS = 10;
+    public static final int MAX_BUCKETS = 100;
+
+    private static final ScoreDimension[] DIMENSIONS = ScoreDimension.values();
+
+    private static final ScoreDimension[] ACADEMIC_TRACKS = { ScoreDimension.STEM, ScoreDimension.ABM, ScoreDimension.HUMSS };
+    private static final ScoreDimension[] OTHER_TRACKS = {
+            ScoreDimension.TVL, ScoreDimension.SPORTS_TRACK, ScoreDimension.ARTS_DESIGN_TRACK };
+
+    // Rows summed per parallel task when correlating
+    private static final int BLOCK_ROWS = 4096;
+
+    // Per pair: count, sum x, sum y, sum x^2, sum y^2, sum xy
+    private static final int PAIR_SUMS = 6;
+
+    @Autowired
+    private ScoreMatrix scoreMatrix;
+
+    @Autowired
+    private ScoringPlanService scoringPlanService;
+
+    /**
+     * Count, mean, standard deviation, min and max of every dimension, skipping untaken sections
+     */
+    public Map<String, Object> getSummary() {
+        ScoreMatrix.Snapshot matrix = scoreMatrix.snapshot();
+        Map<String, Object>[] summaries = summarize(matrix, scoringPlanService.defaultPlan());
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rows", matrix.size());
+        Map<String, Object> dimensions = new LinkedHashMap<>();
+        for (ScoreDimension dimension : DIMENSIONS) {
+            dimensions.put(dimension.field(), summaries[dimension.ordinal()]);
+        }
+        result.put("dimensions", dimensions);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object>[] summarize(ScoreMatrix.Snapshot matrix, ScoringPlan plan) {
+        Map<String, Object>[] summaries = new Map[DIMENSIONS.length];
+        IntStream.range(0, DIMENSIONS.length).parallel().forEach(d -> {
+            float[] column = matrix.columns()[d];
+            // Sums shifted to the middle of the range keep their precision without a division per row
+            double shift = plan.maxValue(DIMENSIONS[d]) / 2;
+            long count = 0;
+            double sum = 0;
+            double sumSquares = 0;
+            float min = Float.POSITIVE_INFINITY;
+            float max = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < matrix.size(); i++) {
+                float value = column[i];
+                if (value != value) {
+                    continue;
+                }
+                double delta = value - shift;
+                count++;
+                sum += delta;
+                sumSquares += delta * delta;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", count);
+            if (count > 0) {
+                double variance = count > 1 ? Math.max(0, (sumSquares - sum * sum / count) / (count - 1)) : 0.0;
+                summary.put("mean", shift + sum / count);
+                summary.put("sd", Math.sqrt(variance));
+                summary.put("min", (double) min);
+                summary.put("max", (double) max);
+            }
+            summaries[d] = summary;
+        });
+        return summaries;
+    }
+
+    /**
+     * Pearson correlation between every pair of dimensions, over the attempts that took both; null when
+     * fewer than two attempts did or either side is constant
+     */
+    public Map<String, Map<String, Double>> getCorrelations() {
+        ScoreMatrix.Snapshot matrix = scoreMatrix.snapshot();
+        ScoringPlan plan = scoringPlanService.defaultPlan();
+        int n = DIMENSIONS.length;
+        int blocks = (matrix.size() + BLOCK_ROWS - 1) / BLOCK_ROWS;
+        double[] sums = IntStream.range(0, blocks).parallel()
+                .mapToObj(block -> pairSums(matrix, plan, block * BLOCK_ROWS, Math.min(matrix.size(), (block + 1) * BLOCK_ROWS)))
+                .reduce(new double[n * n * PAIR_SUMS], CohortAnalyticsService::add);
+        Map<String, Map<String, Double>> result = new LinkedHashMap<>();
+        for (int a = 0; a < n; a++) {
+            Map<String, Double> row = new LinkedHashMap<>();
+            for (int b = 0; b < n; b++) {
+                int pair = (Math.min(a, b) * n + Math.max(a, b)) * PAIR_SUMS;
+                row.put(DIMENSIONS[b].field(), a == b ? Double.valueOf(1.0) : correlation(sums, pair));
+            }
+            result.put(DIMENSIONS[a].field(), row);
+        }
+        return result;
+    }
+
+    // Sums for every pair a < b over one block of rows. Each column is first copied shifted to the middle of
+    // its range, with NaN replaced by 0 and a 0/1 mask alongside, so the pair loops multiply instead of
+    // branching on which attempts took both sections.
+    private static double[] pairSums(ScoreMatrix.Snapshot matrix, ScoringPlan plan, int from, int to) {
+        int n = DIMENSIONS.length;
+        int rows = to - from;
+        float[][] values = new float[n][rows];
+        float[][] taken = new float[n][rows];
+        for (int d = 0; d < n; d++) {
+            float[] column = matrix.columns()[d];
+            float shift = (float) (plan.maxValue(DIMENSIONS[d]) / 2);
+            for (int i = 0; i < rows; i++) {
+                float value = column[from + i];
+                boolean present = value == value;
+                values[d][i] = present ? value - shift : 0f;
+                taken[d][i] = present ? 1f : 0f;
+            }
+        }
+        double[] sums = new double[n * n * PAIR_SUMS];
+        for (int a = 0; a < n; a++) {
+            float[] x = values[a];
+            float[] mx = taken[a];
+            for (int b = a + 1; b < n; b++) {
+                float[] y = values[b];
+                float[] my = taken[b];
+                double count = 0;
+                double sumX = 0;
+                double sumY = 0;
+                double sumXX = 0;
+                double sumYY = 0;
+                double sumXY = 0;
+                for (int i = 0; i < rows; i++) {
+                    float xi = x[i] * my[i];
+                    float yi = y[i] * mx[i];
+                    count += mx[i] * my[i];
+                    sumX += xi;
+                    sumY += yi;
+                    sumXX += xi * xi;
+                    sumYY += yi * yi;
+                    sumXY += xi * yi;
+                }
+                int pair = (a * n + b) * PAIR_SUMS;
+                sums[pair] = count;
+                sums[pair + 1] = sumX;
+                sums[pair + 2] = sumY;
+                sums[pair + 3] = sumXX;
+                sums[pair + 4] = sumYY;
+                sums[pair + 5] = sumXY;
+            }
+        }
+        return sums;
+    }
+
+    private static double[] add(double[] left, double[] right) {
+        double[] sum = new double[left.length];
+        for (int i = 0; i < sum.length; i++) {
+            sum[i] = left[i] + right[i];
+        }
+        return sum;
+    }
+
+    private static Double correlation(double[] sums, int pair) {
+        double count = sums[pair];
+        double sumX = sums[pair + 1];
+        double sumY = sums[pair + 2];
+        double varX = sums[pair + 3] - sumX * sumX / count;
+        double varY = sums[pair + 4] - sumY * sumY / count;
+        if (count < 2 || varX <= 1e-9 * sums[pair + 3] || varY <= 1e-9 * sums[pair + 4]) {
+            return null;
+        }
+        return (sums[pair + 5] - sumX * sumY / count) / Math.sqrt(varX * varY);
+    }
+
+    /**
+     * Histogram of one dimension over its possible range
+     */
+    public Map<String, Object> getDistribution(String field, Integer buckets) {
+        ScoreDimension dimension = ScoreDimension.byField(field)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown score dimension: " + field));
+        int bucketCount = buckets == null || buckets <= 0 ? DEFAULT_BUCKETS : Math.min(buckets, MAX_BUCKETS);
+        ScoreMatrix.Snapshot matrix = scoreMatrix.snapshot();
+        float[] column = matrix.column(dimension);
+        double maxValue = scoringPlanService.defaultPlan().maxValue(dimension);
+        double scale = bucketCount / maxValue;
+        long[] counts = new long[bucketCount];
+        for (int i = 0; i < matrix.size(); i++) {
+            float value = column[i];
+            if (value == value) {
+                counts[Math.max(0, Math.min(bucketCount - 1, (int) (value * scale)))]++;
+            }
+        }
+        double width = maxValue / bucketCount;
+        List<Map<String, Object>> histogram = new ArrayList<>(bucketCount);
+        for (int b = 0; b < bucketCount; b++) {
+            Map<String, Object> bucket = new LinkedHashMap<>();
+            bucket.put("from", b * width);
+            bucket.put("to", (b + 1) * width);
+            bucket.put("count", counts[b]);
+            histogram.add(bucket);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("dimension", dimension.field());
+        result.put("buckets", histogram);
+        return result;
+    }
+
+    /**
+     * Group attempts by their highest scoring academic (STEM, ABM, HUMSS) or other (TVL, sports, arts) track
+     * and average every dimension per group
+     */
+    public Map<String, Object> getAveragesByTrack(String track) {
+        ScoreDimension[] tracks;
+        if (track == null || TRACK_ACADEMIC.equals(track)) {
+            tracks = ACADEMIC_TRACKS;
+        } else if (TRACK_OTHER.equals(track)) {
+            tracks = OTHER_TRACKS;
+        } else {
+            throw new IllegalArgumentException("track must be academic or other");
+        }
+        ScoreMatrix.Snapshot matrix = scoreMatrix.snapshot();
+        int size = matrix.size();
+
+        // One pass over the track columns picks each attempt's group; -1 when it took none of them
+        byte[] group = new byte[size];
+        Arrays.fill(group, (byte) -1);
+        float[] best = new float[size];
+        for (byte g = 0; g < tracks.length; g++) {
+            float[] column = matrix.column(tracks[g]);
+            for (int i = 0; i < size; i++) {
+                float value = column[i];
+                if (value == value && (group[i] < 0 || value > best[i])) {
+                    group[i] = g;
+                    best[i] = value;
+                }
+            }
+        }
+
+        double[][] sums = new double[DIMENSIONS.length][tracks.length];
+        long[][] counts = new long[DIMENSIONS.length][tracks.length];
+        IntStream.range(0, DIMENSIONS.length).parallel().forEach(d -> {
+            float[] column = matrix.columns()[d];
+            double[] sum = sums[d];
+            long[] count = counts[d];
+            for (int i = 0; i < size; i++) {
+                int g = group[i];
+                float value = column[i];
+                if (g >= 0 && value == value) {
+                    sum[g] += value;
+                    count[g]++;
+                }
+            }
+        });
+        long[] attempts = new long[tracks.length];
+        for (int i = 0; i < size; i++) {
+            if (group[i] >= 0) {
+                attempts[group[i]]++;
+            }
+        }
+
+        Map<String, Object> groups = new LinkedHashMap<>();
+        for (int g = 0; g < tracks.length; g++) {
+            Map<String, Object> averages = new LinkedHashMap<>();
+            for (ScoreDimension dimension : DIMENSIONS) {
+                long count = counts[dimension.ordinal()][g];
+                averages.put(dimension.field(), count > 0 ? sums[dimension.ordinal()][g] / count : null);
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("attempts", attempts[g]);
+            entry.put("averages", averages);
+            groups.put(tracks[g].field(), entry);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("track", track == null ? TRACK_ACADEMIC : track);
+        result.put("groups", groups);
+        return result;
+    }
+}
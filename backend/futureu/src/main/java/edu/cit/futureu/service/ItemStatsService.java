@@ -0,0 +1,412 @@
+package edu.cit.futureu.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.cit.futureu.dto.CursorPage;
+import edu.cit.futureu.entity.ChoiceEntity;
+import edu.cit.futureu.entity.QuestionEntity;
+import edu.cit.futureu.entity.QuestionStatsEntity;
+import edu.cit.futureu.repository.QuestionRepository;
+import edu.cit.futureu.repository.QuestionStatsRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Running item statistics per question, updated as each assessment is scored.
+ *
+ * Every response adds one (correct, section score) pair to a Welford-style accumulator, so exposure count,
+ * p-value (proportion correct) and point-biserial discrimination (the correlation between correctness and
+ * the score of the section the question was answered in) are available without rescanning submissions.
+ * Interest sections are not scored right or wrong and are left out. Accumulators are kept in memory and
+ * the changed ones are written to question_stats periodically.
+ */
+@Service
+public class ItemStatsService {
+
+    public static final String SORT_DISCRIMINATION = "discrimination";
+    public static final String SORT_EASY = "easy";
+    public static final String SORT_HARD = "hard";
+
+    public static final String FLAG_TOO_EASY = "TOO_EASY";
+    public static final String FLAG_TOO_HARD = "TOO_HARD";
+    public static final String FLAG_LOW_DISCRIMINATION = "LOW_DISCRIMINATION";
+
+    private static final double TOO_EASY_P = 0.90;
+    private static final double TOO_HARD_P = 0.20;
+    private static final double LOW_DISCRIMINATION = 0.20;
+
+    @Autowired
+    private QuestionStatsRepository questionStatsRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ChoiceService choiceService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Items answered fewer times than this are not flagged or listed
+    @Value("${futureu.items.minExposures:30}")
+    private int minExposures;
+
+    private record Observation(int questionId, boolean correct, double sectionScore, String option) {}
+
+    /**
+     * Online moments of correctness (x, 0 or 1) and section score (y) for one question
+     */
+    private static final class Accumulator {
+        long n;
+        double meanX;
+        double meanY;
+        double m2X;
+        double m2Y;
+        double coXY;
+        final Map<String, Long> choices = new HashMap<>();
+
+        void add(boolean correct, double score, String option) {
+            double x = correct ? 1.0 : 0.0;
+            n++;
+            double dx = x - meanX;
+            double dy = score - meanY;
+            meanX += dx / n;
+            meanY += dy / n;
+            m2X += dx * (x - meanX);
+            m2Y += dy * (score - meanY);
+            coXY += dx * (score - meanY);
+            if (option != null) {
+                choices.merge(option, 1L, Long::sum);
+            }
+        }
+
+        // Combine with another accumulator over disjoint responses (Chan et al.)
+        void merge(Accumulator other) {
+            if (other.n == 0) {
+                return;
+            }
+            long total = n + other.n;
+            double dx = other.meanX - meanX;
+            double dy = other.meanY - meanY;
+            double weight = (double) n * other.n / total;
+            m2X += other.m2X + dx * dx * weight;
+            m2Y += other.m2Y + dy * dy * weight;
+            coXY += other.coXY + dx * dy * weight;
+            meanX += dx * other.n / total;
+            meanY += dy * other.n / total;
+            n = total;
+            other.choices.forEach((option, count) -> choices.merge(option, count, Long::sum));
+        }
+
+        Accumulator copy() {
+            Accumulator copy = new Accumulator();
+            copy.merge(this);
+            return copy;
+        }
+
+        // Point-biserial correlation; null when everyone got it right, or wrong, or scored the same
+        Double discrimination() {
+            return m2X > 0 && m2Y > 0 ? coXY / Math.sqrt(m2X * m2Y) : null;
+        }
+
+        double scoreSd() {
+            return n > 1 ? Math.sqrt(m2Y / (n - 1)) : 0.0;
+        }
+    }
+
+    // Guarded by this: accumulators by question id, and the ids changed since the last persist
+    private final Map<Integer, Accumulator> accumulators = new HashMap<>();
+    private final Set<Integer> dirty = new HashSet<>();
+
+    // Nothing is persisted until the stored statistics have been loaded, so an early flush cannot reset them
+    private volatile boolean loaded = false;
+
+    /**
+     * Add the responses of one scored submission. Inside a transaction they are applied once it commits,
+     * so a rolled back submission is not counted.
+     * @param plan the plan the submission was scored with, which names its interest type
+     * @param sectionScores section details by section id, as computed by the scorer
+     */
+    public void record(ScoringPlan plan, List<AnswerService.Response> responses,
+            Map<String, Map<String, Object>> sectionScores) {
+        String interestType = plan.interestType();
+        List<Observation> observations = new ArrayList<>(responses.size());
+        for (AnswerService.Response response : responses) {
+            Map<String, Object> section = sectionScores.get(response.sectionId());
+            if (section == null || (interestType != null && interestType.equals(section.get("sectionType")))) {
+                continue;
+            }
+            double sectionScore = ((Number) section.get("percentageScore")).doubleValue();
+            observations.add(new Observation(response.questionId(), response.correct(), sectionScore,
+                    response.selectedOption()));
+        }
+        if (observations.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(observations);
+                }
+            });
+        } else {
+            apply(observations);
+        }
+    }
+
+    private synchronized void apply(List<Observation> observations) {
+        for (Observation observation : observations) {
+            accumulators.computeIfAbsent(observation.questionId(), id -> new Accumulator())
+                    .add(observation.correct(), observation.sectionScore(), observation.option());
+            dirty.add(observation.questionId());
+        }
+    }
+
+    // Drop a question's statistics, e.g. when it is deleted
+    public synchronized void forget(int questionId) {
+        accumulators.remove(questionId);
+        dirty.remove(questionId);
+        questionStatsRepository.findById(questionId).ifPresent(questionStatsRepository::delete);
+    }
+
+    private synchronized Accumulator snapshot(int questionId) {
+        Accumulator accumulator = accumulators.get(questionId);
+        return accumulator != null ? accumulator.copy() : null;
+    }
+
+    /**
+     * Exposure count, p-value, discrimination, section score spread and per-choice selection frequency
+     * for one question, or empty when it has not been answered yet
+     */
+    public Optional<Map<String, Object>> getItemStats(int questionId) {
+        Accumulator stats = snapshot(questionId);
+        if (stats == null) {
+            return Optional.empty();
+        }
+        Optional<QuestionEntity> question = questionRepository.findById(questionId);
+        Map<String, Object> result = summary(questionId, question.orElse(null), stats);
+        result.put("meanSectionScore", stats.meanY);
+        result.put("sdSectionScore", stats.scoreSd());
+
+        // Multiple choice answers are choice ids; show the choice text and key next to them
+        Map<String, ChoiceEntity> choicesById = new HashMap<>();
+        if (question.isPresent()) {
+            for (ChoiceEntity choice : choiceService.getChoicesByQuestion(question.get())) {
+                choicesById.put(String.valueOf(choice.getChoiceId()), choice);
+            }
+        }
+        List<Map<String, Object>> choices = new ArrayList<>();
+        stats.choices.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> {
+                    Map<String, Object> choice = new LinkedHashMap<>();
+                    choice.put("option", entry.getKey());
+                    ChoiceEntity known = choicesById.get(entry.getKey());
+                    if (known != null) {
+                        choice.put("choiceText", known.getChoiceText());
+                        choice.put("isCorrect", known.isCorrect());
+                    }
+                    choice.put("count", entry.getValue());
+                    choice.put("frequency", (double) entry.getValue() / stats.n);
+                    choices.add(choice);
+                });
+        result.put("choices", choices);
+        return Optional.of(result);
+    }
+
+    /**
+     * Questions with at least minExposures responses, worst first: lowest discrimination ("discrimination"),
+     * highest p-value ("easy") or lowest p-value ("hard")
+     */
+    public List<Map<String, Object>> getWorstItems(String sort, Integer minExposures, Integer limit) {
+        String resolved = sort == null || sort.isBlank() ? SORT_DISCRIMINATION : sort;
+        Comparator<Map.Entry<Integer, Accumulator>> order = switch (resolved) {
+            // Items nobody is split on do not discriminate at all
+            case SORT_DISCRIMINATION -> Comparator.comparingDouble(entry -> {
+                Double r = entry.getValue().discrimination();
+                return r != null ? r : 0.0;
+            });
+            case SORT_EASY -> Comparator.comparingDouble(entry -> -entry.getValue().meanX);
+            case SORT_HARD -> Comparator.comparingDouble(entry -> entry.getValue().meanX);
+            default -> throw new IllegalArgumentException("sort must be discrimination, easy or hard");
+        };
+        int threshold = minExposures != null && minExposures > 0 ? minExposures : this.minExposures;
+        int pageSize = CursorPage.clampLimit(limit);
+
+        List<Map.Entry<Integer, Accumulator>> candidates = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<Integer, Accumulator> entry : accumulators.entrySet()) {
+                if (entry.getValue().n >= threshold) {
+                    candidates.add(Map.entry(entry.getKey(), entry.getValue().copy()));
+                }
+            }
+        }
+        candidates.sort(order.thenComparing(Map.Entry.comparingByKey()));
+
+        // Deleted questions may still have statistics until they are forgotten; skip them
+        List<Integer> ids = candidates.stream().limit(pageSize * 2L).map(Map.Entry::getKey).toList();
+        Map<Integer, QuestionEntity> questions = new HashMap<>();
+        for (QuestionEntity question : questionRepository.findAllById(ids)) {
+            questions.put(question.getQuestionId(), question);
+        }
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map.Entry<Integer, Accumulator> entry : candidates) {
+            if (result.size() >= pageSize) {
+                break;
+            }
+            QuestionEntity question = questions.get(entry.getKey());
+            if (question != null) {
+                result.add(summary(entry.getKey(), question, entry.getValue()));
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Object> summary(int questionId, QuestionEntity question, Accumulator stats) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("questionId", questionId);
+        result.put("questionText", question != null ? question.getQuestionText() : null);
+        result.put("questionType", question != null ? question.getQuestionType() : null);
+        result.put("exposures", stats.n);
+        result.put("pValue", stats.meanX);
+        Double discrimination = stats.discrimination();
+        result.put("discrimination", discrimination);
+
+        List<String> flags = new ArrayList<>();
+        if (stats.n >= minExposures) {
+            if (stats.meanX > TOO_EASY_P) {
+                flags.add(FLAG_TOO_EASY);
+            } else if (stats.meanX < TOO_HARD_P) {
+                flags.add(FLAG_TOO_HARD);
+            }
+            if (discrimination == null || discrimination < LOW_DISCRIMINATION) {
+                flags.add(FLAG_LOW_DISCRIMINATION);
+            }
+        }
+        result.put("flags", flags);
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadStats() {
+        List<QuestionStatsEntity> stored = questionStatsRepository.findAll();
+        synchronized (this) {
+            for (QuestionStatsEntity row : stored) {
+                Accumulator accumulator = new Accumulator();
+                accumulator.n = row.getExposures();
+                accumulator.meanX = row.getMeanCorrect();
+                accumulator.meanY = row.getMeanScore();
+                accumulator.m2X = row.getM2Correct();
+                accumulator.m2Y = row.getM2Score();
+                accumulator.coXY = row.getCoMoment();
+                accumulator.choices.putAll(readChoices(row.getChoiceCounts()));
+                // Responses recorded before loading are merged in, not overwritten
+                Accumulator recent = accumulators.put(row.getQuestionId(), accumulator);
+                if (recent != null) {
+                    accumulator.merge(recent);
+                }
+            }
+        }
+        loaded = true;
+    }
+
+    /**
+     * Write the accumulators that changed since the last persist
+     */
+    @Scheduled(fixedDelayString = "${futureu.items.statsPersistMs:60000}")
+    @PreDestroy
+    public void persistStats() {
+        if (!loaded) {
+            return;
+        }
+        Map<Integer, Accumulator> changed = new HashMap<>();
+        synchronized (this) {
+            for (Integer questionId : dirty) {
+                Accumulator accumulator = accumulators.get(questionId);
+                if (accumulator != null) {
+                    changed.put(questionId, accumulator.copy());
+                }
+            }
+            dirty.clear();
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        try {
+            saveStats(changed);
+        } catch (RuntimeException e) {
+            // Written again on the next persist, unless the question was dropped meanwhile
+            synchronized (this) {
+                for (Integer questionId : changed.keySet()) {
+                    if (accumulators.containsKey(questionId)) {
+                        dirty.add(questionId);
+                    }
+                }
+            }
+            throw e;
+        }
+    }
+
+    private void saveStats(Map<Integer, Accumulator> changed) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, QuestionStatsEntity> rows = new HashMap<>();
+        for (QuestionStatsEntity row : questionStatsRepository.findAllById(changed.keySet())) {
+            rows.put(row.getQuestionId(), row);
+        }
+        List<QuestionStatsEntity> toSave = new ArrayList<>(changed.size());
+        for (Map.Entry<Integer, Accumulator> entry : changed.entrySet()) {
+            QuestionStatsEntity row = rows.computeIfAbsent(entry.getKey(), QuestionStatsEntity::new);
+            Accumulator accumulator = entry.getValue();
+            row.setExposures(accumulator.n);
+            row.setMeanCorrect(accumulator.meanX);
+            row.setMeanScore(accumulator.meanY);
+            row.setM2Correct(accumulator.m2X);
+            row.setM2Score(accumulator.m2Y);
+            row.setCoMoment(accumulator.coXY);
+            row.setChoiceCounts(writeChoices(accumulator.choices));
+            row.setUpdatedAt(now);
+            toSave.add(row);
+        }
+        questionStatsRepository.saveAll(toSave);
+    }
+
+    private Map<String, Long> readChoices(String json) {
+        if (json == null || json.isBlank()) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<Map<String, Long>>() {});
+        } catch (JsonProcessingException e) {
+            return Map.of();
+        }
+    }
+
+    private String writeChoices(Map<String, Long> choices) {
+        try {
+            return objectMapper.writeValueAsString(choices);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package edu.cit.futureu.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import edu.cit.futureu.entity.AssessmentResultEntity;
+import edu.cit.futureu.entity.ScoreNormEntity;
+import edu.cit.futureu.repository.ScoreNormRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Score norms: one quantile sketch per result dimension, updated as each assessment is scored, so a
+ * student's percentile rank is a binary search instead of a sort over every result.
+ *
+ * A dimension only counts results whose attempt included its section (an untaken section is stored as 0).
+ * Sketches live in memory and are written to score_norm periodically; the first start without a snapshot
+ * builds them from the stored results.
+ */
+@Service
+public class NormsService {
+
+    public static final int DEFAULT_BUCKETS = 10;
+    public static final int MAX_BUCKETS = 100;
+
+    private static final ScoreDimension[] DIMENSIONS = ScoreDimension.values();
+
+    private static final double[] SUMMARY_QUANTILES = { 0.10, 0.25, 0.50, 0.75, 0.90 };
+
+    @Autowired
+    private ScoreNormRepository scoreNormRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ScoringPlanService scoringPlanService;
+
+    @Value("${futureu.norms.compression:100}")
+    private double compression;
+
+    // Guarded by this: a sketch per dimension name, and the names changed since the last persist
+    private final Map<String, QuantileDigest> digests = new HashMap<>();
+    private final Set<String> dirty = new HashSet<>();
+
+    // Nothing is persisted until the stored sketches have been loaded, so an early flush cannot reset them
+    private volatile boolean loaded = false;
+
+    public static boolean isDimension(String name) {
+        return ScoreDimension.byField(name).isPresent();
+    }
+
+    // Scores of the dimensions the attempt took, by name
+    private static Map<String, Double> scoresOf(AssessmentResultEntity result, Collection<String> sectionIds) {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (ScoreDimension dimension : DIMENSIONS) {
+            Double score = dimension.scoreOf(result);
+            if (score != null && dimension.takenIn(sectionIds)) {
+                scores.put(dimension.field(), score);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Add a scored result. Inside a transaction it is applied once the transaction commits, so a rolled
+     * back submission is not counted.
+     * @param sectionIds ids of the sections the attempt included
+     */
+    public void record(AssessmentResultEntity result, Collection<String> sectionIds) {
+        Map<String, Double> scores = scoresOf(result, sectionIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(scores);
+                }
+            });
+        } else {
+            apply(scores);
+        }
+    }
+
+    private synchronized void apply(Map<String, Double> scores) {
+        scores.forEach((name, score) -> {
+            digests.computeIfAbsent(name, key -> new QuantileDigest(compression)).add(score);
+            dirty.add(name);
+        });
+    }
+
+    /**
+     * Percentile rank (0-100, ties counted half) of each score the attempt has, against all results so far
+     */
+    public synchronized Map<String, Double> getPercentileRanks(AssessmentResultEntity result,
+            Collection<String> sectionIds) {
+        Map<String, Double> ranks = new LinkedHashMap<>();
+        scoresOf(result, sectionIds).forEach((name, score) -> {
+            QuantileDigest digest = digests.get(name);
+            if (digest != null && digest.count() > 0) {
+                ranks.put(name, Math.round(digest.cdf(score) * 1000) / 10.0);
+            }
+        });
+        return ranks;
+    }
+
+    /**
+     * Count, range, quartiles and a histogram per dimension, or for one dimension when given
+     */
+    public synchronized Map<String, Object> getNorms(String dimensionName, Integer buckets) {
+        if (dimensionName != null && !isDimension(dimensionName)) {
+            throw new IllegalArgumentException("Unknown score dimension: " + dimensionName);
+        }
+        int bucketCount = buckets == null || buckets <= 0 ? DEFAULT_BUCKETS : Math.min(buckets, MAX_BUCKETS);
+        ScoringPlan plan = scoringPlanService.defaultPlan();
+        Map<String, Object> norms = new LinkedHashMap<>();
+        for (ScoreDimension dimension : DIMENSIONS) {
+            if (dimensionName != null && !dimension.field().equals(dimensionName)) {
+                continue;
+            }
+            QuantileDigest digest = digests.get(dimension.field());
+            long count = digest != null ? digest.count() : 0;
+            Map<String, Object> norm = new LinkedHashMap<>();
+            norm.put("count", count);
+            if (count > 0) {
+                norm.put("min", digest.getMin());
+                norm.put("max", digest.getMax());
+                Map<String, Double> quantiles = new LinkedHashMap<>();
+                for (double q : SUMMARY_QUANTILES) {
+                    quantiles.put("p" + Math.round(q * 100), digest.quantile(q));
+                }
+                norm.put("quantiles", quantiles);
+            }
+            double maxValue = plan.maxValue(dimension);
+            long[] counts = digest != null ? digest.histogram(0, maxValue, bucketCount) : new long[bucketCount];
+            double width = maxValue / bucketCount;
+            List<Map<String, Object>> histogram = new ArrayList<>(bucketCount);
+            for (int b = 0; b < bucketCount; b++) {
+                Map<String, Object> bucket = new LinkedHashMap<>();
+                bucket.put("from", b * width);
+                bucket.put("to", (b + 1) * width);
+                bucket.put("count", counts[b]);
+                histogram.add(bucket);
+            }
+            norm.put("buckets", histogram);
+            norms.put(dimension.field(), norm);
+        }
+        return norms;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadNorms() {
+        List<ScoreNormEntity> stored = scoreNormRepository.findAll();
+        Map<String, QuantileDigest> loadedDigests = new HashMap<>();
+        for (ScoreNormEntity row : stored) {
+            if (row.getDigest() != null && isDimension(row.getDimension())) {
+                loadedDigests.put(row.getDimension(), QuantileDigest.fromBase64(row.getDigest()));
+            }
+        }
+        boolean rebuilt = stored.isEmpty();
+        if (rebuilt) {
+            rebuildFromResults(loadedDigests);
+        }
+        synchronized (this) {
+            // Results recorded before loading are merged in, not overwritten
+            loadedDigests.forEach((name, digest) -> {
+                QuantileDigest recent = digests.put(name, digest);
+                if (recent != null) {
+                    digest.merge(recent);
+                }
+                if (rebuilt) {
+                    dirty.add(name);
+                }
+            });
+        }
+        loaded = true;
+    }
+
+    // One cursor over every stored result joined to its section ids, folded per result
+    private void rebuildFromResults(Map<String, QuantileDigest> target) {
+        StringBuilder select = new StringBuilder("SELECT ar.resultId");
+        for (ScoreDimension dimension : DIMENSIONS) {
+            select.append(", ar.").append(dimension.field());
+        }
+        select.append(", s.sectionId FROM AssessmentResultEntity ar ")
+                .append("LEFT JOIN UserAssessmentSectionResultEntity s ON s.userAssessment = ar.userAssessment ")
+                .append("ORDER BY ar.resultId");
+
+        Session session = entityManager.unwrap(Session.class);
+        try (ScrollableResults<Object[]> rows = session.createQuery(select.toString(), Object[].class)
+                .setFetchSize(500)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            Object[] current = null;
+            List<String> sectionIds = new ArrayList<>();
+            while (rows.next()) {
+                Object[] row = rows.get();
+                if (current != null && !current[0].equals(row[0])) {
+                    addRow(target, current, sectionIds);
+                    sectionIds.clear();
+                }
+                current = row;
+                Object sectionId = row[row.length - 1];
+                if (sectionId != null) {
+                    sectionIds.add((String) sectionId);
+                }
+            }
+            if (current != null) {
+                addRow(target, current, sectionIds);
+            }
+        }
+    }
+
+    private void addRow(Map<String, QuantileDigest> target, Object[] row, List<String> sectionIds) {
+        for (int i = 0; i < DIMENSIONS.length; i++) {
+            ScoreDimension dimension = DIMENSIONS[i];
+            Object score = row[i + 1];
+            if (score != null && dimension.takenIn(sectionIds)) {
+                target.computeIfAbsent(dimension.field(), key -> new QuantileDigest(compression))
+                        .add(((Number) score).doubleValue());
+            }
+        }
+    }
+
+    /**
+     * Write the sketches that changed since the last persist
+     */
+    @Scheduled(fixedDelayString = "${futureu.norms.persistMs:60000}")
+    @PreDestroy
+    public void persistNorms() {
+        if (!loaded) {
+            return;
+        }
+        Map<String, ScoreNormEntity> changed = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            for (String name : dirty) {
+                QuantileDigest digest = digests.get(name);
+                ScoreNormEntity row = new ScoreNormEntity(name);
+                row.setSampleCount(digest.count());
+                row.setDigest(digest.toBase64());
+                row.setUpdatedAt(now);
+                changed.put(name, row);
+            }
+            dirty.clear();
+        }
+        if (!changed.isEmpty()) {
+            try {
+                // The ids are assigned, so save merges into existing rows
+                scoreNormRepository.saveAll(changed.values());
+            } catch (RuntimeException e) {
+                // Written again on the next persist
+                synchronized (this) {
+                    dirty.addAll(changed.keySet());
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import edu.cit.futureu.entity.CareerEntity;
@@ -12,6 +13,7 @@ import edu.cit.futureu.entity.CareerProgramEntity;
 import edu.cit.futureu.entity.ProgramEntity;
 import edu.cit.futureu.repository.CareerProgramRepository;
 import edu.cit.futureu.repository.ProgramRepository;
+import edu.cit.futureu.service.CatalogChangedEvent.Kind;
 
 @Service
 public class ProgramService {
@@ -22,9 +24,17 @@ public class ProgramService {
     @Autowired
     private CareerProgramRepository careerProgramRepository;
     
+    @Autowired
+    private SchoolDetailService schoolDetailService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // Create operations
     public ProgramEntity createProgram(ProgramEntity program) {
-        return programRepository.save(program);
+        ProgramEntity saved = programRepository.save(program);
+        eventPublisher.publishEvent(CatalogChangedEvent.saved(Kind.PROGRAM, saved.getProgramId(), saved));
+        return saved;
     }
     
     // Read operations
@@ -51,7 +61,10 @@ public class ProgramService {
     // Update operations
     public ProgramEntity updateProgram(ProgramEntity program) {
         if (programRepository.existsById(program.getProgramId())) {
-            return programRepository.save(program);
+            ProgramEntity saved = programRepository.save(program);
+            schoolDetailService.evictAll();
+            eventPublisher.publishEvent(CatalogChangedEvent.saved(Kind.PROGRAM, saved.getProgramId(), saved));
+            return saved;
         }
         return null; // Program not found
     }
@@ -60,6 +73,8 @@ public class ProgramService {
     public boolean deleteProgram(int id) {
         if (programRepository.existsById(id)) {
             programRepository.deleteById(id);
+            schoolDetailService.evictAll();
+            eventPublisher.publishEvent(CatalogChangedEvent.removed(Kind.PROGRAM, id));
             return true;
         }
         return false; // Program not found
@@ -0,0 +1,293 @@
+package edu.cit.futureu.service;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Mergeable quantile sketch (a merging t-digest).
+ *
+ * Values are buffered and periodically merged into at most about compression centroids, kept small near
+ * the tails and larger in the middle (the arcsine scale function), so ranks near 0 and 100 stay accurate.
+ * After a merge, rank queries are a binary search over the centroid means. Not thread safe.
+ */
+public class QuantileDigest {
+
+    public static final double DEFAULT_COMPRESSION = 100;
+
+    private final double compression;
+
+    // Sorted centroids and, for rank queries, the weight below each one
+    private double[] means;
+    private double[] weights;
+    private double[] below;
+    private int centroids;
+
+    private final double[] bufferValues;
+    private final double[] bufferWeights;
+    private int buffered;
+
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    public QuantileDigest(double compression) {
+        this.compression = Math.max(10, compression);
+        int capacity = (int) Math.ceil(this.compression) * 2 + 10;
+        means = new double[capacity];
+        weights = new double[capacity];
+        below = new double[capacity];
+        bufferValues = new double[(int) Math.ceil(this.compression) * 5];
+        bufferWeights = new double[bufferValues.length];
+    }
+
+    public void add(double value) {
+        add(value, 1);
+    }
+
+    public void add(double value, double weight) {
+        if (Double.isNaN(value) || weight <= 0) {
+            return;
+        }
+        if (buffered == bufferValues.length) {
+            compress();
+        }
+        bufferValues[buffered] = value;
+        bufferWeights[buffered] = weight;
+        buffered++;
+        totalWeight += weight;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Add everything another digest has seen, as if its values had been added here
+     */
+    public void merge(QuantileDigest other) {
+        other.compress();
+        for (int i = 0; i < other.centroids; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        // Centroid means lie inside the other digest's range; keep its exact extremes
+        if (other.totalWeight > 0) {
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    public long count() {
+        return Math.round(totalWeight);
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    // k1 scale function and its inverse
+    private double k(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * q - 1);
+    }
+
+    private double q(double k) {
+        return (Math.sin(k * 2 * Math.PI / compression) + 1) / 2;
+    }
+
+    /**
+     * Merge the buffer into the centroids
+     */
+    public void compress() {
+        if (buffered == 0) {
+            return;
+        }
+        int n = centroids + buffered;
+        double[] allMeans = Arrays.copyOf(means, n);
+        double[] allWeights = Arrays.copyOf(weights, n);
+        System.arraycopy(bufferValues, 0, allMeans, centroids, buffered);
+        System.arraycopy(bufferWeights, 0, allWeights, centroids, buffered);
+        buffered = 0;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(allMeans[a], allMeans[b]));
+
+        int out = 0;
+        double mean = allMeans[order[0]];
+        double weight = allWeights[order[0]];
+        double weightSoFar = 0;
+        double limit = totalWeight * q(k(0) + 1);
+        for (int j = 1; j < n; j++) {
+            int i = order[j];
+            if (weightSoFar + weight + allWeights[i] <= limit) {
+                weight += allWeights[i];
+                mean += (allMeans[i] - mean) * allWeights[i] / weight;
+            } else {
+                out = emit(out, mean, weight);
+                weightSoFar += weight;
+                limit = totalWeight * q(k(Math.min(1, weightSoFar / totalWeight)) + 1);
+                mean = allMeans[i];
+                weight = allWeights[i];
+            }
+        }
+        out = emit(out, mean, weight);
+        centroids = out;
+
+        double sum = 0;
+        for (int i = 0; i < centroids; i++) {
+            below[i] = sum;
+            sum += weights[i];
+        }
+    }
+
+    private int emit(int index, double mean, double weight) {
+        if (index == means.length) {
+            means = Arrays.copyOf(means, index * 2);
+            weights = Arrays.copyOf(weights, index * 2);
+            below = Arrays.copyOf(below, index * 2);
+        }
+        means[index] = mean;
+        weights[index] = weight;
+        return index + 1;
+    }
+
+    /**
+     * Fraction of values below x, counting values equal to x as half below (a mid-rank), or NaN when empty
+     */
+    public double cdf(double x) {
+        compress();
+        if (totalWeight == 0) {
+            return Double.NaN;
+        }
+        if (x < min) {
+            return 0;
+        }
+        if (x > max) {
+            return 1;
+        }
+        // Centroids whose mean equals x: half their weight is below
+        int first = firstAtLeast(x);
+        int last = firstAtLeast(Math.nextUp(x)) - 1;
+        if (first <= last) {
+            double ties = below[last] + weights[last] - below[first];
+            return (below[first] + ties / 2) / totalWeight;
+        }
+        // Otherwise interpolate between the centers of the neighbouring centroids, or the extremes
+        double leftX;
+        double leftRank;
+        double rightX;
+        double rightRank;
+        if (first == 0) {
+            leftX = min;
+            leftRank = 0;
+        } else {
+            leftX = means[first - 1];
+            leftRank = below[first - 1] + weights[first - 1] / 2;
+        }
+        if (first == centroids) {
+            rightX = max;
+            rightRank = totalWeight;
+        } else {
+            rightX = means[first];
+            rightRank = below[first] + weights[first] / 2;
+        }
+        double rank = rightX > leftX ? leftRank + (rightRank - leftRank) * (x - leftX) / (rightX - leftX) : leftRank;
+        return rank / totalWeight;
+    }
+
+    // Index of the first centroid with mean >= x
+    private int firstAtLeast(double x) {
+        int lo = 0;
+        int hi = centroids;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (means[mid] < x) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Approximate value at fraction q of the distribution, or NaN when empty
+     */
+    public double quantile(double q) {
+        compress();
+        if (totalWeight == 0) {
+            return Double.NaN;
+        }
+        double rank = Math.max(0, Math.min(1, q)) * totalWeight;
+        double previousX = min;
+        double previousRank = 0;
+        for (int i = 0; i < centroids; i++) {
+            double center = below[i] + weights[i] / 2;
+            if (rank <= center) {
+                return center > previousRank
+                        ? previousX + (means[i] - previousX) * (rank - previousRank) / (center - previousRank)
+                        : means[i];
+            }
+            previousX = means[i];
+            previousRank = center;
+        }
+        return totalWeight > previousRank
+                ? previousX + (max - previousX) * (rank - previousRank) / (totalWeight - previousRank)
+                : max;
+    }
+
+    /**
+     * Approximate counts in buckets equal-width buckets over [from, to]; each centroid counts towards
+     * the bucket its mean falls in, and values outside the range towards the first or last bucket
+     */
+    public long[] histogram(double from, double to, int buckets) {
+        compress();
+        double[] counts = new double[buckets];
+        double width = (to - from) / buckets;
+        for (int i = 0; i < centroids; i++) {
+            int bucket = width > 0 ? (int) Math.floor((means[i] - from) / width) : 0;
+            counts[Math.max(0, Math.min(buckets - 1, bucket))] += weights[i];
+        }
+        long[] rounded = new long[buckets];
+        for (int b = 0; b < buckets; b++) {
+            rounded[b] = Math.round(counts[b]);
+        }
+        return rounded;
+    }
+
+    /**
+     * Compact binary form: compression, min, max, then the centroid means and weights
+     */
+    public String toBase64() {
+        compress();
+        ByteBuffer buffer = ByteBuffer.allocate(8 * 3 + 4 + centroids * 16);
+        buffer.putDouble(compression).putDouble(min).putDouble(max).putInt(centroids);
+        for (int i = 0; i < centroids; i++) {
+            buffer.putDouble(means[i]).putDouble(weights[i]);
+        }
+        return Base64.getEncoder().encodeToString(buffer.array());
+    }
+
+    public static QuantileDigest fromBase64(String encoded) {
+        ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+        QuantileDigest digest = new QuantileDigest(buffer.getDouble());
+        double min = buffer.getDouble();
+        double max = buffer.getDouble();
+        int n = buffer.getInt();
+        for (int i = 0; i < n; i++) {
+            digest.add(buffer.getDouble(), buffer.getDouble());
+        }
+        if (n > 0) {
+            digest.min = min;
+            digest.max = max;
+        }
+        return digest;
+    }
+}
@@ -4,8 +4,11 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import edu.cit.futureu.dto.CursorPage;
+import edu.cit.futureu.dto.QuestionSummary;
 import edu.cit.futureu.entity.QuestionEntity;
 import edu.cit.futureu.entity.AssessmentCategoryEntity;
 import edu.cit.futureu.repository.QuestionRepository;
@@ -16,6 +19,9 @@ public class QuestionService {
     @Autowired
     private QuestionRepository questionRepository;
 
+    @Autowired
+    private ItemStatsService itemStatsService;
+
     public QuestionEntity createQuestion(QuestionEntity question) {
         return questionRepository.save(question);
     }
@@ -40,6 +46,19 @@ public class QuestionService {
         return questions;
     }
 
+    // Keyset page of question summaries, ordered by id ("id") or newest first ("-id")
+    public CursorPage<QuestionSummary> getQuestionPage(String cursor, Integer limit, String sort) {
+        int pageSize = CursorPage.clampLimit(limit);
+        boolean descending = CursorPage.isDescending(sort);
+        int key = CursorPage.decodeIdCursor(cursor, descending);
+        PageRequest firstRows = PageRequest.of(0, pageSize + 1);
+        List<QuestionSummary> rows = descending
+                ? questionRepository.findSummariesBefore(key, firstRows)
+                : questionRepository.findSummariesAfter(key, firstRows);
+        return CursorPage.of(rows, pageSize, descending ? CursorPage.SORT_ID_DESC : CursorPage.SORT_ID_ASC,
+                row -> String.valueOf(row.getQuestionId()));
+    }
+
     public Optional<QuestionEntity> getQuestionById(int id) {
         return questionRepository.findById(id);
     }
@@ -58,6 +77,7 @@ public class QuestionService {
     public boolean deleteQuestion(int id) {
         if (questionRepository.existsById(id)) {
             questionRepository.deleteById(id);
+            itemStatsService.forget(id);
             return true;
         }
         return false;
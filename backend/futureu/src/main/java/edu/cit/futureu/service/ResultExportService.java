@@ -0,0 +1,225 @@
+package edu.cit.futureu.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.cit.futureu.entity.AssessmentResultEntity;
+import edu.cit.futureu.entity.UserAssessmentEntity;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Streams every assessment attempt with its result scores and section results as CSV or NDJSON.
+ *
+ * One forward-only cursor joins attempts, results and section results, ordered by attempt, and consecutive
+ * rows are folded into one record per attempt. The persistence context is cleared after each record, so
+ * memory does not grow with the number of rows. The default fetch size, Integer.MIN_VALUE, makes MySQL
+ * Connector/J stream the result row by row; a positive size is only honoured when the JDBC URL sets
+ * useCursorFetch=true, and is what other databases (H2 in the tests) expect.
+ */
+@Service
+public class ResultExportService {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    // Flush to the client every this many attempts
+    private static final int FLUSH_EVERY = 500;
+
+    private static final String EXPORT_QUERY = "SELECT ua, ar, s.sectionId, s.sectionName, s.sectionType, "
+            + "s.sectionScore, s.correctAnswers, s.totalQuestions, s.percentageScore "
+            + "FROM UserAssessmentEntity ua JOIN FETCH ua.user JOIN FETCH ua.assessment "
+            + "LEFT JOIN AssessmentResultEntity ar ON ar.userAssessment = ua "
+            + "LEFT JOIN UserAssessmentSectionResultEntity s ON s.userAssessment = ua "
+            + "WHERE (:status IS NULL OR ua.status = :status) "
+            + "AND (:from IS NULL OR ua.dateTaken >= :from) AND (:to IS NULL OR ua.dateTaken < :to) "
+            + "ORDER BY ua.userQuizAssessment, s.sectionResultId";
+
+    // Attempt columns, then the result score columns, in export order
+    private static final Map<String, Function<UserAssessmentEntity, Object>> ATTEMPT_COLUMNS = new LinkedHashMap<>();
+    private static final Map<String, Function<AssessmentResultEntity, Object>> RESULT_COLUMNS = new LinkedHashMap<>();
+
+    static {
+        ATTEMPT_COLUMNS.put("userAssessmentId", UserAssessmentEntity::getUserQuizAssessment);
+        ATTEMPT_COLUMNS.put("userId", ua -> ua.getUser().getUserId());
+        ATTEMPT_COLUMNS.put("email", ua -> ua.getUser().getEmail());
+        ATTEMPT_COLUMNS.put("assessmentId", ua -> ua.getAssessment().getAssessmentId());
+        ATTEMPT_COLUMNS.put("assessmentTitle", ua -> ua.getAssessment().getTitle());
+        ATTEMPT_COLUMNS.put("attemptNo", UserAssessmentEntity::getAttemptNo);
+        ATTEMPT_COLUMNS.put("status", UserAssessmentEntity::getStatus);
+        ATTEMPT_COLUMNS.put("score", UserAssessmentEntity::getScore);
+        ATTEMPT_COLUMNS.put("dateTaken", UserAssessmentEntity::getDateTaken);
+        ATTEMPT_COLUMNS.put("dateCompleted", UserAssessmentEntity::getDateCompleted);
+        ATTEMPT_COLUMNS.put("timeSpentSeconds", UserAssessmentEntity::getTimeSpentSeconds);
+
+        RESULT_COLUMNS.put("resultId", AssessmentResultEntity::getResultId);
+        RESULT_COLUMNS.put("overallScore", AssessmentResultEntity::getOverallScore);
+        RESULT_COLUMNS.put("normalizedScore", AssessmentResultEntity::getNormalizedScore);
+        RESULT_COLUMNS.put("gsaScore", AssessmentResultEntity::getGsaScore);
+        RESULT_COLUMNS.put("scientificAbilityScore", AssessmentResultEntity::getScientificAbilityScore);
+        RESULT_COLUMNS.put("readingComprehensionScore", AssessmentResultEntity::getReadingComprehensionScore);
+        RESULT_COLUMNS.put("verbalAbilityScore", AssessmentResultEntity::getVerbalAbilityScore);
+        RESULT_COLUMNS.put("mathematicalAbilityScore", AssessmentResultEntity::getMathematicalAbilityScore);
+        RESULT_COLUMNS.put("logicalReasoningScore", AssessmentResultEntity::getLogicalReasoningScore);
+        RESULT_COLUMNS.put("academicTrackScore", AssessmentResultEntity::getAcademicTrackScore);
+        RESULT_COLUMNS.put("stemScore", AssessmentResultEntity::getStemScore);
+        RESULT_COLUMNS.put("abmScore", AssessmentResultEntity::getAbmScore);
+        RESULT_COLUMNS.put("humssScore", AssessmentResultEntity::getHumssScore);
+        RESULT_COLUMNS.put("otherTrackScore", AssessmentResultEntity::getOtherTrackScore);
+        RESULT_COLUMNS.put("tvlScore", AssessmentResultEntity::getTvlScore);
+        RESULT_COLUMNS.put("sportsTrackScore", AssessmentResultEntity::getSportsTrackScore);
+        RESULT_COLUMNS.put("artsDesignTrackScore", AssessmentResultEntity::getArtsDesignTrackScore);
+        RESULT_COLUMNS.put("interestAreaScore", AssessmentResultEntity::getInterestAreaScore);
+        RESULT_COLUMNS.put("realisticScore", AssessmentResultEntity::getRealisticScore);
+        RESULT_COLUMNS.put("investigativeScore", AssessmentResultEntity::getInvestigativeScore);
+        RESULT_COLUMNS.put("artisticScore", AssessmentResultEntity::getArtisticScore);
+        RESULT_COLUMNS.put("socialScore", AssessmentResultEntity::getSocialScore);
+        RESULT_COLUMNS.put("enterprisingScore", AssessmentResultEntity::getEnterprisingScore);
+        RESULT_COLUMNS.put("conventionalScore", AssessmentResultEntity::getConventionalScore);
+        RESULT_COLUMNS.put("dateComputed", AssessmentResultEntity::getDateComputed);
+    }
+
+    // Section result fields as selected after ua and ar
+    private static final String[] SECTION_FIELDS = { "sectionId", "sectionName", "sectionType", "sectionScore",
+            "correctAnswers", "totalQuestions", "percentageScore" };
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${futureu.export.fetchSize:" + Integer.MIN_VALUE + "}")
+    private int fetchSize = Integer.MIN_VALUE;
+
+    public static boolean isSupportedFormat(String format) {
+        return FORMAT_CSV.equals(format) || FORMAT_NDJSON.equals(format);
+    }
+
+    /**
+     * Write the matching attempts to out, which is flushed but not closed
+     * @param status only attempts with this status, or all when null
+     * @param from attempts taken at or after this time, or no lower bound when null
+     * @param to attempts taken before this time, or no upper bound when null
+     * @return number of attempts written
+     */
+    @Transactional(readOnly = true)
+    public long exportResults(OutputStream out, String format, String status, LocalDateTime from, LocalDateTime to)
+            throws IOException {
+        boolean csv = FORMAT_CSV.equals(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        if (csv) {
+            List<String> header = new ArrayList<>(ATTEMPT_COLUMNS.keySet());
+            header.addAll(RESULT_COLUMNS.keySet());
+            header.add("sections");
+            writeCsvRow(writer, new ArrayList<>(header));
+        }
+
+        Session session = entityManager.unwrap(Session.class);
+        long written = 0;
+        try (ScrollableResults<Object[]> rows = session.createQuery(EXPORT_QUERY, Object[].class)
+                .setParameter("status", status)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            UserAssessmentEntity attempt = null;
+            AssessmentResultEntity result = null;
+            List<Map<String, Object>> sections = new ArrayList<>();
+            while (rows.next()) {
+                Object[] row = rows.get();
+                UserAssessmentEntity rowAttempt = (UserAssessmentEntity) row[0];
+                if (attempt != null && attempt.getUserQuizAssessment() != rowAttempt.getUserQuizAssessment()) {
+                    writeAttempt(writer, csv, attempt, result, sections);
+                    written++;
+                    sections = new ArrayList<>();
+                    // Detach everything loaded so far; the row just read is already materialized
+                    session.clear();
+                    if (written % FLUSH_EVERY == 0) {
+                        writer.flush();
+                    }
+                }
+                attempt = rowAttempt;
+                result = (AssessmentResultEntity) row[1];
+                if (row[2] != null || row[3] != null) {
+                    Map<String, Object> section = new LinkedHashMap<>();
+                    for (int i = 0; i < SECTION_FIELDS.length; i++) {
+                        section.put(SECTION_FIELDS[i], row[i + 2]);
+                    }
+                    sections.add(section);
+                }
+            }
+            if (attempt != null) {
+                writeAttempt(writer, csv, attempt, result, sections);
+                written++;
+                session.clear();
+            }
+        }
+        writer.flush();
+        return written;
+    }
+
+    private void writeAttempt(Writer writer, boolean csv, UserAssessmentEntity attempt, AssessmentResultEntity result,
+            List<Map<String, Object>> sections) throws IOException {
+        Map<String, Object> record = new LinkedHashMap<>();
+        ATTEMPT_COLUMNS.forEach((name, getter) -> record.put(name, format(getter.apply(attempt))));
+        RESULT_COLUMNS.forEach((name, getter) -> record.put(name, result == null ? null : format(getter.apply(result))));
+        if (csv) {
+            List<Object> values = new ArrayList<>(record.values());
+            // Sections stay nested as a JSON array so the CSV keeps one row per attempt
+            values.add(sections.isEmpty() ? null : objectMapper.writeValueAsString(sections));
+            writeCsvRow(writer, values);
+        } else {
+            record.put("sections", sections);
+            writer.write(objectMapper.writeValueAsString(record));
+            writer.write('\n');
+        }
+    }
+
+    // Timestamps as ISO-8601 text; everything else as is
+    private static Object format(Object value) {
+        return value instanceof LocalDateTime ? value.toString() : value;
+    }
+
+    private static void writeCsvRow(Writer writer, List<Object> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
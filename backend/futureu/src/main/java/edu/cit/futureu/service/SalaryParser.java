@@ -0,0 +1,180 @@
+package edu.cit.futureu.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the free-form CareerEntity.salary strings ("25000", "₱30,000 - ₱50,000 per month", "PHP 40k-60k/mo",
+ * "Up to $90,000 a year", "20000+") into a numeric range with currency and period.
+ *
+ * Amounts are normalized to a monthly figure so ranges from different periods compare directly; the period
+ * the string was written in is kept alongside. Bare numbers are monthly PHP, which is what the admin form
+ * asks for.
+ */
+public final class SalaryParser {
+
+    public static final String DEFAULT_CURRENCY = "PHP";
+
+    public static final String PERIOD_HOUR = "HOUR";
+    public static final String PERIOD_DAY = "DAY";
+    public static final String PERIOD_WEEK = "WEEK";
+    public static final String PERIOD_MONTH = "MONTH";
+    public static final String PERIOD_YEAR = "YEAR";
+
+    // Period units per month, assuming 40-hour weeks, 260 working days and 52 weeks a year
+    private static final BigDecimal HOURS_PER_MONTH = new BigDecimal("173.3333");
+    private static final BigDecimal DAYS_PER_MONTH = new BigDecimal("21.6667");
+    private static final BigDecimal WEEKS_PER_MONTH = new BigDecimal("4.3333");
+    private static final BigDecimal MONTHS_PER_YEAR = new BigDecimal("12");
+
+    // A number with optional thousands separators, decimals and a k / m multiplier
+    private static final Pattern AMOUNT = Pattern.compile(
+            "(\\d{1,3}(?:,\\d{3})+|\\d+)(?:\\.(\\d+))?\\s*(k|m|mil|million|thousand)?\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern HOUR = Pattern.compile("(/|per|an|a|every)\\s*(hr|hour)\\b|hourly", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DAY = Pattern.compile("(/|per|a|every)\\s*day\\b|daily", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WEEK = Pattern.compile("(/|per|a|every)\\s*(wk|week)\\b|weekly", Pattern.CASE_INSENSITIVE);
+    private static final Pattern YEAR = Pattern.compile(
+            "(/|per|a|every)\\s*(yr|year|annum)\\b|annual|annually|yearly|p\\.a\\.", Pattern.CASE_INSENSITIVE);
+
+    // Words that make a single amount a bound, matched whole so "Government" or "thunder" do not count
+    private static final Pattern UPPER_BOUND = Pattern.compile("\\b(up\\s*to|below|under)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern LOWER_BOUND = Pattern.compile("\\b(at\\s+least|above|from|over|minimum)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private SalaryParser() {}
+
+    /**
+     * Parsed salary; min is 0 for "up to X" and max is null for "X+" / "at least X"
+     */
+    public static final class Salary {
+        private final BigDecimal min;
+        private final BigDecimal max;
+        private final String currency;
+        private final String period;
+
+        Salary(BigDecimal min, BigDecimal max, String currency, String period) {
+            this.min = min;
+            this.max = max;
+            this.currency = currency;
+            this.period = period;
+        }
+
+        public BigDecimal getMin() {
+            return min;
+        }
+
+        public BigDecimal getMax() {
+            return max;
+        }
+
+        public String getCurrency() {
+            return currency;
+        }
+
+        public String getPeriod() {
+            return period;
+        }
+    }
+
+    /**
+     * @return null when the text holds no amount
+     */
+    public static Salary parse(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        List<BigDecimal> amounts = new ArrayList<>();
+        List<BigDecimal> multipliers = new ArrayList<>();
+        Matcher m = AMOUNT.matcher(text);
+        while (m.find() && amounts.size() < 2) {
+            String unit = m.group(3) == null ? "" : m.group(3).toLowerCase(Locale.ROOT);
+            BigDecimal multiplier = unit.isEmpty() ? BigDecimal.ONE
+                    : unit.equals("k") || unit.equals("thousand") ? BigDecimal.valueOf(1_000) : BigDecimal.valueOf(1_000_000);
+            amounts.add(new BigDecimal(m.group(1).replace(",", "") + (m.group(2) != null ? "." + m.group(2) : "")));
+            multipliers.add(multiplier);
+        }
+        if (amounts.isEmpty()) {
+            return null;
+        }
+        // "40-60k": a bare lower bound borrows the upper bound's multiplier
+        if (amounts.size() == 2 && multipliers.get(0).equals(BigDecimal.ONE) && !multipliers.get(1).equals(BigDecimal.ONE)
+                && amounts.get(0).compareTo(amounts.get(1)) <= 0) {
+            multipliers.set(0, multipliers.get(1));
+        }
+        for (int i = 0; i < amounts.size(); i++) {
+            amounts.set(i, amounts.get(i).multiply(multipliers.get(i)));
+        }
+
+        BigDecimal min;
+        BigDecimal max;
+        if (amounts.size() == 2) {
+            min = amounts.get(0).min(amounts.get(1));
+            max = amounts.get(0).max(amounts.get(1));
+        } else if (UPPER_BOUND.matcher(text).find()) {
+            min = BigDecimal.ZERO;
+            max = amounts.get(0);
+        } else if (text.contains("+") || LOWER_BOUND.matcher(text).find()) {
+            min = amounts.get(0);
+            max = null;
+        } else {
+            min = amounts.get(0);
+            max = amounts.get(0);
+        }
+
+        String period = periodOf(text);
+        return new Salary(toMonthly(min, period), toMonthly(max, period), currencyOf(text), period);
+    }
+
+    static String currencyOf(String text) {
+        String upper = text.toUpperCase(Locale.ROOT);
+        if (upper.contains("USD") || upper.contains("US$") || upper.contains("$")) {
+            return "USD";
+        }
+        if (upper.contains("EUR") || upper.contains("€")) {
+            return "EUR";
+        }
+        if (upper.contains("GBP") || upper.contains("£")) {
+            return "GBP";
+        }
+        if (upper.contains("SGD")) {
+            return "SGD";
+        }
+        return DEFAULT_CURRENCY;
+    }
+
+    static String periodOf(String text) {
+        if (YEAR.matcher(text).find()) {
+            return PERIOD_YEAR;
+        }
+        if (HOUR.matcher(text).find()) {
+            return PERIOD_HOUR;
+        }
+        if (DAY.matcher(text).find()) {
+            return PERIOD_DAY;
+        }
+        if (WEEK.matcher(text).find()) {
+            return PERIOD_WEEK;
+        }
+        return PERIOD_MONTH;
+    }
+
+    static BigDecimal toMonthly(BigDecimal amount, String period) {
+        if (amount == null) {
+            return null;
+        }
+        BigDecimal monthly = switch (period) {
+            case PERIOD_HOUR -> amount.multiply(HOURS_PER_MONTH);
+            case PERIOD_DAY -> amount.multiply(DAYS_PER_MONTH);
+            case PERIOD_WEEK -> amount.multiply(WEEKS_PER_MONTH);
+            case PERIOD_YEAR -> amount.divide(MONTHS_PER_YEAR, 2, RoundingMode.HALF_UP);
+            default -> amount;
+        };
+        return monthly.setScale(2, RoundingMode.HALF_UP);
+    }
+}
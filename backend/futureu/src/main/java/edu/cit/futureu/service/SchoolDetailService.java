@@ -0,0 +1,143 @@
+package edu.cit.futureu.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import edu.cit.futureu.dto.SchoolDetail;
+import edu.cit.futureu.dto.SchoolRatingView;
+import edu.cit.futureu.entity.SchoolEntity;
+import edu.cit.futureu.repository.AccreditationRepository;
+import edu.cit.futureu.repository.SchoolProgramRepository;
+import edu.cit.futureu.repository.SchoolRatingSummaryRepository;
+import edu.cit.futureu.repository.SchoolRepository;
+import edu.cit.futureu.repository.VirtualCampusToursRepository;
+
+/**
+ * Builds and caches the school detail aggregate.
+ * Writes to schools, programs, school programs, accreditations, tours and ratings evict it;
+ * the TTL only bounds how stale tour view counts can get.
+ */
+@Service
+public class SchoolDetailService {
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private SchoolRatingSummaryRepository ratingSummaryRepository;
+
+    @Autowired
+    private SchoolProgramRepository schoolProgramRepository;
+
+    @Autowired
+    private AccreditationRepository accreditationRepository;
+
+    @Autowired
+    private VirtualCampusToursRepository virtualCampusToursRepository;
+
+    @Value("${futureu.school.detailCacheTtlMs:60000}")
+    private long cacheTtlMs;
+
+    private record CachedDetail(SchoolDetail detail, long cachedAt) {}
+
+    private final Map<Integer, CachedDetail> cache = new ConcurrentHashMap<>();
+
+    // Bumped on every eviction; a load that overlapped an eviction is returned but not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public Optional<SchoolDetail> getSchoolDetail(int schoolId) {
+        CachedDetail cached = cache.get(schoolId);
+        if (cached != null && System.currentTimeMillis() - cached.cachedAt() < cacheTtlMs) {
+            return Optional.of(cached.detail());
+        }
+        long loadStartedAt = System.currentTimeMillis();
+        long loadGeneration = generation.get();
+        Optional<SchoolDetail> detail = loadSchoolDetail(schoolId);
+        if (detail.isPresent() && generation.get() == loadGeneration) {
+            cache.put(schoolId, new CachedDetail(detail.get(), loadStartedAt));
+        }
+        return detail;
+    }
+
+    /**
+     * One query each for the school, its rating summary, its programs with accreditations,
+     * its own accreditations and its tours - five statements however much the school offers
+     */
+    public Optional<SchoolDetail> loadSchoolDetail(int schoolId) {
+        SchoolEntity school = schoolRepository.findById(schoolId).orElse(null);
+        if (school == null) {
+            return Optional.empty();
+        }
+
+        SchoolDetail detail = new SchoolDetail();
+        detail.setSchoolId(school.getSchoolId());
+        detail.setName(school.getName());
+        detail.setLocation(school.getLocation());
+        detail.setType(school.getType());
+        detail.setSchoolWebsiteUrl(school.getSchoolWebsiteUrl());
+        detail.setDescription(school.getDescription());
+        detail.setLatitude(school.getLatitude());
+        detail.setLongitude(school.getLongitude());
+
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        Optional<SchoolRatingView> rating = ratingSummaryRepository.findViewBySchoolId(schoolId);
+        if (rating.isPresent()) {
+            SchoolRatingView view = rating.get();
+            detail.setAverageRating(view.getAverageRating());
+            detail.setRatingCount(view.getRatingCount());
+            histogram.put("1", view.getOneStarCount());
+            histogram.put("2", view.getTwoStarCount());
+            histogram.put("3", view.getThreeStarCount());
+            histogram.put("4", view.getFourStarCount());
+            histogram.put("5", view.getFiveStarCount());
+        }
+        detail.setRatingHistogram(histogram);
+
+        detail.setPrograms(schoolProgramRepository.findOfferingsBySchoolId(schoolId));
+        detail.setAccreditations(accreditationRepository.findDetailViewsBySchoolId(schoolId));
+        detail.setTours(virtualCampusToursRepository.findDetailViewsBySchoolId(schoolId));
+        return Optional.of(detail);
+    }
+
+    // Evict one school now and again after the surrounding transaction commits,
+    // so a read racing the write cannot re-cache the old state. Call it after the write:
+    // without a surrounding transaction there is no second eviction
+    public void evict(int schoolId) {
+        generation.incrementAndGet();
+        cache.remove(schoolId);
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            cache.remove(schoolId);
+        });
+    }
+
+    // Used by writes that can touch several schools, e.g. renaming a program
+    public void evictAll() {
+        generation.incrementAndGet();
+        cache.clear();
+        afterCommit(() -> {
+            generation.incrementAndGet();
+            cache.clear();
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package edu.cit.futureu.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import edu.cit.futureu.repository.SchoolRepository;
+import edu.cit.futureu.service.CatalogChangedEvent.Kind;
+
+/**
+ * Nearest-school lookups over SchoolEntity latitude/longitude.
+ *
+ * Schools are indexed as points on the unit sphere in a static 3-d tree. The straight-line (chord) distance
+ * between unit vectors grows with the great-circle distance, so the tree can prune on plain coordinate
+ * differences without special cases at the poles or the antimeridian; reported distances use haversine.
+ * Committed school changes (CatalogChangedEvent) bump the generation and the next read rebuilds the index.
+ */
+@Service
+public class SchoolGeoService {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final int DEFAULT_K = 10;
+    public static final int MAX_K = 100;
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private CatalogGraphService catalogGraphService;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Index index;
+
+    static final class Index {
+        final long generation;
+        final int size;
+
+        // Node i of the implicit tree is the median of its range; its split axis is depth % 3
+        final double[] x;
+        final double[] y;
+        final double[] z;
+        final double[] latitudes;
+        final double[] longitudes;
+        final int[] schoolIds;
+        final String[] names;
+        final String[] locations;
+        final String[] types;
+
+        Index(long generation, List<Object[]> rows) {
+            this.generation = generation;
+            size = rows.size();
+            x = new double[size];
+            y = new double[size];
+            z = new double[size];
+            latitudes = new double[size];
+            longitudes = new double[size];
+            schoolIds = new int[size];
+            names = new String[size];
+            locations = new String[size];
+            types = new String[size];
+
+            for (int i = 0; i < size; i++) {
+                Object[] row = rows.get(i);
+                schoolIds[i] = (Integer) row[0];
+                names[i] = (String) row[1];
+                locations[i] = (String) row[2];
+                types[i] = (String) row[3];
+                latitudes[i] = ((BigDecimal) row[4]).doubleValue();
+                longitudes[i] = ((BigDecimal) row[5]).doubleValue();
+                double lat = Math.toRadians(latitudes[i]);
+                double lon = Math.toRadians(longitudes[i]);
+                x[i] = Math.cos(lat) * Math.cos(lon);
+                y[i] = Math.cos(lat) * Math.sin(lon);
+                z[i] = Math.sin(lat);
+            }
+            build(0, size, 0);
+        }
+
+        private double coord(int i, int axis) {
+            return axis == 0 ? x[i] : axis == 1 ? y[i] : z[i];
+        }
+
+        private void build(int from, int to, int axis) {
+            if (to - from <= 1) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            select(from, to - 1, mid, axis);
+            build(from, mid, (axis + 1) % 3);
+            build(mid + 1, to, (axis + 1) % 3);
+        }
+
+        // Quickselect: afterwards position k holds the median on the axis, smaller values before it, larger after
+        private void select(int left, int right, int k, int axis) {
+            while (left < right) {
+                double pivot = coord((left + right) >>> 1, axis);
+                int i = left;
+                int j = right;
+                while (i <= j) {
+                    while (coord(i, axis) < pivot) {
+                        i++;
+                    }
+                    while (coord(j, axis) > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        swap(i++, j--);
+                    }
+                }
+                if (k <= j) {
+                    right = j;
+                } else if (k >= i) {
+                    left = i;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private void swap(int a, int b) {
+            swap(x, a, b);
+            swap(y, a, b);
+            swap(z, a, b);
+            swap(latitudes, a, b);
+            swap(longitudes, a, b);
+            int id = schoolIds[a];
+            schoolIds[a] = schoolIds[b];
+            schoolIds[b] = id;
+            swap(names, a, b);
+            swap(locations, a, b);
+            swap(types, a, b);
+        }
+
+        private static void swap(double[] values, int a, int b) {
+            double v = values[a];
+            values[a] = values[b];
+            values[b] = v;
+        }
+
+        private static void swap(String[] values, int a, int b) {
+            String v = values[a];
+            values[a] = values[b];
+            values[b] = v;
+        }
+
+        /**
+         * Indexes of the k nearest points within the squared chord distance, nearest first
+         */
+        int[] nearest(double lat, double lon, double maxChordSq, int k, IntPredicate accept) {
+            double radLat = Math.toRadians(lat);
+            double radLon = Math.toRadians(lon);
+            Search search = new Search(Math.cos(radLat) * Math.cos(radLon), Math.cos(radLat) * Math.sin(radLon),
+                    Math.sin(radLat), maxChordSq, k, accept);
+            search(search, 0, size, 0);
+            return search.sorted();
+        }
+
+        private void search(Search s, int from, int to, int axis) {
+            if (from >= to) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            double dx = x[mid] - s.qx;
+            double dy = y[mid] - s.qy;
+            double dz = z[mid] - s.qz;
+            double distSq = dx * dx + dy * dy + dz * dz;
+            if (distSq <= s.bound() && s.accept.test(schoolIds[mid])) {
+                s.offer(mid, distSq);
+            }
+
+            double diff = axis == 0 ? s.qx - x[mid] : axis == 1 ? s.qy - y[mid] : s.qz - z[mid];
+            int next = (axis + 1) % 3;
+            if (diff < 0) {
+                search(s, from, mid, next);
+                if (diff * diff <= s.bound()) {
+                    search(s, mid + 1, to, next);
+                }
+            } else {
+                search(s, mid + 1, to, next);
+                if (diff * diff <= s.bound()) {
+                    search(s, from, mid, next);
+                }
+            }
+        }
+    }
+
+    // Bounded candidate list kept sorted by distance; k is small so insertion beats a heap
+    static final class Search {
+        final double qx;
+        final double qy;
+        final double qz;
+        final double maxChordSq;
+        final IntPredicate accept;
+        final int[] points;
+        final double[] distances;
+        int count;
+
+        Search(double qx, double qy, double qz, double maxChordSq, int k, IntPredicate accept) {
+            this.qx = qx;
+            this.qy = qy;
+            this.qz = qz;
+            this.maxChordSq = maxChordSq;
+            this.accept = accept;
+            points = new int[k];
+            distances = new double[k];
+        }
+
+        double bound() {
+            return count < points.length ? maxChordSq : Math.min(maxChordSq, distances[count - 1]);
+        }
+
+        void offer(int point, double distSq) {
+            int i = count < points.length ? count++ : count - 1;
+            while (i > 0 && distances[i - 1] > distSq) {
+                points[i] = points[i - 1];
+                distances[i] = distances[i - 1];
+                i--;
+            }
+            points[i] = point;
+            distances[i] = distSq;
+        }
+
+        int[] sorted() {
+            return Arrays.copyOf(points, count);
+        }
+    }
+
+    private Index currentIndex() {
+        Index current = index;
+        long wanted = generation.get();
+        if (current != null && current.generation == wanted) {
+            return current;
+        }
+        synchronized (this) {
+            current = index;
+            wanted = generation.get();
+            if (current == null || current.generation != wanted) {
+                current = new Index(wanted, schoolRepository.findGeoPoints());
+                index = current;
+            }
+            return current;
+        }
+    }
+
+    // Mark the index stale; the next read rebuilds from the committed rows
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.isAny(Kind.SCHOOL)) {
+            invalidate();
+        }
+    }
+
+    public static int clampK(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_K;
+        }
+        return Math.min(requested, MAX_K);
+    }
+
+    /**
+     * Great-circle distance in kilometres
+     */
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // Squared chord length between unit vectors for a great-circle radius; no radius means the whole sphere
+    static double maxChordSq(Double radiusKm) {
+        if (radiusKm == null || radiusKm >= Math.PI * EARTH_RADIUS_KM) {
+            return 4.0;
+        }
+        double chord = 2 * Math.sin(radiusKm / (2 * EARTH_RADIUS_KM));
+        return chord * chord;
+    }
+
+    /**
+     * The k schools nearest to (lat, lon), nearest first, each with its haversine distance
+     * @param radiusKm optional cut-off
+     * @param programId optional; only schools offering this program
+     * @return empty if the program does not exist
+     */
+    public Optional<List<Map<String, Object>>> findNearby(double lat, double lon, Double radiusKm, Integer k,
+                                                          Integer programId) {
+        IntPredicate accept = schoolId -> true;
+        if (programId != null) {
+            Optional<int[]> offering = catalogGraphService.getSchoolIdsForProgram(programId);
+            if (offering.isEmpty()) {
+                return Optional.empty();
+            }
+            int[] schoolIds = offering.get();
+            accept = schoolId -> Arrays.binarySearch(schoolIds, schoolId) >= 0;
+        }
+
+        Index idx = currentIndex();
+        int[] nearest = idx.nearest(lat, lon, maxChordSq(radiusKm), clampK(k), accept);
+
+        List<Map<String, Object>> result = new ArrayList<>(nearest.length);
+        for (int i : nearest) {
+            double distanceKm = haversineKm(lat, lon, idx.latitudes[i], idx.longitudes[i]);
+            // Chord pruning is exact, but keep float rounding at the boundary from leaking past the radius
+            if (radiusKm != null && distanceKm > radiusKm) {
+                continue;
+            }
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("schoolId", idx.schoolIds[i]);
+            s.put("name", idx.names[i]);
+            s.put("location", idx.locations[i]);
+            s.put("type", idx.types[i]);
+            s.put("latitude", idx.latitudes[i]);
+            s.put("longitude", idx.longitudes[i]);
+            s.put("distanceKm", Math.round(distanceKm * 1000) / 1000.0);
+            result.add(s);
+        }
+        return Optional.of(result);
+    }
+}
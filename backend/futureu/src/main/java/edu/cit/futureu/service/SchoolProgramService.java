@@ -4,12 +4,14 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import edu.cit.futureu.entity.ProgramEntity;
 import edu.cit.futureu.entity.SchoolEntity;
 import edu.cit.futureu.entity.SchoolProgramEntity;
 import edu.cit.futureu.repository.SchoolProgramRepository;
+import edu.cit.futureu.service.CatalogChangedEvent.Kind;
 
 @Service
 public class SchoolProgramService {
@@ -17,9 +19,18 @@ public class SchoolProgramService {
     @Autowired
     private SchoolProgramRepository schoolProgramRepository;
     
+    @Autowired
+    private SchoolDetailService schoolDetailService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // Create operations
     public SchoolProgramEntity createSchoolProgram(SchoolProgramEntity schoolProgram) {
-        return schoolProgramRepository.save(schoolProgram);
+        SchoolProgramEntity saved = schoolProgramRepository.save(schoolProgram);
+        schoolDetailService.evictAll();
+        eventPublisher.publishEvent(CatalogChangedEvent.changed(Kind.SCHOOL_PROGRAM));
+        return saved;
     }
     
     // Read operations
@@ -46,7 +57,10 @@ public class SchoolProgramService {
     // Update operations
     public SchoolProgramEntity updateSchoolProgram(SchoolProgramEntity schoolProgram) {
         if (schoolProgramRepository.existsById(schoolProgram.getSchoolProgramId())) {
-            return schoolProgramRepository.save(schoolProgram);
+            SchoolProgramEntity saved = schoolProgramRepository.save(schoolProgram);
+            schoolDetailService.evictAll();
+            eventPublisher.publishEvent(CatalogChangedEvent.changed(Kind.SCHOOL_PROGRAM));
+            return saved;
         }
         return null; // SchoolProgram not found
     }
@@ -55,6 +69,8 @@ public class SchoolProgramService {
     public boolean deleteSchoolProgram(int id) {
         if (schoolProgramRepository.existsById(id)) {
             schoolProgramRepository.deleteById(id);
+            schoolDetailService.evictAll();
+            eventPublisher.publishEvent(CatalogChangedEvent.changed(Kind.SCHOOL_PROGRAM));
             return true;
         }
         return false; // SchoolProgram not found
@@ -0,0 +1,118 @@
+package edu.cit.futureu.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.cit.futureu.dto.SchoolRatingView;
+import edu.cit.futureu.entity.SchoolRatingSummaryEntity;
+import edu.cit.futureu.repository.SchoolRatingSummaryRepository;
+import edu.cit.futureu.repository.TestimonyRepository;
+
+/**
+ * Maintains the school_rating_summary read model.
+ * Write methods join the caller's transaction so the summary commits or rolls back with the testimony change.
+ */
+@Service
+public class SchoolRatingService {
+
+    @Autowired
+    private SchoolRatingSummaryRepository summaryRepository;
+
+    @Autowired
+    private TestimonyRepository testimonyRepository;
+
+    @Autowired
+    private SchoolDetailService schoolDetailService;
+
+    // Only 1-5 star ratings count towards the summary
+    public static boolean isCountable(Integer rating) {
+        return rating != null && rating >= 1 && rating <= 5;
+    }
+
+    // Read operations
+    public List<SchoolRatingView> getAllSchoolRatings() {
+        return summaryRepository.findAllViews();
+    }
+
+    public Optional<SchoolRatingView> getSchoolRating(int schoolId) {
+        return summaryRepository.findViewBySchoolId(schoolId);
+    }
+
+    // Write operations
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addRating(int schoolId, Integer rating) {
+        if (!isCountable(rating)) {
+            return;
+        }
+        summaryRepository.insertIfAbsent(schoolId);
+        summaryRepository.applyDelta(schoolId, rating, 1, rating);
+        schoolDetailService.evict(schoolId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeRating(int schoolId, Integer rating) {
+        if (!isCountable(rating)) {
+            return;
+        }
+        summaryRepository.applyDelta(schoolId, rating, -1, -rating);
+        schoolDetailService.evict(schoolId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void changeRating(int schoolId, Integer oldRating, Integer newRating) {
+        if (oldRating != null && oldRating.equals(newRating)) {
+            return;
+        }
+        removeRating(schoolId, oldRating);
+        addRating(schoolId, newRating);
+    }
+
+    // Called before a user is deleted, since their testimonies go with them by cascade
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removeRatingsByStudent(int userId) {
+        for (Object[] row : testimonyRepository.findSchoolRatingsByStudent(userId)) {
+            removeRating((Integer) row[0], (Integer) row[1]);
+        }
+    }
+
+    // Called when a school is deleted, since its testimonies go with it by cascade
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteSummary(int schoolId) {
+        if (summaryRepository.existsById(schoolId)) {
+            summaryRepository.deleteById(schoolId);
+        }
+    }
+
+    /**
+     * Recompute every summary row from the testimony table.
+     * Runs once at startup so existing data is backfilled and any drift is corrected.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuildAll() {
+        summaryRepository.deleteAllInBatch();
+
+        List<SchoolRatingSummaryEntity> summaries = new ArrayList<>();
+        for (Object[] row : testimonyRepository.aggregateRatingsBySchool()) {
+            SchoolRatingSummaryEntity summary = new SchoolRatingSummaryEntity((Integer) row[0]);
+            summary.setRatingSum(((Number) row[1]).longValue());
+            summary.setRatingCount(((Number) row[2]).longValue());
+            summary.setOneStarCount(((Number) row[3]).longValue());
+            summary.setTwoStarCount(((Number) row[4]).longValue());
+            summary.setThreeStarCount(((Number) row[5]).longValue());
+            summary.setFourStarCount(((Number) row[6]).longValue());
+            summary.setFiveStarCount(((Number) row[7]).longValue());
+            summaries.add(summary);
+        }
+        summaryRepository.saveAll(summaries);
+        schoolDetailService.evictAll();
+    }
+}
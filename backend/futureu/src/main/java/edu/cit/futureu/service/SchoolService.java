@@ -4,10 +4,14 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import edu.cit.futureu.dto.SchoolListItem;
 import edu.cit.futureu.entity.SchoolEntity;
 import edu.cit.futureu.repository.SchoolRepository;
+import edu.cit.futureu.service.CatalogChangedEvent.Kind;
 
 @Service
 public class SchoolService {
@@ -15,9 +19,20 @@ public class SchoolService {
     @Autowired
     private SchoolRepository schoolRepository;
     
+    @Autowired
+    private SchoolRatingService schoolRatingService;
+    
+    @Autowired
+    private SchoolDetailService schoolDetailService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     // Create operations
     public SchoolEntity createSchool(SchoolEntity school) {
-        return schoolRepository.save(school);
+        SchoolEntity saved = schoolRepository.save(school);
+        eventPublisher.publishEvent(CatalogChangedEvent.saved(Kind.SCHOOL, saved.getSchoolId(), saved));
+        return saved;
     }
     
     // Read operations
@@ -41,18 +56,42 @@ public class SchoolService {
         return schoolRepository.findByType(type);
     }
     
+    // Lean listings for the public endpoints; the full entity graph is only loaded by getSchoolById
+    public List<SchoolListItem> getAllSchoolListItems() {
+        return schoolRepository.findAllListItems();
+    }
+    
+    public List<SchoolListItem> searchSchoolListItemsByName(String name) {
+        return schoolRepository.findListItemsByName(name);
+    }
+    
+    public List<SchoolListItem> filterSchoolListItemsByLocation(String location) {
+        return schoolRepository.findListItemsByLocation(location);
+    }
+    
+    public List<SchoolListItem> filterSchoolListItemsByType(String type) {
+        return schoolRepository.findListItemsByType(type);
+    }
+    
     // Update operations
     public SchoolEntity updateSchool(SchoolEntity school) {
         if (schoolRepository.existsById(school.getSchoolId())) {
-            return schoolRepository.save(school);
+            SchoolEntity saved = schoolRepository.save(school);
+            schoolDetailService.evict(saved.getSchoolId());
+            eventPublisher.publishEvent(CatalogChangedEvent.saved(Kind.SCHOOL, saved.getSchoolId(), saved));
+            return saved;
         }
         return null; // School not found
     }
     
     // Delete operations
+    @Transactional
     public boolean deleteSchool(int id) {
         if (schoolRepository.existsById(id)) {
+            schoolRatingService.deleteSummary(id);
             schoolRepository.deleteById(id);
+            schoolDetailService.evict(id);
+            eventPublisher.publishEvent(CatalogChangedEvent.removed(Kind.SCHOOL, id));
             return true;
         }
         return false; // School not found
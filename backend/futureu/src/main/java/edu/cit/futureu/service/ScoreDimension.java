@@ -0,0 +1,130 @@
+package edu.cit.futureu.service;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import edu.cit.futureu.entity.AssessmentResultEntity;
+
+/**
+ * The score fields of an assessment result, in a fixed order, with the section each depends on.
+ *
+ * A result stores 0 for sections the attempt did not include, so analytics only count a dimension for
+ * attempts whose section ids match: an exact id, or any id with the prefix when it ends in "-".
+ */
+public enum ScoreDimension {
+
+    OVERALL("overallScore", null, Scale.PERCENT, AssessmentResultEntity::getOverallScore,
+            AssessmentResultEntity::setOverallScore),
+    GSA("gsaScore", "gsa-", Scale.PERCENT, AssessmentResultEntity::getGsaScore,
+            AssessmentResultEntity::setGsaScore),
+    SCIENTIFIC_ABILITY("scientificAbilityScore", "gsa-scientific", Scale.PERCENT, AssessmentResultEntity::getScientificAbilityScore,
+            AssessmentResultEntity::setScientificAbilityScore),
+    READING_COMPREHENSION("readingComprehensionScore", "gsa-reading", Scale.PERCENT, AssessmentResultEntity::getReadingComprehensionScore,
+            AssessmentResultEntity::setReadingComprehensionScore),
+    VERBAL_ABILITY("verbalAbilityScore", "gsa-verbal", Scale.PERCENT, AssessmentResultEntity::getVerbalAbilityScore,
+            AssessmentResultEntity::setVerbalAbilityScore),
+    MATHEMATICAL_ABILITY("mathematicalAbilityScore", "gsa-math", Scale.PERCENT, AssessmentResultEntity::getMathematicalAbilityScore,
+            AssessmentResultEntity::setMathematicalAbilityScore),
+    LOGICAL_REASONING("logicalReasoningScore", "gsa-logical", Scale.PERCENT, AssessmentResultEntity::getLogicalReasoningScore,
+            AssessmentResultEntity::setLogicalReasoningScore),
+    ACADEMIC_TRACK("academicTrackScore", "at-", Scale.PERCENT, AssessmentResultEntity::getAcademicTrackScore,
+            AssessmentResultEntity::setAcademicTrackScore),
+    STEM("stemScore", "at-stem", Scale.PERCENT, AssessmentResultEntity::getStemScore,
+            AssessmentResultEntity::setStemScore),
+    ABM("abmScore", "at-abm", Scale.PERCENT, AssessmentResultEntity::getAbmScore,
+            AssessmentResultEntity::setAbmScore),
+    HUMSS("humssScore", "at-humss", Scale.PERCENT, AssessmentResultEntity::getHumssScore,
+            AssessmentResultEntity::setHumssScore),
+    OTHER_TRACK("otherTrackScore", "track-", Scale.PERCENT, AssessmentResultEntity::getOtherTrackScore,
+            AssessmentResultEntity::setOtherTrackScore),
+    TVL("tvlScore", "track-tech", Scale.PERCENT, AssessmentResultEntity::getTvlScore,
+            AssessmentResultEntity::setTvlScore),
+    SPORTS_TRACK("sportsTrackScore", "track-sports", Scale.PERCENT, AssessmentResultEntity::getSportsTrackScore,
+            AssessmentResultEntity::setSportsTrackScore),
+    ARTS_DESIGN_TRACK("artsDesignTrackScore", "track-arts", Scale.PERCENT, AssessmentResultEntity::getArtsDesignTrackScore,
+            AssessmentResultEntity::setArtsDesignTrackScore),
+    INTEREST_AREA("interestAreaScore", "interest-", Scale.PERCENT, AssessmentResultEntity::getInterestAreaScore,
+            AssessmentResultEntity::setInterestAreaScore),
+    REALISTIC("realisticScore", "interest-", Scale.RIASEC_COUNT, AssessmentResultEntity::getRealisticScore,
+            AssessmentResultEntity::setRealisticScore),
+    INVESTIGATIVE("investigativeScore", "interest-", Scale.RIASEC_COUNT, AssessmentResultEntity::getInvestigativeScore,
+            AssessmentResultEntity::setInvestigativeScore),
+    ARTISTIC("artisticScore", "interest-", Scale.RIASEC_COUNT, AssessmentResultEntity::getArtisticScore,
+            AssessmentResultEntity::setArtisticScore),
+    SOCIAL("socialScore", "interest-", Scale.RIASEC_COUNT, AssessmentResultEntity::getSocialScore,
+            AssessmentResultEntity::setSocialScore),
+    ENTERPRISING("enterprisingScore", "interest-", Scale.RIASEC_COUNT, AssessmentResultEntity::getEnterprisingScore,
+            AssessmentResultEntity::setEnterprisingScore),
+    CONVENTIONAL("conventionalScore", "interest-", Scale.RIASEC_COUNT, AssessmentResultEntity::getConventionalScore,
+            AssessmentResultEntity::setConventionalScore);
+
+    /**
+     * What a score is out of
+     */
+    public enum Scale {
+        // A percentage, out of 100
+        PERCENT,
+        // "Agree" answers out of the statements per RIASEC type; see ScoringPlan.maxValue
+        RIASEC_COUNT
+    }
+
+    private final String field;
+    private final String section;
+    private final Scale scale;
+    private final Function<AssessmentResultEntity, Double> score;
+    private final BiConsumer<AssessmentResultEntity, Double> assign;
+
+    ScoreDimension(String field, String section, Scale scale, Function<AssessmentResultEntity, Double> score,
+            BiConsumer<AssessmentResultEntity, Double> assign) {
+        this.field = field;
+        this.section = section;
+        this.scale = scale;
+        this.score = score;
+        this.assign = assign;
+    }
+
+    // Result field name, as used in JSON and JPQL
+    public String field() {
+        return field;
+    }
+
+    public Scale scale() {
+        return scale;
+    }
+
+    // Section id, or a prefix ending in "-" for scores over every section of a type; null for the overall score
+    public String section() {
+        return section;
+    }
+
+    public Double scoreOf(AssessmentResultEntity result) {
+        return score.apply(result);
+    }
+
+    public void assign(AssessmentResultEntity result, double value) {
+        assign.accept(result, value);
+    }
+
+    public boolean takenIn(Collection<String> sectionIds) {
+        if (section == null) {
+            return true;
+        }
+        for (String sectionId : sectionIds) {
+            if (section.endsWith("-") ? sectionId.startsWith(section) : sectionId.equals(section)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static Optional<ScoreDimension> byField(String field) {
+        for (ScoreDimension dimension : values()) {
+            if (dimension.field.equals(field)) {
+                return Optional.of(dimension);
+            }
+        }
+        return Optional.empty();
+    }
+}
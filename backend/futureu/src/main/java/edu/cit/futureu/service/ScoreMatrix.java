@@ -0,0 +1,206 @@
+package edu.cit.futureu.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import edu.cit.futureu.entity.AssessmentResultEntity;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Every completed result as packed columns: one float[] per ScoreDimension plus int[] attempt and user ids,
+ * so cohort analytics are loops over primitive arrays instead of hydrated entities.
+ *
+ * Scores of sections an attempt did not take are NaN. Rows are only appended; readers take a Snapshot,
+ * which sees the first size rows of arrays that are never written below that size again, so reads need
+ * no locking. The matrix is streamed from the database at startup and appended to as submissions commit.
+ */
+@Service
+public class ScoreMatrix {
+
+    private static final ScoreDimension[] DIMENSIONS = ScoreDimension.values();
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The first size rows of the matrix; treat the arrays as read only. Rows keep their index within a
+     * generation, which only changes when the matrix is reloaded.
+     */
+    public record Snapshot(int generation, int size, int[] attemptIds, int[] userIds, float[][] columns) {
+
+        public float[] column(ScoreDimension dimension) {
+            return columns[dimension.ordinal()];
+        }
+    }
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Value("${futureu.analytics.fetchSize:1000}")
+    private int fetchSize = 1000;
+
+    // Guarded by this; published to readers through snapshot
+    private int[] attemptIds = new int[INITIAL_CAPACITY];
+    private int[] userIds = new int[INITIAL_CAPACITY];
+    private float[][] columns = new float[DIMENSIONS.length][INITIAL_CAPACITY];
+    private int size;
+    private int generation;
+
+    private volatile Snapshot snapshot = new Snapshot(0, 0, attemptIds, userIds, columns);
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    /**
+     * One row of scores in ScoreDimension order, NaN where the attempt did not take the section
+     */
+    public static float[] rowOf(AssessmentResultEntity result, Collection<String> sectionIds) {
+        float[] row = new float[DIMENSIONS.length];
+        for (ScoreDimension dimension : DIMENSIONS) {
+            Double score = dimension.scoreOf(result);
+            row[dimension.ordinal()] = score != null && dimension.takenIn(sectionIds) ? score.floatValue() : Float.NaN;
+        }
+        return row;
+    }
+
+    /**
+     * Append a scored result. Inside a transaction it is appended once the transaction commits.
+     */
+    public void record(AssessmentResultEntity result, Collection<String> sectionIds) {
+        int attemptId = result.getUserAssessment().getUserQuizAssessment();
+        int userId = result.getUserAssessment().getUser().getUserId();
+        float[] row = rowOf(result, sectionIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(attemptId, userId, row);
+                }
+            });
+        } else {
+            append(attemptId, userId, row);
+        }
+    }
+
+    public synchronized void append(int attemptId, int userId, float[] row) {
+        appendRow(attemptId, userId, row);
+        publish();
+    }
+
+    private void appendRow(int attemptId, int userId, float[] row) {
+        if (size == attemptIds.length) {
+            // Readers keep the old arrays; only the new ones are written from here on
+            int capacity = size * 2;
+            attemptIds = Arrays.copyOf(attemptIds, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+            float[][] grown = new float[DIMENSIONS.length][];
+            for (int d = 0; d < DIMENSIONS.length; d++) {
+                grown[d] = Arrays.copyOf(columns[d], capacity);
+            }
+            columns = grown;
+        }
+        attemptIds[size] = attemptId;
+        userIds[size] = userId;
+        for (int d = 0; d < DIMENSIONS.length; d++) {
+            columns[d][size] = row[d];
+        }
+        size++;
+    }
+
+    private void publish() {
+        snapshot = new Snapshot(generation, size, attemptIds, userIds, columns);
+    }
+
+    /**
+     * Stream every stored result into a fresh matrix, keeping rows appended while loading
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        StringBuilder select = new StringBuilder("SELECT ar.resultId, ua.userQuizAssessment, u.userId");
+        for (ScoreDimension dimension : DIMENSIONS) {
+            select.append(", ar.").append(dimension.field());
+        }
+        select.append(", s.sectionId FROM AssessmentResultEntity ar JOIN ar.userAssessment ua JOIN ua.user u ")
+                .append("LEFT JOIN UserAssessmentSectionResultEntity s ON s.userAssessment = ua ")
+                .append("ORDER BY ar.resultId");
+
+        ScoreMatrix loaded = new ScoreMatrix();
+        Session session = entityManager.unwrap(Session.class);
+        try (ScrollableResults<Object[]> rows = session.createQuery(select.toString(), Object[].class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            Object[] current = null;
+            List<String> sectionIds = new ArrayList<>();
+            while (rows.next()) {
+                Object[] row = rows.get();
+                if (current != null && !current[0].equals(row[0])) {
+                    loaded.appendRow(current, sectionIds);
+                    sectionIds.clear();
+                }
+                current = row;
+                Object sectionId = row[row.length - 1];
+                if (sectionId != null) {
+                    sectionIds.add((String) sectionId);
+                }
+            }
+            if (current != null) {
+                loaded.appendRow(current, sectionIds);
+            }
+        }
+
+        int[] loadedIds = Arrays.copyOf(loaded.attemptIds, loaded.size);
+        Arrays.sort(loadedIds);
+        synchronized (this) {
+            // Rows appended before the load finished are kept unless the query already saw them
+            for (int i = 0; i < size; i++) {
+                if (Arrays.binarySearch(loadedIds, attemptIds[i]) < 0) {
+                    float[] row = new float[DIMENSIONS.length];
+                    for (int d = 0; d < DIMENSIONS.length; d++) {
+                        row[d] = columns[d][i];
+                    }
+                    loaded.appendRow(attemptIds[i], userIds[i], row);
+                }
+            }
+            attemptIds = loaded.attemptIds;
+            userIds = loaded.userIds;
+            columns = loaded.columns;
+            size = loaded.size;
+            generation++;
+            publish();
+        }
+    }
+
+    // A query row: result id, attempt id, user id, the dimensions in order, then a section id
+    private void appendRow(Object[] row, List<String> sectionIds) {
+        float[] scores = new float[DIMENSIONS.length];
+        for (ScoreDimension dimension : DIMENSIONS) {
+            Object score = row[dimension.ordinal() + 3];
+            scores[dimension.ordinal()] = score != null && dimension.takenIn(sectionIds)
+                    ? ((Number) score).floatValue()
+                    : Float.NaN;
+        }
+        appendRow((Integer) row[1], (Integer) row[2], scores);
+    }
+}
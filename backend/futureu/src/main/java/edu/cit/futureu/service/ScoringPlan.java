@@ -0,0 +1,222 @@
+package edu.cit.futureu.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * How the section scores of one submission become the result columns, compiled once from configuration.
+ *
+ * The configuration lists section types as NAME:prefix:weight, e.g. "GSA:gsa-:0.40". A section belongs to
+ * the first type whose prefix its id starts with. The overall score is the weighted average of each type's
+ * mean percentage, over the types the attempt took; a type's mean also fills the result column whose
+ * ScoreDimension section is its prefix, and each section with its own column fills that. Interest sections
+ * instead add their "agree" counts to the RIASEC columns, and interestAreaScore is the share of the RIASEC
+ * statements agreed with. The interest type is whichever configured type has the interest prefix, whatever
+ * it is named, and the RIASEC columns are out of the configured statements per type.
+ *
+ * Scoring is one pass over the sections into a double[] in ScoreDimension order. Section ids are resolved
+ * to their type and column the first time each is seen, so a new section under a configured prefix, or a
+ * new configured type, needs no code change.
+ */
+public final class ScoringPlan {
+
+    public static final String DEFAULT_SECTION_TYPES = "GSA:gsa-:0.40,ACADEMIC:at-:0.30,OTHER:track-:0.15,INTEREST:interest-:0";
+
+    public static final String UNKNOWN_TYPE = "UNKNOWN";
+
+    private static final ScoreDimension[] DIMENSIONS = ScoreDimension.values();
+
+    private static final int OVERALL = ScoreDimension.OVERALL.ordinal();
+    private static final int INTEREST_AREA = ScoreDimension.INTEREST_AREA.ordinal();
+
+    // RIASEC type, as carried by interest questions, to its column
+    private static final Map<String, ScoreDimension> RIASEC = Map.of(
+            "realistic", ScoreDimension.REALISTIC,
+            "investigative", ScoreDimension.INVESTIGATIVE,
+            "artistic", ScoreDimension.ARTISTIC,
+            "social", ScoreDimension.SOCIAL,
+            "enterprising", ScoreDimension.ENTERPRISING,
+            "conventional", ScoreDimension.CONVENTIONAL);
+
+    // A section's type index (-1 when no prefix matches) and own column (-1 when it has none)
+    private record Slot(int type, int column) {
+    }
+
+    private final String[] typeNames;
+    private final String[] prefixes;
+    private final double[] weights;
+    private final int[] typeColumns;
+    private final Map<String, Integer> sectionColumns;
+    private final Map<String, Integer> riasecColumns;
+    private final double riasecStatements;
+    private final int riasecStatementsPerType;
+    private final String interestType;
+    private final double[] maxValues;
+
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+    private ScoringPlan(List<String[]> types, int riasecStatementsPerType) {
+        int n = types.size();
+        typeNames = new String[n];
+        prefixes = new String[n];
+        weights = new double[n];
+        typeColumns = new int[n];
+        for (int t = 0; t < n; t++) {
+            String[] type = types.get(t);
+            typeNames[t] = type[0];
+            prefixes[t] = type[1];
+            weights[t] = Double.parseDouble(type[2]);
+            typeColumns[t] = -1;
+            for (ScoreDimension dimension : DIMENSIONS) {
+                // The interest column is the RIASEC share, not the mean of the interest sections
+                if (prefixes[t].equals(dimension.section()) && dimension != ScoreDimension.INTEREST_AREA
+                        && dimension.scale() != ScoreDimension.Scale.RIASEC_COUNT) {
+                    typeColumns[t] = dimension.ordinal();
+                }
+            }
+        }
+        sectionColumns = new HashMap<>();
+        for (ScoreDimension dimension : DIMENSIONS) {
+            if (dimension.section() != null && !dimension.section().endsWith("-")) {
+                sectionColumns.put(dimension.section(), dimension.ordinal());
+            }
+        }
+        riasecColumns = new HashMap<>();
+        RIASEC.forEach((name, dimension) -> riasecColumns.put(name, dimension.ordinal()));
+        riasecStatements = (double) riasecStatementsPerType * RIASEC.size();
+        this.riasecStatementsPerType = riasecStatementsPerType;
+
+        String interest = null;
+        for (int t = 0; t < n && interest == null; t++) {
+            if (prefixes[t].equals(ScoreDimension.INTEREST_AREA.section())) {
+                interest = typeNames[t];
+            }
+        }
+        interestType = interest;
+        maxValues = new double[DIMENSIONS.length];
+        for (ScoreDimension dimension : DIMENSIONS) {
+            maxValues[dimension.ordinal()] = dimension.scale() == ScoreDimension.Scale.RIASEC_COUNT
+                    ? riasecStatementsPerType : 100;
+        }
+    }
+
+    /**
+     * Compile a plan from comma separated NAME:prefix:weight section types
+     * @param riasecStatementsPerType statements per RIASEC type, so the interest score is out of six times this
+     */
+    public static ScoringPlan compile(String sectionTypes, int riasecStatementsPerType) {
+        List<String[]> types = new ArrayList<>();
+        for (String entry : sectionTypes.split(",")) {
+            String[] type = entry.trim().split(":");
+            if (type.length != 3 || type[0].isBlank() || type[1].isBlank()) {
+                throw new IllegalArgumentException("Section types are NAME:prefix:weight, got: " + entry);
+            }
+            try {
+                if (Double.parseDouble(type[2]) < 0) {
+                    throw new IllegalArgumentException("Negative weight for section type " + type[0]);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid weight for section type " + type[0] + ": " + type[2]);
+            }
+            types.add(new String[] { type[0].trim(), type[1].trim(), type[2].trim() });
+        }
+        if (riasecStatementsPerType <= 0) {
+            throw new IllegalArgumentException("riasecStatementsPerType must be positive");
+        }
+        return new ScoringPlan(types, riasecStatementsPerType);
+    }
+
+    private Slot slotOf(String sectionId) {
+        return slots.computeIfAbsent(sectionId, id -> {
+            int type = -1;
+            for (int t = 0; t < prefixes.length && type < 0; t++) {
+                if (id.startsWith(prefixes[t])) {
+                    type = t;
+                }
+            }
+            return new Slot(type, sectionColumns.getOrDefault(id, -1));
+        });
+    }
+
+    /**
+     * The name of the type whose sections carry RIASEC responses, or null when no type has the interest prefix
+     */
+    public String interestType() {
+        return interestType;
+    }
+
+    public int riasecStatementsPerType() {
+        return riasecStatementsPerType;
+    }
+
+    /**
+     * The highest value a result column can take: 100 for percentages, the statements per type for RIASEC
+     */
+    public double maxValue(ScoreDimension dimension) {
+        return maxValues[dimension.ordinal()];
+    }
+
+    /**
+     * The configured type name of a section, or UNKNOWN
+     */
+    public String sectionType(String sectionId) {
+        int type = slotOf(sectionId).type();
+        return type >= 0 ? typeNames[type] : UNKNOWN_TYPE;
+    }
+
+    /**
+     * Result columns in ScoreDimension order, 0 for sections the attempt did not take
+     * @param sections section score details: sectionId, percentageScore and, for interest sections,
+     *                 riasecAgreeResponses
+     */
+    public double[] score(Collection<Map<String, Object>> sections) {
+        double[] scores = new double[DIMENSIONS.length];
+        double[] typeTotals = new double[typeNames.length];
+        int[] typeCounts = new int[typeNames.length];
+        int agreed = 0;
+
+        for (Map<String, Object> section : sections) {
+            Slot slot = slotOf((String) section.get("sectionId"));
+            double percentage = (double) section.get("percentageScore");
+            if (slot.column() >= 0) {
+                scores[slot.column()] = percentage;
+            }
+            if (slot.type() >= 0) {
+                typeTotals[slot.type()] += percentage;
+                typeCounts[slot.type()]++;
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Integer> riasec = (Map<String, Integer>) section.get("riasecAgreeResponses");
+            if (riasec != null) {
+                for (Map.Entry<String, Integer> entry : riasec.entrySet()) {
+                    Integer column = riasecColumns.get(entry.getKey());
+                    if (column != null) {
+                        scores[column] += entry.getValue();
+                    }
+                    agreed += entry.getValue();
+                }
+            }
+        }
+
+        double weightedTotal = 0.0;
+        double totalWeight = 0.0;
+        for (int t = 0; t < typeNames.length; t++) {
+            if (typeCounts[t] == 0) {
+                continue;
+            }
+            double average = typeTotals[t] / typeCounts[t];
+            if (typeColumns[t] >= 0) {
+                scores[typeColumns[t]] = average;
+            }
+            weightedTotal += average * weights[t];
+            totalWeight += weights[t];
+        }
+        scores[OVERALL] = totalWeight > 0 ? weightedTotal / totalWeight : 0;
+        scores[INTEREST_AREA] = agreed / riasecStatements * 100;
+        return scores;
+    }
+}
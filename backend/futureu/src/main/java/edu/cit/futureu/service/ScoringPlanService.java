@@ -0,0 +1,53 @@
+package edu.cit.futureu.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import edu.cit.futureu.entity.AssessmentEntity;
+
+/**
+ * Compiled scoring plans, one per assessment. An assessment uses futureu.scoring.sectionTypes.{its type}
+ * when that is set, otherwise futureu.scoring.sectionTypes.
+ */
+@Service
+public class ScoringPlanService {
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${futureu.scoring.sectionTypes:" + ScoringPlan.DEFAULT_SECTION_TYPES + "}")
+    private String sectionTypes = ScoringPlan.DEFAULT_SECTION_TYPES;
+
+    @Value("${futureu.scoring.riasecStatementsPerType:7}")
+    private int riasecStatementsPerType = 7;
+
+    private final Map<Integer, ScoringPlan> plans = new ConcurrentHashMap<>();
+
+    private volatile ScoringPlan defaultPlan;
+
+    /**
+     * The plan from futureu.scoring.sectionTypes, for work across assessments such as norms and analytics
+     */
+    public ScoringPlan defaultPlan() {
+        ScoringPlan plan = defaultPlan;
+        if (plan == null) {
+            plan = ScoringPlan.compile(sectionTypes, riasecStatementsPerType);
+            defaultPlan = plan;
+        }
+        return plan;
+    }
+
+    public ScoringPlan planFor(AssessmentEntity assessment) {
+        return plans.computeIfAbsent(assessment.getAssessmentId(), id -> {
+            String types = assessment.getType() != null
+                    ? environment.getProperty("futureu.scoring.sectionTypes." + assessment.getType())
+                    : null;
+            return types != null ? ScoringPlan.compile(types, riasecStatementsPerType) : defaultPlan();
+        });
+    }
+}
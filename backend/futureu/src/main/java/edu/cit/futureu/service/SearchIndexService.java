@@ -0,0 +1,395 @@
+package edu.cit.futureu.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import edu.cit.futureu.entity.AccreditationEntity;
+import edu.cit.futureu.entity.CareerEntity;
+import edu.cit.futureu.entity.ProgramEntity;
+import edu.cit.futureu.entity.SchoolEntity;
+import edu.cit.futureu.repository.AccreditationRepository;
+import edu.cit.futureu.repository.CareerRepository;
+import edu.cit.futureu.repository.ProgramRepository;
+import edu.cit.futureu.repository.SchoolRepository;
+import edu.cit.futureu.service.CatalogChangedEvent.Kind;
+
+/**
+ * In-process inverted index over careers, schools, programs and accreditations, ranked with BM25.
+ *
+ * Built once when the application is ready and kept current from CatalogChangedEvent: once a change commits,
+ * a saved career, school, program or accreditation is re-indexed, a deleted one removed, and a bulk change
+ * reloads everything. Title terms are weighted above body terms.
+ */
+@Service
+public class SearchIndexService {
+
+    public static final String TYPE_CAREER = "career";
+    public static final String TYPE_SCHOOL = "school";
+    public static final String TYPE_PROGRAM = "program";
+    public static final String TYPE_ACCREDITATION = "accreditation";
+    public static final Set<String> TYPES = Set.of(TYPE_CAREER, TYPE_SCHOOL, TYPE_PROGRAM, TYPE_ACCREDITATION);
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    // BM25 parameters and the term frequency weight of a title occurrence
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+
+    @Autowired
+    private CareerRepository careerRepository;
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private AccreditationRepository accreditationRepository;
+
+    static final class Document {
+        final String type;
+        final int id;
+        final Integer schoolId;
+        final String title;
+        final String subtitle;
+        final Map<String, Integer> termFrequencies;
+        final int length;
+
+        Document(String type, int id, Integer schoolId, String title, String subtitle, String... body) {
+            this.type = type;
+            this.id = id;
+            this.schoolId = schoolId;
+            this.title = title;
+            this.subtitle = subtitle;
+
+            Map<String, Integer> tf = new HashMap<>();
+            int len = 0;
+            for (String term : SearchTokenizer.tokenize(title)) {
+                tf.merge(term, TITLE_WEIGHT, Integer::sum);
+                len += TITLE_WEIGHT;
+            }
+            for (String field : body) {
+                for (String term : SearchTokenizer.tokenize(field)) {
+                    tf.merge(term, 1, Integer::sum);
+                    len++;
+                }
+            }
+            this.termFrequencies = tf;
+            this.length = len;
+        }
+
+        String key() {
+            return key(type, id);
+        }
+
+        static String key(String type, int id) {
+            return type + ":" + id;
+        }
+    }
+
+    // Everything below is guarded by lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Document> documents = new ArrayList<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private final Map<String, Integer> slotsByKey = new HashMap<>();
+    private final Map<String, Map<Integer, Integer>> postings = new HashMap<>();
+    private long totalLength;
+
+    // Bumped by every incremental change, so a rebuild can tell it raced with one
+    private final AtomicLong modifications = new AtomicLong();
+
+    // Document builders shared by the entity hooks and the bulk load
+
+    private static Document careerDocument(int id, String title, String industry, String description, String jobTrend) {
+        return new Document(TYPE_CAREER, id, null, title, industry, industry, description, jobTrend);
+    }
+
+    private static Document schoolDocument(int id, String name, String location, String type, String description) {
+        return new Document(TYPE_SCHOOL, id, null, name, location, location, type, description);
+    }
+
+    private static Document programDocument(int id, String name, String description) {
+        return new Document(TYPE_PROGRAM, id, null, name, null, description);
+    }
+
+    private static Document accreditationDocument(int id, String title, String accreditingBody, String description,
+                                                  String level, String recognitionStatus, Integer schoolId) {
+        return new Document(TYPE_ACCREDITATION, id, schoolId, title, accreditingBody,
+                accreditingBody, description, level, recognitionStatus);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildAll() {
+        // Retry if a CRUD change landed while the rows were being read, so it is not overwritten
+        for (int attempt = 0; attempt < 3; attempt++) {
+            long seen = modifications.get();
+            List<Document> loaded = new ArrayList<>();
+            for (Object[] r : careerRepository.findSearchDocuments()) {
+                loaded.add(careerDocument((Integer) r[0], (String) r[1], (String) r[2], (String) r[3], (String) r[4]));
+            }
+            for (Object[] r : schoolRepository.findSearchDocuments()) {
+                loaded.add(schoolDocument((Integer) r[0], (String) r[1], (String) r[2], (String) r[3], (String) r[4]));
+            }
+            for (Object[] r : programRepository.findSearchDocuments()) {
+                loaded.add(programDocument((Integer) r[0], (String) r[1], (String) r[2]));
+            }
+            for (Object[] r : accreditationRepository.findSearchDocuments()) {
+                loaded.add(accreditationDocument((Integer) r[0], (String) r[1], (String) r[2], (String) r[3],
+                        (String) r[4], (String) r[5], (Integer) r[6]));
+            }
+
+            lock.writeLock().lock();
+            try {
+                if (modifications.get() != seen && attempt < 2) {
+                    continue;
+                }
+                documents.clear();
+                freeSlots.clear();
+                slotsByKey.clear();
+                postings.clear();
+                totalLength = 0;
+                for (Document document : loaded) {
+                    put(document);
+                }
+                return;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!event.isAny(Kind.CAREER, Kind.SCHOOL, Kind.PROGRAM, Kind.ACCREDITATION)) {
+            return;
+        }
+        if (event.id() == null) {
+            rebuildAll();
+        } else if (event.entity() == null) {
+            switch (event.kind()) {
+                case CAREER -> removeCareer(event.id());
+                case SCHOOL -> removeSchool(event.id());
+                case PROGRAM -> removeProgram(event.id());
+                default -> removeAccreditation(event.id());
+            }
+        } else {
+            switch (event.entity()) {
+                case CareerEntity career -> indexCareer(career);
+                case SchoolEntity school -> indexSchool(school);
+                case ProgramEntity program -> indexProgram(program);
+                case AccreditationEntity accreditation -> indexAccreditation(accreditation);
+                default -> throw new IllegalArgumentException("Not a catalog entity: " + event.entity());
+            }
+        }
+    }
+
+    // Incremental updates of committed rows
+
+    public void indexCareer(CareerEntity career) {
+        apply(careerDocument(career.getCareerId(), career.getCareerTitle(), career.getIndustry(),
+                career.getCareerDescription(), career.getJobTrend()));
+    }
+
+    public void indexSchool(SchoolEntity school) {
+        apply(schoolDocument(school.getSchoolId(), school.getName(), school.getLocation(), school.getType(),
+                school.getDescription()));
+    }
+
+    public void indexProgram(ProgramEntity program) {
+        apply(programDocument(program.getProgramId(), program.getProgramName(), program.getDescription()));
+    }
+
+    public void indexAccreditation(AccreditationEntity accreditation) {
+        Integer schoolId = accreditation.getSchool() != null ? accreditation.getSchool().getSchoolId() : null;
+        apply(accreditationDocument(accreditation.getAccredId(), accreditation.getTitle(),
+                accreditation.getAccreditingBody(), accreditation.getDescription(),
+                accreditation.getAccreditationLevel(), accreditation.getRecognitionStatus(), schoolId));
+    }
+
+    public void removeCareer(int careerId) {
+        remove(TYPE_CAREER, careerId);
+    }
+
+    public void removeProgram(int programId) {
+        remove(TYPE_PROGRAM, programId);
+    }
+
+    public void removeAccreditation(int accredId) {
+        remove(TYPE_ACCREDITATION, accredId);
+    }
+
+    // A school's accreditations are deleted with it (cascade), so drop their documents too
+    public void removeSchool(int schoolId) {
+        lock.writeLock().lock();
+        try {
+            modifications.incrementAndGet();
+            delete(Document.key(TYPE_SCHOOL, schoolId));
+            for (Document document : new ArrayList<>(documents)) {
+                if (document != null && TYPE_ACCREDITATION.equals(document.type)
+                        && document.schoolId != null && document.schoolId == schoolId) {
+                    delete(document.key());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Document document) {
+        lock.writeLock().lock();
+        try {
+            modifications.incrementAndGet();
+            delete(document.key());
+            put(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(String type, int id) {
+        lock.writeLock().lock();
+        try {
+            modifications.incrementAndGet();
+            delete(Document.key(type, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void put(Document document) {
+        int slot;
+        if (freeSlots.isEmpty()) {
+            slot = documents.size();
+            documents.add(document);
+        } else {
+            slot = freeSlots.pop();
+            documents.set(slot, document);
+        }
+        slotsByKey.put(document.key(), slot);
+        totalLength += document.length;
+        for (Map.Entry<String, Integer> entry : document.termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(slot, entry.getValue());
+        }
+    }
+
+    // Caller holds the write lock
+    private void delete(String key) {
+        Integer slot = slotsByKey.remove(key);
+        if (slot == null) {
+            return;
+        }
+        Document document = documents.get(slot);
+        for (String term : document.termFrequencies.keySet()) {
+            Map<Integer, Integer> list = postings.get(term);
+            list.remove(slot);
+            if (list.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= document.length;
+        documents.set(slot, null);
+        freeSlots.push(slot);
+    }
+
+    public static int clampLimit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    /**
+     * BM25-ranked hits for the query, best first
+     * @param type optional; one of {@link #TYPES}
+     */
+    public List<Map<String, Object>> search(String query, String type, Integer limit) {
+        if (type != null && !TYPES.contains(type)) {
+            throw new IllegalArgumentException("Unsupported type: " + type);
+        }
+        int max = clampLimit(limit);
+        Set<String> terms = new LinkedHashSet<>(SearchTokenizer.tokenize(query));
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            int docCount = slotsByKey.size();
+            if (docCount == 0) {
+                return new ArrayList<>();
+            }
+            double avgLength = Math.max(1.0, (double) totalLength / docCount);
+
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Integer, Integer> list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docCount - list.size() + 0.5) / (list.size() + 0.5));
+                for (Map.Entry<Integer, Integer> posting : list.entrySet()) {
+                    Document document = documents.get(posting.getKey());
+                    if (type != null && !type.equals(document.type)) {
+                        continue;
+                    }
+                    double tf = posting.getValue();
+                    double norm = K1 * (1 - B + B * document.length / avgLength);
+                    scores.merge(posting.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+
+            // Highest score first, ties by type then id so results are stable
+            Integer[] ranked = scores.keySet().toArray(new Integer[0]);
+            Arrays.sort(ranked, (a, b) -> {
+                int cmp = Double.compare(scores.get(b), scores.get(a));
+                if (cmp != 0) {
+                    return cmp;
+                }
+                Document da = documents.get(a);
+                Document db = documents.get(b);
+                cmp = da.type.compareTo(db.type);
+                return cmp != 0 ? cmp : Integer.compare(da.id, db.id);
+            });
+
+            List<Map<String, Object>> hits = new ArrayList<>();
+            for (int i = 0; i < ranked.length && i < max; i++) {
+                Document document = documents.get(ranked[i]);
+                Map<String, Object> hit = new LinkedHashMap<>();
+                hit.put("type", document.type);
+                hit.put("id", document.id);
+                hit.put("title", document.title);
+                hit.put("subtitle", document.subtitle);
+                if (document.schoolId != null) {
+                    hit.put("schoolId", document.schoolId);
+                }
+                hit.put("score", Math.round(scores.get(ranked[i]) * 1000) / 1000.0);
+                hits.add(hit);
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package edu.cit.futureu.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Tokenizer shared by the search index: lowercases, strips accents, splits on anything that is not a letter
+ * or digit, drops stop words and applies a light English suffix stemmer.
+ */
+public final class SearchTokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into", "is", "it",
+            "of", "on", "or", "that", "the", "their", "this", "to", "with");
+
+    private static final String[][] SUFFIXES = {
+            { "ational", "ate" }, { "ization", "ize" }, { "ation", "ate" }, { "ness", "" }, { "ment", "" },
+            { "ing", "" }, { "ed", "" }, { "ly", "" }, { "er", "" },
+    };
+
+    private SearchTokenizer() {}
+
+    /**
+     * Lowercase and strip accents, so "Ateneo de Davao" and "ATENEO DE DÁVAO" compare equal
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        // Plain ASCII needs no decomposition, and most catalog names are plain ASCII
+        boolean ascii = true;
+        for (int i = 0; i < text.length() && ascii; i++) {
+            ascii = text.charAt(i) < 128;
+        }
+        if (ascii) {
+            return text.toLowerCase(Locale.ROOT);
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}+", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Split into normalized words without stemming or stop-word removal
+     */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Index / query terms: normalized, stop words removed, stemmed
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String word : words(text)) {
+            if (!STOP_WORDS.contains(word)) {
+                terms.add(stem(word));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Conservative suffix stripping (plurals, -ing, -ed, -ly, -ment, -ness, -ation, -er, final e) that only
+     * fires while a stem of at least three letters remains. Index and query use the same function, so it only
+     * has to be consistent, not linguistically exact: "engineering", "engineers" and "engine" all become "engin".
+     */
+    static String stem(String word) {
+        if (word.length() <= 3 || !Character.isLetter(word.charAt(word.length() - 1))) {
+            return word;
+        }
+        String w = word;
+        if (w.endsWith("ies") && w.length() > 4) {
+            w = w.substring(0, w.length() - 3) + "y";
+        } else if (w.endsWith("sses")) {
+            w = w.substring(0, w.length() - 2);
+        } else if (w.endsWith("s") && !w.endsWith("ss") && !w.endsWith("us") && !w.endsWith("is")) {
+            w = w.substring(0, w.length() - 1);
+        }
+
+        // Two rounds so stacked suffixes collapse ("engineering" -> "engineer" -> "engine")
+        for (int round = 0; round < 2; round++) {
+            String before = w;
+            for (String[] suffix : SUFFIXES) {
+                if (w.endsWith(suffix[0]) && w.length() - suffix[0].length() >= 3) {
+                    w = w.substring(0, w.length() - suffix[0].length()) + suffix[1];
+                    break;
+                }
+            }
+            if (w.equals(before)) {
+                break;
+            }
+        }
+
+        if (w.endsWith("e") && w.length() > 4) {
+            w = w.substring(0, w.length() - 1);
+        }
+
+        // Undouble a trailing consonant left behind by -ing / -ed ("planning" -> "plann" -> "plan")
+        int n = w.length();
+        if (n > 3 && w.charAt(n - 1) == w.charAt(n - 2) && "bdfgmnprt".indexOf(w.charAt(n - 1)) >= 0) {
+            w = w.substring(0, n - 1);
+        }
+        return w;
+    }
+}
@@ -0,0 +1,288 @@
+package edu.cit.futureu.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import edu.cit.futureu.entity.AssessmentResultEntity;
+import edu.cit.futureu.repository.CareerRecommendationRepository;
+import edu.cit.futureu.repository.ProgramRecommendationRepository;
+
+/**
+ * "Students like you": the past attempts nearest to a result by GSA, track and RIASEC scores, and the careers
+ * and programs those students were recommended.
+ *
+ * Each ScoreMatrix row is quantized to one byte per feature (0-250 across the dimension's range in the
+ * default scoring plan, 255 when the section was not taken) in a packed row-major array that is synced
+ * incrementally from the matrix. A query is a single exact scan: per feature the query builds a 256-entry
+ * table of squared differences, so each candidate costs one table lookup per feature with no floating point.
+ */
+@Service
+public class SimilarStudentsService {
+
+    public static final int DEFAULT_NEIGHBOURS = 25;
+    public static final int MAX_NEIGHBOURS = 200;
+    public static final int MAX_SUGGESTIONS = 10;
+
+    // Sub-scores only; the section and overall aggregates are derived from these
+    static final ScoreDimension[] FEATURES = {
+            ScoreDimension.SCIENTIFIC_ABILITY, ScoreDimension.READING_COMPREHENSION, ScoreDimension.VERBAL_ABILITY,
+            ScoreDimension.MATHEMATICAL_ABILITY, ScoreDimension.LOGICAL_REASONING,
+            ScoreDimension.STEM, ScoreDimension.ABM, ScoreDimension.HUMSS,
+            ScoreDimension.TVL, ScoreDimension.SPORTS_TRACK, ScoreDimension.ARTS_DESIGN_TRACK,
+            ScoreDimension.REALISTIC, ScoreDimension.INVESTIGATIVE, ScoreDimension.ARTISTIC,
+            ScoreDimension.SOCIAL, ScoreDimension.ENTERPRISING, ScoreDimension.CONVENTIONAL };
+
+    private static final int SCALE = 250;
+    private static final int MISSING = 255;
+
+    // A feature the query has but a candidate skipped counts as half the range apart
+    private static final int MISSING_COST = (SCALE / 2) * (SCALE / 2);
+
+    // Features summed before checking whether a row can still make the k nearest
+    private static final int PRUNE_AFTER = 8;
+
+    /**
+     * The first size rows, FEATURES.length bytes each, with the matrix ids of the same rows
+     */
+    record Store(int generation, int size, byte[] vectors, int[] attemptIds, int[] userIds) {
+    }
+
+    @Autowired
+    private ScoreMatrix scoreMatrix;
+
+    @Autowired
+    private ScoringPlanService scoringPlanService;
+
+    @Autowired
+    private CareerRecommendationRepository careerRecommendationRepository;
+
+    @Autowired
+    private ProgramRecommendationRepository programRecommendationRepository;
+
+    // Guarded by this; published to readers through store
+    private byte[] vectors = new byte[0];
+
+    private volatile Store store = new Store(0, 0, vectors, new int[0], new int[0]);
+
+    /**
+     * Careers and programs recommended to the k attempts by other students whose scores are nearest to this
+     * result, most shared first
+     * @param sectionIds ids of the sections the attempt included
+     */
+    public Map<String, Object> getStudentsLikeYou(AssessmentResultEntity result, Collection<String> sectionIds,
+            Integer k) {
+        int neighbours = k == null || k <= 0 ? DEFAULT_NEIGHBOURS : Math.min(k, MAX_NEIGHBOURS);
+        int userId = result.getUserAssessment().getUser().getUserId();
+        Store current = store();
+        int[] rows = nearest(current, quantize(ScoreMatrix.rowOf(result, sectionIds), maxValues()), userId, neighbours);
+
+        List<Integer> attemptIds = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            attemptIds.add(current.attemptIds()[row]);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("students", rows.length);
+        response.put("careers", attemptIds.isEmpty() ? List.of()
+                : suggestions(careerRecommendationRepository.countCareersByAttempts(attemptIds), "careerId",
+                        "careerTitle", rows.length));
+        response.put("programs", attemptIds.isEmpty() ? List.of()
+                : suggestions(programRecommendationRepository.countProgramsByAttempts(attemptIds), "programId",
+                        "programName", rows.length));
+        return response;
+    }
+
+    // Rows of id, name, attempts, average confidence, already sorted by attempts
+    private static List<Map<String, Object>> suggestions(List<Object[]> rows, String idKey, String nameKey,
+            int students) {
+        List<Map<String, Object>> suggestions = new ArrayList<>();
+        for (Object[] row : rows.subList(0, Math.min(rows.size(), MAX_SUGGESTIONS))) {
+            long count = ((Number) row[2]).longValue();
+            Map<String, Object> suggestion = new LinkedHashMap<>();
+            suggestion.put(idKey, row[0]);
+            suggestion.put(nameKey, row[1]);
+            suggestion.put("students", count);
+            suggestion.put("share", Math.round(count * 1000.0 / students) / 10.0);
+            suggestion.put("averageConfidence", row[3]);
+            suggestions.add(suggestion);
+        }
+        return suggestions;
+    }
+
+    /**
+     * The range of each feature, in FEATURES order
+     */
+    double[] maxValues() {
+        ScoringPlan plan = scoringPlanService.defaultPlan();
+        double[] maxValues = new double[FEATURES.length];
+        for (int f = 0; f < FEATURES.length; f++) {
+            maxValues[f] = plan.maxValue(FEATURES[f]);
+        }
+        return maxValues;
+    }
+
+    /**
+     * One row of features in FEATURES order
+     */
+    static byte[] quantize(float[] scores, double[] maxValues) {
+        byte[] vector = new byte[FEATURES.length];
+        for (int f = 0; f < FEATURES.length; f++) {
+            vector[f] = quantize(scores[FEATURES[f].ordinal()], maxValues[f]);
+        }
+        return vector;
+    }
+
+    private static byte quantize(float score, double maxValue) {
+        if (score != score) {
+            return (byte) MISSING;
+        }
+        return (byte) Math.max(0, Math.min(SCALE, Math.round(score / maxValue * SCALE)));
+    }
+
+    /**
+     * The packed store, first quantizing any rows the matrix gained since the last call
+     */
+    Store store() {
+        ScoreMatrix.Snapshot matrix = scoreMatrix.snapshot();
+        Store current = store;
+        if (current.generation() == matrix.generation() && current.size() == matrix.size()) {
+            return current;
+        }
+        synchronized (this) {
+            current = store;
+            // A reload may reorder the rows, so everything is quantized again
+            int from = current.generation() == matrix.generation() ? current.size() : 0;
+            int width = FEATURES.length;
+            double[] maxValues = maxValues();
+            // Readers keep the old array, so rows they can see are never rewritten in place
+            int capacity = Math.max(matrix.size(), 2 * from) * width;
+            if (from == 0 && current.size() > 0) {
+                vectors = new byte[capacity];
+            } else if (vectors.length < matrix.size() * width) {
+                vectors = Arrays.copyOf(vectors, capacity);
+            }
+            for (int f = 0; f < width; f++) {
+                float[] column = matrix.column(FEATURES[f]);
+                for (int i = from; i < matrix.size(); i++) {
+                    vectors[i * width + f] = quantize(column[i], maxValues[f]);
+                }
+            }
+            current = new Store(matrix.generation(), matrix.size(), vectors, matrix.attemptIds(), matrix.userIds());
+            store = current;
+            return current;
+        }
+    }
+
+    /**
+     * Indexes of the k rows nearest to the query, nearest first, skipping rows of the given user. Distance is
+     * the squared difference over the features the query has.
+     */
+    static int[] nearest(Store store, byte[] query, int excludeUserId, int k) {
+        int width = FEATURES.length;
+        boolean any = false;
+        for (int f = 0; f < width; f++) {
+            any |= (query[f] & 0xFF) != MISSING;
+        }
+        if (!any || k <= 0) {
+            return new int[0];
+        }
+
+        // cost[f * 256 + c]: what a candidate byte c adds for feature f; all 0 for features the query lacks
+        int[] cost = new int[width << 8];
+        for (int f = 0; f < width; f++) {
+            int q = query[f] & 0xFF;
+            if (q == MISSING) {
+                continue;
+            }
+            for (int c = 0; c <= SCALE; c++) {
+                cost[(f << 8) | c] = (c - q) * (c - q);
+            }
+            for (int c = SCALE + 1; c < 256; c++) {
+                cost[(f << 8) | c] = MISSING_COST;
+            }
+        }
+
+        // A max-heap of the k best so far, the worst of them on top
+        int[] heapDistance = new int[k];
+        int[] heapRow = new int[k];
+        int count = 0;
+        int bound = Integer.MAX_VALUE;
+        byte[] vectors = store.vectors();
+        int[] userIds = store.userIds();
+        for (int i = 0, base = 0; i < store.size(); i++, base += width) {
+            int distance = 0;
+            for (int f = 0; f < PRUNE_AFTER; f++) {
+                distance += cost[(f << 8) | (vectors[base + f] & 0xFF)];
+            }
+            // One check part way keeps the loops branch free while skipping most rows once the heap is full
+            if (distance >= bound) {
+                continue;
+            }
+            for (int f = PRUNE_AFTER; f < width; f++) {
+                distance += cost[(f << 8) | (vectors[base + f] & 0xFF)];
+            }
+            if (distance >= bound || userIds[i] == excludeUserId) {
+                continue;
+            }
+            if (count < k) {
+                siftUp(heapDistance, heapRow, count++, distance, i);
+                if (count == k) {
+                    bound = heapDistance[0];
+                }
+            } else {
+                siftDown(heapDistance, heapRow, count, distance, i);
+                bound = heapDistance[0];
+            }
+        }
+
+        // Pop the heap from the back so the nearest ends up first
+        int[] rows = new int[count];
+        for (int n = count; n > 0; n--) {
+            rows[n - 1] = heapRow[0];
+            siftDown(heapDistance, heapRow, n - 1, heapDistance[n - 1], heapRow[n - 1]);
+        }
+        return rows;
+    }
+
+    private static void siftUp(int[] distance, int[] row, int index, int d, int r) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (distance[parent] >= d) {
+                break;
+            }
+            distance[index] = distance[parent];
+            row[index] = row[parent];
+            index = parent;
+        }
+        distance[index] = d;
+        row[index] = r;
+    }
+
+    // Replace the top of a heap of the given size and restore the order
+    private static void siftDown(int[] distance, int[] row, int size, int d, int r) {
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && distance[child + 1] > distance[child]) {
+                child++;
+            }
+            if (distance[child] <= d) {
+                break;
+            }
+            distance[index] = distance[child];
+            row[index] = row[child];
+            index = child;
+        }
+        distance[index] = d;
+        row[index] = r;
+    }
+}
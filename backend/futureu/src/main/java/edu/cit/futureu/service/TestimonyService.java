@@ -2,11 +2,14 @@ package edu.cit.futureu.service;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import edu.cit.futureu.dto.CursorPage;
+import edu.cit.futureu.dto.TestimonyView;
 import edu.cit.futureu.entity.SchoolEntity;
 import edu.cit.futureu.entity.TestimonyEntity;
 import edu.cit.futureu.entity.UserEntity;
@@ -26,92 +29,104 @@ public class TestimonyService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private SchoolRatingService schoolRatingService;
+    
     // Create operations
+    @Transactional
     public TestimonyEntity createTestimony(TestimonyEntity testimony) {
-        return testimonyRepository.save(testimony);
+        TestimonyEntity saved = testimonyRepository.save(testimony);
+        if (saved.getSchool() != null) {
+            schoolRatingService.addRating(saved.getSchool().getSchoolId(), saved.getRating());
+        }
+        return saved;
     }
     
     // Read operations
+    // School and student are fetched with the testimony in one statement
     public List<TestimonyEntity> getAllTestimonies() {
-        List<TestimonyEntity> testimonies = testimonyRepository.findAll();
-        
-        // Ensure student and school entities are fully loaded
-        for (TestimonyEntity testimony : testimonies) {
-            if (testimony.getStudent() != null && testimony.getStudent().getUserId() > 0) {
-                UserEntity student = userRepository.findById(testimony.getStudent().getUserId()).orElse(null);
-                testimony.setStudent(student);
-            }
-            
-            if (testimony.getSchool() != null && testimony.getSchool().getSchoolId() > 0) {
-                SchoolEntity school = schoolRepository.findById(testimony.getSchool().getSchoolId()).orElse(null);
-                testimony.setSchool(school);
-            }
-        }
-        
-        return testimonies;
+        return testimonyRepository.findAllWithSchoolAndStudent();
     }
     
     public Optional<TestimonyEntity> getTestimonyById(int id) {
-        Optional<TestimonyEntity> testimony = testimonyRepository.findById(id);
-        
-        // If present, ensure student and school are fully loaded
-        if (testimony.isPresent()) {
-            TestimonyEntity entity = testimony.get();
-            
-            if (entity.getStudent() != null && entity.getStudent().getUserId() > 0) {
-                UserEntity student = userRepository.findById(entity.getStudent().getUserId()).orElse(null);
-                entity.setStudent(student);
-            }
-            
-            if (entity.getSchool() != null && entity.getSchool().getSchoolId() > 0) {
-                SchoolEntity school = schoolRepository.findById(entity.getSchool().getSchoolId()).orElse(null);
-                entity.setSchool(school);
-            }
-        }
-        
-        return testimony;
+        return testimonyRepository.findWithSchoolAndStudentById(id);
     }
     
     public List<TestimonyEntity> getTestimoniesBySchool(SchoolEntity school) {
-        List<TestimonyEntity> testimonies = testimonyRepository.findBySchool(school);
-        
-        // For each testimony, ensure the student is fully loaded with all attributes
-        for (TestimonyEntity testimony : testimonies) {
-            if (testimony.getStudent() != null && testimony.getStudent().getUserId() > 0) {
-                // Fetch the complete student entity
-                UserEntity student = userRepository.findById(testimony.getStudent().getUserId()).orElse(null);
-                if (student != null) {
-                    testimony.setStudent(student);
-                }
-            }
-            
-            // Make sure school is also properly populated
-            testimony.setSchool(school);
-        }
-        
-        return testimonies;
+        return testimonyRepository.findWithSchoolAndStudentBySchool(school);
     }
     
     public List<TestimonyEntity> getTestimoniesByStudent(UserEntity student) {
-        List<TestimonyEntity> testimonies = testimonyRepository.findByStudent(student);
+        return testimonyRepository.findWithSchoolAndStudentByStudent(student);
+    }
+    
+    // Projections for the listing endpoints
+    public List<TestimonyView> getAllTestimonyViews() {
+        return testimonyRepository.findAllViews();
+    }
+    
+    public Optional<TestimonyView> getTestimonyViewById(int id) {
+        return testimonyRepository.findViewById(id);
+    }
+    
+    public List<TestimonyView> getTestimonyViewsBySchool(int schoolId) {
+        return testimonyRepository.findViewsBySchoolId(schoolId);
+    }
+    
+    public List<TestimonyView> getTestimonyViewsByStudent(int userId) {
+        return testimonyRepository.findViewsByStudentId(userId);
+    }
+    
+    // Sort keys for the per-school feed, alongside CursorPage.SORT_ID_ASC / SORT_ID_DESC
+    public static final String SORT_RATING_ASC = "rating";
+    public static final String SORT_RATING_DESC = "-rating";
+    
+    /**
+     * One page of a school's testimony feed.
+     * Sort by recency ("-id" newest first, "id" oldest first) or rating ("-rating" / "rating");
+     * rating cursors carry "rating:id" so ties page correctly.
+     */
+    public CursorPage<TestimonyView> getSchoolTestimonyPage(int schoolId, String cursor, Integer limit, String sort,
+                                                           Integer minRating, Integer maxRating) {
+        if (minRating != null && maxRating != null && minRating > maxRating) {
+            throw new IllegalArgumentException("minRating must not be greater than maxRating");
+        }
+        int pageSize = CursorPage.clampLimit(limit);
+        PageRequest fetch = PageRequest.of(0, pageSize + 1);
         
-        // For each testimony, ensure the school is fully loaded
-        for (TestimonyEntity testimony : testimonies) {
-            if (testimony.getSchool() != null && testimony.getSchool().getSchoolId() > 0) {
-                SchoolEntity school = schoolRepository.findById(testimony.getSchool().getSchoolId()).orElse(null);
-                if (school != null) {
-                    testimony.setSchool(school);
+        if (SORT_RATING_DESC.equals(sort) || SORT_RATING_ASC.equals(sort)) {
+            boolean descending = SORT_RATING_DESC.equals(sort);
+            int rating = descending ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+            int id = descending ? Integer.MAX_VALUE : 0;
+            if (cursor != null && !cursor.isEmpty()) {
+                String[] parts = cursor.split(":");
+                try {
+                    if (parts.length != 2) {
+                        throw new NumberFormatException();
+                    }
+                    rating = Integer.parseInt(parts[0]);
+                    id = Integer.parseInt(parts[1]);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid cursor: " + cursor);
                 }
             }
-            
-            // Make sure student is also properly populated
-            testimony.setStudent(student);
+            List<TestimonyView> rows = descending
+                    ? testimonyRepository.findSchoolFeedHighestRated(schoolId, minRating, maxRating, rating, id, fetch)
+                    : testimonyRepository.findSchoolFeedLowestRated(schoolId, minRating, maxRating, rating, id, fetch);
+            return CursorPage.of(rows, pageSize, sort, t -> t.getRating() + ":" + t.getTestimonyId());
         }
         
-        return testimonies;
+        boolean descending = sort == null || sort.isEmpty() || CursorPage.isDescending(sort);
+        String sortKey = descending ? CursorPage.SORT_ID_DESC : CursorPage.SORT_ID_ASC;
+        int from = CursorPage.decodeIdCursor(cursor, descending);
+        List<TestimonyView> rows = descending
+                ? testimonyRepository.findSchoolFeedNewest(schoolId, minRating, maxRating, from, fetch)
+                : testimonyRepository.findSchoolFeedOldest(schoolId, minRating, maxRating, from, fetch);
+        return CursorPage.of(rows, pageSize, sortKey, t -> String.valueOf(t.getTestimonyId()));
     }
     
     // Update operations
+    @Transactional
     public TestimonyEntity updateTestimony(TestimonyEntity testimony) {
         if (!testimonyRepository.existsById(testimony.getTestimonyId())) {
             return null; // Testimony not found
@@ -153,16 +168,26 @@ public class TestimonyService {
         existingTestimony.setDescription(testimony.getDescription());
         
         // Update rating if provided
+        Integer oldRating = existingTestimony.getRating();
         if (testimony.getRating() != null) {
             existingTestimony.setRating(testimony.getRating());
         }
         
-        return testimonyRepository.save(existingTestimony);
+        TestimonyEntity saved = testimonyRepository.save(existingTestimony);
+        if (saved.getSchool() != null) {
+            schoolRatingService.changeRating(saved.getSchool().getSchoolId(), oldRating, saved.getRating());
+        }
+        return saved;
     }
     
     // Delete operations
+    @Transactional
     public boolean deleteTestimony(int id) {
-        if (testimonyRepository.existsById(id)) {
+        TestimonyEntity existing = testimonyRepository.findById(id).orElse(null);
+        if (existing != null) {
+            if (existing.getSchool() != null) {
+                schoolRatingService.removeRating(existing.getSchool().getSchoolId(), existing.getRating());
+            }
             testimonyRepository.deleteById(id);
             return true;
         }
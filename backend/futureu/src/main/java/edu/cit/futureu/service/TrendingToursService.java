@@ -0,0 +1,187 @@
+package edu.cit.futureu.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import edu.cit.futureu.entity.TourTrendingScoreEntity;
+import edu.cit.futureu.repository.TourTrendingScoreRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Exponentially decayed view scores for campus tours, with the best MAX_K kept in a sorted set.
+ *
+ * Scores use forward decay: a view at time t adds e^(lambda * (t - landmark)), so older views weigh less
+ * relative to newer ones without touching every score as time passes. Because every score decays by the
+ * same factor, the ranking only changes when a view arrives, and the top set only needs updating then.
+ */
+@Service
+public class TrendingToursService {
+
+    public static final int DEFAULT_K = 10;
+    public static final int MAX_K = 50;
+
+    // Scores below this many "current views" are forgotten when persisting
+    private static final double MIN_SCORE = 0.01;
+
+    @Autowired
+    private TourTrendingScoreRepository trendingScoreRepository;
+
+    @Value("${futureu.tours.trendingHalfLifeHours:24}")
+    private double halfLifeHours;
+
+    private record Entry(double score, int tourId) {}
+
+    private static final Comparator<Entry> HIGHEST_FIRST =
+            Comparator.comparingDouble(Entry::score).reversed().thenComparingInt(Entry::tourId);
+
+    // Guarded by this: forward-decayed scores relative to landmarkMillis, and the top MAX_K of them
+    private final Map<Integer, Double> scores = new HashMap<>();
+    private final TreeSet<Entry> top = new TreeSet<>(HIGHEST_FIRST);
+    private long landmarkMillis = System.currentTimeMillis();
+
+    // Nothing is persisted until the stored scores have been loaded, so an early flush cannot wipe them
+    private volatile boolean loaded = false;
+
+    private double lambdaPerMilli() {
+        return Math.log(2) / (halfLifeHours * 3600_000.0);
+    }
+
+    // Count one view for a tour
+    public synchronized void recordView(int tourId) {
+        double weight = Math.exp(lambdaPerMilli() * (System.currentTimeMillis() - landmarkMillis));
+        Double old = scores.get(tourId);
+        double updated = (old != null ? old : 0) + weight;
+        scores.put(tourId, updated);
+
+        if (old != null && top.remove(new Entry(old, tourId))) {
+            top.add(new Entry(updated, tourId));
+        } else if (top.size() < MAX_K) {
+            top.add(new Entry(updated, tourId));
+        } else if (updated > top.last().score()) {
+            top.pollLast();
+            top.add(new Entry(updated, tourId));
+        }
+    }
+
+    // Drop a tour from the ranking, e.g. when it is deleted
+    public synchronized void forget(int tourId) {
+        Double old = scores.remove(tourId);
+        if (old != null && top.remove(new Entry(old, tourId))) {
+            rebuildTop();
+        }
+    }
+
+    /**
+     * The k highest scoring tours, best first, mapped to their current decayed score
+     */
+    public synchronized Map<Integer, Double> getTopK(int k) {
+        double decay = Math.exp(-lambdaPerMilli() * (System.currentTimeMillis() - landmarkMillis));
+        Map<Integer, Double> result = new LinkedHashMap<>();
+        Iterator<Entry> it = top.iterator();
+        while (it.hasNext() && result.size() < k) {
+            Entry entry = it.next();
+            result.put(entry.tourId(), entry.score() * decay);
+        }
+        return result;
+    }
+
+    public static int clampK(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_K;
+        }
+        return Math.min(requested, MAX_K);
+    }
+
+    private void rebuildTop() {
+        top.clear();
+        for (Map.Entry<Integer, Double> score : scores.entrySet()) {
+            top.add(new Entry(score.getValue(), score.getKey()));
+            if (top.size() > MAX_K) {
+                top.pollLast();
+            }
+        }
+    }
+
+    // Rescale every score to the current time so the forward-decay weights never overflow
+    private Map<Integer, Double> renormalize(long now) {
+        double decay = Math.exp(-lambdaPerMilli() * (now - landmarkMillis));
+        scores.replaceAll((id, score) -> score * decay);
+        scores.values().removeIf(score -> score < MIN_SCORE);
+        landmarkMillis = now;
+        rebuildTop();
+        return new HashMap<>(scores);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadScores() {
+        long now = System.currentTimeMillis();
+        List<TourTrendingScoreEntity> stored = trendingScoreRepository.findAll();
+        synchronized (this) {
+            for (TourTrendingScoreEntity row : stored) {
+                long scoredAt = row.getScoredAt() != null
+                        ? row.getScoredAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                        : now;
+                double current = row.getScore() * Math.exp(-lambdaPerMilli() * Math.max(0, now - scoredAt));
+                // Express it relative to the landmark; views recorded before loading simply add up
+                double forward = current * Math.exp(lambdaPerMilli() * (now - landmarkMillis));
+                scores.merge(row.getVirtualCampusTourId(), forward, Double::sum);
+            }
+            rebuildTop();
+        }
+        loaded = true;
+    }
+
+    /**
+     * Write the current scores, replacing the previous snapshot
+     */
+    @Scheduled(fixedDelayString = "${futureu.tours.trendingPersistMs:60000}")
+    @PreDestroy
+    public void persistScores() {
+        if (!loaded) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Map<Integer, Double> snapshot;
+        synchronized (this) {
+            snapshot = renormalize(now);
+        }
+        LocalDateTime scoredAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault());
+
+        List<TourTrendingScoreEntity> toSave = new ArrayList<>();
+        List<TourTrendingScoreEntity> toDelete = new ArrayList<>();
+        for (TourTrendingScoreEntity row : trendingScoreRepository.findAll()) {
+            Double score = snapshot.remove(row.getVirtualCampusTourId());
+            if (score == null) {
+                toDelete.add(row);
+            } else {
+                row.setScore(score);
+                row.setScoredAt(scoredAt);
+                toSave.add(row);
+            }
+        }
+        for (Map.Entry<Integer, Double> score : snapshot.entrySet()) {
+            TourTrendingScoreEntity row = new TourTrendingScoreEntity(score.getKey());
+            row.setScore(score.getValue());
+            row.setScoredAt(scoredAt);
+            toSave.add(row);
+        }
+        trendingScoreRepository.deleteAllInBatch(toDelete);
+        trendingScoreRepository.saveAll(toSave);
+    }
+}
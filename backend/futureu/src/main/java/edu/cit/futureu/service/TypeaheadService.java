@@ -0,0 +1,416 @@
+package edu.cit.futureu.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import edu.cit.futureu.repository.CareerRepository;
+import edu.cit.futureu.repository.ProgramRepository;
+import edu.cit.futureu.repository.SchoolRepository;
+import edu.cit.futureu.service.CatalogChangedEvent.Kind;
+
+/**
+ * Name completions for the career, school and program search boxes.
+ *
+ * Each type has a compressed prefix trie (radix tree) over normalized names and aliases: every later word of
+ * a name ("cebu institute of technology" is also reachable as "technology") and the initials of multi-word
+ * names ("cit"). Every node stores its best TOP_N completions, so a lookup is one walk down the prefix.
+ * Committed career, school and program changes (CatalogChangedEvent) bump the generation and the next
+ * lookup rebuilds the tries; lookups arriving during the rebuild are answered from the previous snapshot.
+ */
+@Service
+public class TypeaheadService {
+
+    public static final String TYPE_CAREER = SearchIndexService.TYPE_CAREER;
+    public static final String TYPE_SCHOOL = SearchIndexService.TYPE_SCHOOL;
+    public static final String TYPE_PROGRAM = SearchIndexService.TYPE_PROGRAM;
+    static final String[] TYPES = { TYPE_CAREER, TYPE_SCHOOL, TYPE_PROGRAM };
+
+    public static final int DEFAULT_LIMIT = 8;
+    public static final int TOP_N = 10;
+
+    // Alias kinds, best first: the full name, a later word of the name, the initials
+    static final int KIND_NAME = 0;
+    static final int KIND_WORD = 1;
+    static final int KIND_INITIALS = 2;
+
+    // Later-word aliases stop after this many words so long names do not blow up the trie
+    private static final int MAX_WORD_ALIASES = 6;
+
+    @Autowired
+    private CareerRepository careerRepository;
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Suggestions suggestions;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    static final class Node {
+        final char[] label;
+        final char[] firstChars;
+        final Node[] children;
+        // Completion codes (kind * entries + entry rank), best first, one per entry
+        final int[] top;
+
+        Node(char[] label, char[] firstChars, Node[] children, int[] top) {
+            this.label = label;
+            this.firstChars = firstChars;
+            this.children = children;
+            this.top = top;
+        }
+    }
+
+    /**
+     * Immutable snapshot: entries sorted by rank (shorter names first, then alphabetical) and one trie per type
+     */
+    static final class Suggestions {
+        final long generation;
+        final int size;
+        final byte[] types;
+        final int[] ids;
+        final String[] names;
+        final Node[] roots;
+
+        Suggestions(long generation, List<Object[]> careers, List<Object[]> schools, List<Object[]> programs) {
+            this.generation = generation;
+
+            // (type, id, name, normalized key) rows, ranked
+            List<Object[]> entries = new ArrayList<>();
+            addEntries(entries, 0, careers);
+            addEntries(entries, 1, schools);
+            addEntries(entries, 2, programs);
+            entries.sort((a, b) -> {
+                String na = (String) a[3];
+                String nb = (String) b[3];
+                int cmp = Integer.compare(na.length(), nb.length());
+                return cmp != 0 ? cmp : na.compareTo(nb);
+            });
+
+            size = entries.size();
+            types = new byte[size];
+            ids = new int[size];
+            names = new String[size];
+            List<List<String>> keys = new ArrayList<>();
+            List<List<Integer>> codes = new ArrayList<>();
+            for (int t = 0; t < TYPES.length; t++) {
+                keys.add(new ArrayList<>());
+                codes.add(new ArrayList<>());
+            }
+            for (int rank = 0; rank < size; rank++) {
+                Object[] entry = entries.get(rank);
+                types[rank] = (Byte) entry[0];
+                ids[rank] = (Integer) entry[1];
+                names[rank] = (String) entry[2];
+                addAliases(keys.get(types[rank]), codes.get(types[rank]), (String) entry[3], rank);
+            }
+
+            roots = new Node[TYPES.length];
+            for (int t = 0; t < TYPES.length; t++) {
+                roots[t] = buildTrie(keys.get(t), codes.get(t));
+            }
+        }
+
+        private static void addEntries(List<Object[]> entries, int type, List<Object[]> rows) {
+            for (Object[] row : rows) {
+                String name = (String) row[1];
+                String key = normalizeKey(name);
+                if (!key.isEmpty()) {
+                    entries.add(new Object[] { (byte) type, row[0], name, key });
+                }
+            }
+        }
+
+        private void addAliases(List<String> keys, List<Integer> codes, String key, int rank) {
+            keys.add(key);
+            codes.add(code(KIND_NAME, rank));
+
+            // Keys are single-space separated, so every space is followed by a word
+            StringBuilder initials = new StringBuilder().append(key.charAt(0));
+            int words = 1;
+            for (int i = 0; i < key.length(); i++) {
+                if (key.charAt(i) != ' ') {
+                    continue;
+                }
+                int next = key.indexOf(' ', i + 1);
+                int wordLength = (next < 0 ? key.length() : next) - (i + 1);
+                // Skip short words ("of", "de") as alias starts and initials
+                if (wordLength > 2) {
+                    if (words <= MAX_WORD_ALIASES) {
+                        keys.add(key.substring(i + 1));
+                        codes.add(code(KIND_WORD, rank));
+                    }
+                    initials.append(key.charAt(i + 1));
+                }
+                words++;
+            }
+            if (initials.length() > 1) {
+                keys.add(initials.toString());
+                codes.add(code(KIND_INITIALS, rank));
+            }
+        }
+
+        int code(int kind, int rank) {
+            return kind * size + rank;
+        }
+
+        int entryOf(int code) {
+            return code % size;
+        }
+
+        // Radix tree from the keys sorted lexicographically: each child covers a run sharing its next character
+        private Node buildTrie(List<String> keys, List<Integer> codes) {
+            String[] sortedKeys = keys.toArray(new String[0]);
+            int[] sortedCodes = new int[sortedKeys.length];
+            for (int i = 0; i < sortedCodes.length; i++) {
+                sortedCodes[i] = codes.get(i);
+            }
+            sortByKey(sortedKeys, sortedCodes, 0, sortedKeys.length - 1);
+            return build(sortedKeys, sortedCodes, 0, sortedKeys.length, 0, new char[0]);
+        }
+
+        // Quicksort of the keys carrying their codes along, avoiding a boxed index sort
+        private static void sortByKey(String[] keys, int[] codes, int left, int right) {
+            while (left < right) {
+                String pivot = keys[(left + right) >>> 1];
+                int i = left;
+                int j = right;
+                while (i <= j) {
+                    while (keys[i].compareTo(pivot) < 0) {
+                        i++;
+                    }
+                    while (keys[j].compareTo(pivot) > 0) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        String key = keys[i];
+                        keys[i] = keys[j];
+                        keys[j] = key;
+                        int code = codes[i];
+                        codes[i] = codes[j];
+                        codes[j] = code;
+                        i++;
+                        j--;
+                    }
+                }
+                // Recurse into the smaller side to bound the stack
+                if (j - left < right - i) {
+                    sortByKey(keys, codes, left, j);
+                    left = i;
+                } else {
+                    sortByKey(keys, codes, i, right);
+                    right = j;
+                }
+            }
+        }
+
+        private Node build(String[] keys, int[] codes, int from, int to, int depth, char[] label) {
+            // Keys ending exactly here sort first
+            int[] candidates = new int[0];
+            int i = from;
+            while (i < to && keys[i].length() == depth) {
+                candidates = appendCodes(candidates, codes[i]);
+                i++;
+            }
+
+            List<Node> children = new ArrayList<>();
+            StringBuilder firstChars = new StringBuilder();
+            while (i < to) {
+                char c = keys[i].charAt(depth);
+                int j = i + 1;
+                while (j < to && keys[j].charAt(depth) == c) {
+                    j++;
+                }
+                // The run shares everything up to the common prefix of its first and last key
+                String first = keys[i];
+                String last = keys[j - 1];
+                int end = depth + 1;
+                while (end < first.length() && end < last.length() && first.charAt(end) == last.charAt(end)) {
+                    end++;
+                }
+                Node child = build(keys, codes, i, j, end, first.substring(depth, end).toCharArray());
+                children.add(child);
+                firstChars.append(c);
+                candidates = appendCodes(candidates, child.top);
+                i = j;
+            }
+
+            return new Node(label, firstChars.toString().toCharArray(), children.toArray(new Node[0]), best(candidates));
+        }
+
+        private static int[] appendCodes(int[] codes, int... more) {
+            int[] merged = Arrays.copyOf(codes, codes.length + more.length);
+            System.arraycopy(more, 0, merged, codes.length, more.length);
+            return merged;
+        }
+
+        // Lowest codes first, keeping each entry once (its best alias)
+        private int[] best(int[] candidates) {
+            Arrays.sort(candidates);
+            int[] top = new int[Math.min(TOP_N, candidates.length)];
+            int count = 0;
+            for (int i = 0; i < candidates.length && count < top.length; i++) {
+                if (!containsEntry(top, count, entryOf(candidates[i]))) {
+                    top[count++] = candidates[i];
+                }
+            }
+            return count == top.length ? top : Arrays.copyOf(top, count);
+        }
+
+        boolean containsEntry(int[] codes, int count, int entry) {
+            for (int k = 0; k < count; k++) {
+                if (entryOf(codes[k]) == entry) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Node whose subtree holds every key starting with the prefix, or null
+        Node find(int type, String prefix) {
+            Node node = roots[type];
+            int pos = 0;
+            while (pos < prefix.length()) {
+                int c = Arrays.binarySearch(node.firstChars, prefix.charAt(pos));
+                if (c < 0) {
+                    return null;
+                }
+                Node child = node.children[c];
+                int n = Math.min(child.label.length, prefix.length() - pos);
+                for (int k = 1; k < n; k++) {
+                    if (child.label[k] != prefix.charAt(pos + k)) {
+                        return null;
+                    }
+                }
+                pos += n;
+                node = child;
+            }
+            return node;
+        }
+
+        /**
+         * Best completions for the prefix as entry ranks; type -1 merges all three tries
+         */
+        int[] complete(String prefix, int type, int limit) {
+            int[] candidates = new int[0];
+            for (int t = 0; t < TYPES.length; t++) {
+                if (type >= 0 && t != type) {
+                    continue;
+                }
+                Node node = find(t, prefix);
+                if (node != null) {
+                    candidates = appendCodes(candidates, node.top);
+                }
+            }
+            Arrays.sort(candidates);
+            int[] entries = new int[Math.min(limit, candidates.length)];
+            for (int i = 0; i < entries.length; i++) {
+                entries[i] = entryOf(candidates[i]);
+            }
+            return entries;
+        }
+    }
+
+    /**
+     * Lowercase, strip accents and collapse everything that is not a letter or digit to single spaces
+     */
+    static String normalizeKey(String text) {
+        return String.join(" ", SearchTokenizer.words(text));
+    }
+
+    private Suggestions currentSuggestions() {
+        Suggestions current = suggestions;
+        long wanted = generation.get();
+        if (current != null && current.generation == wanted) {
+            return current;
+        }
+        // While one request rebuilds, the others keep answering from the previous snapshot instead of queueing
+        if (current != null && !rebuildLock.tryLock()) {
+            return current;
+        }
+        if (current == null) {
+            rebuildLock.lock();
+        }
+        try {
+            current = suggestions;
+            wanted = generation.get();
+            if (current == null || current.generation != wanted) {
+                current = new Suggestions(wanted,
+                        careerRepository.findGraphNodes(),
+                        schoolRepository.findGraphNodes(),
+                        programRepository.findGraphNodes());
+                suggestions = current;
+            }
+            return current;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Mark the tries stale; the next read rebuilds from the committed rows
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.isAny(Kind.CAREER, Kind.SCHOOL, Kind.PROGRAM)) {
+            invalidate();
+        }
+    }
+
+    public static int clampLimit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, TOP_N);
+    }
+
+    static int typeIndex(String type) {
+        if (type == null || type.isEmpty()) {
+            return -1;
+        }
+        for (int t = 0; t < TYPES.length; t++) {
+            if (TYPES[t].equals(type)) {
+                return t;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported type: " + type);
+    }
+
+    /**
+     * Completions for a typed prefix, best first
+     * @param type optional; career, school or program
+     */
+    public List<Map<String, Object>> suggest(String prefix, String type, Integer limit) {
+        int typeIndex = typeIndex(type);
+        String key = normalizeKey(prefix);
+        List<Map<String, Object>> result = new ArrayList<>();
+        if (key.isEmpty()) {
+            return result;
+        }
+
+        Suggestions s = currentSuggestions();
+        for (int entry : s.complete(key, typeIndex, clampLimit(limit))) {
+            Map<String, Object> suggestion = new LinkedHashMap<>();
+            suggestion.put("type", TYPES[s.types[entry]]);
+            suggestion.put("id", s.ids[entry]);
+            suggestion.put("name", s.names[entry]);
+            result.add(suggestion);
+        }
+        return result;
+    }
+}
@@ -8,6 +8,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +16,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import edu.cit.futureu.dto.CursorPage;
+import edu.cit.futureu.dto.UserAssessmentSummary;
 import edu.cit.futureu.entity.UserAssessmentEntity;
 import edu.cit.futureu.entity.UserAssessmentSectionResultEntity;
 import edu.cit.futureu.entity.AssessmentResultEntity;
@@ -47,6 +50,21 @@ public class UserAssessmentService {
     
     @Autowired
     private ChoiceService choiceService; // Add this for accessing choice information
+    
+    @Autowired
+    private AnswerService answerService;
+    
+    @Autowired
+    private ItemStatsService itemStatsService;
+    
+    @Autowired
+    private NormsService normsService;
+    
+    @Autowired
+    private ScoreMatrix scoreMatrix;
+    
+    @Autowired
+    private ScoringPlanService scoringPlanService;
 
     /**
      * Create a new user assessment record
@@ -62,6 +80,21 @@ public class UserAssessmentService {
         return userAssessmentRepository.findAll();
     }
 
+    /**
+     * Get one keyset page of user assessment summaries, ordered by id ("id") or newest first ("-id")
+     */
+    public CursorPage<UserAssessmentSummary> getUserAssessmentPage(String cursor, Integer limit, String sort) {
+        int pageSize = CursorPage.clampLimit(limit);
+        boolean descending = CursorPage.isDescending(sort);
+        int key = CursorPage.decodeIdCursor(cursor, descending);
+        PageRequest firstRows = PageRequest.of(0, pageSize + 1);
+        List<UserAssessmentSummary> rows = descending
+                ? userAssessmentRepository.findSummariesBefore(key, firstRows)
+                : userAssessmentRepository.findSummariesAfter(key, firstRows);
+        return CursorPage.of(rows, pageSize, descending ? CursorPage.SORT_ID_DESC : CursorPage.SORT_ID_ASC,
+                row -> String.valueOf(row.getUserQuizAssessment()));
+    }
+
     /**
      * Get user assessment by ID
      */
@@ -198,11 +231,14 @@ public class UserAssessmentService {
         List<Map<String, Object>> sections = objectMapper.readValue(sectionsJson, 
                                             new TypeReference<List<Map<String, Object>>>(){});
         
-        // Calculate scores for each section and overall
-        Map<String, Map<String, Object>> sectionScores = calculateSectionScores(sections, answers);
+        // Calculate scores for each section, keeping each scored response
+        ScoringPlan plan = scoringPlanService.planFor(assessment);
+        List<AnswerService.Response> responses = new ArrayList<>(answers.size());
+        Map<String, Map<String, Object>> sectionScores = calculateSectionScores(plan, sections, answers, responses);
         
-        // Calculate overall score based on weighted section scores
-        double overallScore = calculateOverallScore(sectionScores);
+        // Result columns in ScoreDimension order, including the weighted overall score
+        double[] scores = plan.score(sectionScores.values());
+        double overallScore = scores[ScoreDimension.OVERALL.ordinal()];
         userAssessment.setScore(overallScore);
         
         // Save the user assessment to get an ID
@@ -212,7 +248,11 @@ public class UserAssessmentService {
         createSectionResultEntities(userAssessment, sectionScores);
         
         // Create overall assessment result entity
-        createOverallAssessmentResult(userAssessment, sectionScores, overallScore);
+        createOverallAssessmentResult(userAssessment, sectionScores, scores);
+        
+        // Per-question responses for item analytics, written in one batch
+        answerService.recordResponses(userAssessment, responses);
+        itemStatsService.record(plan, responses, sectionScores);
         
         return userAssessment;
     }
@@ -226,11 +266,13 @@ public class UserAssessmentService {
     }
     
     /**
-     * Calculate scores for each section
+     * Calculate scores for each section, adding every answered question to responses
      */
     private Map<String, Map<String, Object>> calculateSectionScores(
+            ScoringPlan plan,
             List<Map<String, Object>> sections, 
-            List<Map<String, Object>> answers) {
+            List<Map<String, Object>> answers,
+            List<AnswerService.Response> responses) {
         
         Map<String, Map<String, Object>> sectionScores = new HashMap<>();
         
@@ -245,7 +287,7 @@ public class UserAssessmentService {
         // Calculate scores for each section
         for (Map<String, Object> section : sections) {
             String sectionId = (String) section.get("id");
-            String sectionType = getSectionType(sectionId);
+            String sectionType = plan.sectionType(sectionId);
             String sectionTitle = (String) section.get("title");
             
             // Get questions for this section
@@ -274,6 +316,8 @@ public class UserAssessmentService {
                     // Get the RIASEC type for scoring purposes
                     String riasecType = (String) question.get("riasecType");
                     
+                    responses.add(new AnswerService.Response(questionId, sectionId, userAnswer, "agree".equals(userAnswer)));
+                    
                     // Now handle the agree/disagree format
                     if ("agree".equals(userAnswer)) {
                         // For "agree" responses, add 1 point
@@ -310,12 +354,15 @@ public class UserAssessmentService {
                                 .findFirst();
                             
                             // Check if the selected choice is correct
-                            if (selectedChoice.isPresent() && selectedChoice.get().isCorrect()) {
+                            boolean correct = selectedChoice.isPresent() && selectedChoice.get().isCorrect();
+                            if (correct) {
                                 correctAnswers++;
                                 rawScore += 1.0; // Each correct answer is worth 1 point
                             }
+                            responses.add(new AnswerService.Response(questionId, sectionId, userAnswer, correct));
                         }
                     } catch (NumberFormatException e) {
+                        responses.add(new AnswerService.Response(questionId, sectionId, userAnswer, false));
                         // Log the error but continue processing other questions
                         System.err.println("Error processing answer for question " + questionId + ": " + e.getMessage());
                     }
@@ -323,10 +370,13 @@ public class UserAssessmentService {
                 // For other question types like True/False
                 else {
                     Optional<QuestionEntity> questionEntity = questionRepository.findById(questionId);
-                    if (questionEntity.isPresent() && 
-                        userAnswer.equals(questionEntity.get().getCorrectAnswer())) {
-                        correctAnswers++;
-                        rawScore += 1.0;
+                    if (questionEntity.isPresent()) {
+                        boolean correct = userAnswer.equals(questionEntity.get().getCorrectAnswer());
+                        if (correct) {
+                            correctAnswers++;
+                            rawScore += 1.0;
+                        }
+                        responses.add(new AnswerService.Response(questionId, sectionId, userAnswer, correct));
                     }
                 }
             }
@@ -346,7 +396,7 @@ public class UserAssessmentService {
             scoreDetails.put("percentageScore", percentageScore);
             
             // Add RIASEC agree counts if this is an interest section
-            if (sectionType.equals("INTEREST") && !riasecAgreeResponses.isEmpty()) {
+            if (sectionType.equals(plan.interestType()) && !riasecAgreeResponses.isEmpty()) {
                 scoreDetails.put("riasecAgreeResponses", riasecAgreeResponses);
             }
             
@@ -356,60 +406,6 @@ public class UserAssessmentService {
         return sectionScores;
     }
     
-    /**
-     * Calculate overall assessment score with weights for different section types
-     */
-    private double calculateOverallScore(Map<String, Map<String, Object>> sectionScores) {
-        // Define weights for different section types (INTEREST removed)
-        Map<String, Double> typeWeights = new HashMap<>();
-        typeWeights.put("GSA", 0.40);       // 40% weight for GSA
-        typeWeights.put("ACADEMIC", 0.30);  // 30% weight for Academic Track
-        typeWeights.put("OTHER", 0.15);     // 15% weight for Other Track
-        // INTEREST section is not included in the overall score
-
-        // Group section scores by type, excluding INTEREST
-        Map<String, List<Double>> scoresByType = new HashMap<>();
-
-        for (Map.Entry<String, Map<String, Object>> entry : sectionScores.entrySet()) {
-            String sectionType = (String) entry.getValue().get("sectionType");
-            if ("INTEREST".equals(sectionType)) continue; // skip INTEREST
-            double score = (double) entry.getValue().get("percentageScore");
-            scoresByType.computeIfAbsent(sectionType, k -> new ArrayList<>()).add(score);
-        }
-
-        // Calculate weighted average for each type
-        double weightedTotal = 0.0;
-        double totalWeight = 0.0;
-
-        for (Map.Entry<String, List<Double>> entry : scoresByType.entrySet()) {
-            String type = entry.getKey();
-            List<Double> scores = entry.getValue();
-            double typeAverage = scores.stream().mapToDouble(Double::doubleValue).average().orElse(0);
-            double weight = typeWeights.getOrDefault(type, 0.0);
-            weightedTotal += typeAverage * weight;
-            totalWeight += weight;
-        }
-
-        // Calculate final weighted average
-        return totalWeight > 0 ? weightedTotal / totalWeight : 0;
-    }
-    
-    /**
-     * Determine section type based on section ID
-     */
-    private String getSectionType(String sectionId) {
-        if (sectionId.startsWith("gsa-")) {
-            return "GSA";
-        } else if (sectionId.startsWith("at-")) {
-            return "ACADEMIC";
-        } else if (sectionId.startsWith("track-")) {
-            return "OTHER";
-        } else if (sectionId.startsWith("interest-")) {
-            return "INTEREST";
-        }
-        return "UNKNOWN";
-    }
-    
     /**
      * Create section result entities for detailed scoring
      */
@@ -436,185 +432,29 @@ public class UserAssessmentService {
     }
     
     /**
-     * Create overall assessment result with detailed subsection scores
+     * Create overall assessment result from the scored columns
      */
     private void createOverallAssessmentResult(
             UserAssessmentEntity userAssessment, 
             Map<String, Map<String, Object>> sectionScores,
-            double overallScore) {
+            double[] scores) {
         
-        // Initialize result entity
         AssessmentResultEntity result = new AssessmentResultEntity();
         result.setUserAssessment(userAssessment);
-        result.setOverallScore(overallScore);
         result.setDateComputed(LocalDateTime.now());
         
-        // Fix: Set normalized score - this field is required by the database
-        result.setNormalizedScore(overallScore); // Set same as overall score or calculate if needed
-        
-        // Fix: Ensure all required numeric fields are initialized to prevent null values
-        // Initialize all scores to 0.0 to prevent null database errors
-        result.setGsaScore(0.0);
-        result.setAcademicTrackScore(0.0);
-        result.setOtherTrackScore(0.0);
-        result.setInterestAreaScore(0.0);
-        result.setScientificAbilityScore(0.0);
-        result.setReadingComprehensionScore(0.0);
-        result.setVerbalAbilityScore(0.0);
-        result.setMathematicalAbilityScore(0.0);
-        result.setLogicalReasoningScore(0.0);
-        result.setStemScore(0.0);
-        result.setAbmScore(0.0);
-        result.setHumssScore(0.0);
-        result.setTvlScore(0.0);
-        result.setSportsTrackScore(0.0);
-        result.setArtsDesignTrackScore(0.0);
-        result.setRealisticScore(0.0);
-        result.setInvestigativeScore(0.0);
-        result.setArtisticScore(0.0);
-        result.setSocialScore(0.0);
-        result.setEnterprisingScore(0.0);
-        result.setConventionalScore(0.0);
-        
-        // Map to hold scores by section ID for easy lookup
-        Map<String, Double> scoreBySection = new HashMap<>();
-        for (Map.Entry<String, Map<String, Object>> entry : sectionScores.entrySet()) {
-            String sectionId = entry.getKey();
-            double score = (double) entry.getValue().get("percentageScore");
-            scoreBySection.put(sectionId, score);
+        // Every column is set, 0 for sections the attempt did not take, so none are null in the database
+        for (ScoreDimension dimension : ScoreDimension.values()) {
+            dimension.assign(result, scores[dimension.ordinal()]);
         }
-        
-        // Set GSA scores
-        double gsaTotal = 0;
-        int gsaCount = 0;
-        
-        if (scoreBySection.containsKey("gsa-scientific")) {
-            result.setScientificAbilityScore(scoreBySection.get("gsa-scientific"));
-            gsaTotal += scoreBySection.get("gsa-scientific");
-            gsaCount++;
-        }
-        
-        if (scoreBySection.containsKey("gsa-reading")) {
-            result.setReadingComprehensionScore(scoreBySection.get("gsa-reading"));
-            gsaTotal += scoreBySection.get("gsa-reading");
-            gsaCount++;
-        }
-        
-        if (scoreBySection.containsKey("gsa-verbal")) {
-            result.setVerbalAbilityScore(scoreBySection.get("gsa-verbal"));
-            gsaTotal += scoreBySection.get("gsa-verbal");
-            gsaCount++;
-        }
-        
-        if (scoreBySection.containsKey("gsa-math")) {
-            result.setMathematicalAbilityScore(scoreBySection.get("gsa-math"));
-            gsaTotal += scoreBySection.get("gsa-math");
-            gsaCount++;
-        }
-        
-        if (scoreBySection.containsKey("gsa-logical")) {
-            result.setLogicalReasoningScore(scoreBySection.get("gsa-logical"));
-            gsaTotal += scoreBySection.get("gsa-logical");
-            gsaCount++;
-        }
-        
-        if (gsaCount > 0) {
-            result.setGsaScore(gsaTotal / gsaCount);
-        }
-        
-        // Set Academic Track scores
-        double atTotal = 0;
-        int atCount = 0;
-        
-        if (scoreBySection.containsKey("at-stem")) {
-            result.setStemScore(scoreBySection.get("at-stem"));
-            atTotal += scoreBySection.get("at-stem");
-            atCount++;
-        }
-        
-        if (scoreBySection.containsKey("at-abm")) {
-            result.setAbmScore(scoreBySection.get("at-abm"));
-            atTotal += scoreBySection.get("at-abm");
-            atCount++;
-        }
-        
-        if (scoreBySection.containsKey("at-humss")) {
-            result.setHumssScore(scoreBySection.get("at-humss"));
-            atTotal += scoreBySection.get("at-humss");
-            atCount++;
-        }
-        
-        if (atCount > 0) {
-            result.setAcademicTrackScore(atTotal / atCount);
-        }
-        
-        // Set Other Track scores
-        double otTotal = 0;
-        int otCount = 0;
-        
-        if (scoreBySection.containsKey("track-tech")) {
-            result.setTvlScore(scoreBySection.get("track-tech"));
-            otTotal += scoreBySection.get("track-tech");
-            otCount++;
-        }
-        
-        if (scoreBySection.containsKey("track-sports")) {
-            result.setSportsTrackScore(scoreBySection.get("track-sports"));
-            otTotal += scoreBySection.get("track-sports");
-            otCount++;
-        }
-        
-        if (scoreBySection.containsKey("track-arts")) {
-            result.setArtsDesignTrackScore(scoreBySection.get("track-arts"));
-            otTotal += scoreBySection.get("track-arts");
-            otCount++;
-        }
-        
-        if (otCount > 0) {
-            result.setOtherTrackScore(otTotal / otCount);
-        }
-        
-        // Extract RIASEC scores from interest sections
-        Map<String, Integer> combinedRiasecAgreeResponses = new HashMap<>();
-        
-        // Collect all RIASEC agree responses from interest sections
-        for (Map.Entry<String, Map<String, Object>> entry : sectionScores.entrySet()) {
-            String sectionType = (String) entry.getValue().get("sectionType");
-            if ("INTEREST".equals(sectionType)) {
-                @SuppressWarnings("unchecked")
-                Map<String, Integer> riasecAgreeResponses = 
-                    (Map<String, Integer>) entry.getValue().get("riasecAgreeResponses");
-                
-                if (riasecAgreeResponses != null) {
-                    // Combine counts from different sections
-                    for (Map.Entry<String, Integer> countEntry : riasecAgreeResponses.entrySet()) {
-                        String riasecType = countEntry.getKey();
-                        Integer count = countEntry.getValue();
-                        combinedRiasecAgreeResponses.put(riasecType, 
-                            combinedRiasecAgreeResponses.getOrDefault(riasecType, 0) + count);
-                    }
-                }
-            }
-        }
-        
-        // Set RIASEC scores - each subsection score is simply the count of "agree" responses
-        // (out of 7 possible statements for each RIASEC type)
-        result.setRealisticScore((double) combinedRiasecAgreeResponses.getOrDefault("realistic", 0));
-        result.setInvestigativeScore((double) combinedRiasecAgreeResponses.getOrDefault("investigative", 0));
-        result.setArtisticScore((double) combinedRiasecAgreeResponses.getOrDefault("artistic", 0));
-        result.setSocialScore((double) combinedRiasecAgreeResponses.getOrDefault("social", 0));
-        result.setEnterprisingScore((double) combinedRiasecAgreeResponses.getOrDefault("enterprising", 0));
-        result.setConventionalScore((double) combinedRiasecAgreeResponses.getOrDefault("conventional", 0));
-        
-        // Calculate total RIASEC score as a percentage of total possible points
-        // (assuming 7 questions per type × 6 types = 42 total possible points)
-        int totalAgreeCount = combinedRiasecAgreeResponses.values().stream().mapToInt(Integer::intValue).sum();
-        double maxPossibleScore = 42.0; // 7 questions × 6 RIASEC types
-        double riasecPercentageScore = (totalAgreeCount / maxPossibleScore) * 100;
-        result.setInterestAreaScore(riasecPercentageScore);
+        result.setNormalizedScore(result.getOverallScore());
         
         // Save the assessment result
         assessmentResultRepository.save(result);
+        
+        // Add it to the score norms and the cohort matrix once the submission commits
+        normsService.record(result, sectionScores.keySet());
+        scoreMatrix.record(result, sectionScores.keySet());
     }
     
     /**
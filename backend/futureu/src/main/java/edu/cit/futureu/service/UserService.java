@@ -4,9 +4,13 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import edu.cit.futureu.dto.CursorPage;
+import edu.cit.futureu.dto.UserSummary;
 import edu.cit.futureu.entity.UserEntity;
 import edu.cit.futureu.repository.UserRepository;
 
@@ -19,6 +23,9 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private SchoolRatingService schoolRatingService;
+    
     // Create operations
     public UserEntity createUser(UserEntity user) {
         // Encrypt the password before saving, but only if it's not already encrypted
@@ -33,6 +40,19 @@ public class UserService {
         return userRepository.findAll();
     }
     
+    // Keyset page of user summaries, ordered by id ("id") or newest first ("-id")
+    public CursorPage<UserSummary> getUserPage(String cursor, Integer limit, String sort) {
+        int pageSize = CursorPage.clampLimit(limit);
+        boolean descending = CursorPage.isDescending(sort);
+        int key = CursorPage.decodeIdCursor(cursor, descending);
+        PageRequest firstRows = PageRequest.of(0, pageSize + 1);
+        List<UserSummary> rows = descending
+                ? userRepository.findSummariesBefore(key, firstRows)
+                : userRepository.findSummariesAfter(key, firstRows);
+        return CursorPage.of(rows, pageSize, descending ? CursorPage.SORT_ID_DESC : CursorPage.SORT_ID_ASC,
+                row -> String.valueOf(row.getUserId()));
+    }
+    
     public Optional<UserEntity> getUserById(int id) {
         return userRepository.findById(id);
     }
@@ -63,8 +83,11 @@ public class UserService {
     }
     
     // Delete operations
+    @Transactional
     public boolean deleteUser(int id) {
         if (userRepository.existsById(id)) {
+            // The user's testimonies are removed by cascade, so take their ratings out first
+            schoolRatingService.removeRatingsByStudent(id);
             userRepository.deleteById(id);
             return true;
         }
@@ -1,12 +1,22 @@
 package edu.cit.futureu.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+
 import edu.cit.futureu.entity.VirtualCampusToursEntity;
 import edu.cit.futureu.entity.SchoolEntity;
 import edu.cit.futureu.repository.VirtualCampusToursRepository;
+import jakarta.annotation.PreDestroy;
 
 @Service
 public class VirtualCampusToursService {
@@ -14,10 +24,24 @@ public class VirtualCampusToursService {
     @Autowired
     private VirtualCampusToursRepository virtualCampusTourRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TrendingToursService trendingToursService;
+
+    @Autowired
+    private SchoolDetailService schoolDetailService;
+
     private static final int FEATURED_THRESHOLD = 1000;
 
+    // Views recorded since the last flush, one striped counter per tour id
+    private final Map<Integer, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
     public VirtualCampusToursEntity createTour(VirtualCampusToursEntity tour) {
-        return virtualCampusTourRepository.save(tour);
+        VirtualCampusToursEntity saved = virtualCampusTourRepository.save(tour);
+        schoolDetailService.evictAll();
+        return saved;
     }
 
     public List<VirtualCampusToursEntity> getAllTours() {
@@ -33,26 +57,97 @@ public class VirtualCampusToursService {
     }
 
     public VirtualCampusToursEntity updateTour(VirtualCampusToursEntity tour) {
-        return virtualCampusTourRepository.save(tour);
+        VirtualCampusToursEntity saved = virtualCampusTourRepository.save(tour);
+        schoolDetailService.evictAll();
+        return saved;
     }
 
     public void deleteTour(int id) {
         virtualCampusTourRepository.deleteById(id);
+        schoolDetailService.evictAll();
+        pendingViews.remove(id);
+        trendingToursService.forget(id);
     }
 
-    // Increment views and auto-feature if threshold is reached
-    public Optional<VirtualCampusToursEntity> incrementViews(int id) {
-        Optional<VirtualCampusToursEntity> tourOpt = virtualCampusTourRepository.findById(id);
-        if (tourOpt.isPresent()) {
-            VirtualCampusToursEntity tour = tourOpt.get();
-            tour.setViews(tour.getViews() + 1);
-            if (tour.getViews() >= FEATURED_THRESHOLD) {
-                tour.setFeatured(true);
+    // Count a view in memory only; flushViews writes it to the database later
+    public void recordView(int id) {
+        pendingViews.computeIfAbsent(id, k -> new LongAdder()).increment();
+        trendingToursService.recordView(id);
+    }
+
+    // Views recorded for a tour that have not been flushed yet
+    public long getPendingViews(int id) {
+        LongAdder adder = pendingViews.get(id);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     * Write pending views with one batch of atomic increments, then auto-feature tours that reached the threshold.
+     * Counters stay in the map so concurrent increments are never lost; ids with no matching row are dropped.
+     */
+    @Scheduled(fixedDelayString = "${futureu.tours.viewFlushMs:5000}")
+    @PreDestroy
+    public synchronized int flushViews() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Integer, LongAdder> entry : pendingViews.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                batch.add(new Object[] { delta, entry.getKey() });
             }
-            virtualCampusTourRepository.save(tour);
-            return Optional.of(tour);
         }
-        return Optional.empty();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        int[] updated;
+        try {
+            updated = jdbcTemplate.batchUpdate(
+                    "UPDATE virtual_campus_tour SET views = views + ? WHERE virtual_campus_tour_id = ?", batch);
+        } catch (RuntimeException e) {
+            // Put the counts back so the next flush retries them
+            for (Object[] row : batch) {
+                pendingViews.computeIfAbsent((Integer) row[1], k -> new LongAdder()).add((Long) row[0]);
+            }
+            throw e;
+        }
+
+        List<Integer> flushedIds = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Integer id = (Integer) batch.get(i)[1];
+            if (updated[i] == 0) {
+                // Tour does not exist
+                pendingViews.remove(id);
+                trendingToursService.forget(id);
+            } else {
+                flushedIds.add(id);
+            }
+        }
+
+        // Auto-feature check, only for tours whose count just changed
+        if (!flushedIds.isEmpty()) {
+            String ids = flushedIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+            jdbcTemplate.update("UPDATE virtual_campus_tour SET featured = true "
+                    + "WHERE featured = false AND views >= ? AND virtual_campus_tour_id IN (" + ids + ")",
+                    FEATURED_THRESHOLD);
+        }
+        return flushedIds.size();
+    }
+
+    /**
+     * The k tours with the highest decayed view score, best first
+     */
+    public List<VirtualCampusToursEntity> getTrendingTours(int k) {
+        List<Integer> ranked = new ArrayList<>(trendingToursService.getTopK(k).keySet());
+        Map<Integer, VirtualCampusToursEntity> byId = virtualCampusTourRepository.findAllById(ranked).stream()
+                .collect(Collectors.toMap(VirtualCampusToursEntity::getVirtualCampusTourId, t -> t));
+        List<VirtualCampusToursEntity> tours = new ArrayList<>();
+        for (Integer id : ranked) {
+            VirtualCampusToursEntity tour = byId.get(id);
+            if (tour != null) {
+                tours.add(tour);
+            }
+        }
+        return tours;
     }
 
     // Admin manual override for featured status
@@ -62,8 +157,9 @@ public class VirtualCampusToursService {
             VirtualCampusToursEntity tour = tourOpt.get();
             tour.setFeatured(featured);
             virtualCampusTourRepository.save(tour);
+            schoolDetailService.evictAll();
             return Optional.of(tour);
         }
         return Optional.empty();
     }
-}
\ No newline at end of file
+}
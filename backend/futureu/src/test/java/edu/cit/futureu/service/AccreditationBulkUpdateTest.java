@@ -0,0 +1,132 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import edu.cit.futureu.dto.SchoolProgramSelection;
+import edu.cit.futureu.entity.AccreditationEntity;
+import edu.cit.futureu.entity.ProgramEntity;
+import edu.cit.futureu.entity.SchoolEntity;
+import edu.cit.futureu.entity.SchoolProgramEntity;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Bulk accreditation assign / detach run as single UPDATE statements and report the affected row counts.
+ */
+@JpaServiceTest
+@Import({AccreditationService.class, SchoolDetailService.class})
+public class AccreditationBulkUpdateTest {
+
+    private static final int PROGRAMS = 50;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AccreditationService accreditationService;
+
+    private SchoolEntity school;
+    private SchoolEntity otherSchool;
+    private ProgramEntity nursing;
+    private AccreditationEntity accreditation;
+    private final List<Integer> schoolProgramIds = new ArrayList<>();
+
+    private SchoolEntity school(String name) {
+        SchoolEntity s = new SchoolEntity();
+        s.setName(name);
+        entityManager.persist(s);
+        return s;
+    }
+
+    private ProgramEntity program(String name) {
+        ProgramEntity p = new ProgramEntity();
+        p.setProgramName(name);
+        entityManager.persist(p);
+        return p;
+    }
+
+    private SchoolProgramEntity offer(SchoolEntity s, ProgramEntity p) {
+        SchoolProgramEntity sp = new SchoolProgramEntity();
+        sp.setSchool(s);
+        sp.setProgram(p);
+        entityManager.persist(sp);
+        return sp;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        school = school("Cebu Institute of Technology");
+        otherSchool = school("University of San Carlos");
+        nursing = program("BS Nursing");
+        for (int i = 0; i < PROGRAMS; i++) {
+            schoolProgramIds.add(offer(school, program("Program " + i)).getSchoolProgramId());
+        }
+        offer(school, nursing);
+        offer(otherSchool, nursing);
+
+        accreditation = new AccreditationEntity();
+        accreditation.setTitle("Level III");
+        accreditation.setSchool(school);
+        entityManager.persist(accreditation);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Statistics statistics() {
+        Statistics stats = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        return stats;
+    }
+
+    private long accredited() {
+        return entityManager.createQuery(
+                "SELECT COUNT(sp) FROM SchoolProgramEntity sp WHERE sp.accreditation.accredId = :id", Long.class)
+                .setParameter("id", accreditation.getAccredId()).getSingleResult();
+    }
+
+    @Test
+    public void testAssignBySchoolIsOneStatement() {
+        Statistics stats = statistics();
+        Optional<Integer> updated = accreditationService.assignToSchoolPrograms(accreditation.getAccredId(),
+                new SchoolProgramSelection(school.getSchoolId(), null, null));
+
+        assertEquals(Optional.of(PROGRAMS + 1), updated);
+        // existsById plus the UPDATE, independent of how many programs the school offers
+        assertTrue(stats.getPrepareStatementCount() <= 2, "statements: " + stats.getPrepareStatementCount());
+        assertEquals(PROGRAMS + 1, accredited());
+    }
+
+    @Test
+    public void testFiltersAndDetach() {
+        int accredId = accreditation.getAccredId();
+        // A program across schools
+        assertEquals(Optional.of(2), accreditationService.assignToSchoolPrograms(accredId,
+                new SchoolProgramSelection(null, nursing.getProgramId(), null)));
+        // Explicit ids, narrowed to a school: the other school's row is not among them anyway
+        assertEquals(Optional.of(3), accreditationService.assignToSchoolPrograms(accredId,
+                new SchoolProgramSelection(school.getSchoolId(), null, schoolProgramIds.subList(0, 3))));
+        assertEquals(5, accredited());
+
+        assertEquals(Optional.of(1), accreditationService.detachFromSchoolPrograms(accredId,
+                new SchoolProgramSelection(otherSchool.getSchoolId(), null, null)));
+        assertEquals(4, accredited());
+
+        assertTrue(accreditationService.deleteAccreditation(accredId));
+        assertEquals(0, accredited());
+
+        assertEquals(Optional.empty(), accreditationService.detachFromSchoolPrograms(accredId,
+                new SchoolProgramSelection(school.getSchoolId(), null, null)));
+        assertThrows(IllegalArgumentException.class, () -> accreditationService.assignToSchoolPrograms(accredId,
+                new SchoolProgramSelection()));
+    }
+}
@@ -0,0 +1,153 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import edu.cit.futureu.entity.AssessmentCategoryEntity;
+import edu.cit.futureu.entity.AssessmentEntity;
+import edu.cit.futureu.entity.AssessmentSubCategoryEntity;
+import edu.cit.futureu.entity.ChoiceEntity;
+import edu.cit.futureu.entity.QuestionEntity;
+import edu.cit.futureu.entity.Role;
+import edu.cit.futureu.entity.UserAssessmentEntity;
+import edu.cit.futureu.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Submitting an assessment writes one answer row per answered question, tied to the attempt, with the
+ * correctness the scorer decided on.
+ */
+@JpaServiceTest
+@Import({UserAssessmentService.class, AnswerService.class, ChoiceService.class, ItemStatsService.class,
+        NormsService.class, ScoreMatrix.class, ScoringPlanService.class,
+        JacksonAutoConfiguration.class})
+public class AnswerRecordingTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserAssessmentService userAssessmentService;
+
+    private UserEntity student;
+    private AssessmentEntity assessment;
+    private int multipleChoiceId;
+    private int rightChoiceId;
+    private int wrongChoiceId;
+    private int trueFalseId;
+    private int likertId;
+
+    @BeforeEach
+    public void setUp() {
+        student = new UserEntity();
+        student.setEmail("student@example.com");
+        student.setRole(Role.STUDENT);
+        entityManager.persist(student);
+
+        assessment = new AssessmentEntity();
+        assessment.setTitle("Career Assessment");
+        entityManager.persist(assessment);
+
+        AssessmentCategoryEntity category = new AssessmentCategoryEntity();
+        category.setCategoryName("GSA");
+        category.setAssessment(assessment);
+        entityManager.persist(category);
+
+        AssessmentSubCategoryEntity sub = new AssessmentSubCategoryEntity();
+        sub.setSubCategoryName("Mathematics");
+        sub.setAssessmentCategory(category);
+        entityManager.persist(sub);
+
+        QuestionEntity multipleChoice = question(sub, "2 + 2 = ?", "Multiple Choice", null);
+        multipleChoiceId = multipleChoice.getQuestionId();
+        rightChoiceId = choice(multipleChoice, "4", true);
+        wrongChoiceId = choice(multipleChoice, "5", false);
+        trueFalseId = question(sub, "The earth is round", "True/False", "True").getQuestionId();
+        likertId = question(sub, "I like building things", "Likert", null).getQuestionId();
+        entityManager.flush();
+    }
+
+    private QuestionEntity question(AssessmentSubCategoryEntity sub, String text, String type, String correctAnswer) {
+        QuestionEntity question = new QuestionEntity();
+        question.setAssessmentSubCategory(sub);
+        question.setQuestionText(text);
+        question.setQuestionType(type);
+        question.setCorrectAnswer(correctAnswer);
+        entityManager.persist(question);
+        return question;
+    }
+
+    private int choice(QuestionEntity question, String text, boolean correct) {
+        ChoiceEntity choice = new ChoiceEntity();
+        choice.setQuestion(question);
+        choice.setChoiceText(text);
+        choice.setCorrect(correct);
+        entityManager.persist(choice);
+        return choice.getChoiceId();
+    }
+
+    private static Map<String, Object> answer(int questionId, Object value) {
+        return Map.of("questionId", questionId, "answer", value);
+    }
+
+    private String sectionsJson() {
+        return "[{\"id\":\"gsa-math\",\"title\":\"Math\",\"questions\":["
+                + "{\"questionId\":" + multipleChoiceId + ",\"questionType\":\"Multiple Choice\"},"
+                + "{\"questionId\":" + trueFalseId + ",\"questionType\":\"True/False\"},"
+                + "{\"questionId\":999999,\"questionType\":\"True/False\"}]},"
+                + "{\"id\":\"interest-r\",\"title\":\"Interests\",\"questions\":["
+                + "{\"questionId\":" + likertId + ",\"questionType\":\"Likert\",\"riasecType\":\"R\"}]}]";
+    }
+
+    @Test
+    public void testSubmissionWritesOneRowPerAnsweredQuestion() throws JsonProcessingException {
+        UserAssessmentEntity attempt = userAssessmentService.submitAndScoreAssessment(student, assessment,
+                List.of(answer(multipleChoiceId, rightChoiceId), answer(trueFalseId, "False"), answer(likertId, "agree")),
+                sectionsJson(), 120, null);
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT question_id, user_id, selected_option, is_correct, answered_at FROM answer "
+                        + "WHERE user_assessment_id = ? ORDER BY question_id", attempt.getUserQuizAssessment());
+        assertEquals(3, rows.size());
+        assertEquals(String.valueOf(rightChoiceId), rows.get(0).get("SELECTED_OPTION"));
+        assertEquals(true, rows.get(0).get("IS_CORRECT"));
+        assertEquals(false, rows.get(1).get("IS_CORRECT"));
+        assertEquals(true, rows.get(2).get("IS_CORRECT"));
+        assertEquals(student.getUserId(), rows.get(0).get("USER_ID"));
+        assertNotNull(rows.get(0).get("ANSWERED_AT"));
+
+        // Per-question aggregation straight from the answer table
+        Map<String, Object> pValue = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS n, SUM(CASE WHEN is_correct THEN 1 ELSE 0 END) AS correct FROM answer "
+                        + "WHERE question_id = ?", trueFalseId);
+        assertEquals(1L, ((Number) pValue.get("N")).longValue());
+        assertEquals(0L, ((Number) pValue.get("CORRECT")).longValue());
+    }
+
+    @Test
+    public void testSecondAttemptKeepsFirstAttemptsAnswers() throws JsonProcessingException {
+        userAssessmentService.submitAndScoreAssessment(student, assessment,
+                List.of(answer(multipleChoiceId, wrongChoiceId)), sectionsJson(), 60, null);
+        UserAssessmentEntity second = userAssessmentService.submitAndScoreAssessment(student, assessment,
+                List.of(answer(multipleChoiceId, rightChoiceId), answer(trueFalseId, "True")), sectionsJson(), 60, null);
+
+        assertEquals(2, second.getAttemptNo());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM answer", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM answer WHERE question_id = ? AND is_correct", Integer.class, multipleChoiceId));
+    }
+}
@@ -0,0 +1,246 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.cit.futureu.entity.AssessmentCategoryEntity;
+import edu.cit.futureu.entity.AssessmentEntity;
+import edu.cit.futureu.entity.AssessmentSubCategoryEntity;
+import edu.cit.futureu.entity.QuizSubCategoryCategoryEntity;
+import edu.cit.futureu.repository.AssessmentCategoryRepository;
+import edu.cit.futureu.repository.AssessmentRepository;
+import edu.cit.futureu.repository.AssessmentSubCategoryRepository;
+import edu.cit.futureu.repository.QuizSubCategoryCategoryRepository;
+
+/**
+ * Streaming import: row validation against the category tree, per-row errors with line numbers, batches
+ * committed as they go, and (tagged benchmark) the throughput of a large question bank.
+ * Not transactional, so the per-batch commits are real; every test clears the tables it writes.
+ */
+@JpaServiceTest(properties = "futureu.import.batchSize=500")
+@Import({BulkImportService.class, CatalogGraphService.class, CareerFacetService.class, TypeaheadService.class,
+        SchoolGeoService.class, SearchIndexService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BulkImportServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportServiceTest.class);
+
+    private static final int BENCHMARK_QUESTIONS = 100_000;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private AssessmentCategoryRepository categoryRepository;
+
+    @Autowired
+    private AssessmentSubCategoryRepository subCategoryRepository;
+
+    @Autowired
+    private QuizSubCategoryCategoryRepository quizSubCategoryRepository;
+
+    private int categoryId;
+    private int subCategoryId;
+    private int otherSubCategoryId;
+    private int quizSubCategoryId;
+
+    private final List<String> progress = new ArrayList<>();
+    private final List<Long> errorLines = new ArrayList<>();
+
+    private final BulkImportService.Listener listener = new BulkImportService.Listener() {
+        @Override
+        public void onProgress(BulkImportService.Report report) {
+            progress.add(report.getImported() + "/" + report.getFailed());
+        }
+
+        @Override
+        public void onError(long line, String message) {
+            errorLines.add(line);
+        }
+    };
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("DELETE FROM choice");
+        jdbcTemplate.update("DELETE FROM question");
+        jdbcTemplate.update("DELETE FROM career");
+        jdbcTemplate.update("DELETE FROM school");
+
+        AssessmentEntity assessment = new AssessmentEntity();
+        assessment.setTitle("Career Assessment");
+        assessment = assessmentRepository.save(assessment);
+
+        AssessmentCategoryEntity category = new AssessmentCategoryEntity();
+        category.setCategoryName("Academic");
+        category.setAssessment(assessment);
+        category = categoryRepository.save(category);
+        categoryId = category.getAssessmentCategoryId();
+
+        AssessmentSubCategoryEntity sub = new AssessmentSubCategoryEntity();
+        sub.setSubCategoryName("Mathematics");
+        sub.setAssessmentCategory(category);
+        sub = subCategoryRepository.save(sub);
+        subCategoryId = sub.getAssessmentSubCategoryId();
+
+        AssessmentSubCategoryEntity other = new AssessmentSubCategoryEntity();
+        other.setSubCategoryName("Science");
+        other.setAssessmentCategory(category);
+        otherSubCategoryId = subCategoryRepository.save(other).getAssessmentSubCategoryId();
+
+        QuizSubCategoryCategoryEntity quiz = new QuizSubCategoryCategoryEntity();
+        quiz.setQuizSubCategoryCategoryName("Algebra");
+        quiz.setAssesssmentSubCategory(sub);
+        quizSubCategoryId = quizSubCategoryRepository.save(quiz).getQuizSubCategoryCategoryId();
+    }
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    @Test
+    public void testNdjsonQuestionsWithRowErrors() throws IOException {
+        String ndjson = String.join("\n",
+                "{\"questionText\":\"2 + 2 = ?\",\"assessmentSubCategoryId\":" + subCategoryId
+                        + ",\"quizSubCategoryCategoryId\":" + quizSubCategoryId
+                        + ",\"correctAnswer\":\"4\",\"choices\":[\"3\",\"4\",\"5\"]}",
+                "",
+                "{\"questionText\":\"Unknown sub-category\",\"assessmentSubCategoryId\":999999}",
+                "{not json",
+                "{\"questionText\":\"Wrong quiz parent\",\"assessmentSubCategoryId\":" + otherSubCategoryId
+                        + ",\"quizSubCategoryCategoryId\":" + quizSubCategoryId + "}",
+                "{\"questionText\":\"H2O is\",\"assessmentCategoryId\":" + categoryId + ",\"assessmentSubCategoryId\":"
+                        + otherSubCategoryId + ",\"choices\":[{\"choiceText\":\"Water\",\"isCorrect\":true},"
+                        + "{\"choiceText\":\"Salt\"}]}");
+
+        BulkImportService.Report report = bulkImportService.importRows(BulkImportService.TYPE_QUESTIONS,
+                BulkImportService.FORMAT_NDJSON, body(ndjson), listener);
+
+        assertEquals(2, report.getImported());
+        assertEquals(3, report.getFailed());
+        assertEquals(List.of(3L, 4L, 5L), errorLines);
+        assertEquals(5, report.getChoices());
+        assertEquals(2, count("question"));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM choice WHERE is_correct", Integer.class));
+        // The category is filled in from the sub-category when the row leaves it out
+        assertEquals(categoryId, jdbcTemplate.queryForObject(
+                "SELECT assessment_category_id FROM question WHERE question_text = '2 + 2 = ?'", Integer.class));
+    }
+
+    @Test
+    public void testOversizedLinesAreRowErrors() throws IOException {
+        String row = "{\"questionText\":\"Kept\",\"assessmentSubCategoryId\":" + subCategoryId + "}";
+        String huge = "{\"questionText\":\"" + "x".repeat(BulkImportService.MAX_RECORD_CHARS) + "\"}";
+        BulkImportService.Report report = bulkImportService.importRows(BulkImportService.TYPE_QUESTIONS,
+                BulkImportService.FORMAT_NDJSON, body(row + "\n" + huge + "\r\n" + row + "\n"), listener);
+        assertEquals(2, report.getImported());
+        assertEquals(List.of(2L), errorLines);
+
+        errorLines.clear();
+        String careers = "careerTitle,industry\n" + "y".repeat(BulkImportService.MAX_RECORD_CHARS + 1) + ",Tech\n"
+                + "Nurse,Healthcare\n";
+        report = bulkImportService.importRows(BulkImportService.TYPE_CAREERS, BulkImportService.FORMAT_CSV,
+                body(careers), listener);
+        assertEquals(1, report.getImported());
+        assertEquals(List.of(2L), errorLines);
+    }
+
+    @Test
+    public void testMalformedCsvHeaderEndsTheImport() throws IOException {
+        // An unterminated quote swallows the rest of the input, an oversized header is reported before any row
+        String unterminated = "careerTitle,\"industry\nNurse,Healthcare\n";
+        String oversized = "careerTitle," + "z".repeat(BulkImportService.MAX_RECORD_CHARS) + "\nNurse,Healthcare\n";
+        for (String careers : List.of(unterminated, oversized)) {
+            errorLines.clear();
+            BulkImportService.Report report = bulkImportService.importRows(BulkImportService.TYPE_CAREERS,
+                    BulkImportService.FORMAT_CSV, body(careers), listener);
+            assertEquals(0, report.getImported());
+            assertEquals(1, report.getFailed());
+            assertEquals(List.of(1L), errorLines);
+        }
+        assertEquals(0, count("career"));
+    }
+
+    @Test
+    public void testCsvCareersAndSchools() throws IOException {
+        String careers = "careerTitle,salary,industry\n"
+                + "Software Engineer,\"30,000 - 50,000\",Technology\n"
+                + "\"Nurse, Registered\",25000,Healthcare\n"
+                + ",40000,Finance\n";
+        BulkImportService.Report report = bulkImportService.importRows(BulkImportService.TYPE_CAREERS,
+                BulkImportService.FORMAT_CSV, body(careers), listener);
+        assertEquals(2, report.getImported());
+        assertEquals(List.of(4L), errorLines);
+        // Salary text is parsed on the way in, as for careers saved through the API
+        assertEquals(50000, jdbcTemplate.queryForObject(
+                "SELECT salary_max FROM career WHERE career_title = 'Software Engineer'", Integer.class));
+
+        String schools = "name,location,latitude,longitude,description\n"
+                + "Cebu Institute of Technology,Cebu City,10.2945,123.8811,\"Multi-line\n\"\"quoted\"\" text\"\n"
+                + "Nowhere U,,95,0,\n";
+        report = bulkImportService.importRows(BulkImportService.TYPE_SCHOOLS,
+                BulkImportService.FORMAT_CSV, body(schools), listener);
+        assertEquals(1, report.getImported());
+        assertEquals(List.of(4L, 4L), errorLines);
+        assertEquals("Multi-line\n\"quoted\" text", jdbcTemplate.queryForObject(
+                "SELECT description FROM school", String.class));
+    }
+
+    private static InputStream questions(int count, int subCategoryId) {
+        StringBuilder ndjson = new StringBuilder(count * 160);
+        for (int i = 0; i < count; i++) {
+            ndjson.append("{\"questionText\":\"Question ").append(i).append("\",\"assessmentSubCategoryId\":")
+                    .append(subCategoryId).append(",\"correctAnswer\":\"B\",\"choices\":[\"A\",\"B\",\"C\",\"D\"]}\n");
+        }
+        return body(ndjson.toString());
+    }
+
+    @Test
+    public void testBatchesReportProgress() throws IOException {
+        BulkImportService.Report report = bulkImportService.importRows(BulkImportService.TYPE_QUESTIONS,
+                BulkImportService.FORMAT_NDJSON, questions(1_250, subCategoryId), listener);
+
+        assertEquals(1_250, report.getImported());
+        assertEquals(1_250 * 4L, count("choice"));
+        // One progress event per committed batch of 500, the last one partial
+        assertEquals(List.of("500/0", "1000/0", "1250/0"), progress);
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void benchmarkLargeQuestionBank() throws IOException {
+        InputStream ndjson = questions(BENCHMARK_QUESTIONS, subCategoryId);
+        long start = System.nanoTime();
+        BulkImportService.Report report = bulkImportService.importRows(BulkImportService.TYPE_QUESTIONS,
+                BulkImportService.FORMAT_NDJSON, ndjson, listener);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Imported {} questions with {} choices in {} ms", report.getImported(), report.getChoices(),
+                elapsedMs);
+    }
+}
@@ -0,0 +1,123 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import edu.cit.futureu.dto.CursorPage;
+import edu.cit.futureu.entity.CareerEntity;
+import edu.cit.futureu.entity.CareerProgramEntity;
+import edu.cit.futureu.entity.ProgramEntity;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Combined facet filtering: OR within a facet, AND across facets, counts under the other facets' selections.
+ */
+@JpaServiceTest
+@Import(CareerFacetService.class)
+public class CareerFacetServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CareerFacetService careerFacetService;
+
+    private ProgramEntity computing;
+    private ProgramEntity nursing;
+
+    private CareerEntity career(String title, String industry, String jobTrend, ProgramEntity... programs) {
+        CareerEntity career = new CareerEntity();
+        career.setCareerTitle(title);
+        career.setIndustry(industry);
+        career.setJobTrend(jobTrend);
+        entityManager.persist(career);
+        for (ProgramEntity program : programs) {
+            CareerProgramEntity link = new CareerProgramEntity();
+            link.setCareer(career);
+            link.setProgram(program);
+            entityManager.persist(link);
+        }
+        return career;
+    }
+
+    private ProgramEntity program(String name) {
+        ProgramEntity program = new ProgramEntity();
+        program.setProgramName(name);
+        entityManager.persist(program);
+        return program;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        computing = program("BS Computer Science");
+        nursing = program("BS Nursing");
+        career("Software Engineer", "Technology", "Growing", computing);
+        career("Data Analyst", "Technology", "Stable", computing);
+        career("Registered Nurse", "Healthcare", "Growing", nursing);
+        career("Health Informatics Specialist", "Healthcare", "Growing", computing, nursing);
+        career("Accountant", "Finance", "Stable");
+        entityManager.flush();
+        careerFacetService.invalidate();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Integer> counts(Map<String, Object> result, String facet) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Map<String, Object> entry : (List<Map<String, Object>>) ((Map<String, Object>) result.get("facets")).get(facet)) {
+            counts.put((String) entry.get("value"), (Integer) entry.get("count"));
+        }
+        return counts;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> titles(Map<String, Object> result) {
+        CursorPage<Map<String, Object>> page = (CursorPage<Map<String, Object>>) result.get("page");
+        return page.getItems().stream().map(c -> (String) c.get("careerTitle")).toList();
+    }
+
+    @Test
+    public void testCombinedFilterAndDisjunctiveCounts() {
+        Map<String, List<String>> selections = new HashMap<>();
+        selections.put(CareerFacetService.FACET_INDUSTRY, List.of("technology", "Healthcare"));
+        selections.put(CareerFacetService.FACET_JOB_TREND, List.of("Growing"));
+        Map<String, Object> result = careerFacetService.filter(selections, null, null);
+
+        assertEquals(3, result.get("total"));
+        assertEquals(List.of("Software Engineer", "Registered Nurse", "Health Informatics Specialist"), titles(result));
+
+        // Industry counts ignore the industry selection but honour jobTrend = Growing
+        assertEquals(Map.of("Technology", 1, "Healthcare", 2), counts(result, CareerFacetService.FACET_INDUSTRY));
+        // Job trend counts honour the industry selection only
+        assertEquals(Map.of("Growing", 3, "Stable", 1), counts(result, CareerFacetService.FACET_JOB_TREND));
+        assertEquals(Map.of(String.valueOf(computing.getProgramId()), 2, String.valueOf(nursing.getProgramId()), 2),
+                counts(result, CareerFacetService.FACET_PROGRAM));
+    }
+
+    @Test
+    public void testProgramFacetAndPaging() {
+        Map<String, List<String>> selections = new HashMap<>();
+        selections.put(CareerFacetService.FACET_PROGRAM, List.of(String.valueOf(computing.getProgramId())));
+        Map<String, Object> first = careerFacetService.filter(selections, null, 2);
+
+        assertEquals(3, first.get("total"));
+        assertEquals(List.of("Software Engineer", "Data Analyst"), titles(first));
+        String cursor = ((CursorPage<?>) first.get("page")).getNextCursor();
+        assertNotNull(cursor);
+
+        Map<String, Object> second = careerFacetService.filter(selections, cursor, 2);
+        assertEquals(List.of("Health Informatics Specialist"), titles(second));
+        assertFalse(((CursorPage<?>) second.get("page")).isHasMore());
+
+        // Unknown values match nothing rather than being ignored
+        selections.put(CareerFacetService.FACET_INDUSTRY, List.of("Aerospace"));
+        assertEquals(0, careerFacetService.filter(selections, null, null).get("total"));
+    }
+}
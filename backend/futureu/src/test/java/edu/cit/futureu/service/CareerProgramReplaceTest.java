@@ -0,0 +1,109 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import edu.cit.futureu.entity.CareerEntity;
+import edu.cit.futureu.entity.CareerProgramEntity;
+import edu.cit.futureu.entity.ProgramEntity;
+import edu.cit.futureu.repository.CareerProgramRepository;
+import jakarta.persistence.EntityManager;
+
+/**
+ * PUT /api/career/{id}/programs: the diff against current links is applied in one transaction and one
+ * catalog change is published per call that changed anything.
+ */
+@JpaServiceTest
+@Import({CareerProgramService.class, CareerService.class, ProgramService.class, SchoolDetailService.class})
+@RecordApplicationEvents
+public class CareerProgramReplaceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CareerProgramService careerProgramService;
+
+    @Autowired
+    private CareerProgramRepository careerProgramRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private CareerEntity career;
+    private int[] programIds;
+
+    @BeforeEach
+    public void setUp() {
+        career = new CareerEntity();
+        career.setCareerTitle("Software Engineer");
+        entityManager.persist(career);
+        programIds = new int[5];
+        for (int i = 0; i < programIds.length; i++) {
+            ProgramEntity program = new ProgramEntity();
+            program.setProgramName("Program " + i);
+            entityManager.persist(program);
+            programIds[i] = program.getProgramId();
+            if (i < 3) {
+                CareerProgramEntity link = new CareerProgramEntity();
+                link.setCareer(career);
+                link.setProgram(program);
+                entityManager.persist(link);
+            }
+        }
+        entityManager.flush();
+        events.clear();
+    }
+
+    private List<CatalogChangedEvent> published() {
+        return events.stream(CatalogChangedEvent.class).toList();
+    }
+
+    private Set<Integer> linked() {
+        return new TreeSet<>(careerProgramRepository.findProgramIdsByCareerId(career.getCareerId()));
+    }
+
+    @Test
+    public void testAppliesDiffAndPublishesOnce() {
+        // Links 0, 1, 2 become 1, 3, 4
+        Map<String, Object> result = careerProgramService.replaceProgramsForCareer(career.getCareerId(),
+                List.of(programIds[1], programIds[3], programIds[4], programIds[4])).orElseThrow();
+
+        assertEquals(2, result.get("added"));
+        assertEquals(2, result.get("removed"));
+        assertEquals(Set.of(programIds[1], programIds[3], programIds[4]), linked());
+        assertEquals(List.of(CatalogChangedEvent.changed(CatalogChangedEvent.Kind.CAREER_PROGRAM)), published());
+
+        // Same set again: nothing to do, nothing published
+        events.clear();
+        result = careerProgramService.replaceProgramsForCareer(career.getCareerId(),
+                List.of(programIds[4], programIds[3], programIds[1])).orElseThrow();
+        assertEquals(0, result.get("added"));
+        assertEquals(0, result.get("removed"));
+        assertTrue(published().isEmpty());
+
+        // Empty set clears every link
+        careerProgramService.replaceProgramsForCareer(career.getCareerId(), List.of()).orElseThrow();
+        assertTrue(linked().isEmpty());
+    }
+
+    @Test
+    public void testRejectsUnknownProgramsWithoutChanges() {
+        assertThrows(IllegalArgumentException.class, () -> careerProgramService.replaceProgramsForCareer(
+                career.getCareerId(), List.of(programIds[0], 987654)));
+        assertEquals(Set.of(programIds[0], programIds[1], programIds[2]), linked());
+        assertTrue(published().isEmpty());
+        assertTrue(careerProgramService.replaceProgramsForCareer(987654, List.of()).isEmpty());
+    }
+}
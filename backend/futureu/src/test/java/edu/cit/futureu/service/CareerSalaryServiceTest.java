@@ -0,0 +1,121 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import edu.cit.futureu.dto.CareerSalaryView;
+import edu.cit.futureu.dto.CursorPage;
+import edu.cit.futureu.entity.CareerEntity;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Salary text parsing, the startup backfill, and overlap queries over the parsed monthly ranges.
+ */
+@JpaServiceTest(properties = "futureu.career.salaryBackfillBatch=2")
+@Import(CareerSalaryService.class)
+public class CareerSalaryServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CareerSalaryService careerSalaryService;
+
+    // Saved the way rows written before the parsed columns existed look: text only
+    private void career(String title, String salary) {
+        CareerEntity career = new CareerEntity();
+        career.setCareerTitle(title);
+        career.setSalary(salary);
+        entityManager.persist(career);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        career("Junior Developer", "25000");
+        career("Nurse", "₱30,000 - ₱50,000 per month");
+        career("Data Scientist", "PHP 40k-60k/mo");
+        career("Architect", "Up to 720,000 a year");
+        career("Pilot", "100000+");
+        career("Remote Engineer", "$3,000 - $5,000 monthly");
+        career("Volunteer", "Varies");
+        entityManager.flush();
+        careerSalaryService.backfill();
+        entityManager.clear();
+    }
+
+    private static List<String> titles(CursorPage<CareerSalaryView> page) {
+        return page.getItems().stream().map(CareerSalaryView::getCareerTitle).toList();
+    }
+
+    @Test
+    public void testParse() {
+        SalaryParser.Salary range = SalaryParser.parse("₱30,000 - ₱50,000 per month");
+        assertEquals(0, new BigDecimal("30000").compareTo(range.getMin()));
+        assertEquals(0, new BigDecimal("50000").compareTo(range.getMax()));
+        assertEquals("PHP", range.getCurrency());
+
+        SalaryParser.Salary borrowed = SalaryParser.parse("40-60k");
+        assertEquals(0, new BigDecimal("40000").compareTo(borrowed.getMin()));
+
+        SalaryParser.Salary yearly = SalaryParser.parse("Up to $90,000 a year");
+        assertEquals(0, BigDecimal.ZERO.compareTo(yearly.getMin()));
+        assertEquals(0, new BigDecimal("7500").compareTo(yearly.getMax()));
+        assertEquals("USD", yearly.getCurrency());
+        assertEquals(SalaryParser.PERIOD_YEAR, yearly.getPeriod());
+
+        assertNull(SalaryParser.parse("100000+").getMax());
+        assertNull(SalaryParser.parse("Over 70,000").getMax());
+        assertNull(SalaryParser.parse("Competitive"));
+
+        // "over" inside "Government" does not make the amount open-ended
+        SalaryParser.Salary government = SalaryParser.parse("Government rate: 20,000 - 30,000");
+        assertEquals(0, new BigDecimal("30000").compareTo(government.getMax()));
+        SalaryParser.Salary fixed = SalaryParser.parse("Government rate: 25,000");
+        assertEquals(0, new BigDecimal("25000").compareTo(fixed.getMin()));
+        assertEquals(0, new BigDecimal("25000").compareTo(fixed.getMax()));
+    }
+
+    @Test
+    public void testBackfilledRangeOverlap() {
+        CursorPage<CareerSalaryView> page = careerSalaryService.getCareersBySalaryRange(
+                new BigDecimal("45000"), new BigDecimal("70000"), null, null, null, null);
+        // Nurse tops out at 50k and Architect at 60k a month; Pilot starts above 70k, USD and unparsed rows are excluded
+        assertEquals(List.of("Nurse", "Data Scientist", "Architect"), titles(page));
+
+        CursorPage<CareerSalaryView> openEnded = careerSalaryService.getCareersBySalaryRange(
+                new BigDecimal("150000"), null, null, null, null, null);
+        assertEquals(List.of("Pilot"), titles(openEnded));
+
+        CursorPage<CareerSalaryView> usd = careerSalaryService.getCareersBySalaryRange(
+                null, null, "usd", null, null, null);
+        assertEquals(List.of("Remote Engineer"), titles(usd));
+    }
+
+    @Test
+    public void testSortedBySalaryWithCursor() {
+        CursorPage<CareerSalaryView> first = careerSalaryService.getCareersBySalaryRange(
+                null, null, null, CareerSalaryService.SORT_SALARY_DESC, null, 2);
+        assertEquals(List.of("Pilot", "Data Scientist"), titles(first));
+        assertTrue(first.isHasMore());
+
+        CursorPage<CareerSalaryView> second = careerSalaryService.getCareersBySalaryRange(
+                null, null, null, CareerSalaryService.SORT_SALARY_DESC, first.getNextCursor(), 2);
+        assertEquals(List.of("Nurse", "Junior Developer"), titles(second));
+
+        CursorPage<CareerSalaryView> ascending = careerSalaryService.getCareersBySalaryRange(
+                null, null, null, CareerSalaryService.SORT_SALARY_ASC, null, null);
+        assertEquals(List.of("Architect", "Junior Developer", "Nurse", "Data Scientist", "Pilot"), titles(ascending));
+
+        assertThrows(IllegalArgumentException.class, () -> careerSalaryService.getCareersBySalaryRange(
+                new BigDecimal("10"), new BigDecimal("5"), null, null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> careerSalaryService.getCareersBySalaryRange(
+                null, null, null, CareerSalaryService.SORT_SALARY_ASC, "oops", null));
+    }
+}
@@ -0,0 +1,266 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import edu.cit.futureu.controller.CareerController;
+import edu.cit.futureu.controller.ProgramController;
+import edu.cit.futureu.entity.CareerEntity;
+import edu.cit.futureu.entity.CareerProgramEntity;
+import edu.cit.futureu.entity.ProgramEntity;
+import edu.cit.futureu.entity.SchoolEntity;
+import edu.cit.futureu.entity.SchoolProgramEntity;
+import edu.cit.futureu.repository.CareerProgramRepository;
+import edu.cit.futureu.repository.CareerRepository;
+import edu.cit.futureu.repository.ProgramRepository;
+import edu.cit.futureu.repository.SchoolProgramRepository;
+import edu.cit.futureu.repository.SchoolRepository;
+
+/**
+ * The in-memory catalog graph: its CSR adjacencies hold exactly the repository edges, it is rebuilt once a
+ * catalog change commits, and GET /api/career/{id}/schools and GET /api/program/{id}/careers answer from it.
+ * Not transactional, so catalog changes really commit; every test clears the tables it writes.
+ */
+@JpaServiceTest
+@Import({CatalogGraphService.class, CareerProgramService.class, CareerService.class, ProgramService.class,
+        SchoolDetailService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CatalogGraphServiceTest {
+
+    private static final int CAREERS = 12;
+    private static final int PROGRAMS = 20;
+    private static final int SCHOOLS = 8;
+
+    @Autowired
+    private CatalogGraphService catalogGraphService;
+
+    @Autowired
+    private CareerProgramService careerProgramService;
+
+    @Autowired
+    private ProgramService programService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CareerRepository careerRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private CareerProgramRepository careerProgramRepository;
+
+    @Autowired
+    private SchoolProgramRepository schoolProgramRepository;
+
+    private final List<CareerEntity> careers = new ArrayList<>();
+    private final List<ProgramEntity> programs = new ArrayList<>();
+    private final List<SchoolEntity> schools = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("DELETE FROM career_program");
+        jdbcTemplate.update("DELETE FROM school_program");
+        jdbcTemplate.update("DELETE FROM career");
+        jdbcTemplate.update("DELETE FROM program");
+        jdbcTemplate.update("DELETE FROM school");
+        catalogGraphService.invalidate();
+
+        for (int i = 0; i < CAREERS; i++) {
+            CareerEntity career = new CareerEntity();
+            career.setCareerTitle("Career " + i);
+            career.setIndustry(i % 2 == 0 ? "Technology" : "Healthcare");
+            careers.add(careerRepository.save(career));
+        }
+        for (int i = 0; i < PROGRAMS; i++) {
+            ProgramEntity program = new ProgramEntity();
+            program.setProgramName("Program " + i);
+            programs.add(programRepository.save(program));
+        }
+        for (int i = 0; i < SCHOOLS; i++) {
+            SchoolEntity school = new SchoolEntity();
+            school.setName("School " + i);
+            school.setLocation("City " + i);
+            schools.add(schoolRepository.save(school));
+        }
+
+        // Each career leads to a few random programs and each school offers a few; the last program has neither
+        Random random = new Random(5);
+        for (CareerEntity career : careers) {
+            for (int p : random.ints(0, PROGRAMS - 1).distinct().limit(1 + random.nextInt(4)).toArray()) {
+                CareerProgramEntity link = new CareerProgramEntity();
+                link.setCareer(career);
+                link.setProgram(programs.get(p));
+                careerProgramRepository.save(link);
+            }
+        }
+        for (SchoolEntity school : schools) {
+            for (int p : random.ints(0, PROGRAMS - 1).distinct().limit(2 + random.nextInt(6)).toArray()) {
+                SchoolProgramEntity offering = new SchoolProgramEntity();
+                offering.setSchool(school);
+                offering.setProgram(programs.get(p));
+                schoolProgramRepository.save(offering);
+            }
+        }
+    }
+
+    private static Map<Integer, Set<Integer>> byFirst(List<Object[]> edges, boolean reversed) {
+        Map<Integer, Set<Integer>> neighbours = new HashMap<>();
+        for (Object[] edge : edges) {
+            Integer from = (Integer) edge[reversed ? 1 : 0];
+            Integer to = (Integer) edge[reversed ? 0 : 1];
+            neighbours.computeIfAbsent(from, k -> new TreeSet<>()).add(to);
+        }
+        return neighbours;
+    }
+
+    // Ids of one node's neighbours, each listed once
+    private static Set<Integer> neighbours(CatalogGraphService.Adjacency adjacency, int node, int[] targetIds) {
+        Set<Integer> ids = new TreeSet<>();
+        for (int e = adjacency.offsets[node]; e < adjacency.offsets[node + 1]; e++) {
+            assertTrue(ids.add(targetIds[adjacency.targets[e]]), "duplicate edge from node " + node);
+        }
+        return ids;
+    }
+
+    private static void assertAdjacency(Map<Integer, Set<Integer>> expected, CatalogGraphService.Adjacency adjacency,
+            int[] fromIds, int[] toIds) {
+        assertEquals(fromIds.length + 1, adjacency.offsets.length);
+        for (int i = 0; i < fromIds.length; i++) {
+            assertEquals(expected.getOrDefault(fromIds[i], Set.of()), neighbours(adjacency, i, toIds),
+                    "neighbours of " + fromIds[i]);
+        }
+    }
+
+    @Test
+    public void testAdjacencyMatchesRepositoryEdges() {
+        List<Object[]> careerPrograms = new ArrayList<>(careerProgramRepository.findAllEdges());
+        List<Object[]> schoolPrograms = schoolProgramRepository.findAllEdges();
+        Map<Integer, Set<Integer>> careerToPrograms = byFirst(careerPrograms, false);
+        Map<Integer, Set<Integer>> programToCareers = byFirst(careerPrograms, true);
+        // An edge to a row that is not a node, as when a link commits between the two reads, is left out
+        careerPrograms.add(new Object[] { careers.get(0).getCareerId(), -1 });
+
+        CatalogGraphService.Graph graph = new CatalogGraphService.Graph(1, careerRepository.findGraphNodes(),
+                programRepository.findGraphNodes(), schoolRepository.findGraphNodes(), careerPrograms,
+                schoolPrograms);
+
+        assertEquals(CAREERS, graph.careerIds.length);
+        assertAdjacency(careerToPrograms, graph.careerToPrograms, graph.careerIds, graph.programIds);
+        assertAdjacency(programToCareers, graph.programToCareers, graph.programIds, graph.careerIds);
+        assertAdjacency(byFirst(schoolPrograms, false), graph.schoolToPrograms, graph.schoolIds, graph.programIds);
+        assertAdjacency(byFirst(schoolPrograms, true), graph.programToSchools, graph.programIds, graph.schoolIds);
+        assertEquals(careerPrograms.size() - 1, graph.careerToPrograms.targets.length);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEndpointsAnswerFromTheGraph() {
+        Map<Integer, Set<Integer>> careerToPrograms = byFirst(careerProgramRepository.findAllEdges(), false);
+        Map<Integer, Set<Integer>> programToCareers = byFirst(careerProgramRepository.findAllEdges(), true);
+        Map<Integer, Set<Integer>> programToSchools = byFirst(schoolProgramRepository.findAllEdges(), true);
+
+        CareerController careerController = new CareerController();
+        ReflectionTestUtils.setField(careerController, "catalogGraphService", catalogGraphService);
+        ProgramController programController = new ProgramController();
+        ReflectionTestUtils.setField(programController, "catalogGraphService", catalogGraphService);
+
+        for (CareerEntity career : careers) {
+            // Every school offering a program the career leads to, listing those programs
+            Map<Integer, Set<Integer>> expected = new HashMap<>();
+            for (int programId : careerToPrograms.getOrDefault(career.getCareerId(), Set.of())) {
+                for (int schoolId : programToSchools.getOrDefault(programId, Set.of())) {
+                    expected.computeIfAbsent(schoolId, k -> new TreeSet<>()).add(programId);
+                }
+            }
+            ResponseEntity<?> response = careerController.getSchoolsForCareer(career.getCareerId());
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            Map<Integer, Set<Integer>> actual = new HashMap<>();
+            for (Map<String, Object> school : (List<Map<String, Object>>) response.getBody()) {
+                Set<Integer> offered = new TreeSet<>();
+                for (Map<String, Object> program : (List<Map<String, Object>>) school.get("programs")) {
+                    offered.add((Integer) program.get("programId"));
+                }
+                assertNull(actual.put((Integer) school.get("schoolId"), offered));
+            }
+            assertEquals(expected, actual, "schools for " + career.getCareerTitle());
+        }
+
+        for (ProgramEntity program : programs) {
+            ResponseEntity<?> response = programController.getCareersForProgram(program.getProgramId());
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            Set<Integer> actual = new TreeSet<>();
+            for (Map<String, Object> career : (List<Map<String, Object>>) response.getBody()) {
+                actual.add((Integer) career.get("careerId"));
+            }
+            assertEquals(programToCareers.getOrDefault(program.getProgramId(), Set.of()), actual);
+        }
+
+        assertEquals(HttpStatus.NOT_FOUND, careerController.getSchoolsForCareer(987654).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, programController.getCareersForProgram(987654).getStatusCode());
+    }
+
+    private Set<Integer> careerIdsFor(int programId) {
+        Set<Integer> ids = new TreeSet<>();
+        for (Map<String, Object> career : catalogGraphService.getCareersForProgram(programId).orElseThrow()) {
+            ids.add((Integer) career.get("careerId"));
+        }
+        return ids;
+    }
+
+    @Test
+    public void testRebuildsOnceTheChangeCommits() {
+        // The program no career or school links to
+        int programId = programs.get(PROGRAMS - 1).getProgramId();
+        int careerId = careers.get(0).getCareerId();
+        assertTrue(careerIdsFor(programId).isEmpty());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            careerProgramService.associateCareerWithProgram(careerId, programId);
+            // Not committed yet, so the graph still answers from the committed links
+            assertTrue(careerIdsFor(programId).isEmpty());
+        });
+        assertEquals(Set.of(careerId), careerIdsFor(programId));
+
+        // A rolled back change leaves the graph as it was
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            careerProgramService.deleteAssociation(careerId, programId);
+            status.setRollbackOnly();
+        });
+        assertEquals(Set.of(careerId), careerIdsFor(programId));
+
+        // Outside a transaction the change is picked up straight away
+        ProgramEntity program = new ProgramEntity();
+        program.setProgramName("Program added later");
+        int addedId = programService.createProgram(program).getProgramId();
+        assertTrue(careerIdsFor(addedId).isEmpty());
+    }
+}
@@ -0,0 +1,264 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import edu.cit.futureu.entity.AssessmentCategoryEntity;
+import edu.cit.futureu.entity.AssessmentEntity;
+import edu.cit.futureu.entity.AssessmentSubCategoryEntity;
+import edu.cit.futureu.entity.ChoiceEntity;
+import edu.cit.futureu.entity.QuestionEntity;
+import edu.cit.futureu.repository.AssessmentCategoryRepository;
+import edu.cit.futureu.repository.AssessmentRepository;
+import edu.cit.futureu.repository.AssessmentSubCategoryRepository;
+import edu.cit.futureu.repository.ChoiceRepository;
+import edu.cit.futureu.repository.QuestionRepository;
+import edu.cit.futureu.repository.QuestionStatsRepository;
+
+/**
+ * Item statistics: the online accumulators match the batch formulas, worst-item listings rank by them,
+ * rolled back submissions are not counted and the persisted snapshot restores the same numbers.
+ * Not transactional, so statistics are applied when each submission commits.
+ */
+@JpaServiceTest(properties = "futureu.items.minExposures=50")
+@Import({ItemStatsService.class, ChoiceService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ItemStatsServiceTest {
+
+    private static final int STUDENTS = 200;
+    private static final String SECTION = "gsa-math";
+    private static final ScoringPlan PLAN = ScoringPlan.compile(ScoringPlan.DEFAULT_SECTION_TYPES, 7);
+
+    @Autowired
+    private ItemStatsService itemStatsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private AssessmentCategoryRepository categoryRepository;
+
+    @Autowired
+    private AssessmentSubCategoryRepository subCategoryRepository;
+
+    @Autowired
+    private QuestionRepository questionRepository;
+
+    @Autowired
+    private ChoiceRepository choiceRepository;
+
+    @Autowired
+    private QuestionStatsRepository questionStatsRepository;
+
+    @Autowired
+    private ChoiceService choiceService;
+
+    private AssessmentSubCategoryEntity subCategory;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("DELETE FROM question_stats");
+        jdbcTemplate.update("DELETE FROM choice");
+        jdbcTemplate.update("DELETE FROM question");
+        itemStatsService.loadStats();
+
+        AssessmentEntity assessment = new AssessmentEntity();
+        assessment.setTitle("Career Assessment");
+        assessment = assessmentRepository.save(assessment);
+        AssessmentCategoryEntity category = new AssessmentCategoryEntity();
+        category.setCategoryName("GSA");
+        category.setAssessment(assessment);
+        category = categoryRepository.save(category);
+        subCategory = new AssessmentSubCategoryEntity();
+        subCategory.setSubCategoryName("Mathematics");
+        subCategory.setAssessmentCategory(category);
+        subCategory = subCategoryRepository.save(subCategory);
+    }
+
+    private int question(String text) {
+        QuestionEntity question = new QuestionEntity();
+        question.setAssessmentSubCategory(subCategory);
+        question.setQuestionText(text);
+        question.setQuestionType("Multiple Choice");
+        return questionRepository.save(question).getQuestionId();
+    }
+
+    private int choice(int questionId, String text, boolean correct) {
+        ChoiceEntity choice = new ChoiceEntity();
+        choice.setQuestion(questionRepository.findById(questionId).orElseThrow());
+        choice.setChoiceText(text);
+        choice.setCorrect(correct);
+        return choiceRepository.save(choice).getChoiceId();
+    }
+
+    private void submit(double sectionScore, AnswerService.Response... responses) {
+        Map<String, Map<String, Object>> sections = Map.of(SECTION,
+                Map.<String, Object>of("sectionType", "GSA", "percentageScore", sectionScore));
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> itemStatsService.record(PLAN, List.of(responses), sections));
+    }
+
+    private static AnswerService.Response response(int questionId, Object option, boolean correct) {
+        return new AnswerService.Response(questionId, SECTION, String.valueOf(option), correct);
+    }
+
+    private static double pearson(List<double[]> pairs) {
+        double meanX = pairs.stream().mapToDouble(p -> p[0]).average().orElse(0);
+        double meanY = pairs.stream().mapToDouble(p -> p[1]).average().orElse(0);
+        double sxy = 0;
+        double sxx = 0;
+        double syy = 0;
+        for (double[] p : pairs) {
+            sxy += (p[0] - meanX) * (p[1] - meanY);
+            sxx += (p[0] - meanX) * (p[0] - meanX);
+            syy += (p[1] - meanY) * (p[1] - meanY);
+        }
+        return sxy / Math.sqrt(sxx * syy);
+    }
+
+    @Test
+    public void testStatisticsMatchBatchFormulasAndRankItems() {
+        int discriminating = question("Discriminating");
+        int right = choice(discriminating, "Right", true);
+        int wrong = choice(discriminating, "Wrong", false);
+        int flat = question("Coin flip");
+        int easy = question("Everyone knows this");
+
+        List<double[]> discriminatingPairs = new ArrayList<>();
+        List<double[]> flatPairs = new ArrayList<>();
+        int easyCorrect = 0;
+        for (int i = 0; i < STUDENTS; i++) {
+            double score = (i * 37) % 101;
+            // Strong students mostly get it right, with a few upsets either way
+            boolean d = score > 50 ? i % 10 != 0 : i % 10 == 0;
+            boolean f = i % 2 == 0;
+            boolean e = i % 25 != 0;
+            discriminatingPairs.add(new double[] { d ? 1 : 0, score });
+            flatPairs.add(new double[] { f ? 1 : 0, score });
+            easyCorrect += e ? 1 : 0;
+            submit(score, response(discriminating, d ? right : wrong, d), response(flat, f ? "A" : "B", f),
+                    response(easy, "A", e));
+        }
+
+        Map<String, Object> stats = itemStatsService.getItemStats(discriminating).orElseThrow();
+        assertEquals((long) STUDENTS, stats.get("exposures"));
+        double expectedP = discriminatingPairs.stream().mapToDouble(p -> p[0]).average().orElse(0);
+        assertEquals(expectedP, (double) stats.get("pValue"), 1e-12);
+        assertEquals(pearson(discriminatingPairs), (double) stats.get("discrimination"), 1e-9);
+        assertTrue((double) stats.get("discrimination") > 0.5);
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> choices = (List<Map<String, Object>>) stats.get("choices");
+        assertEquals(2, choices.size());
+        double frequencies = choices.stream().mapToDouble(c -> (double) c.get("frequency")).sum();
+        assertEquals(1.0, frequencies, 1e-12);
+        assertTrue(choices.stream().anyMatch(c -> "Right".equals(c.get("choiceText")) && Boolean.TRUE.equals(c.get("isCorrect"))));
+
+        assertEquals(pearson(flatPairs), (double) itemStatsService.getItemStats(flat).orElseThrow().get("discrimination"), 1e-9);
+        Map<String, Object> easyStats = itemStatsService.getItemStats(easy).orElseThrow();
+        assertEquals((double) easyCorrect / STUDENTS, (double) easyStats.get("pValue"), 1e-12);
+        assertTrue(((List<?>) easyStats.get("flags")).contains(ItemStatsService.FLAG_TOO_EASY));
+
+        List<Map<String, Object>> worst = itemStatsService.getWorstItems(null, null, 2);
+        assertEquals(2, worst.size());
+        assertNotEquals(discriminating, worst.get(0).get("questionId"));
+        assertNotEquals(discriminating, worst.get(1).get("questionId"));
+        assertEquals(easy, itemStatsService.getWorstItems(ItemStatsService.SORT_EASY, null, 1).get(0).get("questionId"));
+        assertEquals(discriminating, itemStatsService.getWorstItems(ItemStatsService.SORT_HARD, null, 1).get(0).get("questionId"));
+        assertTrue(itemStatsService.getWorstItems(null, STUDENTS + 1, null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> itemStatsService.getWorstItems("random", null, null));
+    }
+
+    @Test
+    public void testRolledBackSubmissionIsNotCounted() {
+        int questionId = question("Rolled back");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            itemStatsService.record(PLAN, List.of(response(questionId, "A", true)),
+                    Map.of(SECTION, Map.<String, Object>of("sectionType", "GSA", "percentageScore", 80.0)));
+            status.setRollbackOnly();
+        });
+        assertTrue(itemStatsService.getItemStats(questionId).isEmpty());
+
+        // Interest sections are not right or wrong and are left out, whatever the interest type is named
+        itemStatsService.record(PLAN, List.of(new AnswerService.Response(questionId, "interest-r", "agree", true)),
+                Map.of("interest-r", Map.<String, Object>of("sectionType", "INTEREST", "percentageScore", 100.0)));
+        itemStatsService.record(ScoringPlan.compile("GSA:gsa-:1,RIASEC:interest-:0", 7),
+                List.of(new AnswerService.Response(questionId, "interest-r", "agree", true)),
+                Map.of("interest-r", Map.<String, Object>of("sectionType", "RIASEC", "percentageScore", 100.0)));
+        assertTrue(itemStatsService.getItemStats(questionId).isEmpty());
+    }
+
+    @Test
+    public void testPersistedSnapshotRestoresStatistics() {
+        int questionId = question("Persisted");
+        for (int i = 0; i < 60; i++) {
+            submit(i, response(questionId, i % 3, i % 3 == 0));
+        }
+        itemStatsService.persistStats();
+        assertEquals(60L, questionStatsRepository.findById(questionId).orElseThrow().getExposures());
+
+        // A fresh instance, as after a restart, with one response recorded before the snapshot loads
+        ItemStatsService restarted = new ItemStatsService();
+        ReflectionTestUtils.setField(restarted, "questionStatsRepository", questionStatsRepository);
+        ReflectionTestUtils.setField(restarted, "questionRepository", questionRepository);
+        ReflectionTestUtils.setField(restarted, "choiceService", choiceService);
+        ReflectionTestUtils.setField(restarted, "minExposures", 50);
+        restarted.record(PLAN, List.of(response(questionId, 0, true)),
+                Map.of(SECTION, Map.<String, Object>of("sectionType", "GSA", "percentageScore", 60.0)));
+        restarted.loadStats();
+
+        submit(60, response(questionId, 0, true));
+        Map<String, Object> expected = itemStatsService.getItemStats(questionId).orElseThrow();
+        Map<String, Object> actual = restarted.getItemStats(questionId).orElseThrow();
+        assertEquals(61L, actual.get("exposures"));
+        assertEquals((double) expected.get("pValue"), (double) actual.get("pValue"), 1e-12);
+        assertEquals((double) expected.get("discrimination"), (double) actual.get("discrimination"), 1e-9);
+        assertEquals((double) expected.get("sdSectionScore"), (double) actual.get("sdSectionScore"), 1e-9);
+    }
+
+    @Test
+    public void testFailedPersistIsRetried() {
+        int questionId = question("Retried");
+        submit(50, response(questionId, 0, true));
+
+        QuestionStatsRepository failing = mock(QuestionStatsRepository.class, delegatesTo(questionStatsRepository));
+        doThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .doAnswer(invocation -> questionStatsRepository.saveAll(invocation.getArgument(0)))
+                .when(failing).saveAll(anyIterable());
+        ReflectionTestUtils.setField(itemStatsService, "questionStatsRepository", failing);
+        try {
+            assertThrows(DataAccessResourceFailureException.class, itemStatsService::persistStats);
+            assertTrue(questionStatsRepository.findById(questionId).isEmpty());
+
+            // Nothing new was answered, but the failed write is still pending
+            itemStatsService.persistStats();
+            assertEquals(1L, questionStatsRepository.findById(questionId).orElseThrow().getExposures());
+        } finally {
+            ReflectionTestUtils.setField(itemStatsService, "questionStatsRepository", questionStatsRepository);
+        }
+    }
+}
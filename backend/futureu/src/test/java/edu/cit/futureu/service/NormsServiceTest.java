@@ -0,0 +1,214 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.cit.futureu.entity.AssessmentEntity;
+import edu.cit.futureu.entity.AssessmentResultEntity;
+import edu.cit.futureu.entity.Role;
+import edu.cit.futureu.entity.UserAssessmentEntity;
+import edu.cit.futureu.entity.UserAssessmentSectionResultEntity;
+import edu.cit.futureu.entity.UserEntity;
+import edu.cit.futureu.repository.AssessmentRepository;
+import edu.cit.futureu.repository.AssessmentResultRepository;
+import edu.cit.futureu.repository.ScoreNormRepository;
+import edu.cit.futureu.repository.UserAssessmentRepository;
+import edu.cit.futureu.repository.UserAssessmentSectionResultRepository;
+import edu.cit.futureu.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Score norms: sketch accuracy against exact ranks, merging and serialization, the one-time rebuild from
+ * stored results (only counting sections an attempt took), histograms and the persisted snapshot.
+ * Not transactional, so recorded results are applied when each submission commits.
+ */
+@JpaServiceTest
+@Import({NormsService.class, ScoringPlanService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class NormsServiceTest {
+
+    private static final int SAMPLES = 100_000;
+
+    @Autowired
+    private NormsService normsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private UserAssessmentRepository userAssessmentRepository;
+
+    @Autowired
+    private AssessmentResultRepository assessmentResultRepository;
+
+    @Autowired
+    private UserAssessmentSectionResultRepository sectionResultRepository;
+
+    @Autowired
+    private ScoreNormRepository scoreNormRepository;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("DELETE FROM score_norm");
+        jdbcTemplate.update("DELETE FROM user_assessment_section_result");
+        jdbcTemplate.update("DELETE FROM assessment_result");
+        jdbcTemplate.update("DELETE FROM user_assessment");
+    }
+
+    private static double exactRank(double[] sorted, double x) {
+        int below = 0;
+        int equal = 0;
+        for (double value : sorted) {
+            if (value < x) {
+                below++;
+            } else if (value == x) {
+                equal++;
+            }
+        }
+        return (below + equal / 2.0) / sorted.length;
+    }
+
+    @Test
+    public void testDigestRanksMergeAndSerialization() {
+        Random random = new Random(42);
+        double[] values = new double[SAMPLES];
+        QuantileDigest whole = new QuantileDigest();
+        QuantileDigest left = new QuantileDigest();
+        QuantileDigest right = new QuantileDigest();
+        for (int i = 0; i < SAMPLES; i++) {
+            // Skewed, continuous scores between 0 and 100
+            values[i] = 100 * Math.pow(random.nextDouble(), 2);
+            whole.add(values[i]);
+            (i % 2 == 0 ? left : right).add(values[i]);
+        }
+        left.merge(right);
+        QuantileDigest restored = QuantileDigest.fromBase64(whole.toBase64());
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        for (double x : new double[] { 0.01, 0.5, 1, 5, 25, 50, 75, 95, 99.9 }) {
+            double exact = exactRank(sorted, x);
+            // Rank error stays well under one percentile point, tighter near the tails
+            double tolerance = 0.002 + 0.01 * Math.sqrt(exact * (1 - exact));
+            assertEquals(exact, whole.cdf(x), tolerance, "whole at " + x);
+            assertEquals(exact, left.cdf(x), tolerance, "merged at " + x);
+            assertEquals(whole.cdf(x), restored.cdf(x), 1e-12, "restored at " + x);
+        }
+        assertEquals(sorted[SAMPLES / 2], whole.quantile(0.5), 0.5);
+        assertEquals(SAMPLES, whole.count());
+        assertEquals(SAMPLES, left.count());
+        assertEquals(0, whole.cdf(-1));
+        assertEquals(1, whole.cdf(101));
+        assertEquals(SAMPLES, Arrays.stream(whole.histogram(0, 100, 10)).sum());
+
+        // Discrete scores: ties count half below, so 50 sits above 0 and 25 and half of the 50s
+        QuantileDigest discrete = new QuantileDigest();
+        for (int i = 0; i < 1000; i++) {
+            discrete.add(i % 4 * 25.0);
+        }
+        assertEquals(0.625, discrete.cdf(50.0), 0.005);
+    }
+
+    private AssessmentResultEntity storeResult(UserEntity user, AssessmentEntity assessment, double gsa, double math,
+            String... sectionIds) {
+        UserAssessmentEntity attempt = new UserAssessmentEntity();
+        attempt.setUser(user);
+        attempt.setAssessment(assessment);
+        attempt.setStatus("COMPLETED");
+        attempt = userAssessmentRepository.save(attempt);
+        for (String sectionId : sectionIds) {
+            UserAssessmentSectionResultEntity section = new UserAssessmentSectionResultEntity();
+            section.setUserAssessment(attempt);
+            section.setSectionId(sectionId);
+            sectionResultRepository.save(section);
+        }
+        AssessmentResultEntity result = new AssessmentResultEntity();
+        result.setUserAssessment(attempt);
+        result.setOverallScore(gsa);
+        result.setGsaScore(gsa);
+        result.setMathematicalAbilityScore(math);
+        result.setInterestAreaScore(0.0);
+        return assessmentResultRepository.save(result);
+    }
+
+    @Test
+    public void testRebuildFromResultsPercentilesAndSnapshot() {
+        UserEntity student = new UserEntity();
+        student.setEmail("norms@example.com");
+        student.setRole(Role.STUDENT);
+        student = userRepository.save(student);
+        AssessmentEntity assessment = new AssessmentEntity();
+        assessment.setTitle("Career Assessment");
+        assessment = assessmentRepository.save(assessment);
+
+        // 100 attempts took GSA math; 20 more took only the verbal part, with math stored as 0
+        for (int i = 0; i < 100; i++) {
+            storeResult(student, assessment, i, i, "gsa-math", "gsa-verbal");
+        }
+        for (int i = 0; i < 20; i++) {
+            storeResult(student, assessment, 50, 0.0, "gsa-verbal");
+        }
+        ReflectionTestUtils.setField(normsService, "digests", new HashMap<String, QuantileDigest>());
+        normsService.loadNorms();
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> math = (Map<String, Object>) normsService.getNorms(null, 5).get("mathematicalAbilityScore");
+        assertEquals(100L, math.get("count"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> buckets = (List<Map<String, Object>>) math.get("buckets");
+        assertEquals(5, buckets.size());
+        // Centroids near a bucket edge may count towards its neighbour
+        assertEquals(20, (long) buckets.get(0).get("count"), 1);
+        assertEquals(0.0, buckets.get(0).get("from"));
+        assertEquals(20.0, buckets.get(1).get("from"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> gsa = (Map<String, Object>) normsService.getNorms("gsaScore", null).get("gsaScore");
+        assertEquals(120L, gsa.get("count"));
+        // Interest sections were never taken, so there is nothing to rank against
+        assertEquals(0L, ((Map<?, ?>) normsService.getNorms("interestAreaScore", null).get("interestAreaScore")).get("count"));
+        assertThrows(IllegalArgumentException.class, () -> normsService.getNorms("shoeSize", null));
+
+        AssessmentResultEntity strong = new AssessmentResultEntity();
+        strong.setOverallScore(90.0);
+        strong.setGsaScore(90.0);
+        strong.setMathematicalAbilityScore(90.0);
+        Map<String, Double> ranks = normsService.getPercentileRanks(strong, List.of("gsa-math"));
+        assertEquals(90.5, ranks.get("mathematicalAbilityScore"), 1.0);
+        assertFalse(ranks.containsKey("verbalAbilityScore"));
+        assertFalse(ranks.containsKey("interestAreaScore"));
+
+        // Recording a new result moves the norms; the snapshot written afterwards restores the same ranks
+        normsService.record(strong, List.of("gsa-math"));
+        normsService.persistNorms();
+        assertEquals(101L, scoreNormRepository.findById("mathematicalAbilityScore").orElseThrow().getSampleCount());
+        Map<String, Double> before = normsService.getPercentileRanks(strong, List.of("gsa-math"));
+
+        ReflectionTestUtils.setField(normsService, "digests", new HashMap<String, QuantileDigest>());
+        entityManager.clear();
+        normsService.loadNorms();
+        assertEquals(before, normsService.getPercentileRanks(strong, List.of("gsa-math")));
+    }
+}
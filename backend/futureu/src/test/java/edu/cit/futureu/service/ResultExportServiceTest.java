@@ -0,0 +1,135 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.cit.futureu.entity.AssessmentEntity;
+import edu.cit.futureu.entity.AssessmentResultEntity;
+import edu.cit.futureu.entity.Role;
+import edu.cit.futureu.entity.UserAssessmentEntity;
+import edu.cit.futureu.entity.UserAssessmentSectionResultEntity;
+import edu.cit.futureu.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Results export: one cursor query for any number of attempts, one record per attempt with its sections
+ * folded in, and nothing left attached to the persistence context afterwards.
+ */
+@JpaServiceTest(properties = "futureu.export.fetchSize=2")
+@Import(ResultExportService.class)
+public class ResultExportServiceTest {
+
+    private static final int ATTEMPTS = 25;
+    private static final int SECTIONS = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ResultExportService resultExportService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    public void setUp() {
+        UserEntity student = new UserEntity();
+        student.setEmail("student@example.com");
+        student.setRole(Role.STUDENT);
+        entityManager.persist(student);
+
+        AssessmentEntity assessment = new AssessmentEntity();
+        assessment.setTitle("Career Assessment");
+        entityManager.persist(assessment);
+
+        for (int i = 1; i <= ATTEMPTS; i++) {
+            UserAssessmentEntity attempt = new UserAssessmentEntity();
+            attempt.setUser(student);
+            attempt.setAssessment(assessment);
+            attempt.setAttemptNo(i);
+            attempt.setDateTaken(LocalDateTime.of(2025, 1, 1, 9, 0).plusDays(i));
+            // The last attempt is still in progress: no result and no sections
+            attempt.setStatus(i == ATTEMPTS ? "IN_PROGRESS" : "COMPLETED");
+            entityManager.persist(attempt);
+            if (i == ATTEMPTS) {
+                continue;
+            }
+            AssessmentResultEntity result = new AssessmentResultEntity();
+            result.setUserAssessment(attempt);
+            result.setOverallScore(50.0 + i);
+            result.setGsaScore(70.0);
+            entityManager.persist(result);
+            for (int s = 0; s < SECTIONS; s++) {
+                UserAssessmentSectionResultEntity section = new UserAssessmentSectionResultEntity();
+                section.setUserAssessment(attempt);
+                section.setSectionId("s" + s);
+                section.setSectionName("Section, " + s);
+                section.setSectionType("GSA");
+                section.setPercentageScore(80.0);
+                entityManager.persist(section);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Statistics statistics() {
+        Statistics stats = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        return stats;
+    }
+
+    @Test
+    public void testNdjsonFoldsSectionsIntoOneRecordPerAttempt() throws IOException {
+        Statistics stats = statistics();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = resultExportService.exportResults(out, ResultExportService.FORMAT_NDJSON, null, null, null);
+
+        assertEquals(ATTEMPTS, written);
+        assertEquals(1, stats.getPrepareStatementCount(), "one cursor query, no per-row loads");
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount(),
+                "entities are detached as the export goes");
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(ATTEMPTS, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals("student@example.com", first.get("email").asText());
+        assertEquals(51.0, first.get("overallScore").asDouble());
+        assertEquals(SECTIONS, first.get("sections").size());
+        assertEquals("Section, 0", first.get("sections").get(0).get("sectionName").asText());
+        JsonNode last = objectMapper.readTree(lines.get(ATTEMPTS - 1));
+        assertTrue(last.get("resultId").isNull());
+        assertEquals(0, last.get("sections").size());
+    }
+
+    @Test
+    public void testCsvWithFilters() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = resultExportService.exportResults(out, ResultExportService.FORMAT_CSV, "COMPLETED",
+                LocalDateTime.of(2025, 1, 3, 0, 0), LocalDateTime.of(2025, 1, 6, 0, 0));
+
+        // Attempts taken on Jan 3, 4 and 5
+        assertEquals(3, written);
+        List<String> rows = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(4, rows.size());
+        assertTrue(rows.get(0).startsWith("userAssessmentId,userId,email,"));
+        assertTrue(rows.get(0).endsWith(",sections"));
+        // The sections JSON contains commas and quotes, so it is quoted with doubled quotes
+        assertTrue(rows.get(1).contains(",\"[{\"\"sectionId\"\":\"\"s0\"\",\"\"sectionName\"\":\"\"Section, 0\"\""));
+    }
+}
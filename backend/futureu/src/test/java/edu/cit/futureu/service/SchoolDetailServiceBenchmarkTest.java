@@ -0,0 +1,218 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.Callable;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.cit.futureu.dto.SchoolDetail;
+import edu.cit.futureu.entity.AccreditationEntity;
+import edu.cit.futureu.entity.ProgramEntity;
+import edu.cit.futureu.entity.Role;
+import edu.cit.futureu.entity.SchoolEntity;
+import edu.cit.futureu.entity.SchoolProgramEntity;
+import edu.cit.futureu.entity.TestimonyEntity;
+import edu.cit.futureu.entity.UserEntity;
+import edu.cit.futureu.entity.VirtualCampusToursEntity;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Compares GET /api/school/{id}/detail with the per-controller fan-out the school screens used before:
+ * getSchool, school programs by school, accreditations by school, tours by school and the school rating.
+ * Each fan-out call starts from an empty persistence context and is serialized, as a separate request would be.
+ * Statement counts are checked on every build; the timings are tagged benchmark.
+ */
+@JpaServiceTest
+@Import({SchoolDetailService.class, SchoolService.class, SchoolProgramService.class, AccreditationService.class,
+        VirtualCampusToursService.class, TrendingToursService.class, SchoolRatingService.class})
+public class SchoolDetailServiceBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchoolDetailServiceBenchmarkTest.class);
+
+    private static final int PROGRAMS = 20;
+    private static final int ACCREDITATIONS = 5;
+    private static final int TOURS = 3;
+    private static final int TESTIMONIES = 30;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SchoolDetailService schoolDetailService;
+
+    @Autowired
+    private SchoolService schoolService;
+
+    @Autowired
+    private SchoolProgramService schoolProgramService;
+
+    @Autowired
+    private AccreditationService accreditationService;
+
+    @Autowired
+    private VirtualCampusToursService virtualCampusToursService;
+
+    @Autowired
+    private SchoolRatingService schoolRatingService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Statistics statistics;
+    private int schoolId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        SchoolEntity school = new SchoolEntity();
+        school.setName("Benchmark University");
+        school.setLocation("Cebu City");
+        entityManager.persist(school);
+        schoolId = school.getSchoolId();
+
+        AccreditationEntity[] accreditations = new AccreditationEntity[ACCREDITATIONS];
+        for (int i = 0; i < ACCREDITATIONS; i++) {
+            accreditations[i] = new AccreditationEntity();
+            accreditations[i].setSchool(school);
+            accreditations[i].setTitle("Level " + i);
+            entityManager.persist(accreditations[i]);
+        }
+        for (int i = 0; i < PROGRAMS; i++) {
+            ProgramEntity program = new ProgramEntity();
+            program.setProgramName("Program " + i);
+            entityManager.persist(program);
+            SchoolProgramEntity offering = new SchoolProgramEntity();
+            offering.setSchool(school);
+            offering.setProgram(program);
+            offering.setAccreditation(accreditations[i % ACCREDITATIONS]);
+            entityManager.persist(offering);
+        }
+        for (int i = 0; i < TOURS; i++) {
+            VirtualCampusToursEntity tour = new VirtualCampusToursEntity();
+            tour.setSchool(school);
+            tour.setVirtualCampusTourUrl("https://example.com/tour/" + i);
+            entityManager.persist(tour);
+        }
+        UserEntity student = new UserEntity();
+        student.setEmail("reviewer@example.com");
+        student.setRole(Role.STUDENT);
+        entityManager.persist(student);
+        for (int i = 0; i < TESTIMONIES; i++) {
+            TestimonyEntity testimony = new TestimonyEntity();
+            testimony.setSchool(school);
+            testimony.setStudent(student);
+            testimony.setRating(1 + i % 5);
+            testimony.setDescription("Testimony " + i);
+            entityManager.persist(testimony);
+        }
+        entityManager.flush();
+        schoolRatingService.rebuildAll();
+        entityManager.flush();
+        entityManager.clear();
+        schoolDetailService.evictAll();
+    }
+
+    // One fan-out request: fresh persistence context, then serialize what the controller would return
+    private void request(Callable<Object> handler) throws Exception {
+        entityManager.clear();
+        objectMapper.writeValueAsString(handler.call());
+    }
+
+    private int fanOut() throws Exception {
+        request(() -> schoolService.getSchoolById(schoolId).orElseThrow());
+        request(() -> schoolProgramService.getSchoolProgramsBySchool(schoolService.getSchoolById(schoolId).orElseThrow()));
+        request(() -> accreditationService.getAccreditationsBySchool(schoolService.getSchoolById(schoolId).orElseThrow()));
+        request(() -> virtualCampusToursService.getToursBySchool(schoolService.getSchoolById(schoolId).orElseThrow()));
+        request(() -> schoolRatingService.getSchoolRating(schoolId).orElseThrow());
+        return 5;
+    }
+
+    private void detail() throws Exception {
+        request(() -> schoolDetailService.getSchoolDetail(schoolId).orElseThrow());
+    }
+
+    private long countStatements(Callable<?> work) throws Exception {
+        statistics.clear();
+        work.call();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private double averageMicros(Callable<?> work) throws Exception {
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            work.call();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            work.call();
+        }
+        return (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+    }
+
+    @Test
+    void detailUsesFewerStatementsThanFanOut() throws Exception {
+        long fanOutStatements = countStatements(this::fanOut);
+        long coldDetailStatements = countStatements(() -> {
+            schoolDetailService.evictAll();
+            detail();
+            return null;
+        });
+        long warmDetailStatements = countStatements(() -> {
+            detail();
+            return null;
+        });
+
+        assertTrue(coldDetailStatements <= 5, "cold detail issued " + coldDetailStatements + " statements");
+        assertEquals(0, warmDetailStatements);
+        assertTrue(fanOutStatements > coldDetailStatements);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkDetailAgainstFanOut() throws Exception {
+        double fanOutMicros = averageMicros(this::fanOut);
+        double coldMicros = averageMicros(() -> {
+            schoolDetailService.evictAll();
+            detail();
+            return null;
+        });
+        double warmMicros = averageMicros(() -> {
+            detail();
+            return null;
+        });
+
+        logger.info("School detail ({} programs, {} accreditations, {} tours, {} testimonies): "
+                + "fan-out of 5 requests {} us, detail cold {} us, detail warm {} us", PROGRAMS, ACCREDITATIONS,
+                TOURS, TESTIMONIES, String.format("%.1f", fanOutMicros), String.format("%.1f", coldMicros),
+                String.format("%.1f", warmMicros));
+    }
+
+    @Test
+    void writesEvictTheCachedDetail() {
+        SchoolDetail before = schoolDetailService.getSchoolDetail(schoolId).orElseThrow();
+        assertEquals(PROGRAMS, before.getPrograms().size());
+        assertEquals(TOURS, before.getTours().size());
+        assertEquals(TESTIMONIES, before.getRatingCount());
+        assertSame(before, schoolDetailService.getSchoolDetail(schoolId).orElseThrow());
+
+        SchoolEntity school = entityManager.find(SchoolEntity.class, schoolId);
+        VirtualCampusToursEntity tour = new VirtualCampusToursEntity();
+        tour.setSchool(school);
+        virtualCampusToursService.createTour(tour);
+        entityManager.flush();
+
+        SchoolDetail after = schoolDetailService.getSchoolDetail(schoolId).orElseThrow();
+        assertNotSame(before, after);
+        assertEquals(TOURS + 1, after.getTours().size());
+    }
+}
@@ -0,0 +1,90 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the k-d tree behind the nearby-school search against a brute-force haversine scan.
+ */
+public class SchoolGeoServiceTest {
+
+    private static List<Object[]> points(double[][] coords) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < coords.length; i++) {
+            rows.add(new Object[] { i + 1, "School " + (i + 1), null, null,
+                    BigDecimal.valueOf(coords[i][0]), BigDecimal.valueOf(coords[i][1]) });
+        }
+        return rows;
+    }
+
+    private static int[] idsOf(SchoolGeoService.Index index, int[] points) {
+        return IntStream.of(points).map(i -> index.schoolIds[i]).toArray();
+    }
+
+    private static int[] bruteForce(double[][] coords, double lat, double lon, Double radiusKm, int k) {
+        return IntStream.range(0, coords.length)
+                .boxed()
+                .filter(i -> radiusKm == null || SchoolGeoService.haversineKm(lat, lon, coords[i][0], coords[i][1]) <= radiusKm)
+                .sorted(Comparator.comparingDouble(i -> SchoolGeoService.haversineKm(lat, lon, coords[i][0], coords[i][1])))
+                .limit(k)
+                .mapToInt(i -> i + 1)
+                .toArray();
+    }
+
+    @Test
+    public void testNearestMatchesBruteForce() {
+        Random random = new Random(42);
+        // Clustered around the Philippines plus scattered points worldwide
+        double[][] coords = new double[2000][];
+        for (int i = 0; i < coords.length; i++) {
+            coords[i] = i % 4 == 0
+                    ? new double[] { random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180 }
+                    : new double[] { 5 + random.nextDouble() * 14, 117 + random.nextDouble() * 10 };
+        }
+        SchoolGeoService.Index index = new SchoolGeoService.Index(0, points(coords));
+
+        for (int q = 0; q < 200; q++) {
+            double lat = q % 2 == 0 ? 5 + random.nextDouble() * 14 : random.nextDouble() * 180 - 90;
+            double lon = q % 2 == 0 ? 117 + random.nextDouble() * 10 : random.nextDouble() * 360 - 180;
+            Double radiusKm = q % 3 == 0 ? null : 50 + random.nextDouble() * 500;
+            int k = 1 + random.nextInt(20);
+
+            int[] expected = bruteForce(coords, lat, lon, radiusKm, k);
+            int[] actual = idsOf(index, index.nearest(lat, lon, SchoolGeoService.maxChordSq(radiusKm), k, id -> true));
+            assertArrayEquals(expected, actual, "query " + q);
+        }
+    }
+
+    @Test
+    public void testAcrossAntimeridianAndFilter() {
+        double[][] coords = {
+                { 0, 179.9 },   // ~11 km west of the query, across the antimeridian
+                { 0, -179.8 },  // ~22 km east
+                { 0, 170 },
+                { 1, -179.9 },  // ~112 km north-east
+        };
+        SchoolGeoService.Index index = new SchoolGeoService.Index(0, points(coords));
+
+        int[] nearest = idsOf(index, index.nearest(0, -180, SchoolGeoService.maxChordSq(150.0), 10, id -> true));
+        assertArrayEquals(new int[] { 1, 2, 4 }, nearest);
+
+        int[] filtered = idsOf(index, index.nearest(0, -180, SchoolGeoService.maxChordSq(null), 10, id -> id % 2 == 0));
+        assertArrayEquals(new int[] { 2, 4 }, filtered);
+    }
+
+    @Test
+    public void testHaversine() {
+        // Manila to Cebu City, roughly 570 km
+        assertEquals(570, SchoolGeoService.haversineKm(14.5995, 120.9842, 10.3157, 123.8854), 10);
+        assertEquals(0, SchoolGeoService.haversineKm(10, 20, 10, 20), 1e-9);
+    }
+}
@@ -0,0 +1,283 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.cit.futureu.entity.AssessmentEntity;
+import edu.cit.futureu.entity.AssessmentResultEntity;
+import edu.cit.futureu.entity.Role;
+import edu.cit.futureu.entity.UserAssessmentEntity;
+import edu.cit.futureu.entity.UserAssessmentSectionResultEntity;
+import edu.cit.futureu.entity.UserEntity;
+import edu.cit.futureu.repository.AssessmentRepository;
+import edu.cit.futureu.repository.AssessmentResultRepository;
+import edu.cit.futureu.repository.UserAssessmentRepository;
+import edu.cit.futureu.repository.UserAssessmentSectionResultRepository;
+import edu.cit.futureu.repository.UserRepository;
+
+/**
+ * Score matrix: the streaming load (untaken sections as NaN), appends after the load, the cohort analytics
+ * against hand-computed values and against direct computation over random rows, and (tagged benchmark) a
+ * timing run of every analytic over a million rows.
+ */
+@JpaServiceTest
+@Import({ScoreMatrix.class, CohortAnalyticsService.class, ScoringPlanService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ScoreMatrixTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoreMatrixTest.class);
+
+    private static final int ROWS = 1_000_000;
+
+    @Autowired
+    private ScoreMatrix scoreMatrix;
+
+    @Autowired
+    private CohortAnalyticsService cohortAnalyticsService;
+
+    @Autowired
+    private ScoringPlanService scoringPlanService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private UserAssessmentRepository userAssessmentRepository;
+
+    @Autowired
+    private AssessmentResultRepository assessmentResultRepository;
+
+    @Autowired
+    private UserAssessmentSectionResultRepository sectionResultRepository;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("DELETE FROM user_assessment_section_result");
+        jdbcTemplate.update("DELETE FROM assessment_result");
+        jdbcTemplate.update("DELETE FROM user_assessment");
+        ReflectionTestUtils.setField(scoreMatrix, "size", 0);
+    }
+
+    private AssessmentResultEntity storeResult(UserEntity user, AssessmentEntity assessment, double stem, double abm,
+            String... sectionIds) {
+        UserAssessmentEntity attempt = new UserAssessmentEntity();
+        attempt.setUser(user);
+        attempt.setAssessment(assessment);
+        attempt.setStatus("COMPLETED");
+        attempt = userAssessmentRepository.save(attempt);
+        for (String sectionId : sectionIds) {
+            UserAssessmentSectionResultEntity section = new UserAssessmentSectionResultEntity();
+            section.setUserAssessment(attempt);
+            section.setSectionId(sectionId);
+            sectionResultRepository.save(section);
+        }
+        AssessmentResultEntity result = new AssessmentResultEntity();
+        result.setUserAssessment(attempt);
+        result.setOverallScore((stem + abm) / 2);
+        result.setAcademicTrackScore((stem + abm) / 2);
+        result.setStemScore(stem);
+        result.setAbmScore(abm);
+        result.setHumssScore(0.0);
+        return assessmentResultRepository.save(result);
+    }
+
+    @Test
+    public void testLoadAppendAndAnalytics() {
+        UserEntity student = new UserEntity();
+        student.setEmail("matrix@example.com");
+        student.setRole(Role.STUDENT);
+        student = userRepository.save(student);
+        AssessmentEntity assessment = new AssessmentEntity();
+        assessment.setTitle("Career Assessment");
+        assessment = assessmentRepository.save(assessment);
+
+        AssessmentResultEntity first = storeResult(student, assessment, 80, 40, "at-stem", "at-abm");
+        storeResult(student, assessment, 30, 90, "at-stem", "at-abm");
+        // Took only STEM, so ABM and HUMSS are NaN rather than the stored 0
+        storeResult(student, assessment, 60, 0, "at-stem");
+        scoreMatrix.load();
+
+        ScoreMatrix.Snapshot matrix = scoreMatrix.snapshot();
+        assertEquals(3, matrix.size());
+        assertEquals(first.getUserAssessment().getUserQuizAssessment(), matrix.attemptIds()[0]);
+        assertEquals(student.getUserId(), matrix.userIds()[0]);
+        assertEquals(80f, matrix.column(ScoreDimension.STEM)[0]);
+        assertTrue(Float.isNaN(matrix.column(ScoreDimension.ABM)[2]));
+        assertTrue(Float.isNaN(matrix.column(ScoreDimension.HUMSS)[0]));
+        assertTrue(Float.isNaN(matrix.column(ScoreDimension.GSA)[0]));
+
+        // Appending outside a transaction is immediate; a reload keeps it once and does not duplicate stored rows
+        AssessmentResultEntity late = storeResult(student, assessment, 100, 20, "at-stem", "at-abm");
+        scoreMatrix.append(999_999, student.getUserId(), new float[ScoreDimension.values().length]);
+        scoreMatrix.record(late, List.of("at-stem", "at-abm"));
+        assertEquals(5, scoreMatrix.size());
+        scoreMatrix.load();
+        assertEquals(5, scoreMatrix.size());
+        assertEquals(1, Arrays.stream(scoreMatrix.snapshot().attemptIds())
+                .limit(5)
+                .filter(id -> id == late.getUserAssessment().getUserQuizAssessment())
+                .count());
+        ReflectionTestUtils.setField(scoreMatrix, "size", 0);
+        scoreMatrix.load();
+        assertEquals(4, scoreMatrix.size());
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> stem = (Map<String, Object>) ((Map<String, Object>) cohortAnalyticsService.getSummary()
+                .get("dimensions")).get("stemScore");
+        assertEquals(4L, stem.get("count"));
+        assertEquals(67.5, (double) stem.get("mean"), 1e-9);
+        assertEquals(30.0, stem.get("min"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> abm = (Map<String, Object>) ((Map<String, Object>) cohortAnalyticsService.getSummary()
+                .get("dimensions")).get("abmScore");
+        assertEquals(3L, abm.get("count"));
+
+        // STEM and ABM over the three attempts that took both: (80,40), (30,90), (100,20)
+        assertEquals(-1.0, cohortAnalyticsService.getCorrelations().get("stemScore").get("abmScore"), 1e-9);
+        assertNull(cohortAnalyticsService.getCorrelations().get("stemScore").get("gsaScore"));
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> buckets = (List<Map<String, Object>>) cohortAnalyticsService
+                .getDistribution("stemScore", 4).get("buckets");
+        assertEquals(List.of(0L, 1L, 1L, 2L), buckets.stream().map(bucket -> bucket.get("count")).toList());
+        assertThrows(IllegalArgumentException.class, () -> cohortAnalyticsService.getDistribution("shoeSize", null));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> groups = (Map<String, Map<String, Object>>) cohortAnalyticsService
+                .getAveragesByTrack("academic").get("groups");
+        assertEquals(3L, groups.get("stemScore").get("attempts"));
+        assertEquals(1L, groups.get("abmScore").get("attempts"));
+        assertEquals(0L, groups.get("humssScore").get("attempts"));
+        assertEquals(80.0, (double) ((Map<?, ?>) groups.get("stemScore").get("averages")).get("stemScore"), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> cohortAnalyticsService.getAveragesByTrack("sideways"));
+    }
+
+    // Appends random rows, about a third of the attempts skipping each section, and returns them
+    private float[][] appendRandomRows(int rows) {
+        ScoreDimension[] dimensions = ScoreDimension.values();
+        ScoringPlan plan = scoringPlanService.defaultPlan();
+        Random random = new Random(7);
+        float[][] appended = new float[rows][];
+        for (int i = 0; i < rows; i++) {
+            float[] row = new float[dimensions.length];
+            for (int d = 0; d < dimensions.length; d++) {
+                row[d] = random.nextInt(3) == 0 ? Float.NaN : (float) (random.nextDouble() * plan.maxValue(dimensions[d]));
+            }
+            scoreMatrix.append(i + 1, i % 10_000, row);
+            appended[i] = row;
+        }
+        return appended;
+    }
+
+    @Test
+    public void testAnalyticsAgainstDirectComputation() {
+        // Several correlation blocks, the last one partial
+        int rows = 3 * 4096 + 123;
+        float[][] matrix = appendRandomRows(rows);
+        assertEquals(rows, scoreMatrix.size());
+        int stem = ScoreDimension.STEM.ordinal();
+        int abm = ScoreDimension.ABM.ordinal();
+
+        double stemSum = 0;
+        long stemCount = 0;
+        long bothCount = 0;
+        double sumX = 0;
+        double sumY = 0;
+        double sumXX = 0;
+        double sumYY = 0;
+        double sumXY = 0;
+        long otherTracksTaken = 0;
+        long[] realisticBuckets = new long[7];
+        int realistic = ScoreDimension.REALISTIC.ordinal();
+        for (float[] row : matrix) {
+            if (!Float.isNaN(row[stem])) {
+                stemSum += row[stem];
+                stemCount++;
+                if (!Float.isNaN(row[abm])) {
+                    bothCount++;
+                    sumX += row[stem];
+                    sumY += row[abm];
+                    sumXX += (double) row[stem] * row[stem];
+                    sumYY += (double) row[abm] * row[abm];
+                    sumXY += (double) row[stem] * row[abm];
+                }
+            }
+            if (!Float.isNaN(row[ScoreDimension.TVL.ordinal()]) || !Float.isNaN(row[ScoreDimension.SPORTS_TRACK.ordinal()])
+                    || !Float.isNaN(row[ScoreDimension.ARTS_DESIGN_TRACK.ordinal()])) {
+                otherTracksTaken++;
+            }
+            if (!Float.isNaN(row[realistic])) {
+                realisticBuckets[Math.min(6, (int) (row[realistic] * 7 / scoringPlanService.defaultPlan().maxValue(ScoreDimension.REALISTIC)))]++;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> stemSummary = (Map<String, Object>) ((Map<String, Object>) cohortAnalyticsService
+                .getSummary().get("dimensions")).get("stemScore");
+        assertEquals(stemCount, stemSummary.get("count"));
+        assertEquals(stemSum / stemCount, (double) stemSummary.get("mean"), 1e-6);
+
+        double expected = (sumXY - sumX * sumY / bothCount) / Math.sqrt(
+                (sumXX - sumX * sumX / bothCount) * (sumYY - sumY * sumY / bothCount));
+        assertEquals(expected, cohortAnalyticsService.getCorrelations().get("stemScore").get("abmScore"), 1e-4);
+
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> groups = (Map<String, Map<String, Object>>) cohortAnalyticsService
+                .getAveragesByTrack("other").get("groups");
+        // Only attempts that skipped all three other tracks are left out
+        assertEquals(otherTracksTaken, groups.values().stream().mapToLong(group -> (long) group.get("attempts")).sum());
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> buckets = (List<Map<String, Object>>) cohortAnalyticsService
+                .getDistribution("realisticScore", 7).get("buckets");
+        assertEquals(Arrays.stream(realisticBuckets).boxed().toList(),
+                buckets.stream().map(bucket -> bucket.get("count")).toList());
+    }
+
+    // Times a warmed-up run, so the figure is not mostly JIT compilation
+    private static <T> T timed(String label, Supplier<T> analytic) {
+        for (int i = 0; i < 3; i++) {
+            analytic.get();
+        }
+        long start = System.nanoTime();
+        T result = analytic.get();
+        logger.info("{} of {} rows in {} ms", label, ROWS, (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void benchmarkMillionRowAnalytics() {
+        long start = System.nanoTime();
+        appendRandomRows(ROWS);
+        logger.info("appended {} rows in {} ms", ROWS, (System.nanoTime() - start) / 1_000_000);
+
+        timed("summary", cohortAnalyticsService::getSummary);
+        timed("correlations", cohortAnalyticsService::getCorrelations);
+        timed("by-track averages", () -> cohortAnalyticsService.getAveragesByTrack("other"));
+        timed("distribution", () -> cohortAnalyticsService.getDistribution("realisticScore", 7));
+    }
+}
@@ -0,0 +1,170 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the compiled scoring plan against the fixed section mapping and weights it replaced, and that new
+ * sections and configured types are scored without code changes.
+ */
+public class ScoringPlanTest {
+
+    private static final String[] SECTIONS = { "gsa-scientific", "gsa-reading", "gsa-verbal", "gsa-math",
+            "gsa-logical", "at-stem", "at-abm", "at-humss", "track-tech", "track-sports", "track-arts", "interest-1",
+            "interest-2" };
+
+    private static final String[] RIASEC = { "realistic", "investigative", "artistic", "social", "enterprising",
+            "conventional" };
+
+    private static Map<String, Object> section(String sectionId, double percentage) {
+        Map<String, Object> section = new HashMap<>();
+        section.put("sectionId", sectionId);
+        section.put("percentageScore", percentage);
+        return section;
+    }
+
+    private static double score(double[] scores, ScoreDimension dimension) {
+        return scores[dimension.ordinal()];
+    }
+
+    // The previous fixed rules: weights by prefix, averages over the known sections, agree counts out of 42
+    private static double[] previousRules(List<Map<String, Object>> sections) {
+        double[] scores = new double[ScoreDimension.values().length];
+        Map<String, double[]> byType = new HashMap<>();
+        Map<String, Double> bySection = new HashMap<>();
+        int agreed = 0;
+        for (Map<String, Object> section : sections) {
+            String id = (String) section.get("sectionId");
+            double percentage = (double) section.get("percentageScore");
+            bySection.put(id, percentage);
+            String type = id.startsWith("gsa-") ? "GSA" : id.startsWith("at-") ? "ACADEMIC"
+                    : id.startsWith("track-") ? "OTHER" : "INTEREST";
+            double[] total = byType.computeIfAbsent(type, key -> new double[2]);
+            total[0] += percentage;
+            total[1]++;
+            @SuppressWarnings("unchecked")
+            Map<String, Integer> riasec = (Map<String, Integer>) section.get("riasecAgreeResponses");
+            if (riasec != null) {
+                for (int r = 0; r < RIASEC.length; r++) {
+                    int count = riasec.getOrDefault(RIASEC[r], 0);
+                    scores[ScoreDimension.REALISTIC.ordinal() + r] += count;
+                    agreed += count;
+                }
+            }
+        }
+        Map<String, Double> weights = Map.of("GSA", 0.40, "ACADEMIC", 0.30, "OTHER", 0.15);
+        double weighted = 0;
+        double totalWeight = 0;
+        for (Map.Entry<String, double[]> entry : byType.entrySet()) {
+            if (!"INTEREST".equals(entry.getKey())) {
+                weighted += entry.getValue()[0] / entry.getValue()[1] * weights.get(entry.getKey());
+                totalWeight += weights.get(entry.getKey());
+            }
+        }
+        scores[ScoreDimension.OVERALL.ordinal()] = totalWeight > 0 ? weighted / totalWeight : 0;
+        for (ScoreDimension dimension : new ScoreDimension[] { ScoreDimension.GSA, ScoreDimension.ACADEMIC_TRACK,
+                ScoreDimension.OTHER_TRACK }) {
+            double total = 0;
+            int count = 0;
+            for (ScoreDimension part : ScoreDimension.values()) {
+                if (part.section() != null && !part.section().endsWith("-") && part.section().startsWith(dimension.section())
+                        && bySection.containsKey(part.section())) {
+                    scores[part.ordinal()] = bySection.get(part.section());
+                    total += bySection.get(part.section());
+                    count++;
+                }
+            }
+            if (count > 0) {
+                scores[dimension.ordinal()] = total / count;
+            }
+        }
+        scores[ScoreDimension.INTEREST_AREA.ordinal()] = agreed / 42.0 * 100;
+        return scores;
+    }
+
+    @Test
+    public void testMatchesPreviousRules() {
+        ScoringPlan plan = ScoringPlan.compile(ScoringPlan.DEFAULT_SECTION_TYPES, 7);
+        Random random = new Random(3);
+        for (int trial = 0; trial < 1000; trial++) {
+            List<Map<String, Object>> sections = new ArrayList<>();
+            for (String sectionId : SECTIONS) {
+                if (random.nextInt(3) == 0) {
+                    continue;
+                }
+                Map<String, Object> section = section(sectionId, random.nextInt(101));
+                if (sectionId.startsWith("interest-")) {
+                    Map<String, Integer> agree = new HashMap<>();
+                    for (String type : RIASEC) {
+                        agree.put(type, random.nextInt(4));
+                    }
+                    section.put("riasecAgreeResponses", agree);
+                }
+                sections.add(section);
+            }
+            assertArrayEquals(previousRules(sections), plan.score(sections), 1e-9, "trial " + trial);
+        }
+        assertEquals("GSA", plan.sectionType("gsa-math"));
+        assertEquals("INTEREST", plan.sectionType("interest-realistic"));
+        assertEquals(ScoringPlan.UNKNOWN_TYPE, plan.sectionType("bonus-round"));
+    }
+
+    @Test
+    public void testScoring() {
+        ScoringPlan plan = ScoringPlan.compile(ScoringPlan.DEFAULT_SECTION_TYPES, 7);
+        Map<String, Object> interest = section("interest-1", 50);
+        interest.put("riasecAgreeResponses", Map.of("realistic", 3, "social", 4));
+        double[] scores = plan.score(List.of(section("gsa-math", 80), section("gsa-verbal", 60),
+                section("at-stem", 90), section("track-arts", 50), interest, section("bonus-round", 100)));
+
+        assertEquals(80, score(scores, ScoreDimension.MATHEMATICAL_ABILITY));
+        assertEquals(70, score(scores, ScoreDimension.GSA));
+        assertEquals(90, score(scores, ScoreDimension.ACADEMIC_TRACK));
+        assertEquals(0, score(scores, ScoreDimension.ABM));
+        assertEquals((70 * 0.40 + 90 * 0.30 + 50 * 0.15) / 0.85, score(scores, ScoreDimension.OVERALL), 1e-9);
+        assertEquals(3, score(scores, ScoreDimension.REALISTIC));
+        assertEquals(7 / 42.0 * 100, score(scores, ScoreDimension.INTEREST_AREA), 1e-9);
+
+        // A new academic track counts towards its type without a column of its own
+        double[] withIct = plan.score(List.of(section("at-stem", 90), section("at-ict", 70)));
+        assertEquals(80, score(withIct, ScoreDimension.ACADEMIC_TRACK));
+        assertEquals(90, score(withIct, ScoreDimension.STEM));
+
+        // So does a newly configured type
+        ScoringPlan vocational = ScoringPlan.compile(ScoringPlan.DEFAULT_SECTION_TYPES + ",VOCATIONAL:voc-:0.30", 7);
+        assertEquals("VOCATIONAL", vocational.sectionType("voc-welding"));
+        double[] withVoc = vocational.score(List.of(section("gsa-math", 80), section("voc-welding", 40)));
+        assertEquals((80 * 0.40 + 40 * 0.30) / 0.70, score(withVoc, ScoreDimension.OVERALL), 1e-9);
+
+        assertEquals(0, score(plan.score(List.of()), ScoreDimension.OVERALL));
+        assertThrows(IllegalArgumentException.class, () -> ScoringPlan.compile("GSA:gsa-", 7));
+        assertThrows(IllegalArgumentException.class, () -> ScoringPlan.compile("GSA:gsa-:heavy", 7));
+        assertThrows(IllegalArgumentException.class, () -> ScoringPlan.compile("GSA:gsa-:-1", 7));
+    }
+
+    @Test
+    public void testInterestTypeAndRanges() {
+        ScoringPlan plan = ScoringPlan.compile(ScoringPlan.DEFAULT_SECTION_TYPES, 7);
+        assertEquals("INTEREST", plan.interestType());
+        assertEquals(7, plan.maxValue(ScoreDimension.REALISTIC));
+        assertEquals(100, plan.maxValue(ScoreDimension.INTEREST_AREA));
+        assertEquals(100, plan.maxValue(ScoreDimension.STEM));
+
+        // The interest type is found by its prefix, and the RIASEC range follows the statements per type
+        ScoringPlan renamed = ScoringPlan.compile("GSA:gsa-:0.5,RIASEC:interest-:0", 10);
+        assertEquals("RIASEC", renamed.interestType());
+        assertEquals(10, renamed.maxValue(ScoreDimension.CONVENTIONAL));
+        Map<String, Object> interest = section("interest-1", 50);
+        interest.put("riasecAgreeResponses", Map.of("realistic", 10, "social", 5));
+        assertEquals(25, score(renamed.score(List.of(interest)), ScoreDimension.INTEREST_AREA), 1e-9);
+
+        assertNull(ScoringPlan.compile("GSA:gsa-:1", 7).interestType());
+    }
+}
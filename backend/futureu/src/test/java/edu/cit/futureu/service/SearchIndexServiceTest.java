@@ -0,0 +1,109 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.cit.futureu.entity.AccreditationEntity;
+import edu.cit.futureu.entity.CareerEntity;
+import edu.cit.futureu.entity.ProgramEntity;
+import edu.cit.futureu.entity.SchoolEntity;
+
+/**
+ * Ranking and incremental maintenance of the search index. Outside a transaction the index applies
+ * changes immediately, so no Spring context is needed.
+ */
+public class SearchIndexServiceTest {
+
+    private SearchIndexService index;
+
+    private static CareerEntity career(int id, String title, String industry, String description) {
+        CareerEntity career = new CareerEntity();
+        career.setCareerId(id);
+        career.setCareerTitle(title);
+        career.setIndustry(industry);
+        career.setCareerDescription(description);
+        return career;
+    }
+
+    private static SchoolEntity school(int id, String name, String location) {
+        SchoolEntity school = new SchoolEntity();
+        school.setSchoolId(id);
+        school.setName(name);
+        school.setLocation(location);
+        return school;
+    }
+
+    private static ProgramEntity program(int id, String name, String description) {
+        ProgramEntity program = new ProgramEntity();
+        program.setProgramId(id);
+        program.setProgramName(name);
+        program.setDescription(description);
+        return program;
+    }
+
+    private static String key(Map<String, Object> hit) {
+        return hit.get("type") + ":" + hit.get("id");
+    }
+
+    @BeforeEach
+    public void setUp() {
+        index = new SearchIndexService();
+        index.indexCareer(career(1, "Software Engineer", "Technology", "Designs and builds software systems"));
+        index.indexCareer(career(2, "Registered Nurse", "Healthcare", "Provides patient care in hospitals"));
+        index.indexCareer(career(3, "Data Analyst", "Technology", "Works with engineers to analyze data"));
+        index.indexSchool(school(1, "Cebu Institute of Technology", "Cebu City"));
+        index.indexProgram(program(1, "BS Computer Engineering", "Hardware and software engineering"));
+        index.indexProgram(program(2, "BS Nursing", "Prepares students for nursing practice"));
+    }
+
+    @Test
+    public void testTitleMatchOutranksBodyMatchAndStemsAcrossForms() {
+        List<Map<String, Object>> hits = index.search("engineering", null, null);
+
+        // "engineering", "engineer" and "engineers" share a stem; title hits rank above the description hit
+        assertEquals(List.of("program:1", "career:1", "career:3"), hits.stream().map(SearchIndexServiceTest::key).toList());
+    }
+
+    @Test
+    public void testTypeFilterAndAccents() {
+        List<Map<String, Object>> hits = index.search("NÚRSES", SearchIndexService.TYPE_PROGRAM, null);
+        assertEquals(List.of("program:2"), hits.stream().map(SearchIndexServiceTest::key).toList());
+
+        assertThrows(IllegalArgumentException.class, () -> index.search("nurse", "user", null));
+        assertTrue(index.search("the of and", null, null).isEmpty());
+    }
+
+    @Test
+    public void testIncrementalUpdateAndRemove() {
+        index.indexCareer(career(2, "Physical Therapist", "Healthcare", "Helps patients recover movement"));
+        assertTrue(index.search("nurse", SearchIndexService.TYPE_CAREER, null).isEmpty());
+        assertEquals("career:2", key(index.search("therapist", null, null).get(0)));
+
+        index.removeProgram(2);
+        assertTrue(index.search("nursing", null, null).isEmpty());
+    }
+
+    @Test
+    public void testRemovingSchoolDropsItsAccreditations() {
+        AccreditationEntity accreditation = new AccreditationEntity();
+        accreditation.setAccredId(7);
+        accreditation.setSchool(school(1, null, null));
+        accreditation.setTitle("PAASCU Level IV");
+        index.indexAccreditation(accreditation);
+
+        Map<String, Object> hit = index.search("paascu", null, null).get(0);
+        assertEquals("accreditation:7", key(hit));
+        assertEquals(1, hit.get("schoolId"));
+
+        index.removeSchool(1);
+        assertTrue(index.search("paascu", null, null).isEmpty());
+        assertTrue(index.search("cebu", null, null).isEmpty());
+    }
+}
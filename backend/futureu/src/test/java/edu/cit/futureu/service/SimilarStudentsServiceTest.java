@@ -0,0 +1,296 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import edu.cit.futureu.entity.AssessmentEntity;
+import edu.cit.futureu.entity.AssessmentResultEntity;
+import edu.cit.futureu.entity.CareerEntity;
+import edu.cit.futureu.entity.CareerRecommendationEntity;
+import edu.cit.futureu.entity.ProgramEntity;
+import edu.cit.futureu.entity.ProgramRecommendationEntity;
+import edu.cit.futureu.entity.Role;
+import edu.cit.futureu.entity.UserAssessmentEntity;
+import edu.cit.futureu.entity.UserAssessmentSectionResultEntity;
+import edu.cit.futureu.entity.UserEntity;
+import edu.cit.futureu.repository.AssessmentRepository;
+import edu.cit.futureu.repository.AssessmentResultRepository;
+import edu.cit.futureu.repository.CareerRecommendationRepository;
+import edu.cit.futureu.repository.CareerRepository;
+import edu.cit.futureu.repository.ProgramRecommendationRepository;
+import edu.cit.futureu.repository.ProgramRepository;
+import edu.cit.futureu.repository.UserAssessmentRepository;
+import edu.cit.futureu.repository.UserAssessmentSectionResultRepository;
+import edu.cit.futureu.repository.UserRepository;
+
+/**
+ * Students like you: nearest attempts by other students and what they were recommended, the exact scan
+ * checked against a full sort, and (tagged benchmark) the scan timed over a million packed rows.
+ */
+@JpaServiceTest
+@Import({SimilarStudentsService.class, ScoreMatrix.class, ScoringPlanService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SimilarStudentsServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarStudentsServiceTest.class);
+
+    private static final int ROWS = 1_000_000;
+    private static final int QUERIES = 50;
+
+    private static final Set<ScoreDimension> ACADEMIC_TRACKS = EnumSet.of(ScoreDimension.STEM, ScoreDimension.ABM,
+            ScoreDimension.HUMSS);
+    private static final Set<ScoreDimension> OTHER_TRACKS = EnumSet.of(ScoreDimension.TVL, ScoreDimension.SPORTS_TRACK,
+            ScoreDimension.ARTS_DESIGN_TRACK);
+
+    @Autowired
+    private SimilarStudentsService similarStudentsService;
+
+    @Autowired
+    private ScoreMatrix scoreMatrix;
+
+    @Autowired
+    private ScoringPlanService scoringPlanService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AssessmentRepository assessmentRepository;
+
+    @Autowired
+    private UserAssessmentRepository userAssessmentRepository;
+
+    @Autowired
+    private AssessmentResultRepository assessmentResultRepository;
+
+    @Autowired
+    private UserAssessmentSectionResultRepository sectionResultRepository;
+
+    @Autowired
+    private CareerRepository careerRepository;
+
+    @Autowired
+    private ProgramRepository programRepository;
+
+    @Autowired
+    private CareerRecommendationRepository careerRecommendationRepository;
+
+    @Autowired
+    private ProgramRecommendationRepository programRecommendationRepository;
+
+    private AssessmentEntity assessment;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate.update("DELETE FROM program_recommendation");
+        jdbcTemplate.update("DELETE FROM career_recommendation");
+        jdbcTemplate.update("DELETE FROM user_assessment_section_result");
+        jdbcTemplate.update("DELETE FROM assessment_result");
+        jdbcTemplate.update("DELETE FROM user_assessment");
+        ReflectionTestUtils.setField(scoreMatrix, "size", 0);
+        scoreMatrix.load();
+
+        AssessmentEntity newAssessment = new AssessmentEntity();
+        newAssessment.setTitle("Career Assessment");
+        assessment = assessmentRepository.save(newAssessment);
+    }
+
+    private UserEntity student(String email) {
+        UserEntity user = new UserEntity();
+        user.setEmail(email);
+        user.setRole(Role.STUDENT);
+        return userRepository.save(user);
+    }
+
+    private AssessmentResultEntity storeResult(UserEntity user, double stem, double abm, double humss) {
+        UserAssessmentEntity attempt = new UserAssessmentEntity();
+        attempt.setUser(user);
+        attempt.setAssessment(assessment);
+        attempt.setStatus("COMPLETED");
+        attempt = userAssessmentRepository.save(attempt);
+        for (String sectionId : List.of("at-stem", "at-abm", "at-humss")) {
+            UserAssessmentSectionResultEntity section = new UserAssessmentSectionResultEntity();
+            section.setUserAssessment(attempt);
+            section.setSectionId(sectionId);
+            sectionResultRepository.save(section);
+        }
+        AssessmentResultEntity result = new AssessmentResultEntity();
+        result.setUserAssessment(attempt);
+        result.setStemScore(stem);
+        result.setAbmScore(abm);
+        result.setHumssScore(humss);
+        return assessmentResultRepository.save(result);
+    }
+
+    private void recommend(AssessmentResultEntity result, CareerEntity career, ProgramEntity program) {
+        CareerRecommendationEntity careerRecommendation = new CareerRecommendationEntity();
+        careerRecommendation.setAssessmentResult(result);
+        careerRecommendation.setCareerPath(career);
+        careerRecommendation.setConfidenceScore(80);
+        careerRecommendationRepository.save(careerRecommendation);
+        if (program != null) {
+            ProgramRecommendationEntity programRecommendation = new ProgramRecommendationEntity();
+            programRecommendation.setAssessmentResult(result);
+            programRecommendation.setProgram(program);
+            programRecommendation.setConfidenceScore(70.0);
+            programRecommendationRepository.save(programRecommendation);
+        }
+    }
+
+    @Test
+    public void testStudentsLikeYou() {
+        UserEntity me = student("me@example.com");
+        CareerEntity engineer = new CareerEntity();
+        engineer.setCareerTitle("Civil Engineer");
+        engineer = careerRepository.save(engineer);
+        CareerEntity accountant = new CareerEntity();
+        accountant.setCareerTitle("Accountant");
+        accountant = careerRepository.save(accountant);
+        ProgramEntity civil = new ProgramEntity();
+        civil.setProgramName("BS Civil Engineering");
+        civil = programRepository.save(civil);
+
+        AssessmentResultEntity mine = storeResult(me, 90, 20, 30);
+        // An earlier attempt of my own is the closest, but it is not another student
+        recommend(storeResult(me, 90, 20, 30), accountant, null);
+        recommend(storeResult(student("near1@example.com"), 88, 22, 28), engineer, civil);
+        recommend(storeResult(student("near2@example.com"), 85, 25, 35), engineer, null);
+        recommend(storeResult(student("far@example.com"), 10, 90, 80), accountant, null);
+        scoreMatrix.load();
+
+        Map<String, Object> similar = similarStudentsService.getStudentsLikeYou(mine,
+                List.of("at-stem", "at-abm", "at-humss"), 2);
+        assertEquals(2, similar.get("students"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> careers = (List<Map<String, Object>>) similar.get("careers");
+        assertEquals(1, careers.size());
+        assertEquals("Civil Engineer", careers.get(0).get("careerTitle"));
+        assertEquals(2L, careers.get(0).get("students"));
+        assertEquals(100.0, careers.get(0).get("share"));
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> programs = (List<Map<String, Object>>) similar.get("programs");
+        assertEquals("BS Civil Engineering", programs.get(0).get("programName"));
+        assertEquals(50.0, programs.get(0).get("share"));
+
+        // Everyone else, nearest first, once k covers them all
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> all = (List<Map<String, Object>>) similarStudentsService
+                .getStudentsLikeYou(mine, List.of("at-stem", "at-abm", "at-humss"), 10).get("careers");
+        assertEquals(List.of("Civil Engineer", "Accountant"), all.stream().map(c -> c.get("careerTitle")).toList());
+
+        // Nothing in common to compare on
+        assertEquals(0, similarStudentsService.getStudentsLikeYou(mine, List.of(), 5).get("students"));
+    }
+
+    // Random rows; each attempt took either the academic or the other tracks, and everything else
+    private void appendRandomRows(int rows) {
+        int dimensions = ScoreDimension.values().length;
+        ScoringPlan plan = scoringPlanService.defaultPlan();
+        Random random = new Random(11);
+        for (int i = 0; i < rows; i++) {
+            float[] row = new float[dimensions];
+            boolean academic = random.nextBoolean();
+            for (ScoreDimension dimension : ScoreDimension.values()) {
+                boolean skipped = academic ? OTHER_TRACKS.contains(dimension) : ACADEMIC_TRACKS.contains(dimension);
+                row[dimension.ordinal()] = skipped ? Float.NaN : (float) (random.nextDouble() * plan.maxValue(dimension));
+            }
+            scoreMatrix.append(i + 1, i % (rows / 20), row);
+        }
+    }
+
+    // Every QUERIES-th stored row, as a query
+    private static byte[] query(SimilarStudentsService.Store store, int q) {
+        int width = SimilarStudentsService.FEATURES.length;
+        int row = q * (store.size() / QUERIES);
+        return Arrays.copyOfRange(store.vectors(), row * width, (row + 1) * width);
+    }
+
+    @Test
+    public void testScanMatchesFullSort() {
+        int rows = 20_000;
+        appendRandomRows(rows);
+        SimilarStudentsService.Store store = similarStudentsService.store();
+        assertEquals(rows, store.size());
+
+        int k = SimilarStudentsService.DEFAULT_NEIGHBOURS;
+        for (int q = 0; q < QUERIES; q++) {
+            byte[] query = query(store, q);
+            int excluded = store.userIds()[q * (rows / QUERIES)];
+            int[] found = SimilarStudentsService.nearest(store, query, excluded, k);
+
+            long[] keyed = new long[rows];
+            int n = 0;
+            for (int i = 0; i < rows; i++) {
+                if (store.userIds()[i] != excluded) {
+                    keyed[n++] = ((long) distance(store, query, i) << 32) | i;
+                }
+            }
+            Arrays.sort(keyed, 0, n);
+            assertEquals(k, found.length);
+            for (int j = 0; j < k; j++) {
+                assertEquals(keyed[j] >>> 32, distance(store, query, found[j]), "query " + q + " rank " + j);
+                assertNotEquals(excluded, store.userIds()[found[j]]);
+            }
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void benchmarkMillionRowScan() {
+        appendRandomRows(ROWS);
+        long start = System.nanoTime();
+        SimilarStudentsService.Store store = similarStudentsService.store();
+        logger.info("packed {} rows in {} ms", ROWS, (System.nanoTime() - start) / 1_000_000);
+
+        int k = SimilarStudentsService.DEFAULT_NEIGHBOURS;
+        byte[][] queries = new byte[QUERIES][];
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = query(store, q);
+        }
+        for (int q = 0; q < QUERIES; q++) {
+            SimilarStudentsService.nearest(store, queries[q], -1, k);
+        }
+        start = System.nanoTime();
+        for (int q = 0; q < QUERIES; q++) {
+            SimilarStudentsService.nearest(store, queries[q], store.userIds()[q * (ROWS / QUERIES)], k);
+        }
+        logger.info("k={} nearest of {} rows in {} ms per query", k, ROWS,
+                String.format("%.1f", (System.nanoTime() - start) / 1e6 / QUERIES));
+    }
+
+    // The same distance as the scan, computed directly
+    private static int distance(SimilarStudentsService.Store store, byte[] query, int row) {
+        int width = SimilarStudentsService.FEATURES.length;
+        int distance = 0;
+        for (int f = 0; f < width; f++) {
+            int q = query[f] & 0xFF;
+            int c = store.vectors()[row * width + f] & 0xFF;
+            if (q == 255) {
+                continue;
+            }
+            distance += c == 255 ? 125 * 125 : (c - q) * (c - q);
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,151 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import edu.cit.futureu.dto.SchoolRatingView;
+import edu.cit.futureu.dto.TestimonyView;
+import edu.cit.futureu.entity.Role;
+import edu.cit.futureu.entity.SchoolEntity;
+import edu.cit.futureu.entity.TestimonyEntity;
+import edu.cit.futureu.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Guards the testimony listings against N+1 loading: each listing must stay at one or two statements
+ * no matter how many schools and students the testimonies point at.
+ */
+@JpaServiceTest
+@Import({TestimonyService.class, SchoolRatingService.class, SchoolDetailService.class})
+public class TestimonyServiceQueryCountTest {
+
+    private static final int MAX_STATEMENTS = 2;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TestimonyService testimonyService;
+
+    @Autowired
+    private SchoolRatingService schoolRatingService;
+
+    private Statistics statistics;
+    private SchoolEntity firstSchool;
+    private UserEntity firstStudent;
+    private final int[] studentIds = new int[4];
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        // 3 schools x 4 students, one testimony per pair
+        for (int s = 0; s < 3; s++) {
+            SchoolEntity school = new SchoolEntity();
+            school.setName("School " + s);
+            entityManager.persist(school);
+            if (firstSchool == null) {
+                firstSchool = school;
+            }
+            for (int u = 0; u < 4; u++) {
+                UserEntity student = s == 0 ? newStudent(u) : entityManager.find(UserEntity.class, studentIds[u]);
+                TestimonyEntity testimony = new TestimonyEntity();
+                testimony.setSchool(school);
+                testimony.setStudent(student);
+                testimony.setDescription("Testimony " + s + "-" + u);
+                testimony.setRating(1 + (s + u) % 5);
+                entityManager.persist(testimony);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private UserEntity newStudent(int index) {
+        UserEntity student = new UserEntity();
+        student.setEmail("student" + index + "@example.com");
+        student.setFirstName("First" + index);
+        student.setLastname("Last" + index);
+        student.setRole(Role.STUDENT);
+        entityManager.persist(student);
+        studentIds[index] = student.getUserId();
+        if (firstStudent == null) {
+            firstStudent = student;
+        }
+        return student;
+    }
+
+    private <T> T countStatements(String label, Supplier<T> listing) {
+        entityManager.clear();
+        statistics.clear();
+        T result = listing.get();
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= MAX_STATEMENTS,
+                label + " issued " + statements + " statements, expected at most " + MAX_STATEMENTS);
+        return result;
+    }
+
+    @Test
+    void entityListingsFetchSchoolAndStudentTogether() {
+        List<TestimonyEntity> all = countStatements("getAllTestimonies", testimonyService::getAllTestimonies);
+        assertEquals(12, all.size());
+
+        List<TestimonyEntity> bySchool = countStatements("getTestimoniesBySchool",
+                () -> testimonyService.getTestimoniesBySchool(firstSchool));
+        assertEquals(4, bySchool.size());
+
+        List<TestimonyEntity> byStudent = countStatements("getTestimoniesByStudent",
+                () -> testimonyService.getTestimoniesByStudent(firstStudent));
+        assertEquals(3, byStudent.size());
+
+        TestimonyEntity one = countStatements("getTestimonyById",
+                () -> testimonyService.getTestimonyById(all.get(5).getTestimonyId()).orElseThrow());
+
+        // Associations must already be loaded, so touching them issues nothing further
+        statistics.clear();
+        for (TestimonyEntity testimony : all) {
+            assertNotNull(testimony.getSchool().getName());
+            assertNotNull(testimony.getStudent().getFirstName());
+        }
+        assertNotNull(one.getSchool().getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void viewListingsAreSingleQueries() {
+        List<TestimonyView> all = countStatements("getAllTestimonyViews", testimonyService::getAllTestimonyViews);
+        assertEquals(12, all.size());
+        assertEquals("School 0", all.get(0).getSchoolName());
+        assertEquals("First0", all.get(0).getStudentFirstName());
+
+        assertEquals(4, countStatements("getTestimonyViewsBySchool",
+                () -> testimonyService.getTestimonyViewsBySchool(firstSchool.getSchoolId())).size());
+        assertEquals(3, countStatements("getTestimonyViewsByStudent",
+                () -> testimonyService.getTestimonyViewsByStudent(firstStudent.getUserId())).size());
+        assertTrue(countStatements("getTestimonyViewById",
+                () -> testimonyService.getTestimonyViewById(all.get(0).getTestimonyId())).isPresent());
+    }
+
+    @Test
+    void firstRatingCreatesTheSummaryRow() {
+        // The setup persisted testimonies directly, so no summary rows exist yet
+        int schoolId = firstSchool.getSchoolId();
+        schoolRatingService.addRating(schoolId, 4);
+        schoolRatingService.addRating(schoolId, 2);
+        schoolRatingService.addRating(schoolId, 9);
+
+        SchoolRatingView rating = schoolRatingService.getSchoolRating(schoolId).orElseThrow();
+        assertEquals(2, rating.getRatingCount());
+        assertEquals(6, rating.getRatingSum());
+        assertEquals(1, rating.getFourStarCount());
+    }
+}
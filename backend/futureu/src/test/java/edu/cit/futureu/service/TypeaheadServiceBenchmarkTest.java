@@ -0,0 +1,162 @@
+package edu.cit.futureu.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Completion order for a small catalog, the tries against a scan of every name, and (tagged benchmark) a
+ * microbenchmark of the tries at 100k names against the linear scan a LIKE query amounts to.
+ */
+public class TypeaheadServiceBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TypeaheadServiceBenchmarkTest.class);
+
+    private static final int ENTRIES = 100_000;
+    private static final int QUERIES = 200_000;
+
+    // A generated catalog, split across the three suggestion types, with prefixes of 1-6 characters of its names
+    private record Catalog(List<List<Object[]>> byType, List<String> names, String[] prefixes) {
+
+        TypeaheadService.Suggestions suggestions() {
+            return new TypeaheadService.Suggestions(0, byType.get(0), byType.get(1), byType.get(2));
+        }
+    }
+
+    private static List<Object[]> rows(String... names) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            rows.add(new Object[] { i + 1, names[i] });
+        }
+        return rows;
+    }
+
+    private static List<String> names(TypeaheadService.Suggestions s, int[] entries) {
+        return Arrays.stream(entries).mapToObj(e -> s.names[e]).toList();
+    }
+
+    @Test
+    public void testCompletionOrder() {
+        TypeaheadService.Suggestions s = new TypeaheadService.Suggestions(0,
+                rows("Software Engineer", "Civil Engineer", "Nurse"),
+                rows("Cebu Institute of Technology", "University of Cebu", "University of San Carlos"),
+                rows("BS Computer Science", "BS Civil Engineering"));
+
+        // Name matches first (shorter names first), then later-word matches, then initials
+        assertEquals(List.of("Cebu Institute of Technology", "University of Cebu"),
+                names(s, s.complete("cebu", 1, 10)));
+        assertEquals(List.of("Cebu Institute of Technology"), names(s, s.complete("cit", 1, 10)));
+        assertEquals(List.of("University of Cebu", "University of San Carlos"), names(s, s.complete("univ", 1, 10)));
+        assertEquals(List.of("Civil Engineer", "BS Civil Engineering"), names(s, s.complete("civil", -1, 10)));
+        assertEquals(List.of("Civil Engineer", "Software Engineer", "BS Civil Engineering"),
+                names(s, s.complete("engineer", -1, 10)));
+        assertEquals(0, s.complete("cebux", 1, 10).length);
+        assertEquals(0, s.complete("nurse", 1, 10).length);
+    }
+
+    private static String randomWord(Random random) {
+        int length = 3 + random.nextInt(8);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static Catalog catalog(int entries, int queries) {
+        Random random = new Random(7);
+        // A shared vocabulary so prefixes collide the way real catalog names do
+        String[] vocabulary = new String[2_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = randomWord(random);
+        }
+        List<List<Object[]>> byType = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        List<String> allNames = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            int words = 2 + random.nextInt(4);
+            StringBuilder name = new StringBuilder();
+            for (int w = 0; w < words; w++) {
+                name.append(w == 0 ? "" : " ").append(vocabulary[random.nextInt(vocabulary.length)]);
+            }
+            byType.get(i % 3).add(new Object[] { i, name.toString() });
+            allNames.add(name.toString());
+        }
+        String[] prefixes = new String[queries];
+        for (int q = 0; q < queries; q++) {
+            String key = TypeaheadService.normalizeKey(allNames.get(random.nextInt(entries)));
+            prefixes[q] = key.substring(0, Math.min(key.length(), 1 + random.nextInt(6)));
+        }
+        return new Catalog(byType, allNames, prefixes);
+    }
+
+    @Test
+    public void testMatchesLinearScan() {
+        Catalog catalog = catalog(5_000, 500);
+        TypeaheadService.Suggestions s = catalog.suggestions();
+
+        // Full-name matches must lead, in rank order
+        for (String prefix : catalog.prefixes()) {
+            int[] actual = s.complete(prefix, -1, TypeaheadService.TOP_N);
+            List<Integer> expected = new ArrayList<>();
+            for (int e = 0; e < s.size && expected.size() < TypeaheadService.TOP_N; e++) {
+                if (TypeaheadService.normalizeKey(s.names[e]).startsWith(prefix)) {
+                    expected.add(e);
+                }
+            }
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), actual[i], "prefix " + prefix);
+            }
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void benchmarkHundredThousandEntries() {
+        Catalog catalog = catalog(ENTRIES, QUERIES);
+        List<String> allNames = catalog.names();
+        String[] prefixes = catalog.prefixes();
+
+        catalog.suggestions();
+        long buildStart = System.nanoTime();
+        TypeaheadService.Suggestions s = catalog.suggestions();
+        double buildMillis = (System.nanoTime() - buildStart) / 1e6;
+
+        // Warm up, then time the tries
+        int checksum = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            checksum += s.complete(prefixes[q], -1, TypeaheadService.DEFAULT_LIMIT).length;
+        }
+        long trieStart = System.nanoTime();
+        for (int q = 0; q < QUERIES; q++) {
+            checksum += s.complete(prefixes[q], q % 4 - 1, TypeaheadService.DEFAULT_LIMIT).length;
+        }
+        double trieMicros = (System.nanoTime() - trieStart) / 1e3 / QUERIES;
+
+        // Baseline: scan every normalized name, as a %LIKE% query does
+        String[] keys = allNames.stream().map(TypeaheadService::normalizeKey).toArray(String[]::new);
+        int scans = 200;
+        long scanStart = System.nanoTime();
+        for (int q = 0; q < scans; q++) {
+            int found = 0;
+            for (String key : keys) {
+                if (key.contains(prefixes[q]) && ++found == TypeaheadService.DEFAULT_LIMIT) {
+                    break;
+                }
+            }
+            checksum += found;
+        }
+        double scanMicros = (System.nanoTime() - scanStart) / 1e3 / scans;
+
+        logger.info("Typeahead over {} entries (checksum {}): build {} ms, trie lookup {} us, linear scan {} us",
+                ENTRIES, checksum, String.format("%.1f", buildMillis), String.format("%.2f", trieMicros),
+                String.format("%.2f", scanMicros));
+    }
+}
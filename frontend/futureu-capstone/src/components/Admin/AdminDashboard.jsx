@@ -1,17 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { useNavigate } from 'react-router-dom';
 import authService from '../../services/authService';
-import adminUserService from '../../services/adminUserService';
-import adminSchoolService from '../../services/adminSchoolService';
-import adminProgramService from '../../services/adminProgramService';
-import adminAccreditationService from '../../services/adminAccreditationService';
-import adminCareerService from '../../services/adminCareerService';
-import adminQuestionService from '../../services/adminQuestionService';
-import adminChoiceService from '../../services/adminChoiceService';
-import adminAssessmentService from '../../services/adminAssessmentService';
-import adminAssessmentCategoryService from '../../services/adminAssessmentCategoryService';
-import adminAssessmentSubCategoryService from '../../services/adminAssessmentSubCategoryService';
-import adminQuizSubCatService from '../../services/adminQuizSubCatService';
+import adminStatsService from '../../services/adminStatsService';
 import { 
   Shield, Users, Settings, FileText, Search,
   School, GraduationCap, BookOpen, Award, Clock,
@@ -28,6 +18,7 @@ const AdminDashboardTest = () => {
   // States for storing real data counts
   const [schoolCount, setSchoolCount] = useState(0);
   const [programCount, setProgramCount] = useState(0);
+  const [schoolProgramCount, setSchoolProgramCount] = useState(0);
   const [userCount, setUserCount] = useState(0);
   const [assessmentCount, setAssessmentCount] = useState(0);
   const [accreditationCount, setAccreditationCount] = useState(0);
@@ -53,45 +44,22 @@ const AdminDashboardTest = () => {
       setIsLoading(true);
       setError(null);
       try {
-        // Fetch all data in parallel
-        const [
-          schools,
-          programs,
-          users,
-          assessments,
-          accreditations,
-          careers,
-          questions,
-          choices,
-          assessmentCategories,
-          assessmentSubCategories,
-          quizSubCategories
-        ] = await Promise.all([
-          adminSchoolService.getAllSchools(),
-          adminProgramService.getAllPrograms(),
-          adminUserService.getAllUsers(),
-          adminAssessmentService.getAllAssessments(),
-          adminAccreditationService.getAllAccreditations(),
-          adminCareerService.getAllCareers(),
-          adminQuestionService.getAllQuestions(),
-          adminChoiceService.getAllChoices(),
-          adminAssessmentCategoryService.getAllAssessmentCategories(),
-          adminAssessmentSubCategoryService.getAllAssessmentSubCategories(),
-          adminQuizSubCatService.getAllQuizSubCategories()
-        ]);
+        // Counts come pre-aggregated from the server instead of downloading every table
+        const stats = await adminStatsService.getStats();
         
         // Update state with actual counts
-        setSchoolCount(schools.length);
-        setProgramCount(programs.length);
-        setUserCount(users.length);
-        setAssessmentCount(assessments.length);
-        setAccreditationCount(accreditations.length);
-        setCareerCount(careers.length);
-        setQuestionCount(questions.length);
-        setChoiceCount(choices.length);
-        setAssessmentCategoryCount(assessmentCategories.length);
-        setAssessmentSubCategoryCount(assessmentSubCategories.length);
-        setQuizSubCategoryCount(quizSubCategories.length);
+        setSchoolCount(stats.schools);
+        setProgramCount(stats.programs);
+        setSchoolProgramCount(stats.schoolPrograms);
+        setUserCount(stats.users);
+        setAssessmentCount(stats.assessments);
+        setAccreditationCount(stats.accreditations);
+        setCareerCount(stats.careers);
+        setQuestionCount(stats.questions);
+        setChoiceCount(stats.choices);
+        setAssessmentCategoryCount(stats.assessmentCategories);
+        setAssessmentSubCategoryCount(stats.assessmentSubCategories);
+        setQuizSubCategoryCount(stats.quizSubCategories);
       } catch (err) {
         console.error("Error fetching counts:", err);
         setError("Failed to load dashboard data. Please try again later.");
@@ -205,7 +173,7 @@ const AdminDashboardTest = () => {
   // Admin tools array with real counts
   const adminTools = [
     { name: 'School', icon: <School className="h-8 w-8 mb-3" />, count: schoolCount },
-    { name: 'School-Program', icon: <GraduationCap className="h-8 w-8 mb-3" />, count: programCount }, // Assumption: School-Program count is same as program count
+    { name: 'School-Program', icon: <GraduationCap className="h-8 w-8 mb-3" />, count: schoolProgramCount },
     { name: 'Program', icon: <BookOpen className="h-8 w-8 mb-3" />, count: programCount },
     { name: 'Accreditation', icon: <Award className="h-8 w-8 mb-3" />, count: accreditationCount },
     { name: 'Career', icon: <Briefcase className="h-8 w-8 mb-3" />, count: careerCount },
@@ -100,6 +100,38 @@ class AdminAccreditationService {
     }
   }
 
+  /**
+   * Assign an accreditation to every school program matching the selection in one update
+   * @param {number} accredId - The accreditation ID
+   * @param {Object} selection - Any of { schoolId, programId, schoolProgramIds }; each narrows the selection
+   * @returns {Promise<Object>} - { accredId, updated }
+   */
+  async bulkAssignAccreditation(accredId, selection) {
+    try {
+      const response = await apiClient.post(`/accreditation/${accredId}/assign`, selection);
+      return response.data;
+    } catch (error) {
+      this.handleError(error, 'Bulk assigning accreditation');
+      throw error;
+    }
+  }
+
+  /**
+   * Remove an accreditation from the matching school programs that currently hold it
+   * @param {number} accredId - The accreditation ID
+   * @param {Object} selection - Any of { schoolId, programId, schoolProgramIds }; each narrows the selection
+   * @returns {Promise<Object>} - { accredId, detached }
+   */
+  async bulkDetachAccreditation(accredId, selection) {
+    try {
+      const response = await apiClient.post(`/accreditation/${accredId}/detach`, selection);
+      return response.data;
+    } catch (error) {
+      this.handleError(error, 'Bulk detaching accreditation');
+      throw error;
+    }
+  }
+
   /**
    * Search accreditations by title
    * @param {string} title - The title to search for
@@ -113,6 +113,22 @@ class AdminCareerService {
     }
   }
 
+  /**
+   * Set the programs linked to a career to exactly the given ids
+   * @param {number} careerId - The career ID
+   * @param {Array<number>} programIds - The full set of program IDs the career should have
+   * @returns {Promise<Object>} - { careerId, programIds, added, removed }
+   */
+  async setCareerPrograms(careerId, programIds) {
+    try {
+      const response = await apiClient.put(`/career/${careerId}/programs`, programIds);
+      return response.data;
+    } catch (error) {
+      this.handleError(error, `Setting programs for career ID ${careerId}`);
+      throw error;
+    }
+  }
+
   /**
    * Delete a career
    * @param {number} careerId - The ID of the career to delete
@@ -0,0 +1,62 @@
+import apiClient from './api';
+
+/**
+ * Service for streaming bulk imports of questions, careers and schools
+ */
+class AdminImportService {
+  /**
+   * Upload an NDJSON or CSV file; the server answers with one JSON event per line as it imports
+   * @param {string} type - questions, careers or schools
+   * @param {File|Blob} file - The file to import
+   * @param {Object} [options]
+   * @param {string} [options.format] - ndjson or csv (default: guessed from the file name)
+   * @param {Function} [options.onEvent] - Called with each progress / error event while the import runs
+   * @returns {Promise<Object>} - The final "done" event: { lines, imported, failed, batches, elapsedMs, ... }
+   */
+  async importFile(type, file, { format, onEvent } = {}) {
+    const resolvedFormat = format || (file.name && file.name.toLowerCase().endsWith('.csv') ? 'csv' : 'ndjson');
+    let seen = 0;
+    const emit = (text) => {
+      // Hand over the complete lines received since the last call
+      const end = text.lastIndexOf('\n');
+      if (end < seen) {
+        return;
+      }
+      text.slice(seen, end).split('\n').filter(Boolean).forEach((line) => onEvent && onEvent(JSON.parse(line)));
+      seen = end + 1;
+    };
+    try {
+      const response = await apiClient.post(`/admin/import/${type}`, file, {
+        params: { format: resolvedFormat },
+        headers: {
+          'Content-Type': resolvedFormat === 'csv' ? 'text/csv' : 'application/x-ndjson',
+          Accept: 'application/x-ndjson'
+        },
+        responseType: 'text',
+        timeout: 0,
+        onDownloadProgress: (progressEvent) => {
+          const xhr = progressEvent.event && progressEvent.event.target;
+          if (xhr && typeof xhr.responseText === 'string') {
+            emit(xhr.responseText);
+          }
+        }
+      });
+      const events = response.data.split('\n').filter(Boolean).map((line) => JSON.parse(line));
+      return events.find((event) => event.event === 'done') || events[events.length - 1];
+    } catch (error) {
+      this.handleError(error, `Importing ${type}`);
+      throw error;
+    }
+  }
+
+  /**
+   * Centralized error handling
+   * @param {Error} error - The error object
+   * @param {string} context - Context where the error occurred
+   */
+  handleError(error, context = '') {
+    console.error(`Import service error${context ? ' - ' + context : ''}:`, error);
+  }
+}
+
+export default new AdminImportService();
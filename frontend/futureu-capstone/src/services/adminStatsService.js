@@ -0,0 +1,85 @@
+import apiClient from './api';
+
+/**
+ * Service for the admin dashboard aggregate counts
+ */
+class AdminStatsService {
+  /**
+   * Get table counts and assessment attempt aggregates
+   * @returns {Promise<Object>} - Counts keyed by entity name (schools, programs, users, ...)
+   */
+  async getStats() {
+    try {
+      const response = await apiClient.get('/admin/stats');
+      return response.data;
+    } catch (error) {
+      this.handleError(error, 'Fetching dashboard stats');
+      throw error;
+    }
+  }
+
+  /**
+   * Get running item statistics for one question
+   * @param {number} questionId - The question ID
+   * @returns {Promise<Object>} - { exposures, pValue, discrimination, meanSectionScore, sdSectionScore, choices, flags, ... }
+   */
+  async getItemStats(questionId) {
+    try {
+      const response = await apiClient.get(`/admin/items/${questionId}/stats`);
+      return response.data;
+    } catch (error) {
+      this.handleError(error, `Fetching item stats for question ${questionId}`);
+      throw error;
+    }
+  }
+
+  /**
+   * List the questions most in need of review
+   * @param {Object} [options]
+   * @param {string} [options.sort] - discrimination (default), easy or hard
+   * @param {number} [options.minExposures] - Only questions answered at least this many times
+   * @param {number} [options.limit] - Maximum number of questions
+   * @returns {Promise<Array>} - Item summaries, worst first
+   */
+  async getWorstItems({ sort, minExposures, limit } = {}) {
+    try {
+      const response = await apiClient.get('/admin/items/worst', { params: { sort, minExposures, limit } });
+      return response.data;
+    } catch (error) {
+      this.handleError(error, 'Fetching worst items');
+      throw error;
+    }
+  }
+
+  /**
+   * Get cohort analytics across all assessment results
+   * @param {string} view - summary, correlations, distribution or by-track
+   * @param {Object} [params] - dimension and buckets for distribution, track (academic or other) for by-track
+   * @returns {Promise<Object>} - The requested analytics
+   */
+  async getCohortAnalytics(view, params = {}) {
+    try {
+      const response = await apiClient.get(`/admin/analytics/${view}`, { params });
+      return response.data;
+    } catch (error) {
+      this.handleError(error, 'Fetching cohort analytics');
+      throw error;
+    }
+  }
+
+  /**
+   * Centralized error handling
+   * @param {Error} error - The error object
+   * @param {string} context - Context where the error occurred
+   */
+  handleError(error, context = '') {
+    console.error(`Stats service error${context ? ' - ' + context : ''}:`, error);
+    if (error.response) {
+      throw new Error(`Server error: ${error.response.status} - ${error.response.data.message || error.response.statusText}`);
+    } else {
+      throw new Error(`Unexpected error: ${error.message}`);
+    }
+  }
+}
+
+export default new AdminStatsService();
@@ -138,6 +138,30 @@ class AdminUserAssessmentService {
     }
   }
 
+  /**
+   * Download every attempt with its result and section scores, one record per attempt
+   * @param {Object} [options]
+   * @param {string} [options.format] - csv or ndjson (default: csv)
+   * @param {string} [options.status] - Only attempts with this status, e.g. COMPLETED
+   * @param {string} [options.from] - First day taken, as YYYY-MM-DD
+   * @param {string} [options.to] - Last day taken (inclusive), as YYYY-MM-DD
+   * @param {boolean} [options.gzip] - Ask the server to gzip the file
+   * @returns {Promise<Blob>} - The exported file
+   */
+  async exportResults({ format = 'csv', status, from, to, gzip = false } = {}) {
+    try {
+      const response = await apiClient.get('/admin/export/results', {
+        params: { format, status, from, to, gzip },
+        responseType: 'blob',
+        timeout: 0
+      });
+      return response.data;
+    } catch (error) {
+      this.handleError(error, 'Exporting assessment results');
+      throw error;
+    }
+  }
+
   /**
    * Centralized error handling
    * @param {Error} error - The error object
@@ -94,6 +94,21 @@ class CareerService {
     }
   }
 
+  /**
+   * Get schools offering a program that leads to the career, with the connecting programs
+   * @param {number} careerId
+   * @returns {Promise<Array>}
+   */
+  async getSchoolsForCareer(careerId) {
+    try {
+      const response = await apiClient.get(`/career/${careerId}/schools`);
+      return response.data;
+    } catch (error) {
+      this.handleError(error, `Fetching schools for career ID ${careerId}`);
+      throw error;
+    }
+  }
+
   /**
    * Search careers by title
    * @param {string} title
@@ -109,6 +124,29 @@ class CareerService {
     }
   }
 
+  /**
+   * Filter careers by several facets at once; values within a facet are ORed, facets are ANDed
+   * @param {Object} filters
+   * @param {Array<string>} [filters.industry]
+   * @param {Array<string>} [filters.jobTrend]
+   * @param {Array<number>} [filters.programId]
+   * @param {string} [filters.cursor] - nextCursor from the previous page
+   * @param {number} [filters.limit]
+   * @returns {Promise<Object>} - { total, facets: { industry, jobTrend, programId }, page }
+   */
+  async filterCareers({ industry, jobTrend, programId, cursor, limit } = {}) {
+    try {
+      const response = await apiClient.get('/career/filter', {
+        params: { industry, jobTrend, programId, cursor, limit },
+        paramsSerializer: { indexes: null }
+      });
+      return response.data;
+    } catch (error) {
+      this.handleError(error, 'Filtering careers');
+      throw error;
+    }
+  }
+
   /**
    * Filter careers by industry
    * @param {string} industry
@@ -155,6 +193,29 @@ class CareerService {
     }
   }
 
+  /**
+   * Careers whose parsed monthly salary range overlaps [min, max]
+   * @param {Object} options
+   * @param {number} [options.min]
+   * @param {number} [options.max]
+   * @param {string} [options.currency] - Defaults to PHP
+   * @param {string} [options.sort] - id, salary or -salary
+   * @param {string} [options.cursor] - nextCursor from the previous page
+   * @param {number} [options.limit]
+   * @returns {Promise<Object>} - { items, nextCursor, hasMore, limit, sort }
+   */
+  async getCareersBySalaryRange({ min, max, currency, sort, cursor, limit } = {}) {
+    try {
+      const response = await apiClient.get('/career/salaryRange', {
+        params: { min, max, currency, sort, cursor, limit }
+      });
+      return response.data;
+    } catch (error) {
+      this.handleError(error, 'Fetching careers by salary range');
+      throw error;
+    }
+  }
+
   /**
    * Centralized error handling
    * @param {Error} error - The error object
@@ -18,6 +18,16 @@ export const getSchoolById = async (schoolId) => {
   return await axios.get(`${API_URL}/getSchool/${schoolId}`);
 };
 
+// Get school with its programs, accreditations, tours and rating in one call
+export const getSchoolDetail = async (schoolId) => {
+  return await axios.get(`${API_URL}/${schoolId}/detail`);
+};
+
+// Get the k nearest schools to a point; radiusKm, k and programId are optional
+export const getNearbySchools = async (lat, lon, { radiusKm, k, programId } = {}) => {
+  return await axios.get(`${API_URL}/nearby`, { params: { lat, lon, radiusKm, k, programId } });
+};
+
 // Search schools by name
 export const searchSchoolsByName = async (name) => {
   return await axios.get(`${API_URL}/searchSchools?name=${name}`);
@@ -47,6 +57,8 @@ const schoolService = {
   createSchool,
   getAllSchools,
   getSchoolById,
+  getSchoolDetail,
+  getNearbySchools,
   searchSchoolsByName,
   filterSchoolsByLocation,
   filterSchoolsByType,
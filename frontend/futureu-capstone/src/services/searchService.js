@@ -0,0 +1,53 @@
+import apiClient from './api';
+
+/**
+ * Service for the unified catalog search and typeahead
+ */
+class SearchService {
+  /**
+   * Ranked hits across careers, schools, programs and accreditations
+   * @param {string} q - Search text
+   * @param {Object} [options]
+   * @param {string} [options.type] - career, school, program or accreditation
+   * @param {number} [options.limit] - Maximum hits (default 20, max 100)
+   * @returns {Promise<Object>} - { query, type, hits: [{ type, id, title, subtitle, score }] }
+   */
+  async search(q, { type, limit } = {}) {
+    try {
+      const response = await apiClient.get('/search', { params: { q, type, limit } });
+      return response.data;
+    } catch (error) {
+      this.handleError(error, 'Searching');
+      throw error;
+    }
+  }
+
+  /**
+   * Name completions for a search box
+   * @param {string} prefix - What the user has typed so far
+   * @param {Object} [options]
+   * @param {string} [options.type] - career, school or program
+   * @param {number} [options.limit] - Maximum completions (default 8, max 10)
+   * @returns {Promise<Array>} - [{ type, id, name }]
+   */
+  async suggest(prefix, { type, limit } = {}) {
+    try {
+      const response = await apiClient.get('/suggest', { params: { prefix, type, limit } });
+      return response.data;
+    } catch (error) {
+      this.handleError(error, 'Fetching suggestions');
+      throw error;
+    }
+  }
+
+  /**
+   * Centralized error handling
+   * @param {Error} error - The error object
+   * @param {string} context - Context where the error occurred
+   */
+  handleError(error, context = '') {
+    console.error(`Search service error${context ? ' - ' + context : ''}:`, error);
+  }
+}
+
+export default new SearchService();
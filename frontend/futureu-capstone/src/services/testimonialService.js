@@ -44,6 +44,20 @@ export const getTestimonialsBySchool = (schoolId) => {
     });
 };
 
+/**
+ * Get one page of a school's testimonial feed together with its rating summary
+ * @param {number} schoolId - The ID of the school
+ * @param {Object} options - cursor, limit, sort ('-id', 'id', '-rating', 'rating'), minRating, maxRating
+ * @returns {Promise} Promise object with { schoolId, ratingSummary, page }
+ */
+export const getTestimonialFeedBySchool = (schoolId, options = {}) => {
+  return apiClient.get(`/testimony/getTestimonyFeedBySchool/${schoolId}`, { params: options })
+    .catch(error => {
+      console.error(`Error fetching testimonial feed for school ID ${schoolId}:`, error);
+      throw error;
+    });
+};
+
 /**
  * Get average rating for a school
  * @param {number} schoolId - The ID of the school
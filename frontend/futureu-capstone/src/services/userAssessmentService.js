@@ -235,6 +235,40 @@ class UserAssessmentService {
     }
   }
 
+  /**
+   * Get the score distribution per result dimension; results from getAssessmentResults carry a
+   * matching `percentiles` map with the student's rank in each
+   * @param {Object} [options]
+   * @param {string} [options.dimension] - One result field, e.g. mathematicalAbilityScore (default: all)
+   * @param {number} [options.buckets] - Histogram buckets per dimension (default: 10)
+   * @returns {Promise<Object>} - { [dimension]: { count, min, max, quantiles, buckets } }
+   */
+  async getNorms({ dimension, buckets } = {}) {
+    try {
+      const response = await apiClient.get('/norms', { params: { dimension, buckets } });
+      return response.data;
+    } catch (error) {
+      this.handleError(error, 'Fetching score norms');
+      throw error;
+    }
+  }
+
+  /**
+   * Get the careers and programs recommended to past students with the most similar scores
+   * @param {number} userAssessmentId - A completed user assessment
+   * @param {number} [k] - How many similar students to draw from (default: 25)
+   * @returns {Promise<Object>} - { students, careers: [...], programs: [...] }, most shared first
+   */
+  async getStudentsLikeYou(userAssessmentId, k) {
+    try {
+      const response = await apiClient.get(`/assessment-results/similar/${userAssessmentId}`, { params: { k } });
+      return response.data;
+    } catch (error) {
+      this.handleError(error, 'Fetching students like you');
+      throw error;
+    }
+  }
+
   /**
    * Get assessments for a user and filter for completed ones
    * @param {number} userId - The user ID